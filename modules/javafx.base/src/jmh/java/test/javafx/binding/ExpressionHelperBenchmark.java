@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.binding;
+
+import java.util.concurrent.TimeUnit;
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ChangeListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of firing a property with several invalidation and
+ * change listeners attached, which is dispatched by {@code ExpressionHelper}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionHelperBenchmark {
+
+    @Param({"1", "2", "8", "32"})
+    public int listeners;
+
+    private DoubleProperty invalidationProperty;
+    private DoubleProperty changeProperty;
+    private DoubleProperty mixedProperty;
+    private DoubleProperty boundSource;
+    private DoubleProperty[] boundTargets;
+    private double value;
+
+    @Setup
+    public void setUp(Blackhole bh) {
+        invalidationProperty = new SimpleDoubleProperty();
+        changeProperty = new SimpleDoubleProperty();
+        mixedProperty = new SimpleDoubleProperty();
+        boundSource = new SimpleDoubleProperty();
+        boundTargets = new DoubleProperty[listeners];
+        for (int i = 0; i < listeners; i++) {
+            final InvalidationListener il = o -> bh.consume(o);
+            final ChangeListener<Number> cl = (o, oldValue, newValue) -> bh.consume(newValue);
+            invalidationProperty.addListener(il);
+            changeProperty.addListener(cl);
+            if ((i & 1) == 0) {
+                mixedProperty.addListener(il);
+            } else {
+                mixedProperty.addListener(cl);
+            }
+            boundTargets[i] = new SimpleDoubleProperty();
+            boundTargets[i].bind(boundSource);
+        }
+    }
+
+    @Benchmark
+    public void fireInvalidationListeners() {
+        invalidationProperty.set(value++);
+    }
+
+    @Benchmark
+    public void fireChangeListeners() {
+        changeProperty.set(value++);
+    }
+
+    @Benchmark
+    public void fireMixedListeners() {
+        mixedProperty.set(value++);
+    }
+
+    /**
+     * Fan-out of a hot property (such as a node's layoutX) to properties
+     * bound to it, each of which is revalidated afterwards.
+     */
+    @Benchmark
+    public double fireBoundProperties() {
+        boundSource.set(value++);
+        double sum = 0;
+        for (DoubleProperty target : boundTargets) {
+            sum += target.get();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void addRemoveListener(Blackhole bh) {
+        final InvalidationListener il = o -> bh.consume(o);
+        invalidationProperty.addListener(il);
+        invalidationProperty.removeListener(il);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.binding;
+
+import java.util.concurrent.TimeUnit;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.ObjectBinding;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures re-evaluation of a {@code Bindings.select} chain after one of
+ * the intermediate steps changed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectBindingBenchmark {
+
+    public static class Person {
+        private final StringProperty name = new SimpleStringProperty(this, "name");
+        public StringProperty nameProperty() { return name; }
+
+        public Person(String name) {
+            this.name.set(name);
+        }
+    }
+
+    public static class Row {
+        private final ObjectProperty<Person> person = new SimpleObjectProperty<>(this, "person");
+        public ObjectProperty<Person> personProperty() { return person; }
+    }
+
+    public static class Table {
+        private final ObjectProperty<Row> row = new SimpleObjectProperty<>(this, "row");
+        public ObjectProperty<Row> rowProperty() { return row; }
+    }
+
+    private ObjectProperty<Table> root;
+    private Table[] tables;
+    private Row[] rows;
+    private ObjectBinding<Object> binding;
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        tables = new Table[2];
+        rows = new Row[2];
+        for (int i = 0; i < 2; i++) {
+            rows[i] = new Row();
+            rows[i].personProperty().set(new Person("person" + i));
+            tables[i] = new Table();
+            tables[i].rowProperty().set(rows[i]);
+        }
+        root = new SimpleObjectProperty<>(tables[0]);
+        binding = Bindings.select(root, "row", "person", "name");
+    }
+
+    @Benchmark
+    public Object changeRoot() {
+        root.set(tables[++counter & 1]);
+        return binding.get();
+    }
+
+    @Benchmark
+    public Object changeIntermediate() {
+        tables[0].rowProperty().set(rows[++counter & 1]);
+        return binding.get();
+    }
+
+    @Benchmark
+    public Object changeLeaf() {
+        rows[0].personProperty().get().nameProperty().set((++counter & 1) == 0 ? "a" : "b");
+        return binding.get();
+    }
+}
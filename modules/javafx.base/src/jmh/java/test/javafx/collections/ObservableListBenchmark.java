@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost of single element and bulk modifications of an
+ * {@code ObservableListWrapper} with a list change listener attached.
+ * <p>
+ * The list is created once per iteration, so every benchmark undoes its
+ * own modifications to keep the list at {@code size} elements.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObservableListBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private ObservableList<Integer> list;
+    private List<Integer> replacement;
+    private int changes;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        List<Integer> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(i);
+        }
+        replacement = new ArrayList<>(content);
+        list = FXCollections.observableArrayList(content);
+        list.addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                changes++;
+            }
+        });
+    }
+
+    @Benchmark
+    public ObservableList<Integer> addRemoveLast() {
+        list.add(size);
+        list.remove(size);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> addRemoveFirst() {
+        list.add(0, size);
+        list.remove(0);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> removeAddMiddle() {
+        Integer removed = list.remove(size / 2);
+        list.add(size / 2, removed);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> setMiddle() {
+        list.set(size / 2, -1);
+        return list;
+    }
+
+    @Benchmark
+    public ObservableList<Integer> setAll() {
+        list.setAll(replacement);
+        return list;
+    }
+
+    @Benchmark
+    public void addRemoveLoop(Blackhole bh) {
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        for (int i = 0; i < 100; i++) {
+            list.remove(list.size() - 1);
+        }
+        bh.consume(changes);
+    }
+}
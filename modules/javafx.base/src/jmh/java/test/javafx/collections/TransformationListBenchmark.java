@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how fast changes of a source list propagate through a
+ * {@link FilteredList} and a {@link SortedList} view.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformationListBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private final Random random = new Random(17);
+    private ObservableList<Integer> source;
+    private ObjectProperty<Predicate<Integer>> predicate;
+    private FilteredList<Integer> filtered;
+    private SortedList<Integer> sorted;
+    private int changes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Integer> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(random.nextInt(size));
+        }
+        source = FXCollections.observableArrayList(content);
+        predicate = new SimpleObjectProperty<>(i -> (i & 1) == 0);
+        filtered = new FilteredList<>(source);
+        filtered.predicateProperty().bind(predicate);
+        sorted = new SortedList<>(source, Integer::compare);
+        ListChangeListener<Integer> counter = c -> {
+            while (c.next()) {
+                changes++;
+            }
+        };
+        filtered.addListener(counter);
+        sorted.addListener(counter);
+    }
+
+    @Benchmark
+    public int addRemoveRandom() {
+        int index = random.nextInt(size);
+        source.add(index, random.nextInt(size));
+        source.remove(index);
+        return changes;
+    }
+
+    @Benchmark
+    public int setRandom() {
+        source.set(random.nextInt(size), random.nextInt(size));
+        return changes;
+    }
+
+    @Benchmark
+    public int refilter() {
+        final int mod = random.nextInt(7) + 2;
+        predicate.set(i -> i % mod != 0);
+        return filtered.size();
+    }
+
+    @Benchmark
+    public int lookupViewIndex() {
+        return sorted.getViewIndex(random.nextInt(size))
+                + filtered.getViewIndex(random.nextInt(size));
+    }
+}
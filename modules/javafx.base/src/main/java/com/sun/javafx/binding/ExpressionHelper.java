@@ -51,6 +51,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             throw new NullPointerException();
         }
         observable.getValue(); // validate observable
+        WeakListenerSweeper.sweep();
         return (helper == null)? new SingleInvalidation<T>(observable, listener) : helper.addListener(listener);
     }
 
@@ -65,6 +66,7 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
         if ((observable == null) || (listener == null)) {
             throw new NullPointerException();
         }
+        WeakListenerSweeper.sweep();
         return (helper == null)? new SingleChange<T>(observable, listener) : helper.addListener(listener);
     }
 
@@ -186,19 +188,31 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
         }
     }
 
-    private static class Generic<T> extends ExpressionHelper<T> {
+    /**
+     * Helper for any number of listeners.
+     *
+     * The listener arrays are copy-on-write: a slot below the current size
+     * is never written once it has been published. New listeners are only
+     * appended behind the current size, while removing a listener or
+     * growing the array always creates a new array. A notification can
+     * therefore iterate over the array and size it read when it started,
+     * without locking and without copying, even if listeners are added or
+     * removed (or the value is changed again) while it is running.
+     */
+    private static class Generic<T> extends ExpressionHelper<T> implements WeakListenerSweeper.Sweepable {
 
         private InvalidationListener[] invalidationListeners;
         private ChangeListener<? super T>[] changeListeners;
         private int invalidationSize;
         private int changeSize;
-        private boolean locked;
         private T currentValue;
 
         private Generic(ObservableValue<T> observable, InvalidationListener listener0, InvalidationListener listener1) {
             super(observable);
             this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
             this.invalidationSize = 2;
+            WeakListenerSweeper.track(this, listener0);
+            WeakListenerSweeper.track(this, listener1);
         }
 
         private Generic(ObservableValue<T> observable, ChangeListener<? super T> listener0, ChangeListener<? super T> listener1) {
@@ -206,6 +220,8 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             this.changeListeners = new ChangeListener[] {listener0, listener1};
             this.changeSize = 2;
             this.currentValue = observable.getValue();
+            WeakListenerSweeper.track(this, listener0);
+            WeakListenerSweeper.track(this, listener1);
         }
 
         private Generic(ObservableValue<T> observable, InvalidationListener invalidationListener, ChangeListener<? super T> changeListener) {
@@ -215,6 +231,26 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             this.changeListeners = new ChangeListener[] {changeListener};
             this.changeSize = 1;
             this.currentValue = observable.getValue();
+            WeakListenerSweeper.track(this, invalidationListener);
+            WeakListenerSweeper.track(this, changeListener);
+        }
+
+        @Override
+        public int sweepCollected() {
+            int purged = 0;
+            if (hasCollected(invalidationSize, invalidationListeners)) {
+                invalidationListeners = invalidationListeners.clone();
+                final int newSize = trim(invalidationSize, invalidationListeners);
+                purged += invalidationSize - newSize;
+                invalidationSize = newSize;
+            }
+            if (hasCollected(changeSize, changeListeners)) {
+                changeListeners = changeListeners.clone();
+                final int newSize = trim(changeSize, changeListeners);
+                purged += changeSize - newSize;
+                changeSize = newSize;
+            }
+            return purged;
         }
 
         @Override
@@ -223,19 +259,13 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 invalidationListeners = new InvalidationListener[] {listener};
                 invalidationSize = 1;
             } else {
-                final int oldCapacity = invalidationListeners.length;
-                if (locked) {
-                    final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
-                } else if (invalidationSize == oldCapacity) {
+                if (invalidationSize == invalidationListeners.length) {
+                    invalidationListeners = Arrays.copyOf(invalidationListeners, (invalidationSize * 3)/2 + 1);
                     invalidationSize = trim(invalidationSize, invalidationListeners);
-                    if (invalidationSize == oldCapacity) {
-                        final int newCapacity = (oldCapacity * 3)/2 + 1;
-                        invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
-                    }
                 }
                 invalidationListeners[invalidationSize++] = listener;
             }
+            WeakListenerSweeper.track(this, listener);
             return this;
         }
 
@@ -253,19 +283,8 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                         } else if ((invalidationSize == 2) && (changeSize == 0)) {
                             return new SingleInvalidation<T>(observable, invalidationListeners[1-index]);
                         } else {
-                            final int numMoved = invalidationSize - index - 1;
-                            final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
-                                invalidationListeners = new InvalidationListener[invalidationListeners.length];
-                                System.arraycopy(oldListeners, 0, invalidationListeners, 0, index);
-                            }
-                            if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
-                            }
+                            invalidationListeners = removeAt(invalidationListeners, invalidationSize, index);
                             invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[invalidationSize] = null; // Let gc do its work
-                            }
                         }
                         break;
                     }
@@ -280,19 +299,13 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                 changeListeners = new ChangeListener[] {listener};
                 changeSize = 1;
             } else {
-                final int oldCapacity = changeListeners.length;
-                if (locked) {
-                    final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
-                    changeListeners = Arrays.copyOf(changeListeners, newCapacity);
-                } else if (changeSize == oldCapacity) {
+                if (changeSize == changeListeners.length) {
+                    changeListeners = Arrays.copyOf(changeListeners, (changeSize * 3)/2 + 1);
                     changeSize = trim(changeSize, changeListeners);
-                    if (changeSize == oldCapacity) {
-                        final int newCapacity = (oldCapacity * 3)/2 + 1;
-                        changeListeners = Arrays.copyOf(changeListeners, newCapacity);
-                    }
                 }
                 changeListeners[changeSize++] = listener;
             }
+            WeakListenerSweeper.track(this, listener);
             if (changeSize == 1) {
                 currentValue = observable.getValue();
             }
@@ -313,19 +326,8 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                         } else if ((changeSize == 2) && (invalidationSize == 0)) {
                             return new SingleChange<T>(observable, changeListeners[1-index]);
                         } else {
-                            final int numMoved = changeSize - index - 1;
-                            final ChangeListener<? super T>[] oldListeners = changeListeners;
-                            if (locked) {
-                                changeListeners = new ChangeListener[changeListeners.length];
-                                System.arraycopy(oldListeners, 0, changeListeners, 0, index);
-                            }
-                            if (numMoved > 0) {
-                                System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
-                            }
+                            changeListeners = removeAt(changeListeners, changeSize, index);
                             changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
-                            }
                         }
                         break;
                     }
@@ -334,6 +336,18 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             return this;
         }
 
+        /**
+         * Returns a new array with the same capacity that holds the first
+         * {@code size} listeners of {@code listeners} except the one at
+         * {@code index}.
+         */
+        private static <L> L[] removeAt(L[] listeners, int size, int index) {
+            final L[] result = Arrays.copyOf(listeners, listeners.length);
+            System.arraycopy(listeners, index + 1, result, index, size - index - 1);
+            result[size - 1] = null;
+            return result;
+        }
+
         @Override
         protected void fireValueChangedEvent() {
             final InvalidationListener[] curInvalidationList = invalidationListeners;
@@ -341,31 +355,26 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             final ChangeListener<? super T>[] curChangeList = changeListeners;
             final int curChangeSize = changeSize;
 
-            try {
-                locked = true;
-                for (int i = 0; i < curInvalidationSize; i++) {
-                    try {
-                        curInvalidationList[i].invalidated(observable);
-                    } catch (Exception e) {
-                        Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
-                    }
+            for (int i = 0; i < curInvalidationSize; i++) {
+                try {
+                    curInvalidationList[i].invalidated(observable);
+                } catch (Exception e) {
+                    Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
                 }
-                if (curChangeSize > 0) {
-                    final T oldValue = currentValue;
-                    currentValue = observable.getValue();
-                    final boolean changed = (currentValue == null)? (oldValue != null) : !currentValue.equals(oldValue);
-                    if (changed) {
-                        for (int i = 0; i < curChangeSize; i++) {
-                            try {
-                                curChangeList[i].changed(observable, oldValue, currentValue);
-                            } catch (Exception e) {
-                                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
-                            }
+            }
+            if (curChangeSize > 0) {
+                final T oldValue = currentValue;
+                currentValue = observable.getValue();
+                final boolean changed = (currentValue == null)? (oldValue != null) : !currentValue.equals(oldValue);
+                if (changed) {
+                    for (int i = 0; i < curChangeSize; i++) {
+                        try {
+                            curChangeList[i].changed(observable, oldValue, currentValue);
+                        } catch (Exception e) {
+                            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
                         }
                     }
                 }
-            } finally {
-                locked = false;
             }
         }
     }
@@ -55,4 +55,18 @@ public class ExpressionHelperBase {
         return size;
     }
 
+    /**
+     * Returns {@code true} if any of the first {@code size} listeners is a
+     * weak listener whose listener was garbage collected.
+     */
+    protected static boolean hasCollected(int size, Object[] listeners) {
+        for (int index = 0; index < size; index++) {
+            final Object t = listeners[index];
+            if (t instanceof WeakListener && ((WeakListener)t).wasGarbageCollected()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.binding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Runs deferred notifications once per pulse.
+ * <p>
+ * The toolkit installs a pulse requester with {@link #setPulseRequester}
+ * and calls {@link #flush()} at the beginning of every pulse. As long as no
+ * requester is installed, for example if no toolkit is running, scheduled
+ * tasks are run right away.
+ * <p>
+ * Like the rest of the binding code, {@link #schedule} must be called on the
+ * application thread. {@link #post} can be called from any thread.
+ */
+public final class PulseDeferredDispatcher {
+
+    private static volatile Runnable pulseRequester;
+
+    private static List<Runnable> pending = new ArrayList<>();
+
+    private static final Queue<Runnable> posted = new ConcurrentLinkedQueue<>();
+
+    private PulseDeferredDispatcher() {
+    }
+
+    /**
+     * Sets the callback that requests the next pulse, or {@code null} if
+     * tasks should be run immediately.
+     * @param requester the pulse requester
+     */
+    public static void setPulseRequester(Runnable requester) {
+        pulseRequester = requester;
+    }
+
+    /**
+     * Schedules a task to be run on the next pulse.
+     * @param task the task
+     */
+    public static void schedule(Runnable task) {
+        final Runnable requester = pulseRequester;
+        if (requester == null) {
+            task.run();
+            return;
+        }
+        pending.add(task);
+        if (pending.size() == 1) {
+            requester.run();
+        }
+    }
+
+    /**
+     * Schedules a task to be run on the application thread on the next
+     * pulse. Can be called from any thread. If no pulse requester is
+     * installed, the task is run right away on the calling thread.
+     * @param task the task
+     */
+    public static void post(Runnable task) {
+        final Runnable requester = pulseRequester;
+        if (requester == null) {
+            task.run();
+            return;
+        }
+        posted.add(task);
+        requester.run();
+    }
+
+    /**
+     * Runs all tasks scheduled so far. Tasks scheduled while flushing are
+     * run on the following pulse.
+     */
+    public static void flush() {
+        // tasks posted from other threads are run first, so deferred
+        // listeners see the values they published
+        for (int n = posted.size(); n > 0; n--) {
+            final Runnable task = posted.poll();
+            if (task == null) {
+                break;
+            }
+            run(task);
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        final List<Runnable> tasks = pending;
+        pending = new ArrayList<>();
+        for (Runnable task : tasks) {
+            run(task);
+        }
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+        }
+    }
+
+    /**
+     * Returns the number of tasks waiting for the next pulse.
+     * @return the number of pending tasks
+     */
+    public static int getPendingCount() {
+        return pending.size() + posted.size();
+    }
+}
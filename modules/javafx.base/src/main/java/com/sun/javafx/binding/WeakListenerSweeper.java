@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.binding;
+
+import com.sun.javafx.logging.PulseLogger;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javafx.beans.WeakListener;
+
+/**
+ * Removes garbage collected weak listeners from the listener helpers before
+ * the observable they are attached to fires again.
+ * <p>
+ * The weak listener classes ({@link javafx.beans.WeakInvalidationListener},
+ * {@link javafx.beans.value.WeakChangeListener} and
+ * {@link javafx.collections.WeakListChangeListener}) hold their listener
+ * through a {@link Ref}, and listener helpers {@link #track} the weak
+ * listeners they hold, which records the helper in the reference. When the
+ * listener is collected, the reference is enqueued and {@link #sweep()} asks
+ * only the helpers recorded in it to drop their collected listeners.
+ * Listener helpers are not thread-safe, so a helper is swept only by the
+ * thread that added the weak listener, on that thread's next sweep.
+ * <p>
+ * {@code sweep()} is called whenever a listener is added and once per pulse
+ * by the toolkit.
+ */
+public final class WeakListenerSweeper {
+
+    /**
+     * A listener helper that can drop its collected weak listeners.
+     */
+    public interface Sweepable {
+        /**
+         * Removes all weak listeners whose listener was garbage collected.
+         * Must not modify arrays that a running notification iterates over.
+         * @return the number of listeners removed
+         */
+        int sweepCollected();
+    }
+
+    /**
+     * The reference a weak listener holds its listener with. It records the
+     * helpers that hold the weak listener, see {@link #track}.
+     * @param <T> the type of the listener
+     */
+    public static final class Ref<T> extends WeakReference<T> {
+
+        // an Owner or an Owner[], guarded by this
+        private Object owners;
+
+        /**
+         * Creates a reference to a listener.
+         * @param listener the listener
+         */
+        public Ref(T listener) {
+            super(listener, QUEUE);
+        }
+
+        private synchronized void addOwner(Owner owner) {
+            if (owners == null) {
+                owners = owner;
+            } else if (owners instanceof Owner) {
+                owners = new Owner[] {(Owner) owners, owner};
+            } else {
+                final Owner[] old = (Owner[]) owners;
+                final Owner[] list = new Owner[old.length + 1];
+                System.arraycopy(old, 0, list, 0, old.length);
+                list[old.length] = owner;
+                owners = list;
+            }
+        }
+
+        private synchronized Object takeOwners() {
+            final Object result = owners;
+            owners = null;
+            return result;
+        }
+    }
+
+    /**
+     * A helper holding a weak listener and the thread that added it.
+     */
+    private static final class Owner extends WeakReference<Sweepable> {
+        private final WeakReference<Thread> thread;
+
+        private Owner(Sweepable helper, WeakReference<Thread> thread) {
+            super(helper);
+            this.thread = thread;
+        }
+    }
+
+    private static final long SWEEP_INTERVAL = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+
+    private static final Map<Class<?>, Function<Object, Ref<?>>> accessors = new ConcurrentHashMap<>();
+
+    // the helpers to sweep, per thread, guarded by itself
+    private static final Map<Thread, Set<Sweepable>> pending = new WeakHashMap<>();
+
+    private static final AtomicLong purgedCount = new AtomicLong();
+
+    // incremented whenever helpers were added to pending
+    private static volatile long generation;
+
+    private static final ThreadLocal<WeakReference<Thread>> currentThread =
+            ThreadLocal.withInitial(() -> new WeakReference<>(Thread.currentThread()));
+
+    // the generation swept last and the time of the last sweep, per thread
+    private static final ThreadLocal<long[]> sweepState = ThreadLocal.withInitial(() -> new long[2]);
+
+    private WeakListenerSweeper() {
+    }
+
+    /**
+     * Sets how to get the {@link Ref} of a weak listener class. Called by
+     * the weak listener classes when they are initialized.
+     * @param <L> the weak listener class
+     * @param type the weak listener class
+     * @param accessor returns the reference of a weak listener
+     */
+    public static <L extends WeakListener> void setRefAccessor(Class<L> type, Function<L, Ref<?>> accessor) {
+        accessors.put(type, listener -> accessor.apply(type.cast(listener)));
+    }
+
+    /**
+     * Records that a helper holds a listener, so the helper is swept once
+     * the listener is a weak listener whose listener was collected. Other
+     * listeners are ignored.
+     * @param helper the helper
+     * @param listener the listener added to the helper
+     */
+    public static void track(Sweepable helper, Object listener) {
+        if (listener instanceof WeakListener) {
+            final Function<Object, Ref<?>> accessor = accessors.get(listener.getClass());
+            if (accessor != null) {
+                accessor.apply(listener).addOwner(new Owner(helper, currentThread.get()));
+            }
+        }
+    }
+
+    /**
+     * Returns the total number of collected weak listeners removed by
+     * {@link #sweep()} so far.
+     * @return the number of listeners purged
+     */
+    public static long getPurgedCount() {
+        return purgedCount.get();
+    }
+
+    /**
+     * Removes collected weak listeners from the helpers that the current
+     * thread added them to, if any of them was collected since the last
+     * sweep. Sweeps on one thread are at least 50ms apart.
+     */
+    public static void sweep() {
+        Reference<?> ref = QUEUE.poll();
+        if (ref != null) {
+            synchronized (pending) {
+                do {
+                    addPending(((Ref<?>) ref).takeOwners());
+                } while ((ref = QUEUE.poll()) != null);
+                generation++;
+            }
+        }
+        final long[] state = sweepState.get();
+        final long gen = generation;
+        if (state[0] == gen) {
+            return;
+        }
+        final long now = System.nanoTime();
+        if (now - state[1] < SWEEP_INTERVAL) {
+            return;
+        }
+        state[0] = gen;
+        state[1] = now;
+
+        final List<Sweepable> owned;
+        synchronized (pending) {
+            final Set<Sweepable> set = pending.remove(Thread.currentThread());
+            if (set == null) {
+                return;
+            }
+            owned = new ArrayList<>(set);
+        }
+        int purged = 0;
+        for (Sweepable helper : owned) {
+            purged += helper.sweepCollected();
+        }
+        if (purged > 0) {
+            purgedCount.addAndGet(purged);
+            if (PulseLogger.PULSE_LOGGING_ENABLED) {
+                PulseLogger.addMessage(purged + " collected weak listeners purged");
+            }
+        }
+    }
+
+    // must be called with the pending lock held
+    private static void addPending(Object owners) {
+        if (owners instanceof Owner) {
+            addPending((Owner) owners);
+        } else if (owners != null) {
+            for (Owner owner : (Owner[]) owners) {
+                addPending(owner);
+            }
+        }
+    }
+
+    private static void addPending(Owner owner) {
+        final Sweepable helper = owner.get();
+        final Thread thread = owner.thread.get();
+        if (helper != null && thread != null) {
+            pending.computeIfAbsent(thread, t -> Collections.newSetFromMap(new WeakHashMap<>())).add(helper);
+        }
+    }
+}
@@ -128,6 +128,16 @@ public final class ElementObservableListDecorator<E> extends ObservableListBase<
         return decoratedList.subList(fromIndex, toIndex);
     }
 
+    @Override
+    public void beginBatch() {
+        decoratedList.beginBatch();
+    }
+
+    @Override
+    public void endBatch() {
+        decoratedList.endBatch();
+    }
+
     @Override
     public int size() {
         return decoratedList.size();
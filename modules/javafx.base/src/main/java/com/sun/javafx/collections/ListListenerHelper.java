@@ -26,6 +26,7 @@
 package com.sun.javafx.collections;
 
 import com.sun.javafx.binding.ExpressionHelperBase;
+import com.sun.javafx.binding.WeakListenerSweeper;
 import javafx.beans.InvalidationListener;
 import javafx.collections.ListChangeListener;
 import sun.util.logging.PlatformLogger;
@@ -43,6 +44,7 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
         if (listener == null) {
             throw new NullPointerException();
         }
+        WeakListenerSweeper.sweep();
         return (helper == null)? new SingleInvalidation<E>(listener) : helper.addListener(listener);
     }
 
@@ -57,6 +59,7 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
         if (listener == null) {
             throw new NullPointerException();
         }
+        WeakListenerSweeper.sweep();
         return (helper == null)? new SingleChange<E>(listener) : helper.addListener(listener);
     }
 
@@ -168,7 +171,7 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
         }
     }
 
-    private static class Generic<E> extends ListListenerHelper<E> {
+    private static class Generic<E> extends ListListenerHelper<E> implements WeakListenerSweeper.Sweepable {
 
         private InvalidationListener[] invalidationListeners;
         private ListChangeListener<? super E>[] changeListeners;
@@ -179,11 +182,15 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
         private Generic(InvalidationListener listener0, InvalidationListener listener1) {
             this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
             this.invalidationSize = 2;
+            WeakListenerSweeper.track(this, listener0);
+            WeakListenerSweeper.track(this, listener1);
         }
 
         private Generic(ListChangeListener<? super E> listener0, ListChangeListener<? super E> listener1) {
             this.changeListeners = new ListChangeListener[] {listener0, listener1};
             this.changeSize = 2;
+            WeakListenerSweeper.track(this, listener0);
+            WeakListenerSweeper.track(this, listener1);
         }
 
         private Generic(InvalidationListener invalidationListener, ListChangeListener<? super E> changeListener) {
@@ -191,6 +198,27 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
             this.invalidationSize = 1;
             this.changeListeners = new ListChangeListener[] {changeListener};
             this.changeSize = 1;
+            WeakListenerSweeper.track(this, invalidationListener);
+            WeakListenerSweeper.track(this, changeListener);
+        }
+
+        @Override
+        public int sweepCollected() {
+            // always trim a copy, a notification may be iterating over the arrays
+            int purged = 0;
+            if (hasCollected(invalidationSize, invalidationListeners)) {
+                invalidationListeners = invalidationListeners.clone();
+                final int newSize = trim(invalidationSize, invalidationListeners);
+                purged += invalidationSize - newSize;
+                invalidationSize = newSize;
+            }
+            if (hasCollected(changeSize, changeListeners)) {
+                changeListeners = changeListeners.clone();
+                final int newSize = trim(changeSize, changeListeners);
+                purged += changeSize - newSize;
+                changeSize = newSize;
+            }
+            return purged;
         }
 
         @Override
@@ -212,6 +240,7 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
                 }
                 invalidationListeners[invalidationSize++] = listener;
             }
+            WeakListenerSweeper.track(this, listener);
             return this;
         }
 
@@ -269,6 +298,7 @@ public abstract class ListListenerHelper<E> extends ExpressionHelperBase {
                 }
                 changeListeners[changeSize++] = listener;
             }
+            WeakListenerSweeper.track(this, listener);
             return this;
         }
 
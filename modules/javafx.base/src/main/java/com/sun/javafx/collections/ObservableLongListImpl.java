@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import javafx.collections.ModifiableObservableListBase;
+import javafx.collections.ObservableLongList;
+
+/**
+ * ObservableLongList default implementation.
+ */
+public class ObservableLongListImpl extends ModifiableObservableListBase<Long>
+        implements ObservableLongList, RandomAccess {
+
+    private static final long[] INITIAL = new long[0];
+
+    /**
+     * The maximum size of array to allocate.
+     * Some VMs reserve some header words in an array.
+     * Attempts to allocate larger arrays may result in
+     * OutOfMemoryError: Requested array size exceeds VM limit
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private long[] array = INITIAL;
+    private int size = 0;
+
+    /**
+     * Creates empty observable long list
+     */
+    public ObservableLongListImpl() {
+    }
+
+    /**
+     * Creates observable long list with copy of given initial values
+     * @param elements initial values to copy to the list
+     */
+    public ObservableLongListImpl(long... elements) {
+        array = elements.clone();
+        size = elements.length;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public long getLong(int index) {
+        elementCheck(index);
+        return array[index];
+    }
+
+    @Override
+    protected void doAdd(int index, Long element) {
+        positionCheck(index);
+        final long value = element;
+        openGap(index, 1);
+        array[index] = value;
+    }
+
+    @Override
+    protected Long doSet(int index, Long element) {
+        elementCheck(index);
+        final long old = array[index];
+        array[index] = element;
+        return old;
+    }
+
+    @Override
+    protected Long doRemove(int index) {
+        elementCheck(index);
+        final long old = array[index];
+        closeGap(index, 1);
+        return old;
+    }
+
+    @Override
+    public long set(int index, long value) {
+        elementCheck(index);
+        final long old = array[index];
+        array[index] = value;
+        beginChange();
+        nextSet(index, old);
+        endChange();
+        return old;
+    }
+
+    @Override
+    public boolean add(long value) {
+        add(size, value);
+        return true;
+    }
+
+    @Override
+    public void add(int index, long value) {
+        positionCheck(index);
+        openGap(index, 1);
+        array[index] = value;
+        ++modCount;
+        beginChange();
+        nextAdd(index, index + 1);
+        endChange();
+    }
+
+    @Override
+    public void addAll(long[] src, int srcIndex, int length) {
+        addAll(size, src, srcIndex, length);
+    }
+
+    @Override
+    public void addAll(int index, long[] src, int srcIndex, int length) {
+        rangeCheck(src, srcIndex, length);
+        positionCheck(index);
+        if (length == 0) {
+            return;
+        }
+        openGap(index, length);
+        System.arraycopy(src, srcIndex, array, index, length);
+        ++modCount;
+        beginChange();
+        nextAdd(index, index + length);
+        endChange();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Long> c) {
+        return addAll(size, c);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Long> c) {
+        positionCheck(index);
+        final long[] src = new long[c.size()];
+        int i = 0;
+        for (Long e : c) {
+            src[i++] = e;
+        }
+        addAll(index, src, 0, src.length);
+        return src.length != 0;
+    }
+
+    @Override
+    public void setAll(long[] src, int srcIndex, int length) {
+        rangeCheck(src, srcIndex, length);
+        beginChange();
+        try {
+            if (size != 0) {
+                final long[] removed = Arrays.copyOf(array, size);
+                size = 0;
+                nextRemove(0, new RemovedValues(removed));
+            }
+            if (array.length < length) {
+                array = new long[length];
+            }
+            System.arraycopy(src, srcIndex, array, 0, length);
+            size = length;
+            if (length != 0) {
+                nextAdd(0, length);
+            }
+            ++modCount;
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    public void set(int destIndex, long[] src, int srcIndex, int length) {
+        rangeCheck(src, srcIndex, length);
+        if (destIndex < 0 || destIndex + length > size) {
+            throw new IndexOutOfBoundsException("Range: " + destIndex + ".." + (destIndex + length) + ", Size: " + size);
+        }
+        if (length == 0) {
+            return;
+        }
+        final long[] removed = Arrays.copyOfRange(array, destIndex, destIndex + length);
+        System.arraycopy(src, srcIndex, array, destIndex, length);
+        beginChange();
+        nextReplace(destIndex, destIndex + length, new RemovedValues(removed));
+        endChange();
+    }
+
+    @Override
+    public void copyTo(int srcIndex, long[] dest, int destIndex, int length) {
+        if (srcIndex < 0 || length < 0 || srcIndex + length > size) {
+            throw new IndexOutOfBoundsException("Range: " + srcIndex + ".." + (srcIndex + length) + ", Size: " + size);
+        }
+        System.arraycopy(array, srcIndex, dest, destIndex, length);
+    }
+
+    @Override
+    public long[] toLongArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > size) {
+            throw new IndexOutOfBoundsException("Range: " + fromIndex + ".." + toIndex + ", Size: " + size);
+        }
+        if (fromIndex == toIndex) {
+            return;
+        }
+        final long[] removed = Arrays.copyOfRange(array, fromIndex, toIndex);
+        closeGap(fromIndex, toIndex - fromIndex);
+        ++modCount;
+        beginChange();
+        nextRemove(fromIndex, new RemovedValues(removed));
+        endChange();
+    }
+
+    @Override
+    public void clear() {
+        removeRange(0, size);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (o instanceof Long) {
+            final long value = (Long) o;
+            for (int i = 0; i < size; ++i) {
+                if (array[i] == value) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (o instanceof Long) {
+            final long value = (Long) o;
+            for (int i = size - 1; i >= 0; --i) {
+                if (array[i] == value) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) != -1;
+    }
+
+    private void openGap(int index, int length) {
+        growCapacity(length);
+        System.arraycopy(array, index, array, index + length, size - index);
+        size += length;
+    }
+
+    private void closeGap(int index, int length) {
+        System.arraycopy(array, index + length, array, index, size - index - length);
+        size -= length;
+    }
+
+    private void growCapacity(int length) {
+        int minCapacity = size + length;
+        int oldCapacity = array.length;
+        if (minCapacity > array.length) {
+            int newCapacity = oldCapacity + (oldCapacity >> 1);
+            if (newCapacity < minCapacity) newCapacity = minCapacity;
+            if (newCapacity > MAX_ARRAY_SIZE) newCapacity = hugeCapacity(minCapacity);
+            array = Arrays.copyOf(array, newCapacity);
+        } else if (length > 0 && minCapacity < 0) {
+            throw new OutOfMemoryError(); // overflow
+        }
+    }
+
+    private static int hugeCapacity(int minCapacity) {
+        if (minCapacity < 0) // overflow
+            throw new OutOfMemoryError();
+        return (minCapacity > MAX_ARRAY_SIZE) ?
+            Integer.MAX_VALUE :
+            MAX_ARRAY_SIZE;
+    }
+
+    private void elementCheck(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void positionCheck(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static void rangeCheck(long[] src, int srcIndex, int length) {
+        if (src == null) throw new NullPointerException();
+        if (srcIndex < 0 || srcIndex + length > src.length) {
+            throw new ArrayIndexOutOfBoundsException(src.length);
+        }
+        if (length < 0) throw new ArrayIndexOutOfBoundsException(-1);
+    }
+
+    /**
+     * Read-only view of removed values handed to the change builder. Values
+     * are only boxed when a listener actually reads them.
+     */
+    private static class RemovedValues extends AbstractList<Long> implements RandomAccess {
+
+        private final long[] values;
+
+        RemovedValues(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Long get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
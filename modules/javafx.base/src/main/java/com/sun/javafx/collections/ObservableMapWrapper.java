@@ -31,7 +31,9 @@ import javafx.collections.ObservableMap;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -46,6 +48,9 @@ public class ObservableMapWrapper<K, V> implements ObservableMap<K, V>{
     private MapListenerHelper<K, V> listenerHelper;
     private final Map<K, V> backingMap;
 
+    private int batchDepth;
+    private Map<K, BatchedKey<V>> batchedKeys;
+
     public ObservableMapWrapper(Map<K, V> map) {
         this.backingMap = map;
     }
@@ -111,10 +116,63 @@ public class ObservableMapWrapper<K, V> implements ObservableMap<K, V>{
 
     }
 
+    /**
+     * The state of a key at the moment it was first modified in a batch.
+     */
+    private static class BatchedKey<V> {
+        private final boolean wasPresent;
+        private final V old;
+
+        BatchedKey(boolean wasPresent, V old) {
+            this.wasPresent = wasPresent;
+            this.old = old;
+        }
+    }
+
     protected void callObservers(MapChangeListener.Change<K,V> change) {
+        if (batchDepth > 0) {
+            if (!batchedKeys.containsKey(change.getKey())) {
+                batchedKeys.put(change.getKey(), new BatchedKey<>(change.wasRemoved(), change.getValueRemoved()));
+            }
+            return;
+        }
         MapListenerHelper.fireValueChangedEvent(listenerHelper, change);
     }
 
+    @Override
+    public void beginBatch() {
+        if (batchDepth++ == 0) {
+            batchedKeys = new LinkedHashMap<>();
+        }
+    }
+
+    @Override
+    public void endBatch() {
+        if (batchDepth <= 0) {
+            throw new IllegalStateException("Called endBatch before beginBatch");
+        }
+        if (--batchDepth > 0) {
+            return;
+        }
+        final Map<K, BatchedKey<V>> keys = batchedKeys;
+        batchedKeys = null;
+        for (Map.Entry<K, BatchedKey<V>> e : keys.entrySet()) {
+            final K key = e.getKey();
+            final BatchedKey<V> state = e.getValue();
+            final boolean present = backingMap.containsKey(key);
+            final V value = present ? backingMap.get(key) : null;
+            if (state.wasPresent) {
+                if (!present) {
+                    callObservers(new SimpleChange(key, state.old, null, false, true));
+                } else if (!Objects.equals(state.old, value)) {
+                    callObservers(new SimpleChange(key, state.old, value, true, true));
+                }
+            } else if (present) {
+                callObservers(new SimpleChange(key, null, value, true, false));
+            }
+        }
+    }
+
     @Override
     public void addListener(InvalidationListener listener) {
         listenerHelper = MapListenerHelper.addListener(listenerHelper, listener);
@@ -31,6 +31,8 @@ import javafx.collections.SetChangeListener;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -42,6 +44,9 @@ public class ObservableSetWrapper<E> implements ObservableSet<E> {
 
     private SetListenerHelper<E> listenerHelper;
 
+    private int batchDepth;
+    private Map<E, Boolean> batchedElements;
+
     /**
      * Creates new instance of ObservableSet that wraps
      * the particular set specified by the parameter set.
@@ -125,9 +130,47 @@ public class ObservableSetWrapper<E> implements ObservableSet<E> {
     }
 
     private void callObservers(SetChangeListener.Change<E> change) {
+        if (batchDepth > 0) {
+            final E element = change.wasAdded() ? change.getElementAdded() : change.getElementRemoved();
+            if (!batchedElements.containsKey(element)) {
+                batchedElements.put(element, change.wasRemoved());
+            }
+            return;
+        }
         SetListenerHelper.fireValueChangedEvent(listenerHelper, change);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beginBatch() {
+        if (batchDepth++ == 0) {
+            batchedElements = new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void endBatch() {
+        if (batchDepth <= 0) {
+            throw new IllegalStateException("Called endBatch before beginBatch");
+        }
+        if (--batchDepth > 0) {
+            return;
+        }
+        final Map<E, Boolean> elements = batchedElements;
+        batchedElements = null;
+        for (Map.Entry<E, Boolean> e : elements.entrySet()) {
+            final boolean wasPresent = e.getValue();
+            if (wasPresent != backingSet.contains(e.getKey())) {
+                callObservers(wasPresent ? new SimpleRemoveChange(e.getKey()) : new SimpleAddChange(e.getKey()));
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.Comparator;
+
+/**
+ * A sequence of nodes kept in a balanced binary tree (a treap) where every
+ * node knows the size of its subtree. This allows to insert and remove a node
+ * at an arbitrary position, to look up the node at a position and to compute
+ * the position of a node, all in O(log n).
+ *
+ * The nodes are created by the caller, so the same value can be linked into
+ * several trees, e.g. to map between two different orderings of the same
+ * elements.
+ *
+ * Lookups keep no state in the tree, so several threads may read it at
+ * once while no thread modifies it.
+ *
+ * @param <T> the type of the values
+ */
+public final class OrderStatisticTree<T> {
+
+    public static final class Node<T> {
+        private final T value;
+        private Node<T> left;
+        private Node<T> right;
+        private Node<T> parent;
+        private int size = 1;
+        private int priority;
+
+        public Node(T value) {
+            this.value = value;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    private Node<T> root;
+    private int seed = 0x2545F491;
+
+    public int size() {
+        return size(root);
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Returns the node at the specified position.
+     * @param index the position of the node
+     * @return the node
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public Node<T> nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node<T> n = root;
+        int i = index;
+        while (true) {
+            final int ls = size(n.left);
+            if (i < ls) {
+                n = n.left;
+            } else if (i > ls) {
+                i -= ls + 1;
+                n = n.right;
+            } else {
+                return n;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of a node linked into this tree.
+     * @param node the node
+     * @return the position of the node
+     */
+    public int indexOf(Node<T> node) {
+        int index = size(node.left);
+        for (Node<T> n = node; n.parent != null; n = n.parent) {
+            if (n == n.parent.right) {
+                index += size(n.parent.left) + 1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the position after the last node with a value that compares
+     * equal to {@code key}, assuming the values are ordered by the comparator.
+     * @param key the value to look for
+     * @param comparator the comparator used to order the values
+     * @return the insertion position of the key
+     */
+    public int upperBound(T key, Comparator<? super T> comparator) {
+        int index = 0;
+        Node<T> n = root;
+        while (n != null) {
+            if (comparator.compare(key, n.value) < 0) {
+                n = n.left;
+            } else {
+                index += size(n.left) + 1;
+                n = n.right;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Links an unlinked node into the tree at the specified position.
+     * @param index the position of the new node
+     * @param node the node
+     */
+    public void insert(int index, Node<T> node) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        node.left = node.right = node.parent = null;
+        node.size = 1;
+        node.priority = nextPriority();
+        if (root == null) {
+            root = node;
+            return;
+        }
+        Node<T> n = root;
+        int i = index;
+        while (true) {
+            n.size++;
+            final int ls = size(n.left);
+            if (i <= ls) {
+                if (n.left == null) {
+                    n.left = node;
+                    break;
+                }
+                n = n.left;
+            } else {
+                i -= ls + 1;
+                if (n.right == null) {
+                    n.right = node;
+                    break;
+                }
+                n = n.right;
+            }
+        }
+        node.parent = n;
+        while (node.parent != null && node.priority > node.parent.priority) {
+            rotateUp(node);
+        }
+    }
+
+    /**
+     * Unlinks a node from the tree.
+     * @param node the node linked into this tree
+     */
+    public void remove(Node<T> node) {
+        while (node.left != null || node.right != null) {
+            final Node<T> child;
+            if (node.left == null) {
+                child = node.right;
+            } else if (node.right == null) {
+                child = node.left;
+            } else {
+                child = node.left.priority > node.right.priority ? node.left : node.right;
+            }
+            rotateUp(child);
+        }
+        final Node<T> p = node.parent;
+        if (p == null) {
+            root = null;
+        } else {
+            if (p.left == node) {
+                p.left = null;
+            } else {
+                p.right = null;
+            }
+            for (Node<T> n = p; n != null; n = n.parent) {
+                n.size--;
+            }
+        }
+        node.parent = null;
+        node.size = 1;
+    }
+
+    /**
+     * Replaces the content of this tree with nodes in the given order.
+     * Runs in O(n).
+     * @param nodes the nodes
+     * @param count the number of nodes to use from the array
+     */
+    public void setAll(Node<T>[] nodes, int count) {
+        root = build(nodes, 0, count);
+        if (root != null) {
+            root.parent = null;
+        }
+    }
+
+    /**
+     * Copies the values of this tree to an array, in order.
+     * @param values the array to fill, at least {@link #size()} long
+     * @return the array
+     */
+    public T[] toArray(T[] values) {
+        int i = 0;
+        for (Node<T> n = first(); n != null; n = successor(n)) {
+            values[i++] = n.value;
+        }
+        return values;
+    }
+
+    private Node<T> first() {
+        Node<T> n = root;
+        if (n != null) {
+            while (n.left != null) {
+                n = n.left;
+            }
+        }
+        return n;
+    }
+
+    private Node<T> build(Node<T>[] nodes, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        final int mid = (from + to) >>> 1;
+        final Node<T> n = nodes[mid];
+        n.left = build(nodes, from, mid);
+        n.right = build(nodes, mid + 1, to);
+        if (n.left != null) {
+            n.left.parent = n;
+        }
+        if (n.right != null) {
+            n.right.parent = n;
+        }
+        n.size = to - from;
+        n.priority = nextPriority();
+        siftDown(n);
+        return n;
+    }
+
+    // Restores the heap order of the priorities below n, keeping the shape
+    // of the (perfectly balanced) tree.
+    private static <T> void siftDown(Node<T> n) {
+        while (true) {
+            Node<T> max = n;
+            if (n.left != null && n.left.priority > max.priority) {
+                max = n.left;
+            }
+            if (n.right != null && n.right.priority > max.priority) {
+                max = n.right;
+            }
+            if (max == n) {
+                return;
+            }
+            final int tmp = n.priority;
+            n.priority = max.priority;
+            max.priority = tmp;
+            n = max;
+        }
+    }
+
+    private void rotateUp(Node<T> x) {
+        final Node<T> p = x.parent;
+        final Node<T> g = p.parent;
+        if (x == p.left) {
+            p.left = x.right;
+            if (x.right != null) {
+                x.right.parent = p;
+            }
+            x.right = p;
+        } else {
+            p.right = x.left;
+            if (x.left != null) {
+                x.left.parent = p;
+            }
+            x.left = p;
+        }
+        p.parent = x;
+        x.parent = g;
+        if (g == null) {
+            root = x;
+        } else if (g.left == p) {
+            g.left = x;
+        } else {
+            g.right = x;
+        }
+        p.size = 1 + size(p.left) + size(p.right);
+        x.size = 1 + size(x.left) + size(x.right);
+    }
+
+    private static <T> Node<T> successor(Node<T> n) {
+        if (n.right != null) {
+            n = n.right;
+            while (n.left != null) {
+                n = n.left;
+            }
+            return n;
+        }
+        while (n.parent != null && n == n.parent.right) {
+            n = n.parent;
+        }
+        return n.parent;
+    }
+
+    private static int size(Node<?> n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private int nextPriority() {
+        // xorshift
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        seed = x;
+        return x;
+    }
+}
@@ -0,0 +1,502 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+/**
+ * A growable bit set that can count the set bits before an index (rank) and
+ * find the n-th set bit (select) in O(log n).
+ *
+ * The bits are stored in small blocks. Fenwick trees over the lengths and the
+ * bit counts of the blocks allow to find the block of a bit, or of the n-th
+ * set bit, in O(log n). Inserting or removing bits in the middle of the set
+ * only shifts the bits of the affected block, so it is O(log n) too, unless
+ * blocks need to be split or merged.
+ *
+ * Reads keep no state in the set, so several threads may read it at once
+ * while no thread modifies it.
+ */
+public final class RankedBitSet {
+
+    // maximum number of bits in a block
+    private static final int BLOCK_BITS = 2048;
+    // maximum number of bits in a block created by splitting a larger sequence
+    private static final int TARGET_BITS = BLOCK_BITS / 2;
+    // blocks smaller than this are merged with the next block
+    private static final int MIN_BITS = BLOCK_BITS / 8;
+
+    private long[][] blocks = new long[0][];
+    private int[] blockLengths = new int[0];
+    private int[] blockCounts = new int[0];
+    private int blockCount;
+
+    private final Fenwick lengthTree = new Fenwick();
+    private final Fenwick countTree = new Fenwick();
+
+    private int length;
+    private int cardinality;
+
+    /**
+     * @return the number of bits in this set, set or not
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return the number of set bits
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean get(int index) {
+        if (index < 0 || index >= length) {
+            return false;
+        }
+        final int b = lengthTree.find(index);
+        final int offset = index - lengthTree.prefix(b);
+        return (blocks[b][offset >>> 6] & (1L << offset)) != 0;
+    }
+
+    public void set(int index, boolean value) {
+        checkIndex(index, length);
+        final int b = lengthTree.find(index);
+        final int offset = index - lengthTree.prefix(b);
+        final long[] block = blocks[b];
+        final int w = offset >>> 6;
+        final long bit = 1L << offset;
+        if (((block[w] & bit) != 0) == value) {
+            return;
+        }
+        block[w] ^= bit;
+        final int delta = value ? 1 : -1;
+        blockCounts[b] += delta;
+        countTree.add(b, delta);
+        cardinality += delta;
+    }
+
+    /**
+     * Returns the number of set bits with an index lower than {@code index}.
+     * @param index the index, may be bigger than {@link #length()}
+     * @return the number of set bits before the index
+     */
+    public int rank(int index) {
+        if (index >= length) {
+            return cardinality;
+        }
+        if (index <= 0) {
+            return 0;
+        }
+        final int b = lengthTree.find(index);
+        final int offset = index - lengthTree.prefix(b);
+        final long[] block = blocks[b];
+        final int w = offset >>> 6;
+        int r = countTree.prefix(b);
+        for (int i = 0; i < w; ++i) {
+            r += Long.bitCount(block[i]);
+        }
+        return r + Long.bitCount(block[w] & lowMask(offset & 63));
+    }
+
+    /**
+     * Returns the index of the set bit with the specified rank.
+     * @param rank the number of set bits before the bit to find
+     * @return the index of the bit
+     */
+    public int select(int rank) {
+        checkIndex(rank, cardinality);
+        final int b = countTree.find(rank);
+        int r = rank - countTree.prefix(b);
+        final long[] block = blocks[b];
+        int w = 0;
+        int c;
+        while ((c = Long.bitCount(block[w])) <= r) {
+            r -= c;
+            ++w;
+        }
+        long word = block[w];
+        for (int i = 0; i < r; ++i) {
+            word &= word - 1;
+        }
+        return lengthTree.prefix(b) + (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * @param from the index to start at
+     * @return the index of the first set bit at or after {@code from}, or -1
+     */
+    public int nextSetBit(int from) {
+        if (from < 0) {
+            from = 0;
+        }
+        if (from >= length) {
+            return -1;
+        }
+        int b = lengthTree.find(from);
+        int offset = from - lengthTree.prefix(b);
+        int start = from - offset;
+        while (b < blockCount) {
+            if (blockCounts[b] != 0) {
+                final long[] block = blocks[b];
+                int w = offset >>> 6;
+                long word = block[w] & ~lowMask(offset & 63);
+                final int words = wordCount(blockLengths[b]);
+                while (word == 0 && ++w < words) {
+                    word = block[w];
+                }
+                if (word != 0) {
+                    return start + (w << 6) + Long.numberOfTrailingZeros(word);
+                }
+            }
+            start += blockLengths[b];
+            offset = 0;
+            ++b;
+        }
+        return -1;
+    }
+
+    /**
+     * Inserts {@code count} clear bits at {@code index}, shifting the bits
+     * at and after the index up.
+     */
+    public void insert(int index, int count) {
+        checkIndex(index, length + 1);
+        if (count <= 0) {
+            return;
+        }
+        if (blockCount == 0) {
+            final Bits content = new Bits(count);
+            content.appendZeros(count);
+            replaceBlocks(0, 0, content);
+            return;
+        }
+        final int b;
+        final int offset;
+        if (index == length) {
+            b = blockCount - 1;
+            offset = blockLengths[b];
+        } else {
+            b = lengthTree.find(index);
+            offset = index - lengthTree.prefix(b);
+        }
+        final int blockLength = blockLengths[b];
+        if (blockLength + count <= BLOCK_BITS) {
+            shiftUp(blocks[b], blockLength, offset, count);
+            blockLengths[b] += count;
+            lengthTree.add(b, count);
+            length += count;
+        } else {
+            final Bits content = new Bits(blockLength + count);
+            content.append(blocks[b], 0, offset);
+            content.appendZeros(count);
+            content.append(blocks[b], offset, blockLength);
+            replaceBlocks(b, b + 1, content);
+        }
+    }
+
+    /**
+     * Removes {@code count} bits at {@code index}, shifting the bits after
+     * them down.
+     */
+    public void remove(int index, int count) {
+        checkIndex(index, length + 1);
+        if (index + count > length) {
+            throw new IndexOutOfBoundsException("Index: " + (index + count) + ", Length: " + length);
+        }
+        if (count <= 0) {
+            return;
+        }
+        final int b = lengthTree.find(index);
+        final int offset = index - lengthTree.prefix(b);
+        final int blockLength = blockLengths[b];
+        if (offset + count < blockLength && blockLength - count >= MIN_BITS) {
+            final long[] block = blocks[b];
+            final int removed = countBits(block, offset, offset + count);
+            shiftDown(block, blockLength, offset, count);
+            blockLengths[b] -= count;
+            blockCounts[b] -= removed;
+            lengthTree.add(b, -count);
+            countTree.add(b, -removed);
+            length -= count;
+            cardinality -= removed;
+            return;
+        }
+        // the removed range spans several blocks, or the block gets too small
+        final int end = index + count;
+        int last;
+        int lastOffset;
+        if (end == length) {
+            last = blockCount - 1;
+            lastOffset = blockLengths[last];
+        } else {
+            last = lengthTree.find(end);
+            lastOffset = end - lengthTree.prefix(last);
+        }
+        final Bits content = new Bits(offset + blockLengths[last] - lastOffset + BLOCK_BITS);
+        content.append(blocks[b], 0, offset);
+        content.append(blocks[last], lastOffset, blockLengths[last]);
+        if (content.length < MIN_BITS && last + 1 < blockCount) {
+            ++last;
+            content.append(blocks[last], 0, blockLengths[last]);
+        }
+        replaceBlocks(b, last + 1, content);
+    }
+
+    /**
+     * Replaces the content of this set.
+     * @param words the bits
+     * @param length the number of bits
+     */
+    public void setAll(long[] words, int length) {
+        if (words.length < wordCount(length)) {
+            throw new IllegalArgumentException("Not enough words for " + length + " bits");
+        }
+        final Bits content = new Bits(0);
+        content.words = words;
+        content.length = length;
+        replaceBlocks(0, blockCount, content);
+    }
+
+    // Replaces the blocks in [from, to) with blocks holding the content
+    private void replaceBlocks(int from, int to, Bits content) {
+        final int newBlocks = (content.length + TARGET_BITS - 1) / TARGET_BITS;
+        // spread the bits evenly, so that no tiny block is created
+        final int bitsPerBlock = newBlocks == 0 ? 0 : (content.length + newBlocks - 1) / newBlocks;
+        final int newBlockCount = blockCount - (to - from) + newBlocks;
+        if (newBlockCount > blocks.length || newBlockCount < blocks.length / 4) {
+            final int capacity = newBlockCount * 3 / 2 + 1;
+            long[][] b = new long[capacity][];
+            int[] l = new int[capacity];
+            int[] c = new int[capacity];
+            System.arraycopy(blocks, 0, b, 0, from);
+            System.arraycopy(blockLengths, 0, l, 0, from);
+            System.arraycopy(blockCounts, 0, c, 0, from);
+            System.arraycopy(blocks, to, b, from + newBlocks, blockCount - to);
+            System.arraycopy(blockLengths, to, l, from + newBlocks, blockCount - to);
+            System.arraycopy(blockCounts, to, c, from + newBlocks, blockCount - to);
+            blocks = b;
+            blockLengths = l;
+            blockCounts = c;
+        } else {
+            System.arraycopy(blocks, to, blocks, from + newBlocks, blockCount - to);
+            System.arraycopy(blockLengths, to, blockLengths, from + newBlocks, blockCount - to);
+            System.arraycopy(blockCounts, to, blockCounts, from + newBlocks, blockCount - to);
+            for (int i = newBlockCount; i < blockCount; ++i) {
+                blocks[i] = null;
+            }
+        }
+        for (int i = 0; i < newBlocks; ++i) {
+            final int start = i * bitsPerBlock;
+            final int end = Math.min(content.length, start + bitsPerBlock);
+            final long[] block = new long[BLOCK_BITS >>> 6];
+            int count = 0;
+            for (int w = 0, p = start; p < end; ++w, p += 64) {
+                block[w] = readBits(content.words, p) & lowMask(end - p);
+                count += Long.bitCount(block[w]);
+            }
+            blocks[from + i] = block;
+            blockLengths[from + i] = end - start;
+            blockCounts[from + i] = count;
+        }
+        blockCount = newBlockCount;
+        lengthTree.rebuild(blockLengths, blockCount);
+        countTree.rebuild(blockCounts, blockCount);
+        length = lengthTree.total;
+        cardinality = countTree.total;
+    }
+
+    // Shifts the bits at and after index up by count; the words must have
+    // room for length + count bits
+    private static void shiftUp(long[] words, int length, int index, int count) {
+        for (int w = wordCount(length + count) - 1, first = index >>> 6; w >= first; --w) {
+            final int base = w << 6;
+            final long shifted = readBits(words, base - count) & ~lowMask(index + count - base);
+            words[w] = shifted | (words[w] & lowMask(index - base));
+        }
+    }
+
+    // Removes count bits at index, shifting the following bits down
+    private static void shiftDown(long[] words, int length, int index, int count) {
+        final int newLength = length - count;
+        final int last = wordCount(newLength);
+        for (int w = index >>> 6; w < last; ++w) {
+            final int base = w << 6;
+            final long mask = lowMask(index - base);
+            words[w] = (readBits(words, base + count) & ~mask) | (words[w] & mask);
+        }
+        for (int w = last, end = wordCount(length); w < end; ++w) {
+            words[w] = 0;
+        }
+        if (last > 0) {
+            words[last - 1] &= lowMask(newLength - ((last - 1) << 6));
+        }
+    }
+
+    private static int countBits(long[] words, int from, int to) {
+        int count = 0;
+        for (int p = from; p < to; p += 64) {
+            count += Long.bitCount(readBits(words, p) & lowMask(to - p));
+        }
+        return count;
+    }
+
+    // Reads 64 bits starting at the (possibly negative) bit index; bits
+    // outside of the array read as 0
+    private static long readBits(long[] words, int from) {
+        if (from <= -64) {
+            return 0;
+        }
+        if (from < 0) {
+            return words[0] << -from;
+        }
+        final int w = from >>> 6;
+        final int s = from & 63;
+        if (w >= words.length) {
+            return 0;
+        }
+        long result = words[w] >>> s;
+        if (s != 0 && w + 1 < words.length) {
+            result |= words[w + 1] << (64 - s);
+        }
+        return result;
+    }
+
+    private static int wordCount(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    // The bits below n, for n in any range
+    private static long lowMask(int n) {
+        if (n <= 0) {
+            return 0;
+        }
+        if (n >= 64) {
+            return -1L;
+        }
+        return (1L << n) - 1;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    // A sequence of bits that is built by appending
+    private static final class Bits {
+        private long[] words;
+        private int length;
+
+        private Bits(int capacity) {
+            words = new long[wordCount(capacity) + 1];
+        }
+
+        private void append(long[] src, int from, int to) {
+            for (int p = from; p < to; p += 64) {
+                final int n = Math.min(64, to - p);
+                append(readBits(src, p) & lowMask(n), n);
+            }
+        }
+
+        private void append(long bits, int n) {
+            ensureCapacity(length + n);
+            final int w = length >>> 6;
+            final int s = length & 63;
+            words[w] |= bits << s;
+            if (s != 0 && s + n > 64) {
+                words[w + 1] |= bits >>> (64 - s);
+            }
+            length += n;
+        }
+
+        private void appendZeros(int n) {
+            ensureCapacity(length + n);
+            length += n;
+        }
+
+        private void ensureCapacity(int bits) {
+            if (wordCount(bits) + 1 > words.length) {
+                long[] replacement = new long[wordCount(bits) * 3 / 2 + 2];
+                System.arraycopy(words, 0, replacement, 0, words.length);
+                words = replacement;
+            }
+        }
+    }
+
+    // A Fenwick tree over the first n values of an int array
+    private static final class Fenwick {
+        private int[] tree = new int[1];
+        private int n;
+        private int total;
+
+        void rebuild(int[] values, int n) {
+            if (tree.length < n + 1 || tree.length > 4 * (n + 1)) {
+                tree = new int[n + 1];
+            }
+            this.n = n;
+            total = 0;
+            for (int i = 1; i <= n; ++i) {
+                tree[i] = values[i - 1];
+                total += values[i - 1];
+            }
+            for (int i = 1; i <= n; ++i) {
+                final int parent = i + (i & -i);
+                if (parent <= n) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+
+        void add(int index, int delta) {
+            total += delta;
+            for (int i = index + 1; i <= n; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        // The sum of the values before index
+        int prefix(int index) {
+            int sum = 0;
+            for (int i = index; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+
+        // The index i with prefix(i) <= k < prefix(i + 1)
+        int find(int k) {
+            int i = 0;
+            for (int step = Integer.highestOneBit(n); step > 0; step >>>= 1) {
+                final int next = i + step;
+                if (next <= n && tree[next] <= k) {
+                    i = next;
+                    k -= tree[next];
+                }
+            }
+            return i;
+        }
+    }
+}
@@ -98,6 +98,16 @@ public abstract class VetoableListDecorator<E> implements ObservableList<E> {
         helper = ListListenerHelper.removeListener(helper, listener);
     }
 
+    @Override
+    public void beginBatch() {
+        list.beginBatch();
+    }
+
+    @Override
+    public void endBatch() {
+        list.endBatch();
+    }
+
     @Override
     public boolean addAll(E... elements) {
         return addAll(Arrays.asList(elements));
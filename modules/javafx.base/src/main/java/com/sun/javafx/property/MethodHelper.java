@@ -26,8 +26,12 @@
 package com.sun.javafx.property;
 
 import com.sun.javafx.reflect.MethodUtil;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import sun.reflect.misc.ReflectUtil;
@@ -83,6 +87,40 @@ public class MethodHelper {
         return MethodUtil.invoke(m, obj, params);
     }
 
+    /**
+     * Returns a method handle of type {@code (Object)Object} for a public,
+     * parameterless instance method, or {@code null} if the method cannot be
+     * accessed through {@link MethodHandles#publicLookup()}.
+     * <p>
+     * Only methods of public classes in unconditionally exported packages
+     * qualify. The handle carries no privileges of this module, so it is as
+     * safe to call as {@link #invoke}, without the per-call access checks
+     * and the trampoline. All other methods must go through {@link #invoke}.
+     *
+     * @param m the method, may be {@code null}
+     * @return the method handle or {@code null}
+     */
+    public static MethodHandle getPublicHandle(Method m) {
+        if (m == null || Modifier.isStatic(m.getModifiers())
+                || m.getParameterCount() != 0) {
+            return null;
+        }
+        final Class<?> clazz = m.getDeclaringClass();
+        if (!Modifier.isPublic(clazz.getModifiers())
+                || !clazz.getModule().isExported(clazz.getPackage().getName())) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(m)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException | RuntimeException ex) {
+            if (logAccessErrors) {
+                ex.printStackTrace(System.err);
+            }
+            return null;
+        }
+    }
+
     // Utility class, do not instantiate
     private MethodHelper() {
     }
@@ -27,9 +27,12 @@ package com.sun.javafx.property;
 
 import static java.security.AccessController.doPrivileged;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.security.PrivilegedAction;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javafx.beans.property.ReadOnlyProperty;
 
@@ -39,13 +42,29 @@ import sun.reflect.misc.ReflectUtil;
  * A handle to a specific property defined on some {@link Bean}.
  */
 public final class PropertyReference<T> {
+
+    /**
+     * References already created by {@link #forClass}, per class and
+     * property name. A {@code ClassValue} is used so that the cache does not
+     * keep the classes (and their class loaders) alive.
+     */
+    private static final ClassValue<Map<String, PropertyReference<?>>> CACHE =
+            new ClassValue<Map<String, PropertyReference<?>>>() {
+        @Override
+        protected Map<String, PropertyReference<?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     private String name;
     private Method getter;
     private Method setter;
     private Method propertyGetter;
+    private MethodHandle getterHandle;
+    private MethodHandle propertyGetterHandle;
     private Class<?> clazz;
     private Class<?> type;
-    private boolean reflected = false;
+    private volatile boolean reflected = false;
 
     // uses reflection to implement the get / set methods
     /**
@@ -72,6 +91,42 @@ public final class PropertyReference<T> {
         this.clazz = clazz;
     }
 
+    /**
+     * Returns a shared {@code PropertyReference} for a property of a bean.
+     * The introspection of the class is done only once per class and
+     * property name, which makes this method suitable for code that resolves
+     * the same property of many beans, such as select bindings.
+     *
+     * @param clazz
+     *            The class of the {@link Bean} that contains the property
+     * @param name
+     *            The name of the property
+     * @return the {@code PropertyReference}
+     * @throws NullPointerException
+     *             if {@code clazz} or {@code name} are null
+     * @throws IllegalArgumentException
+     *             if {@code name} is an empty {@code String}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PropertyReference<T> forClass(Class<?> clazz, String name) {
+        if (clazz == null)
+            throw new NullPointerException("Class must be specified");
+        if (name == null)
+            throw new NullPointerException("Name must be specified");
+        // the access check depends on the caller, so it is not cached
+        ReflectUtil.checkPackageAccess(clazz);
+        final Map<String, PropertyReference<?>> refs = CACHE.get(clazz);
+        PropertyReference<?> ref = refs.get(name);
+        if (ref == null) {
+            ref = new PropertyReference<T>(clazz, name);
+            final PropertyReference<?> old = refs.putIfAbsent(name, ref);
+            if (old != null) {
+                ref = old;
+            }
+        }
+        return (PropertyReference<T>) ref;
+    }
+
     /**
      * Can be used to determine if a property can be set.
      *
@@ -171,8 +226,13 @@ public final class PropertyReference<T> {
                     "Cannot read from unreadable property " + name);
         assert getter != null;
         try {
+            if (getterHandle != null) {
+                return (T)(Object)getterHandle.invokeExact(bean);
+            }
             return (T)MethodHelper.invoke(getter, bean, (Object[])null);
-        } catch (Exception ex) {
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
             throw new RuntimeException(ex);
         }
     }
@@ -194,8 +254,13 @@ public final class PropertyReference<T> {
             throw new IllegalStateException("Cannot get property " + name);
         assert propertyGetter != null;
         try {
+            if (propertyGetterHandle != null) {
+                return (ReadOnlyProperty<T>)(Object)propertyGetterHandle.invokeExact(bean);
+            }
             return (ReadOnlyProperty<T>)MethodHelper.invoke(propertyGetter, bean, (Object[])null);
-        } catch (Exception ex) {
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
             throw new RuntimeException(ex);
         }
     }
@@ -212,24 +277,47 @@ public final class PropertyReference<T> {
         // If both the getter and setter are null then we have not reflected
         // on this property before
         if (!reflected) {
-            reflected = true;
+            synchronized (this) {
+                if (!reflected) {
+                    introspect();
+                    getterHandle = MethodHelper.getPublicHandle(getter);
+                    propertyGetterHandle = MethodHelper.getPublicHandle(propertyGetter);
+                    reflected = true;
+                }
+            }
+        }
+    }
+
+    private void introspect() {
+        try {
+            // Since we use it in several places, construct the
+            // first-letter-capitalized version of name
+            final String properName = name.length() == 1 ?
+                    name.substring(0, 1).toUpperCase() :
+                    Character.toUpperCase(name.charAt(0))
+                    + name.substring(1);
+
+            // Now look for the getter. It will be named either
+            // "get" + name with the first letter of name
+            // capitalized, or it will be named "is" + name with
+            // the first letter of the name capitalized. However it
+            // is only named with "is" as a prefix if the type is
+            // boolean.
+            type = null;
+            // first we check for getXXX
+            String getterName = "get" + properName;
             try {
-                // Since we use it in several places, construct the
-                // first-letter-capitalized version of name
-                final String properName = name.length() == 1 ?
-                        name.substring(0, 1).toUpperCase() :
-                        Character.toUpperCase(name.charAt(0))
-                        + name.substring(1);
+                final Method m = clazz.getMethod(getterName);
+                if (Modifier.isPublic(m.getModifiers())) {
+                    getter = m;
+                }
+            } catch (NoSuchMethodException ex) {
+                // This is a legitimate error
+            }
 
-                // Now look for the getter. It will be named either
-                // "get" + name with the first letter of name
-                // capitalized, or it will be named "is" + name with
-                // the first letter of the name capitalized. However it
-                // is only named with "is" as a prefix if the type is
-                // boolean.
-                type = null;
-                // first we check for getXXX
-                String getterName = "get" + properName;
+            // Then if it wasn't found we look for isXXX
+            if (getter == null) {
+                getterName = "is" + properName;
                 try {
                     final Method m = clazz.getMethod(getterName);
                     if (Modifier.isPublic(m.getModifiers())) {
@@ -238,66 +326,53 @@ public final class PropertyReference<T> {
                 } catch (NoSuchMethodException ex) {
                     // This is a legitimate error
                 }
+            }
 
-                // Then if it wasn't found we look for isXXX
-                if (getter == null) {
-                    getterName = "is" + properName;
-                    try {
-                        final Method m = clazz.getMethod(getterName);
-                        if (Modifier.isPublic(m.getModifiers())) {
-                            getter = m;
-                        }
-                    } catch (NoSuchMethodException ex) {
-                        // This is a legitimate error
-                    }
-                }
-
-                // Now attempt to look for the setter. It is simply
-                // "set" + name with the first letter of name
-                // capitalized.
-                final String setterName = "set" + properName;
-
-                // If we found the getter, we can get the type
-                // and the setter easily.
-                if (getter != null) {
-                    type = getter.getReturnType();
-                    try {
-                        final Method m = clazz.getMethod(setterName, type);
-                        if (Modifier.isPublic(m.getModifiers())) {
-                            setter = m;
-                        }
-                    } catch (NoSuchMethodException ex) {
-                        // This is a legitimate error
-                    }
-                } else { // no getter found
-                    final Method[] methods = clazz.getMethods();
-                    for (final Method m : methods) {
-                        final Class<?>[] parameters = m.getParameterTypes();
-                        if (setterName.equals(m.getName())
-                                && (parameters.length == 1)
-                                && Modifier.isPublic(m.getModifiers()))
-                        {
-                            setter = m;
-                            type = parameters[0];
-                            break;
-                        }
-                    }
-                }
+            // Now attempt to look for the setter. It is simply
+            // "set" + name with the first letter of name
+            // capitalized.
+            final String setterName = "set" + properName;
 
-                // Now attempt to look for the property-getter.
-                final String propertyGetterName = name + "Property";
+            // If we found the getter, we can get the type
+            // and the setter easily.
+            if (getter != null) {
+                type = getter.getReturnType();
                 try {
-                    final Method m = clazz.getMethod(propertyGetterName);
+                    final Method m = clazz.getMethod(setterName, type);
                     if (Modifier.isPublic(m.getModifiers())) {
-                        propertyGetter = m;
-                    } else
-                        propertyGetter = null;
+                        setter = m;
+                    }
                 } catch (NoSuchMethodException ex) {
                     // This is a legitimate error
                 }
-            } catch (RuntimeException e) {
-                System.err.println("Failed to introspect property " + name);
+            } else { // no getter found
+                final Method[] methods = clazz.getMethods();
+                for (final Method m : methods) {
+                    final Class<?>[] parameters = m.getParameterTypes();
+                    if (setterName.equals(m.getName())
+                            && (parameters.length == 1)
+                            && Modifier.isPublic(m.getModifiers()))
+                    {
+                        setter = m;
+                        type = parameters[0];
+                        break;
+                    }
+                }
+            }
+
+            // Now attempt to look for the property-getter.
+            final String propertyGetterName = name + "Property";
+            try {
+                final Method m = clazz.getMethod(propertyGetterName);
+                if (Modifier.isPublic(m.getModifiers())) {
+                    propertyGetter = m;
+                } else
+                    propertyGetter = null;
+            } catch (NoSuchMethodException ex) {
+                // This is a legitimate error
             }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to introspect property " + name);
         }
     }
 
@@ -25,7 +25,7 @@
 
 package javafx.beans;
 
-import java.lang.ref.WeakReference;
+import com.sun.javafx.binding.WeakListenerSweeper;
 import javafx.beans.NamedArg;
 
 /**
@@ -50,7 +50,11 @@ import javafx.beans.NamedArg;
  */
 public final class WeakInvalidationListener implements InvalidationListener, WeakListener {
 
-    private final WeakReference<InvalidationListener> ref;
+    private final WeakListenerSweeper.Ref<InvalidationListener> ref;
+
+    static {
+        WeakListenerSweeper.setRefAccessor(WeakInvalidationListener.class, listener -> listener.ref);
+    }
 
     /**
      * The constructor of {@code WeakInvalidationListener}.
@@ -62,7 +66,7 @@ public final class WeakInvalidationListener implements InvalidationListener, Wea
         if (listener == null) {
             throw new NullPointerException("Listener must be specified.");
         }
-        this.ref = new WeakReference<InvalidationListener>(listener);
+        this.ref = new WeakListenerSweeper.Ref<InvalidationListener>(listener);
     }
 
     /**
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package javafx.beans.binding;
+
+import com.sun.javafx.binding.PulseDeferredDispatcher;
+import java.util.Objects;
+import javafx.beans.InvalidationListener;
+import javafx.beans.NamedArg;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * A {@code DeferredChangeListener} delivers the changes of an
+ * {@link ObservableValue} to a {@link ChangeListener} at most once per pulse.
+ * <p>
+ * A regular {@code ChangeListener} forces the observed value to be
+ * recomputed on every invalidation, so a binding whose source changes
+ * thousands of times per second is evaluated just as often. A
+ * {@code DeferredChangeListener} is an {@link InvalidationListener}. It only
+ * schedules itself when the value becomes invalid and computes the value
+ * once on the next pulse. If the value differs from the one passed last, the
+ * wrapped {@code ChangeListener} is called with the last value as the old
+ * value. Intermediate values are never seen by the listener.
+ * <p>
+ * The {@code DeferredChangeListener} is created for the observed value and
+ * has to be registered with it:
+ * <pre>{@code
+ * NumberBinding total = ...;
+ * total.addListener(new DeferredChangeListener<>(total, (o, oldValue, newValue) -> label.setText(...)));
+ * }</pre>
+ * As long as the JavaFX runtime is not running, changes are delivered
+ * immediately.
+ * <p>
+ * This class must be used from the JavaFX Application Thread only.
+ *
+ * @param <T> the type of the observed value
+ * @see ChangeListener
+ * @see ObservableValue
+ * @since 10
+ */
+public final class DeferredChangeListener<T> implements InvalidationListener {
+
+    private final ObservableValue<T> observable;
+    private final ChangeListener<? super T> listener;
+    private final Runnable dispatch = this::dispatch;
+    private T value;
+    private boolean scheduled;
+
+    /**
+     * Creates a {@code DeferredChangeListener}. The current value of the
+     * observable is computed and used as the old value of the first change.
+     *
+     * @param observable
+     *            the {@code ObservableValue} this listener will be registered with
+     * @param listener
+     *            the listener that should be notified of changes
+     */
+    public DeferredChangeListener(@NamedArg("observable") ObservableValue<T> observable,
+                                  @NamedArg("listener") ChangeListener<? super T> listener) {
+        if (observable == null) {
+            throw new NullPointerException("Observable must be specified.");
+        }
+        if (listener == null) {
+            throw new NullPointerException("Listener must be specified.");
+        }
+        this.observable = observable;
+        this.listener = listener;
+        this.value = observable.getValue();
+    }
+
+    /**
+     * Schedules the wrapped {@code ChangeListener} to be notified on the next
+     * pulse. Does not compute the value of the observable.
+     *
+     * @param observable
+     *            the {@code Observable} that became invalid
+     */
+    @Override
+    public void invalidated(Observable observable) {
+        if (!scheduled) {
+            scheduled = true;
+            PulseDeferredDispatcher.schedule(dispatch);
+        }
+    }
+
+    private void dispatch() {
+        scheduled = false;
+        // validates the observable again, so the next invalidation is reported
+        final T newValue = observable.getValue();
+        final T oldValue = value;
+        if (!Objects.equals(oldValue, newValue)) {
+            value = newValue;
+            listener.changed(observable, oldValue, newValue);
+        }
+    }
+}
@@ -33,6 +33,7 @@ import javafx.beans.value.ObservableListValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -394,4 +395,31 @@ public abstract class ListExpression<E> implements ObservableListValue<E> {
         }
     }
 
+    // The lists the open batches were started on, innermost last, so that
+    // a batch is ended on the same list even if the value changed meanwhile.
+    private List<ObservableList<E>> batchLists;
+
+    @Override
+    public void beginBatch() {
+        final ObservableList<E> list = get();
+        if (batchLists == null) {
+            batchLists = new ArrayList<>();
+        }
+        batchLists.add(list);
+        if (list != null) {
+            list.beginBatch();
+        }
+    }
+
+    @Override
+    public void endBatch() {
+        if (batchLists == null || batchLists.isEmpty()) {
+            throw new IllegalStateException("Called endBatch before beginBatch");
+        }
+        final ObservableList<E> list = batchLists.remove(batchLists.size() - 1);
+        if (list != null) {
+            list.endBatch();
+        }
+    }
+
 }
@@ -314,4 +314,31 @@ public abstract class MapExpression<K, V> implements ObservableMapValue<K, V> {
         return (map == null)? (V) EMPTY_MAP.get(key) : map.get(key);
     }
 
+    // The maps the open batches were started on, innermost last, so that
+    // a batch is ended on the same map even if the value changed meanwhile.
+    private List<ObservableMap<K, V>> batchMaps;
+
+    @Override
+    public void beginBatch() {
+        final ObservableMap<K, V> map = get();
+        if (batchMaps == null) {
+            batchMaps = new ArrayList<>();
+        }
+        batchMaps.add(map);
+        if (map != null) {
+            map.beginBatch();
+        }
+    }
+
+    @Override
+    public void endBatch() {
+        if (batchMaps == null || batchMaps.isEmpty()) {
+            throw new IllegalStateException("Called endBatch before beginBatch");
+        }
+        final ObservableMap<K, V> map = batchMaps.remove(batchMaps.size() - 1);
+        if (map != null) {
+            map.endBatch();
+        }
+    }
+
 }
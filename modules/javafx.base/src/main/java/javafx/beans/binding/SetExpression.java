@@ -36,8 +36,10 @@ import javafx.collections.ObservableSet;
 import javafx.collections.SetChangeListener;
 
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
@@ -318,4 +320,31 @@ public abstract class SetExpression<E> implements ObservableSetValue<E> {
         }
     }
 
+    // The sets the open batches were started on, innermost last, so that
+    // a batch is ended on the same set even if the value changed meanwhile.
+    private List<ObservableSet<E>> batchSets;
+
+    @Override
+    public void beginBatch() {
+        final ObservableSet<E> set = get();
+        if (batchSets == null) {
+            batchSets = new ArrayList<>();
+        }
+        batchSets.add(set);
+        if (set != null) {
+            set.beginBatch();
+        }
+    }
+
+    @Override
+    public void endBatch() {
+        if (batchSets == null || batchSets.isEmpty()) {
+            throw new IllegalStateException("Called endBatch before beginBatch");
+        }
+        final ObservableSet<E> set = batchSets.remove(batchSets.size() - 1);
+        if (set != null) {
+            set.endBatch();
+        }
+    }
+
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package javafx.beans.property;
+
+import com.sun.javafx.binding.PulseDeferredDispatcher;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A read-only property wrapping an arbitrary {@code Object} that can be
+ * updated from any thread.
+ * <p>
+ * {@link #post(Object)} stores the new value atomically without locking and
+ * schedules the value to be published on the JavaFX Application Thread on
+ * the next pulse. Values posted before the property was published are
+ * coalesced, so at most one publish is scheduled at any time, no matter how
+ * often the value is posted. Listeners are always notified on the JavaFX
+ * Application Thread and only see the value that was posted last.
+ * <p>
+ * {@link #get()} returns the published value and must only be called on the
+ * JavaFX Application Thread. {@link #getLatest()} returns the value posted
+ * last and can be called from any thread.
+ * <p>
+ * As long as the JavaFX runtime is not running, posted values are published
+ * immediately on the calling thread.
+ *
+ * @param <T>
+ *            the type of the wrapped {@code Object}
+ * @see ReadOnlyObjectProperty
+ * @since 10
+ */
+public class AtomicObjectProperty<T> extends ReadOnlyObjectPropertyBase<T> {
+
+    private static final Object DEFAULT_BEAN = null;
+    private static final String DEFAULT_NAME = "";
+
+    // marks that no value is waiting to be published
+    private static final Object NO_UPDATE = new Object();
+
+    private final Object bean;
+    private final String name;
+
+    private final AtomicReference<Object> update = new AtomicReference<>(NO_UPDATE);
+    private final Runnable publish = this::publish;
+
+    private volatile T latest;
+    private T value;
+
+    /**
+     * The constructor of {@code AtomicObjectProperty}
+     */
+    public AtomicObjectProperty() {
+        this(DEFAULT_BEAN, DEFAULT_NAME);
+    }
+
+    /**
+     * The constructor of {@code AtomicObjectProperty}
+     *
+     * @param initialValue
+     *            the initial value of the wrapped value
+     */
+    public AtomicObjectProperty(T initialValue) {
+        this(DEFAULT_BEAN, DEFAULT_NAME, initialValue);
+    }
+
+    /**
+     * The constructor of {@code AtomicObjectProperty}
+     *
+     * @param bean
+     *            the bean of this {@code AtomicObjectProperty}
+     * @param name
+     *            the name of this {@code AtomicObjectProperty}
+     */
+    public AtomicObjectProperty(Object bean, String name) {
+        this(bean, name, null);
+    }
+
+    /**
+     * The constructor of {@code AtomicObjectProperty}
+     *
+     * @param bean
+     *            the bean of this {@code AtomicObjectProperty}
+     * @param name
+     *            the name of this {@code AtomicObjectProperty}
+     * @param initialValue
+     *            the initial value of the wrapped value
+     */
+    public AtomicObjectProperty(Object bean, String name, T initialValue) {
+        this.bean = bean;
+        this.name = (name == null) ? DEFAULT_NAME : name;
+        this.value = initialValue;
+        this.latest = initialValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getBean() {
+        return bean;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the published value. Must be called on the JavaFX Application
+     * Thread.
+     *
+     * @return the published value
+     */
+    @Override
+    public T get() {
+        return value;
+    }
+
+    /**
+     * Returns the value that was posted last, even if it has not been
+     * published yet. Can be called from any thread.
+     *
+     * @return the value posted last
+     */
+    public T getLatest() {
+        return latest;
+    }
+
+    /**
+     * Sets a new value. Can be called from any thread. The value is published
+     * on the JavaFX Application Thread on the next pulse, unless it is
+     * replaced by another value before.
+     *
+     * @param newValue
+     *            the new value
+     */
+    public void post(T newValue) {
+        latest = newValue;
+        if (update.getAndSet(newValue) == NO_UPDATE) {
+            PulseDeferredDispatcher.post(publish);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publish() {
+        final T newValue = (T) update.getAndSet(NO_UPDATE);
+        if (newValue != value) {
+            value = newValue;
+            fireValueChangedEvent();
+        }
+    }
+}
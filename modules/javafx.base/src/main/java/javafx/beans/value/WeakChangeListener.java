@@ -28,7 +28,7 @@ package javafx.beans.value;
 import javafx.beans.NamedArg;
 import javafx.beans.WeakListener;
 
-import java.lang.ref.WeakReference;
+import com.sun.javafx.binding.WeakListenerSweeper;
 
 /**
  * A {@code WeakChangeListener} can be used if an {@link ObservableValue}
@@ -53,7 +53,11 @@ import java.lang.ref.WeakReference;
  */
 public final class WeakChangeListener<T> implements ChangeListener<T>, WeakListener {
 
-    private final WeakReference<ChangeListener<T>> ref;
+    private final WeakListenerSweeper.Ref<ChangeListener<T>> ref;
+
+    static {
+        WeakListenerSweeper.setRefAccessor(WeakChangeListener.class, listener -> listener.ref);
+    }
 
     /**
      * The constructor of {@code WeakChangeListener}.
@@ -64,7 +68,7 @@ public final class WeakChangeListener<T> implements ChangeListener<T>, WeakListe
         if (listener == null) {
             throw new NullPointerException("Listener must be specified.");
         }
-        this.ref = new WeakReference<ChangeListener<T>>(listener);
+        this.ref = new WeakListenerSweeper.Ref<ChangeListener<T>>(listener);
     }
 
     /**
@@ -53,8 +53,11 @@ import com.sun.javafx.collections.ObservableListWrapper;
 import com.sun.javafx.collections.ObservableMapWrapper;
 import com.sun.javafx.collections.ObservableSetWrapper;
 import com.sun.javafx.collections.MapAdapterChange;
+import com.sun.javafx.collections.ObservableDoubleListImpl;
 import com.sun.javafx.collections.ObservableFloatArrayImpl;
 import com.sun.javafx.collections.ObservableIntegerArrayImpl;
+import com.sun.javafx.collections.ObservableIntegerListImpl;
+import com.sun.javafx.collections.ObservableLongListImpl;
 import com.sun.javafx.collections.ObservableSequentialListWrapper;
 import com.sun.javafx.collections.SetAdapterChange;
 import com.sun.javafx.collections.SortableList;
@@ -306,6 +309,63 @@ public class FXCollections {
         return new ObservableFloatArrayImpl(array);
     }
 
+    /**
+     * Creates a new empty observable double list.
+     * @return a newly created ObservableDoubleList
+     * @since 10
+     */
+    public static ObservableDoubleList observableDoubleList() {
+        return new ObservableDoubleListImpl();
+    }
+
+    /**
+     * Creates a new observable double list with {@code values} set to it.
+     * @param values the values that will be in the new observable double list
+     * @return a newly created ObservableDoubleList
+     * @since 10
+     */
+    public static ObservableDoubleList observableDoubleList(double... values) {
+        return new ObservableDoubleListImpl(values);
+    }
+
+    /**
+     * Creates a new empty observable int list.
+     * @return a newly created ObservableIntegerList
+     * @since 10
+     */
+    public static ObservableIntegerList observableIntegerList() {
+        return new ObservableIntegerListImpl();
+    }
+
+    /**
+     * Creates a new observable int list with {@code values} set to it.
+     * @param values the values that will be in the new observable int list
+     * @return a newly created ObservableIntegerList
+     * @since 10
+     */
+    public static ObservableIntegerList observableIntegerList(int... values) {
+        return new ObservableIntegerListImpl(values);
+    }
+
+    /**
+     * Creates a new empty observable long list.
+     * @return a newly created ObservableLongList
+     * @since 10
+     */
+    public static ObservableLongList observableLongList() {
+        return new ObservableLongListImpl();
+    }
+
+    /**
+     * Creates a new observable long list with {@code values} set to it.
+     * @param values the values that will be in the new observable long list
+     * @return a newly created ObservableLongList
+     * @since 10
+     */
+    public static ObservableLongList observableLongList(long... values) {
+        return new ObservableLongListImpl(values);
+    }
+
     /**
      * Creates a new empty observable list that is backed by an arraylist.
      * @see #observableList(java.util.List)
@@ -1210,6 +1270,20 @@ public class FXCollections {
             this(seq, new Object());
         }
 
+        @Override
+        public void beginBatch() {
+            synchronized (mutex) {
+                backingList.beginBatch();
+            }
+        }
+
+        @Override
+        public void endBatch() {
+            synchronized (mutex) {
+                backingList.endBatch();
+            }
+        }
+
         @Override
         public boolean addAll(T... elements) {
             synchronized(mutex) {
@@ -1301,6 +1375,16 @@ public class FXCollections {
             list.addListener(new WeakListChangeListener<T>(listener));
         }
 
+        @Override
+        public void beginBatch() {
+            list.beginBatch();
+        }
+
+        @Override
+        public void endBatch() {
+            list.endBatch();
+        }
+
         void typeCheck(Object o) {
             if (o != null && !type.isInstance(o)) {
                 throw new ClassCastException("Attempt to insert "
@@ -1903,6 +1987,20 @@ public class FXCollections {
             this(set, new Object());
         }
 
+        @Override
+        public void beginBatch() {
+            synchronized (mutex) {
+                backingSet.beginBatch();
+            }
+        }
+
+        @Override
+        public void endBatch() {
+            synchronized (mutex) {
+                backingSet.endBatch();
+            }
+        }
+
         @Override
         public void addListener(InvalidationListener listener) {
             synchronized (mutex) {
@@ -1950,6 +2048,16 @@ public class FXCollections {
             backingSet.addListener(new WeakSetChangeListener<E>(listener));
         }
 
+        @Override
+        public void beginBatch() {
+            backingSet.beginBatch();
+        }
+
+        @Override
+        public void endBatch() {
+            backingSet.endBatch();
+        }
+
         private void callObservers(SetChangeListener.Change<? extends E> c) {
             SetListenerHelper.fireValueChangedEvent(listenerHelper, c);
         }
@@ -2175,6 +2283,16 @@ public class FXCollections {
             backingMap.addListener(new WeakMapChangeListener<K, V>(listener));
         }
 
+        @Override
+        public void beginBatch() {
+            backingMap.beginBatch();
+        }
+
+        @Override
+        public void endBatch() {
+            backingMap.endBatch();
+        }
+
         private void callObservers(MapChangeListener.Change<? extends K, ? extends V> c) {
             MapListenerHelper.fireValueChangedEvent(listenerHelper, c);
         }
@@ -2797,6 +2915,20 @@ public class FXCollections {
             this(map, new Object());
         }
 
+        @Override
+        public void beginBatch() {
+            synchronized (mutex) {
+                backingMap.beginBatch();
+            }
+        }
+
+        @Override
+        public void endBatch() {
+            synchronized (mutex) {
+                backingMap.endBatch();
+            }
+        }
+
         @Override
         public void addListener(InvalidationListener listener) {
             synchronized (mutex) {
@@ -189,6 +189,28 @@ public abstract class ModifiableObservableListBase<E> extends ObservableListBase
         return new SubObservableList(super.subList(fromIndex, toIndex));
     }
 
+    /**
+     * Starts a batch of modifications. All modifications made until the
+     * matching {@link #endBatch()} call are collected in the same
+     * {@code beginChange()}/{@code endChange()} block and reported as
+     * a single change.
+     * @since 10
+     */
+    @Override
+    public void beginBatch() {
+        beginChange();
+    }
+
+    /**
+     * Ends a batch of modifications started by {@link #beginBatch()}.
+     * @throws IllegalStateException if there is no open batch
+     * @since 10
+     */
+    @Override
+    public void endBatch() {
+        endChange();
+    }
+
     @Override
     public abstract E get(int index);
 
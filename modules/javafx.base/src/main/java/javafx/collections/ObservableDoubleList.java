@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package javafx.collections;
+
+/**
+ * {@code ObservableDoubleList} is an {@link ObservableList} of {@code Double} values
+ * that stores its elements in a growable {@code double[]} array instead of
+ * boxing every element. All {@code List} operations are supported, and
+ * changes are reported through the usual {@link ListChangeListener}s, but
+ * the primitive accessors declared here read and write the elements
+ * without allocating wrapper objects.
+ * <p>
+ * Bulk operations such as {@link #addAll(double[], int, int)} and
+ * {@link #set(int, double[], int, int)} are reported as a single range change.
+ * The list does not permit {@code null} elements.
+ *
+ * @see FXCollections#observableDoubleList()
+ * @since 10
+ */
+public interface ObservableDoubleList extends ObservableList<Double> {
+
+    /**
+     * Gets the element at the specified position without boxing it.
+     * @param index index of the element to return
+     * @return the element at the specified position
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public double getDouble(int index);
+
+    /**
+     * Replaces the element at the specified position.
+     * @param index index of the element to replace
+     * @param value the new value
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public double set(int index, double value);
+
+    /**
+     * Appends the specified value to the end of this list.
+     * @param value the value to append
+     * @return true (as specified by {@link java.util.Collection#add})
+     */
+    public boolean add(double value);
+
+    /**
+     * Inserts the specified value at the specified position.
+     * @param index the position to insert the value at
+     * @param value the value to insert
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public void add(int index, double value);
+
+    /**
+     * Appends a portion of the given array to the end of this list.
+     * @param src source array
+     * @param srcIndex starting position in the source array
+     * @param length length of the portion to append
+     * @throws NullPointerException if {@code src} is null
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside
+     * the bounds of {@code src}
+     */
+    public void addAll(double[] src, int srcIndex, int length);
+
+    /**
+     * Inserts a portion of the given array at the specified position.
+     * @param index the position to insert the values at
+     * @param src source array
+     * @param srcIndex starting position in the source array
+     * @param length length of the portion to insert
+     * @throws NullPointerException if {@code src} is null
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside
+     * the bounds of {@code src}
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    public void addAll(int index, double[] src, int srcIndex, int length);
+
+    /**
+     * Replaces the content of this list with a portion of the given array.
+     * @param src source array
+     * @param srcIndex starting position in the source array
+     * @param length length of the portion to copy
+     * @throws NullPointerException if {@code src} is null
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside
+     * the bounds of {@code src}
+     */
+    public void setAll(double[] src, int srcIndex, int length);
+
+    /**
+     * Overwrites a range of this list with a portion of the given array.
+     * The size of the list does not change.
+     * @param destIndex the first position in this list to overwrite
+     * @param src source array
+     * @param srcIndex starting position in the source array
+     * @param length length of the portion to copy
+     * @throws NullPointerException if {@code src} is null
+     * @throws ArrayIndexOutOfBoundsException if the portion is outside
+     * the bounds of {@code src}
+     * @throws IndexOutOfBoundsException if the range is outside the bounds
+     * of this list
+     */
+    public void set(int destIndex, double[] src, int srcIndex, int length);
+
+    /**
+     * Copies a portion of this list into the {@code dest} array.
+     * @param srcIndex starting position in this list
+     * @param dest destination array
+     * @param destIndex starting position in the destination array
+     * @param length length of the portion to copy
+     * @throws IndexOutOfBoundsException if the range is outside the bounds
+     * of this list or of {@code dest}
+     */
+    public void copyTo(int srcIndex, double[] dest, int destIndex, int length);
+
+    /**
+     * Returns a new array containing all the elements of this list.
+     * @return a copy of the content of this list
+     */
+    public double[] toDoubleArray();
+}
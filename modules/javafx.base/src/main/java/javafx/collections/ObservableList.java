@@ -103,6 +103,37 @@ public interface ObservableList<E> extends List<E>, Observable {
      */
     public void remove(int from, int to);
 
+    /**
+     * Starts a batch of modifications. Until the matching {@link #endBatch()}
+     * call, modifications of this list are not reported to the listeners one
+     * by one; instead, they are combined and reported as a single
+     * {@link ListChangeListener.Change} when the outer-most batch ends.
+     * <p>
+     * Batches can be nested. Every {@code beginBatch()} call must be paired
+     * with an {@code endBatch()} call, typically in a {@code finally} block.
+     * <p>
+     * The default implementation does nothing, in which case every
+     * modification is reported as it happens.
+     * @see #endBatch()
+     * @since 10
+     */
+    public default void beginBatch() {
+    }
+
+    /**
+     * Ends a batch of modifications started by {@link #beginBatch()}.
+     * If this is the outer-most batch, the listeners are notified of all
+     * modifications made since the batch was started.
+     * <p>
+     * The default implementation does nothing.
+     * @throws IllegalStateException if the list supports batching and
+     * there is no open batch
+     * @see #beginBatch()
+     * @since 10
+     */
+    public default void endBatch() {
+    }
+
     /**
      * Creates a {@link FilteredList} wrapper of this list using
      * the specified predicate.
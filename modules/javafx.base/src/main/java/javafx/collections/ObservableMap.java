@@ -48,4 +48,37 @@ public interface ObservableMap<K, V> extends Map<K, V>, Observable {
      * @param listener a listener to remove
      */
     public void removeListener(MapChangeListener<? super K, ? super V> listener);
+
+    /**
+     * Starts a batch of modifications. Until the matching {@link #endBatch()}
+     * call, modifications of this map are not reported to the listeners.
+     * When the outer-most batch ends, a single {@link MapChangeListener.Change}
+     * is reported for every key whose state differs from the state it had
+     * when the batch was started. Modifications that cancel each other out
+     * are not reported at all.
+     * <p>
+     * Batches can be nested. Every {@code beginBatch()} call must be paired
+     * with an {@code endBatch()} call, typically in a {@code finally} block.
+     * <p>
+     * The default implementation does nothing, in which case every
+     * modification is reported as it happens.
+     * @see #endBatch()
+     * @since 10
+     */
+    public default void beginBatch() {
+    }
+
+    /**
+     * Ends a batch of modifications started by {@link #beginBatch()}.
+     * If this is the outer-most batch, the listeners are notified of the
+     * net changes made since the batch was started.
+     * <p>
+     * The default implementation does nothing.
+     * @throws IllegalStateException if the map supports batching and
+     * there is no open batch
+     * @see #beginBatch()
+     * @since 10
+     */
+    public default void endBatch() {
+    }
 }
@@ -26,12 +26,16 @@
 package javafx.collections.transformation;
 
 import com.sun.javafx.collections.NonIterableChange.GenericAddRemoveChange;
-import com.sun.javafx.collections.SortHelper;
+import com.sun.javafx.collections.RankedBitSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Predicate;
 import javafx.beans.NamedArg;
 import javafx.beans.property.ObjectProperty;
@@ -43,18 +47,32 @@ import javafx.collections.ObservableList;
  * Wraps an ObservableList and filters its content using the provided Predicate.
  * All changes in the ObservableList are propagated immediately
  * to the FilteredList.
+ * <p>
+ * The matching elements are tracked in a bit set with a rank index, so
+ * {@link #getSourceIndex(int)} and {@link #getViewIndex(int)} take O(log n)
+ * and a change of the source list no longer renumbers all the following
+ * elements one by one.
  *
  * @see TransformationList
  * @since JavaFX 8.0
  */
 public final class FilteredList<E> extends TransformationList<E, E>{
 
-    private int[] filtered;
-    private int size;
+    // bit i is set when the source element at index i matches the predicate
+    private final RankedBitSet filtered = new RankedBitSet();
 
-    private SortHelper helper;
     private static final Predicate ALWAYS_TRUE = t -> true;
 
+    // Number of elements evaluated by a single task of setPredicateAsync,
+    // a multiple of 64 so that the tasks never share a word of the bit set
+    private static final int PARALLEL_CHUNK = 4096;
+
+    // incremented on every change of the source list
+    private int sourceModCount;
+    // the result of setPredicateAsync, used by the next refilter() if it
+    // is still valid
+    private PrecomputedFilter<E> precomputed;
+
     /**
      * Constructs a new FilteredList wrapper around the source list.
      * The provided predicate will match the elements in the source list that will be visible.
@@ -64,13 +82,12 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     public FilteredList(@NamedArg("source") ObservableList<E> source, @NamedArg("predicate") Predicate<? super E> predicate) {
         super(source);
-        filtered = new int[source.size() * 3 / 2  + 1];
         if (predicate != null) {
             setPredicate(predicate);
         } else {
-            for (size = 0; size < source.size(); size++) {
-                filtered[size] = size;
-            }
+            final long[] words = new long[(source.size() + 63) >>> 6];
+            Arrays.fill(words, -1L);
+            filtered.setAll(words, source.size());
         }
     }
 
@@ -125,15 +142,69 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         predicateProperty().set(predicate);
     }
 
+    /**
+     * Sets a new predicate, evaluating it on the elements of the source list
+     * in parallel before the predicate is set.
+     * <p>
+     * The predicate is evaluated on the {@link ForkJoinPool#commonPool()},
+     * split into chunks of consecutive elements. When all the chunks are
+     * done, the predicate is set on the given {@code executor}, which should
+     * run the task on the thread that owns this list and its source list
+     * (usually the JavaFX Application Thread, e.g. {@code Platform::runLater}).
+     * Setting the predicate then fires a single change, just like
+     * {@link #setPredicate(java.util.function.Predicate)}, but without
+     * evaluating the predicate again.
+     * <p>
+     * The predicate must be safe to call from several threads at once and the
+     * source list must support concurrent reads. If the source list changes
+     * while the predicate is evaluated, or the evaluation fails, the
+     * predicate is evaluated again on the executor thread.
+     * <p>
+     * This method must be called on the thread that owns this list.
+     *
+     * @param predicate the predicate to match the elements or null to match all elements
+     * @param executor the executor that sets the predicate on the thread that owns this list
+     * @return a future that completes when the predicate was set
+     * @since 10
+     */
+    public final CompletableFuture<Void> setPredicateAsync(Predicate<? super E> predicate, Executor executor) {
+        final ObservableList<? extends E> source = getSource();
+        final int size = source.size();
+        final int modCount = sourceModCount;
+        final Predicate<? super E> pred = getPredicateImpl(predicate);
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    final long[] words = new long[(size + 63) >>> 6];
+                    ForkJoinPool.commonPool().invoke(new FilterTask<E>(source, pred, words, 0, size));
+                    return words;
+                }, ForkJoinPool.commonPool())
+                .handle((words, e) -> words)
+                .thenAcceptAsync(words -> {
+                    if (words != null && modCount == sourceModCount) {
+                        precomputed = new PrecomputedFilter<>(predicate, words, size);
+                    }
+                    try {
+                        setPredicate(predicate);
+                    } finally {
+                        precomputed = null;
+                    }
+                }, executor);
+    }
+
     private Predicate<? super E> getPredicateImpl() {
-        if (getPredicate() != null) {
-            return getPredicate();
+        return getPredicateImpl(getPredicate());
+    }
+
+    private Predicate<? super E> getPredicateImpl(Predicate<? super E> predicate) {
+        if (predicate != null) {
+            return predicate;
         }
         return ALWAYS_TRUE;
     }
 
     @Override
     protected void sourceChanged(Change<? extends E> c) {
+        ++sourceModCount;
         beginChange();
         while (c.next()) {
             if (c.wasPermutated()) {
@@ -154,7 +225,7 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     @Override
     public int size() {
-        return size;
+        return filtered.cardinality();
     }
 
     /**
@@ -166,60 +237,28 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     @Override
     public E get(int index) {
-        if (index >= size) {
+        if (index >= size()) {
             throw new IndexOutOfBoundsException();
         }
-        return getSource().get(filtered[index]);
+        return getSource().get(filtered.select(index));
     }
 
     @Override
     public int getSourceIndex(int index) {
-        if (index >= size) {
+        if (index >= size()) {
             throw new IndexOutOfBoundsException();
         }
-        return filtered[index];
+        return filtered.select(index);
     }
 
     @Override
     public int getViewIndex(int index) {
-        return Arrays.binarySearch(filtered, 0, size, index);
-    }
-
-    private SortHelper getSortHelper() {
-        if (helper == null) {
-            helper = new SortHelper();
-        }
-        return helper;
+        final int pos = filtered.rank(index);
+        return filtered.get(index) ? pos : ~pos;
     }
 
     private int findPosition(int p) {
-        if (filtered.length == 0) {
-            return 0;
-        }
-        if (p == 0) {
-            return 0;
-        }
-        int pos = Arrays.binarySearch(filtered, 0, size, p);
-        if (pos < 0 ) {
-            pos = ~pos;
-        }
-        return pos;
-    }
-
-
-    @SuppressWarnings("unchecked")
-    private void ensureSize(int size) {
-        if (filtered.length < size) {
-            int[] replacement = new int[size * 3/2 + 1];
-            System.arraycopy(filtered, 0, replacement, 0, this.size);
-            filtered = replacement;
-        }
-    }
-
-    private void updateIndexes(int from, int delta) {
-        for (int i = from; i < size; ++i) {
-            filtered[i] += delta;
-        }
+        return filtered.rank(p);
     }
 
     private void permutate(Change<? extends E> c) {
@@ -227,78 +266,61 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         int to = findPosition(c.getTo());
 
         if (to > from) {
-            for (int i = from; i < to; ++i) {
-                filtered[i] = c.getPermutation(filtered[i]);
+            int[] indexes = new int[to - from];
+            for (int i = 0, p = filtered.nextSetBit(c.getFrom()); i < indexes.length; ++i, p = filtered.nextSetBit(p + 1)) {
+                indexes[i] = p;
+            }
+            for (int p : indexes) {
+                filtered.set(p, false);
+            }
+            for (int i = 0; i < indexes.length; ++i) {
+                indexes[i] = c.getPermutation(indexes[i]);
+                filtered.set(indexes[i], true);
+            }
+            int[] perm = new int[indexes.length];
+            for (int i = 0; i < indexes.length; ++i) {
+                perm[i] = filtered.rank(indexes[i]);
             }
-
-            int[] perm = getSortHelper().sort(filtered, from, to);
             nextPermutation(from, to, perm);
         }
     }
 
     private void addRemove(Change<? extends E> c) {
         Predicate<? super E> pred = getPredicateImpl();
-        ensureSize(getSource().size());
         final int from = findPosition(c.getFrom());
-        final int to = findPosition(c.getFrom() + c.getRemovedSize());
 
         // Mark the nodes that are going to be removed
-        for (int i = from; i < to; ++i) {
-            nextRemove(from, c.getRemoved().get(filtered[i] - c.getFrom()));
+        final int removedTo = c.getFrom() + c.getRemovedSize();
+        for (int p = filtered.nextSetBit(c.getFrom()); p != -1 && p < removedTo; p = filtered.nextSetBit(p + 1)) {
+            nextRemove(from, c.getRemoved().get(p - c.getFrom()));
         }
+        filtered.remove(c.getFrom(), c.getRemovedSize());
+        filtered.insert(c.getFrom(), c.getAddedSize());
 
-        // Update indexes of the sublist following the last element that was removed
-        updateIndexes(to, c.getAddedSize() - c.getRemovedSize());
-
-        // Replace as many removed elements as possible
+        // Add the matching elements
         int fpos = from;
-        int pos = c.getFrom();
-
-        ListIterator<? extends E> it = getSource().listIterator(pos);
-        for (; fpos < to && it.nextIndex() < c.getTo();) {
+        ListIterator<? extends E> it = getSource().listIterator(c.getFrom());
+        while (it.nextIndex() < c.getTo()) {
             if (pred.test(it.next())) {
-                filtered[fpos] = it.previousIndex();
+                filtered.set(it.previousIndex(), true);
                 nextAdd(fpos, fpos + 1);
                 ++fpos;
             }
         }
-
-        if (fpos < to) {
-            // If there were more removed elements than added
-            System.arraycopy(filtered, to, filtered, fpos, size - to);
-            size -= to - fpos;
-        } else {
-            // Add the remaining elements
-            while (it.nextIndex() < c.getTo()) {
-                if (pred.test(it.next())) {
-                    System.arraycopy(filtered, fpos, filtered, fpos + 1, size - fpos);
-                    filtered[fpos] = it.previousIndex();
-                    nextAdd(fpos, fpos + 1);
-                    ++fpos;
-                    ++size;
-                }
-                ++pos;
-            }
-        }
     }
 
     private void update(Change<? extends E> c) {
         Predicate<? super E> pred = getPredicateImpl();
-        ensureSize(getSource().size());
         int sourceFrom = c.getFrom();
         int sourceTo = c.getTo();
-        int filterFrom = findPosition(sourceFrom);
-        int filterTo = findPosition(sourceTo);
         ListIterator<? extends E> it = getSource().listIterator(sourceFrom);
-        int pos = filterFrom;
-        while (pos < filterTo || sourceFrom < sourceTo) {
+        int pos = findPosition(sourceFrom);
+        while (sourceFrom < sourceTo) {
             E el = it.next();
-            if (pos < size && filtered[pos] == sourceFrom) {
+            if (filtered.get(sourceFrom)) {
                 if (!pred.test(el)) {
                     nextRemove(pos, el);
-                    System.arraycopy(filtered, pos + 1, filtered, pos, size - pos - 1);
-                    --size;
-                    --filterTo;
+                    filtered.set(sourceFrom, false);
                 } else {
                     nextUpdate(pos);
                     ++pos;
@@ -306,11 +328,8 @@ public final class FilteredList<E> extends TransformationList<E, E>{
             } else {
                 if (pred.test(el)) {
                     nextAdd(pos, pos + 1);
-                    System.arraycopy(filtered, pos, filtered, pos + 1, size - pos);
-                    filtered[pos] = sourceFrom;
-                    ++size;
+                    filtered.set(sourceFrom, true);
                     ++pos;
-                    ++filterTo;
                 }
             }
             sourceFrom++;
@@ -319,23 +338,74 @@ public final class FilteredList<E> extends TransformationList<E, E>{
 
     @SuppressWarnings("unchecked")
     private void refilter() {
-        ensureSize(getSource().size());
         List<E> removed = null;
         if (hasListeners()) {
             removed = new ArrayList<>(this);
         }
-        size = 0;
-        int i = 0;
-        Predicate<? super E> pred = getPredicateImpl();
-        for (Iterator<? extends E> it = getSource().iterator();it.hasNext(); ) {
-            final E next = it.next();
-            if (pred.test(next)) {
-                filtered[size++] = i;
+        final PrecomputedFilter<E> pre = precomputed;
+        precomputed = null;
+        if (pre != null && pre.predicate == getPredicate()) {
+            filtered.setAll(pre.words, pre.size);
+        } else {
+            final int sourceSize = getSource().size();
+            final long[] words = new long[(sourceSize + 63) >>> 6];
+            int i = 0;
+            Predicate<? super E> pred = getPredicateImpl();
+            for (Iterator<? extends E> it = getSource().iterator();it.hasNext(); ) {
+                final E next = it.next();
+                if (pred.test(next)) {
+                    words[i >>> 6] |= 1L << i;
+                }
+                ++i;
             }
-            ++i;
+            filtered.setAll(words, sourceSize);
         }
         if (hasListeners()) {
-            fireChange(new GenericAddRemoveChange<>(0, size, removed, this));
+            fireChange(new GenericAddRemoveChange<>(0, size(), removed, this));
+        }
+    }
+
+    private static final class PrecomputedFilter<E> {
+        private final Predicate<? super E> predicate;
+        private final long[] words;
+        private final int size;
+
+        private PrecomputedFilter(Predicate<? super E> predicate, long[] words, int size) {
+            this.predicate = predicate;
+            this.words = words;
+            this.size = size;
+        }
+    }
+
+    private static final class FilterTask<E> extends RecursiveAction {
+        private final List<? extends E> source;
+        private final Predicate<? super E> predicate;
+        private final long[] words;
+        private final int from;
+        private final int to;
+
+        private FilterTask(List<? extends E> source, Predicate<? super E> predicate,
+                long[] words, int from, int to) {
+            this.source = source;
+            this.predicate = predicate;
+            this.words = words;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARALLEL_CHUNK) {
+                final int mid = from + ((to - from) / 2 + PARALLEL_CHUNK - 1 & ~(PARALLEL_CHUNK - 1));
+                invokeAll(new FilterTask<>(source, predicate, words, from, mid),
+                          new FilterTask<>(source, predicate, words, mid, to));
+            } else {
+                for (int i = from; i < to; ++i) {
+                    if (predicate.test(source.get(i))) {
+                        words[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
         }
     }
 
@@ -26,11 +26,12 @@
 package javafx.collections.transformation;
 
 import com.sun.javafx.collections.NonIterableChange.SimplePermutationChange;
+import com.sun.javafx.collections.OrderStatisticTree;
+import com.sun.javafx.collections.OrderStatisticTree.Node;
 import com.sun.javafx.collections.SortHelper;
 import com.sun.javafx.collections.SourceAdapterChange;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
@@ -48,19 +49,27 @@ import javafx.collections.ObservableList;
  * Note: invalid SortedList (as a result of broken comparison) doesn't send any notification to listeners on becoming
  * valid again.
  *
+ * The mapping between the source and the view is kept in balanced trees, so
+ * adding or removing a single element of the source list, as well as
+ * {@link #getSourceIndex(int)} and {@link #getViewIndex(int)}, take O(log n).
+ * {@link #get(int)} takes O(log n) for random access and amortized constant
+ * time when the list is traversed sequentially.
+ *
  * @see TransformationList
  * @since JavaFX 8.0
  */
 public final class SortedList<E> extends TransformationList<E, E>{
 
     private Comparator<Element<E>> elementComparator;
-    private Element<E>[] sorted;
-    private int[] perm;
-    private int size;
+
+    // The elements in the order of this list
+    private final OrderStatisticTree<Element<E>> sorted = new OrderStatisticTree<>();
+    // The same elements in the order of the source list
+    private final OrderStatisticTree<Element<E>> unsorted = new OrderStatisticTree<>();
 
     private final SortHelper helper = new SortHelper();
 
-    private final Element<E> tempElement = new Element<>(null, -1);
+    private final Element<E> tempElement = new Element<>(null);
 
 
     /**
@@ -73,13 +82,12 @@ public final class SortedList<E> extends TransformationList<E, E>{
     @SuppressWarnings("unchecked")
     public SortedList(@NamedArg("source") ObservableList<? extends E> source, @NamedArg("comparator") Comparator<? super E> comparator) {
         super(source);
-        sorted = (Element<E>[]) new Element[source.size() *3/2 + 1];
-        perm = new int[sorted.length];
-        size = source.size();
+        final int size = source.size();
+        final Element<E>[] elements = (Element<E>[]) new Element[size];
         for (int i = 0; i < size; ++i) {
-            sorted[i] = new Element<E>(source.get(i), i);
-            perm[i] = i;
+            elements[i] = new Element<E>(source.get(i));
         }
+        setAllInOrder(elements, size);
         if (comparator != null) {
             setComparator(comparator);
         }
@@ -164,10 +172,10 @@ public final class SortedList<E> extends TransformationList<E, E>{
      */
     @Override
     public E get(int index) {
-        if (index >= size) {
+        if (index >= sorted.size()) {
             throw new IndexOutOfBoundsException();
         }
-        return sorted[index].e;
+        return sorted.nodeAt(index).getValue().e;
     }
 
     /**
@@ -177,43 +185,32 @@ public final class SortedList<E> extends TransformationList<E, E>{
      */
     @Override
     public int size() {
-        return size;
+        return sorted.size();
     }
 
     private void doSortWithPermutationChange() {
+        final int size = size();
         if (elementComparator != null) {
-            int[] perm = helper.sort(sorted, 0, size, elementComparator);
-            for (int i = 0; i < size; i++) {
-                this.perm[sorted[i].index] = i;
-            }
+            Element<E>[] elements = sortedElements();
+            int[] perm = helper.sort(elements, 0, size, elementComparator);
+            setAllSorted(elements, size);
             fireChange(new SimplePermutationChange<>(0, size, perm, this));
         } else {
-            int[] perm = new int[size];
-            int[] rperm = new int[size];
+            // back to the order of the source list
+            Element<E>[] elements = sortedElements();
             for (int i = 0; i < size; ++i) {
-                perm[i] = rperm[i] = i;
+                elements[i].index = i;
             }
+            int[] perm = new int[size];
             boolean changed = false;
             int idx = 0;
-            while (idx < size) {
-                final int otherIdx = sorted[idx].index;
-                if (otherIdx == idx) {
-                    ++idx;
-                    continue;
-                }
-                Element<E> other = sorted[otherIdx];
-                sorted[otherIdx] = sorted[idx];
-                sorted[idx] = other;
-                this.perm[idx] = idx;
-                this.perm[otherIdx] = otherIdx;
-                perm[rperm[idx]] = otherIdx;
-                perm[rperm[otherIdx]] = idx;
-                int tp = rperm[idx];
-                rperm[idx] = rperm[otherIdx];
-                rperm[otherIdx] = tp;
-                changed = true;
+            for (Element<E> element : unsortedElements()) {
+                perm[element.index] = idx;
+                changed |= element.index != idx;
+                elements[idx++] = element;
             }
             if (changed) {
+                setAllSorted(elements, size);
                 fireChange(new SimplePermutationChange<>(0, size, perm, this));
             }
         }
@@ -221,54 +218,39 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     @Override
     public int getSourceIndex(int index) {
-        return sorted[index].index;
+        return unsorted.indexOf(sorted.nodeAt(index).getValue().sourceNode);
     }
 
     @Override
     public int getViewIndex(int index) {
-        return perm[index];
+        return sorted.indexOf(unsorted.nodeAt(index).getValue().viewNode);
     }
 
     private void updatePermutationIndexes(Change<? extends E> change) {
-        for (int i = 0; i < size; ++i) {
-            int p = change.getPermutation(sorted[i].index);
-            sorted[i].index = p;
-            perm[p] = i;
-        }
+        Element<E>[] elements = unsortedElements();
+        permute(elements, change);
+        setAllUnsorted(elements, size());
     }
 
     private void updateUnsorted(Change<? extends E> c) {
         while (c.next()) {
             if (c.wasPermutated()) {
-                Element[] sortedTmp = new Element[sorted.length];
-                for (int i = 0; i < size; ++i) {
-                    if (i >= c.getFrom() && i < c.getTo()) {
-                        int p = c.getPermutation(i);
-                        sortedTmp[p] = sorted[i];
-                        sortedTmp[p].index = p;
-                        perm[i] = i;
-                    } else {
-                        sortedTmp[i] = sorted[i];
-                    }
-                }
-                sorted = sortedTmp;
+                Element<E>[] elements = unsortedElements();
+                permute(elements, c);
+                setAllInOrder(elements, size());
             }
             if (c.wasRemoved()) {
-                final int removedTo = c.getFrom() + c.getRemovedSize();
-                System.arraycopy(sorted, removedTo, sorted, c.getFrom(), size - removedTo);
-                System.arraycopy(perm, removedTo, perm, c.getFrom(), size - removedTo);
-                size -= c.getRemovedSize();
-                updateIndices(removedTo, removedTo, -c.getRemovedSize());
+                for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
+                    final Element<E> element = unsorted.nodeAt(c.getFrom()).getValue();
+                    unsorted.remove(element.sourceNode);
+                    sorted.remove(element.viewNode);
+                }
             }
             if (c.wasAdded()) {
-                ensureSize(size + c.getAddedSize());
-                updateIndices(c.getFrom(), c.getFrom(), c.getAddedSize());
-                System.arraycopy(sorted, c.getFrom(), sorted, c.getTo(), size - c.getFrom());
-                System.arraycopy(perm, c.getFrom(), perm, c.getTo(), size - c.getFrom());
-                size += c.getAddedSize();
                 for (int i = c.getFrom(); i < c.getTo(); ++i) {
-                    sorted[i] = new Element<E>(c.getList().get(i), i);
-                    perm[i] = i;
+                    final Element<E> element = new Element<E>(c.getList().get(i));
+                    unsorted.insert(i, element.sourceNode);
+                    sorted.insert(i, element.viewNode);
                 }
             }
         }
@@ -276,12 +258,16 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     private static class Element<E> {
 
-        public Element(E e, int index) {
+        public Element(E e) {
             this.e = e;
-            this.index = index;
+            this.viewNode = new Node<>(this);
+            this.sourceNode = new Node<>(this);
         }
 
         private E e;
+        private final Node<Element<E>> viewNode;
+        private final Node<Element<E>> sourceNode;
+        // scratch space used while computing permutations
         private int index;
     }
 
@@ -301,104 +287,111 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     }
 
-    private void ensureSize(int size) {
-        if (sorted.length < size) {
-            Element<E>[] replacement = new Element[size * 3/2 + 1];
-            System.arraycopy(sorted, 0, replacement, 0, this.size);
-            sorted = replacement;
-            int[] replacementPerm = new int[size * 3/2 + 1];
-            System.arraycopy(perm, 0, replacementPerm, 0, this.size);
-            perm = replacementPerm;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Element<E>[] sortedElements() {
+        return sorted.toArray((Element<E>[]) new Element[sorted.size()]);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Element<E>[] unsortedElements() {
+        return unsorted.toArray((Element<E>[]) new Element[unsorted.size()]);
+    }
+
+    private static <E> void permute(Element<E>[] elements, Change<? extends E> c) {
+        final Element<E>[] permuted = elements.clone();
+        for (int i = c.getFrom(); i < c.getTo(); ++i) {
+            permuted[c.getPermutation(i)] = elements[i];
         }
+        System.arraycopy(permuted, 0, elements, 0, elements.length);
     }
 
-    private void updateIndices(int from, int viewFrom, int difference) {
-        for (int i = 0 ; i < size; ++i) {
-            if (sorted[i].index >= from) {
-                sorted[i].index += difference;
-            }
-            if (perm[i] >= viewFrom) {
-                perm[i] += difference;
-            }
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void setAllSorted(Element<E>[] elements, int size) {
+        Node<Element<E>>[] nodes = (Node<Element<E>>[]) new Node[size];
+        for (int i = 0; i < size; ++i) {
+            nodes[i] = elements[i].viewNode;
         }
+        sorted.setAll(nodes, size);
     }
 
-    private int findPosition(E e) {
-        if (sorted.length == 0) {
-            return 0;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void setAllUnsorted(Element<E>[] elements, int size) {
+        Node<Element<E>>[] nodes = (Node<Element<E>>[]) new Node[size];
+        for (int i = 0; i < size; ++i) {
+            nodes[i] = elements[i].sourceNode;
         }
+        unsorted.setAll(nodes, size);
+    }
+
+    private void setAllInOrder(Element<E>[] elements, int size) {
+        setAllUnsorted(elements, size);
+        setAllSorted(elements, size);
+    }
+
+    private int findPosition(E e) {
         tempElement.e = e;
-        int pos = Arrays.binarySearch(sorted, 0, size, tempElement, elementComparator);
+        int pos = sorted.upperBound(tempElement, elementComparator);
+        tempElement.e = null;
         return pos;
     }
 
     private void insertToMapping(E e, int idx) {
-        int pos = findPosition(e);
-        if (pos < 0) {
-            pos = ~pos;
-        }
-        ensureSize(size + 1);
-        updateIndices(idx, pos, 1);
-        System.arraycopy(sorted, pos, sorted, pos + 1, size - pos);
-        sorted[pos] = new Element<>(e, idx);
-        System.arraycopy(perm, idx, perm, idx + 1, size - idx);
-        perm[idx] = pos;
-        ++size;
+        final Element<E> element = new Element<>(e);
+        final int pos = findPosition(e);
+        sorted.insert(pos, element.viewNode);
+        unsorted.insert(idx, element.sourceNode);
         nextAdd(pos, pos + 1);
 
     }
 
+    @SuppressWarnings("unchecked")
     private void setAllToMapping(List<? extends E> list, int to) {
-        ensureSize(to);
-        size = to;
+        final Element<E>[] elements = (Element<E>[]) new Element[to];
         for (int i = 0; i < to; ++i) {
-            sorted[i] = new Element<E>(list.get(i), i);
+            elements[i] = new Element<E>(list.get(i));
         }
-        int[] perm = helper.sort(sorted, 0, size, elementComparator);
-        System.arraycopy(perm, 0, this.perm, 0, size);
-        nextAdd(0, size);
+        setAllUnsorted(elements, to);
+        helper.sort(elements, 0, to, elementComparator);
+        setAllSorted(elements, to);
+        nextAdd(0, to);
     }
 
     private void removeFromMapping(int idx, E e) {
-        int pos = perm[idx];
-        System.arraycopy(sorted, pos + 1, sorted, pos, size - pos - 1);
-        System.arraycopy(perm, idx + 1, perm, idx, size - idx - 1);
-        --size;
-        sorted[size] = null;
-        updateIndices(idx + 1, pos, - 1);
+        final Element<E> element = unsorted.nodeAt(idx).getValue();
+        final int pos = sorted.indexOf(element.viewNode);
+        sorted.remove(element.viewNode);
+        unsorted.remove(element.sourceNode);
 
         nextRemove(pos, e);
     }
 
     private void removeAllFromMapping() {
         List<E> removed = new ArrayList(this);
-        for (int i = 0; i < size; ++i) {
-            sorted[i] = null;
-        }
-        size = 0;
+        sorted.clear();
+        unsorted.clear();
         nextRemove(0, removed);
     }
 
     private void update(Change<? extends E> c) {
-        int[] perm = helper.sort(sorted, 0, size, elementComparator);
-        for (int i = 0; i < size; i++) {
-            this.perm[sorted[i].index] = i;
-        }
+        final int size = size();
+        Element<E>[] elements = sortedElements();
+        int[] perm = helper.sort(elements, 0, size, elementComparator);
+        setAllSorted(elements, size);
         nextPermutation(0, size, perm);
         for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
-            nextUpdate(this.perm[i]);
+            nextUpdate(getViewIndex(i));
         }
     }
 
     private void addRemove(Change<? extends E> c) {
-        if (c.getFrom() == 0 && c.getRemovedSize() == size) {
+        if (c.getFrom() == 0 && c.getRemovedSize() == size()) {
             removeAllFromMapping();
         } else {
             for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
                 removeFromMapping(c.getFrom(), c.getRemoved().get(i));
             }
         }
-        if (size == 0) {
+        if (size() == 0) {
             setAllToMapping(c.getList(), c.getTo()); // This is basically equivalent to getAddedSubList
                                                      // as size is 0, only valid "from" is also 0
         } else {
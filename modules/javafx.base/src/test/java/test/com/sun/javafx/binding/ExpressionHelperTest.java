@@ -341,6 +341,35 @@ public class ExpressionHelperTest {
         invalidationListener[2].check(null, 0);
     }
 
+    @Test
+    public void testRemoveInvalidationAfterNestedNotification() {
+        final AtomicInteger exceptions = new AtomicInteger(0);
+        Thread.currentThread().setUncaughtExceptionHandler((t, e) -> exceptions.incrementAndGet());
+
+        final InvalidationListener nestingListener = new InvalidationListener() {
+            boolean nested;
+            @Override public void invalidated(Observable o) {
+                if (!nested) {
+                    nested = true;
+                    ExpressionHelper.fireValueChangedEvent(helper);
+                    helper = ExpressionHelper.removeListener(helper, invalidationListener[0]);
+                }
+            }
+        };
+        helper = ExpressionHelper.addListener(helper, observable, nestingListener);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(observable, 2);
+        invalidationListener[1].check(observable, 2);
+        assertEquals(0, exceptions.get());
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(null, 0);
+        invalidationListener[1].check(observable, 1);
+    }
+
     @Test
     public void testAddChange() {
         final ChangeListener<Object> weakListener = new WeakChangeListenerMock();
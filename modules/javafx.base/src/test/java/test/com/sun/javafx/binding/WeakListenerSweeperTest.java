@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.javafx.binding;
+
+import com.sun.javafx.binding.WeakListenerSweeper;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WeakListenerSweeperTest {
+
+    private static final int COUNT = 100;
+
+    private static boolean collectAndSweep(long purgedBefore, long expected) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            System.gc();
+            Thread.sleep(60);
+            WeakListenerSweeper.sweep();
+            if (WeakListenerSweeper.getPurgedCount() - purgedBefore >= expected) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testCollectedListenersArePurgedWithoutFiring() throws InterruptedException {
+        final IntegerProperty property = new SimpleIntegerProperty();
+        final InvalidationListener strong = o -> {};
+        property.addListener(strong);
+        for (int i = 0; i < COUNT; i++) {
+            final int[] captured = new int[1];
+            property.addListener(new WeakInvalidationListener(o -> captured[0]++));
+        }
+        assertEquals(COUNT + 1, ExpressionHelperUtility.getInvalidationListeners(property).size());
+
+        final long purgedBefore = WeakListenerSweeper.getPurgedCount();
+        assertTrue(collectAndSweep(purgedBefore, COUNT));
+
+        assertEquals(1, ExpressionHelperUtility.getInvalidationListeners(property).size());
+        assertSame(strong, ExpressionHelperUtility.getInvalidationListeners(property).get(0));
+    }
+
+    @Test
+    public void testCollectedListChangeListenersArePurged() throws InterruptedException {
+        final ObservableList<String> list = FXCollections.observableArrayList();
+        final int[] calls = new int[1];
+        final ListChangeListener<String> strong = c -> calls[0]++;
+        list.addListener(strong);
+        for (int i = 0; i < COUNT; i++) {
+            final int[] captured = new int[1];
+            list.addListener(new WeakListChangeListener<String>(c -> captured[0]++));
+        }
+
+        final long purgedBefore = WeakListenerSweeper.getPurgedCount();
+        assertTrue(collectAndSweep(purgedBefore, COUNT));
+
+        list.add("foo");
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void testListenerAddedToSeveralObservablesIsPurgedFromAll() throws InterruptedException {
+        final IntegerProperty property0 = new SimpleIntegerProperty();
+        final IntegerProperty property1 = new SimpleIntegerProperty();
+        final InvalidationListener strong = o -> {};
+        property0.addListener(strong);
+        property1.addListener(strong);
+        for (int i = 0; i < COUNT; i++) {
+            final int[] captured = new int[1];
+            final InvalidationListener weak = new WeakInvalidationListener(o -> captured[0]++);
+            property0.addListener(weak);
+            property1.addListener(weak);
+        }
+
+        final long purgedBefore = WeakListenerSweeper.getPurgedCount();
+        assertTrue(collectAndSweep(purgedBefore, 2 * COUNT));
+
+        assertEquals(1, ExpressionHelperUtility.getInvalidationListeners(property0).size());
+        assertEquals(1, ExpressionHelperUtility.getInvalidationListeners(property1).size());
+    }
+
+    @Test
+    public void testLiveWeakListenersAreKept() throws InterruptedException {
+        final IntegerProperty property = new SimpleIntegerProperty();
+        final int[] calls = new int[1];
+        final InvalidationListener listener = o -> calls[0]++;
+        property.addListener(new WeakInvalidationListener(listener));
+        property.addListener(new WeakInvalidationListener(listener));
+
+        System.gc();
+        Thread.sleep(60);
+        WeakListenerSweeper.sweep();
+
+        property.set(1);
+        assertEquals(2, calls[0]);
+    }
+}
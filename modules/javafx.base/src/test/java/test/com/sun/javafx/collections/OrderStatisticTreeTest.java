@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.collections;
+
+import com.sun.javafx.collections.OrderStatisticTree;
+import com.sun.javafx.collections.OrderStatisticTree.Node;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class OrderStatisticTreeTest {
+
+    private OrderStatisticTree<Integer> tree;
+    private List<Node<Integer>> expected;
+
+    @Before
+    public void setUp() {
+        tree = new OrderStatisticTree<>();
+        expected = new ArrayList<>();
+    }
+
+    private void check() {
+        assertEquals(expected.size(), tree.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertSame(expected.get(i), tree.nodeAt(i));
+            assertEquals(i, tree.indexOf(expected.get(i)));
+        }
+        for (int i = expected.size() - 1; i >= 0; --i) {
+            assertSame(expected.get(i), tree.nodeAt(i));
+        }
+    }
+
+    private void insert(int index, int value) {
+        Node<Integer> node = new Node<>(value);
+        tree.insert(index, node);
+        expected.add(index, node);
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.upperBound(1, Comparator.naturalOrder()));
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        insert(0, 1);
+        insert(0, 0);
+        insert(2, 3);
+        insert(2, 2);
+        check();
+        tree.remove(expected.remove(1));
+        check();
+        tree.remove(expected.remove(2));
+        check();
+        tree.remove(expected.remove(0));
+        tree.remove(expected.remove(0));
+        check();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNodeAtOutOfBounds() {
+        insert(0, 1);
+        tree.nodeAt(1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInsertOutOfBounds() {
+        tree.insert(1, new Node<>(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSetAll() {
+        Node<Integer>[] nodes = new Node[100];
+        for (int i = 0; i < nodes.length; ++i) {
+            nodes[i] = new Node<>(i);
+            expected.add(nodes[i]);
+        }
+        tree.setAll(nodes, nodes.length);
+        check();
+        assertArrayEquals(expected.stream().map(Node::getValue).toArray(),
+                tree.toArray(new Integer[tree.size()]));
+
+        insert(50, -1);
+        tree.remove(expected.remove(10));
+        check();
+    }
+
+    @Test
+    public void testUpperBound() {
+        for (int i = 0; i < 10; ++i) {
+            insert(i, i / 2);
+        }
+        assertEquals(0, tree.upperBound(-1, Comparator.naturalOrder()));
+        assertEquals(2, tree.upperBound(0, Comparator.naturalOrder()));
+        assertEquals(6, tree.upperBound(2, Comparator.naturalOrder()));
+        assertEquals(10, tree.upperBound(4, Comparator.naturalOrder()));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(3);
+        for (int i = 0; i < 5000; ++i) {
+            if (expected.isEmpty() || random.nextInt(3) != 0) {
+                insert(random.nextInt(expected.size() + 1), i);
+            } else {
+                tree.remove(expected.remove(random.nextInt(expected.size())));
+            }
+            if (i % 500 == 0) {
+                check();
+            }
+        }
+        check();
+    }
+}
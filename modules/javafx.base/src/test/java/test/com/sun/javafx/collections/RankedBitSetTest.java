@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.collections;
+
+import com.sun.javafx.collections.RankedBitSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class RankedBitSetTest {
+
+    private RankedBitSet bits;
+    private List<Boolean> expected;
+
+    @Before
+    public void setUp() {
+        bits = new RankedBitSet();
+        expected = new ArrayList<>();
+    }
+
+    private void check() {
+        assertEquals(expected.size(), bits.length());
+        int rank = 0;
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(expected.get(i), bits.get(i));
+            assertEquals(rank, bits.rank(i));
+            if (expected.get(i)) {
+                assertEquals(i, bits.select(rank));
+                ++rank;
+            }
+        }
+        assertEquals(rank, bits.cardinality());
+        assertEquals(rank, bits.rank(expected.size()));
+        for (int r = rank - 1; r >= 0; --r) {
+            assertEquals(r, bits.rank(bits.select(r)));
+        }
+    }
+
+    private void insert(int index, int count) {
+        bits.insert(index, count);
+        expected.addAll(index, Collections.nCopies(count, false));
+    }
+
+    private void set(int index, boolean value) {
+        bits.set(index, value);
+        expected.set(index, value);
+    }
+
+    private void remove(int index, int count) {
+        bits.remove(index, count);
+        expected.subList(index, index + count).clear();
+    }
+
+    @Test
+    public void testEmpty() {
+        check();
+        assertEquals(-1, bits.nextSetBit(0));
+        assertFalse(bits.get(0));
+    }
+
+    @Test
+    public void testSetAndClear() {
+        insert(0, 200);
+        set(0, true);
+        set(63, true);
+        set(64, true);
+        set(199, true);
+        check();
+        assertEquals(63, bits.nextSetBit(1));
+        assertEquals(199, bits.nextSetBit(65));
+        set(63, false);
+        check();
+    }
+
+    @Test
+    public void testInsertShiftsBits() {
+        insert(0, 130);
+        set(1, true);
+        set(70, true);
+        set(129, true);
+        insert(2, 1);
+        check();
+        insert(0, 64);
+        check();
+        insert(100, 77);
+        check();
+        insert(bits.length(), 3);
+        check();
+    }
+
+    @Test
+    public void testRemoveShiftsBits() {
+        insert(0, 300);
+        for (int i = 0; i < 300; i += 7) {
+            set(i, true);
+        }
+        remove(5, 1);
+        check();
+        remove(0, 64);
+        check();
+        remove(30, 150);
+        check();
+        remove(0, bits.length());
+        check();
+    }
+
+    @Test
+    public void testSetAll() {
+        long[] words = {-1L, 0x5L, -1L};
+        bits.setAll(words, 130);
+        for (int i = 0; i < 130; ++i) {
+            expected.add(i < 64 || i == 64 || i == 66 || i >= 128);
+        }
+        check();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSelectOutOfBounds() {
+        insert(0, 10);
+        set(3, true);
+        bits.select(1);
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(7);
+        for (int i = 0; i < 3000; ++i) {
+            int op = random.nextInt(4);
+            if (op == 0 || expected.isEmpty()) {
+                insert(random.nextInt(expected.size() + 1), random.nextInt(150));
+            } else if (op == 1) {
+                int from = random.nextInt(expected.size());
+                remove(from, random.nextInt(Math.min(150, expected.size() - from) + 1));
+            } else {
+                set(random.nextInt(expected.size()), random.nextBoolean());
+            }
+            if (i % 100 == 0) {
+                check();
+            }
+        }
+        check();
+    }
+}
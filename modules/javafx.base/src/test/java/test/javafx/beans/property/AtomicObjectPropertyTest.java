@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.javafx.beans.property;
+
+import com.sun.javafx.binding.PulseDeferredDispatcher;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.beans.property.AtomicObjectProperty;
+import javafx.beans.value.ObservableValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AtomicObjectPropertyTest {
+
+    private static final Object NO_BEAN = null;
+    private static final String DEFAULT_NAME = "";
+
+    private final AtomicInteger pulseRequests = new AtomicInteger();
+    private AtomicObjectProperty<Object> property;
+    private int invalidations;
+    private int changes;
+    private Object lastOldValue;
+    private Object lastNewValue;
+    private Thread notificationThread;
+
+    @Before
+    public void setUp() {
+        PulseDeferredDispatcher.setPulseRequester(pulseRequests::incrementAndGet);
+        property = new AtomicObjectProperty<>("initial");
+        property.addListener(o -> invalidations++);
+        property.addListener((ObservableValue<? extends Object> o, Object oldValue, Object newValue) -> {
+            changes++;
+            lastOldValue = oldValue;
+            lastNewValue = newValue;
+            notificationThread = Thread.currentThread();
+        });
+    }
+
+    @After
+    public void tearDown() {
+        PulseDeferredDispatcher.flush();
+        PulseDeferredDispatcher.setPulseRequester(null);
+    }
+
+    @Test
+    public void testConstructors() {
+        final Object bean = new Object();
+        final AtomicObjectProperty<Object> p1 = new AtomicObjectProperty<>();
+        assertNull(p1.get());
+        assertNull(p1.getLatest());
+        assertEquals(NO_BEAN, p1.getBean());
+        assertEquals(DEFAULT_NAME, p1.getName());
+
+        final AtomicObjectProperty<Object> p2 = new AtomicObjectProperty<>(bean, null, "value");
+        assertEquals("value", p2.get());
+        assertEquals("value", p2.getLatest());
+        assertSame(bean, p2.getBean());
+        assertEquals(DEFAULT_NAME, p2.getName());
+
+        final AtomicObjectProperty<Object> p3 = new AtomicObjectProperty<>(bean, "name");
+        assertNull(p3.get());
+        assertEquals("name", p3.getName());
+    }
+
+    @Test
+    public void testPostIsPublishedOnPulse() {
+        property.post("a");
+        assertEquals("initial", property.get());
+        assertEquals("a", property.getLatest());
+        assertEquals(0, invalidations);
+
+        PulseDeferredDispatcher.flush();
+        assertEquals("a", property.get());
+        assertEquals(1, invalidations);
+        assertEquals(1, changes);
+        assertEquals("initial", lastOldValue);
+        assertEquals("a", lastNewValue);
+    }
+
+    @Test
+    public void testPostsAreCoalesced() {
+        for (int i = 0; i < 10000; i++) {
+            property.post(i);
+        }
+        assertEquals(1, PulseDeferredDispatcher.getPendingCount());
+        assertEquals(1, pulseRequests.get());
+
+        PulseDeferredDispatcher.flush();
+        assertEquals(9999, property.get());
+        assertEquals(1, changes);
+        assertEquals(0, PulseDeferredDispatcher.getPendingCount());
+
+        property.post(null);
+        PulseDeferredDispatcher.flush();
+        assertNull(property.get());
+        assertEquals(2, changes);
+    }
+
+    @Test
+    public void testPostSameValueDoesNotNotify() {
+        property.post("a");
+        property.post("initial");
+        PulseDeferredDispatcher.flush();
+        assertEquals(0, invalidations);
+        assertEquals(0, changes);
+    }
+
+    @Test
+    public void testPostFromOtherThreads() throws InterruptedException {
+        final int threadCount = 4;
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            final int offset = t * 100000;
+            new Thread(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    property.post(offset + i);
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        PulseDeferredDispatcher.flush();
+        assertEquals(1, changes);
+        assertSame(Thread.currentThread(), notificationThread);
+        // the value published last is the last value posted by one of the threads
+        assertEquals(99999, (Integer) property.get() % 100000);
+        assertEquals(0, PulseDeferredDispatcher.getPendingCount());
+    }
+
+    @Test
+    public void testImmediateWithoutPulseRequester() {
+        PulseDeferredDispatcher.setPulseRequester(null);
+        property.post("a");
+        assertEquals("a", property.get());
+        assertEquals(1, changes);
+    }
+}
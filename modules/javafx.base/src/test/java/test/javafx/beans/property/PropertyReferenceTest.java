@@ -32,6 +32,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.sun.javafx.property.PropertyReference;
+import javafx.util.Pair;
 
 public class PropertyReferenceTest {
 
@@ -118,4 +119,27 @@ public class PropertyReferenceTest {
         Person.NO_READ_WRITE.set(person, 1);
     }
 
+    @Test
+    public void testForClassReturnsSharedReference() {
+        final PropertyReference<Integer> property = PropertyReference.forClass(Person.class, "age");
+        assertSame(property, PropertyReference.forClass(Person.class, "age"));
+        assertNotSame(property, PropertyReference.forClass(Person.class, "name"));
+        assertEquals(new PropertyReference<Integer>(Person.class, "age"), property);
+        assertEquals(person.ageProperty(), property.getProperty(person));
+    }
+
+    @Test
+    public void testGetFromExportedClass() {
+        final PropertyReference<String> property = PropertyReference.forClass(Pair.class, "key");
+        assertTrue(property.isReadable());
+        assertFalse(property.isWritable());
+        assertEquals("k", property.get(new Pair<>("k", "v")));
+    }
+
+    @Test(expected=RuntimeException.class)
+    public void testGetPropagatesGetterException() {
+        final PropertyReference<String> property = PropertyReference.forClass(Pair.class, "key");
+        property.get(null);
+    }
+
 }
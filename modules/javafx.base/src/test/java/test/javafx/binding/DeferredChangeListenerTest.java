@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.javafx.binding;
+
+import com.sun.javafx.binding.PulseDeferredDispatcher;
+import javafx.beans.binding.DeferredChangeListener;
+import javafx.beans.binding.NumberBinding;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.value.ObservableValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DeferredChangeListenerTest {
+
+    private int pulseRequests;
+    private IntegerProperty source;
+    private int computations;
+    private NumberBinding binding;
+    private int calls;
+    private ObservableValue<?> lastObservable;
+    private Object lastOldValue;
+    private Object lastNewValue;
+
+    @Before
+    public void setUp() {
+        PulseDeferredDispatcher.setPulseRequester(() -> pulseRequests++);
+        source = new SimpleIntegerProperty(1);
+        binding = source.multiply(2).add(new SimpleIntegerProperty() {
+            @Override
+            public int get() {
+                computations++;
+                return 0;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        PulseDeferredDispatcher.flush();
+        PulseDeferredDispatcher.setPulseRequester(null);
+    }
+
+    private void addListener() {
+        binding.addListener(new DeferredChangeListener<Number>(binding, (observable, oldValue, newValue) -> {
+            calls++;
+            lastObservable = observable;
+            lastOldValue = oldValue;
+            lastNewValue = newValue;
+        }));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructWithNullObservable() {
+        new DeferredChangeListener<Object>(null, (o, oldValue, newValue) -> {});
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructWithNullListener() {
+        new DeferredChangeListener<Number>(binding, null);
+    }
+
+    @Test
+    public void testChangesAreCoalescedUntilPulse() {
+        addListener();
+        computations = 0;
+
+        for (int i = 2; i <= 10000; i++) {
+            source.set(i);
+        }
+        assertEquals(0, calls);
+        assertEquals(0, computations);
+        assertEquals(1, pulseRequests);
+        assertEquals(1, PulseDeferredDispatcher.getPendingCount());
+
+        PulseDeferredDispatcher.flush();
+        assertEquals(1, calls);
+        assertEquals(1, computations);
+        assertSame(binding, lastObservable);
+        assertEquals(2, lastOldValue);
+        assertEquals(20000, lastNewValue);
+
+        source.set(3);
+        PulseDeferredDispatcher.flush();
+        assertEquals(2, calls);
+        assertEquals(2, pulseRequests);
+        assertEquals(20000, lastOldValue);
+        assertEquals(6, lastNewValue);
+    }
+
+    @Test
+    public void testNoNotificationIfValueIsUnchanged() {
+        addListener();
+        source.set(5);
+        source.set(1);
+        PulseDeferredDispatcher.flush();
+        assertEquals(0, calls);
+
+        source.set(2);
+        PulseDeferredDispatcher.flush();
+        assertEquals(1, calls);
+    }
+
+    @Test
+    public void testChangeDuringFlushIsDeferredToNextPulse() {
+        binding.addListener(new DeferredChangeListener<Number>(binding, (observable, oldValue, newValue) -> {
+            calls++;
+            if (newValue.intValue() < 10) {
+                source.set(10);
+            }
+        }));
+        source.set(2);
+        PulseDeferredDispatcher.flush();
+        assertEquals(1, calls);
+        assertEquals(1, PulseDeferredDispatcher.getPendingCount());
+        PulseDeferredDispatcher.flush();
+        assertEquals(2, calls);
+        assertEquals(0, PulseDeferredDispatcher.getPendingCount());
+    }
+
+    @Test
+    public void testImmediateWithoutPulseRequester() {
+        PulseDeferredDispatcher.setPulseRequester(null);
+        addListener();
+        source.set(2);
+        assertEquals(1, calls);
+        assertEquals(4, lastNewValue);
+        source.set(3);
+        assertEquals(2, calls);
+        assertEquals(6, lastNewValue);
+    }
+}
@@ -34,6 +34,7 @@ import javafx.beans.property.ListProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleListProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import test.com.sun.javafx.binding.ErrorLoggingUtiltity;
 import org.junit.AfterClass;
@@ -327,4 +328,30 @@ public class ListExpressionTest {
         assertArrayEquals(new Integer[] {datax}, arrayIn);
         assertArrayEquals(new Integer[] {data2_0, data2_1}, arrayOut);
     }
+
+    @Test
+    public void testBatchEndsOnTheListItBeganOn() {
+        final ObservableList<Integer> first = op1.get();
+        final ObservableList<Integer> second = FXCollections.observableArrayList(data2_0);
+        final int[] changes = new int[2];
+        first.addListener((ListChangeListener<Integer>) c -> changes[0]++);
+        second.addListener((ListChangeListener<Integer>) c -> changes[1]++);
+
+        op1.beginBatch();
+        first.add(datax);
+        first.add(datax);
+        op1.set(second);
+        assertEquals(0, changes[0]);
+        op1.endBatch();
+        assertEquals(1, changes[0]);
+
+        // the new value was never part of the batch
+        second.add(datax);
+        assertEquals(1, changes[1]);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndBatchWithoutBeginBatch() {
+        op1.endBatch();
+    }
 }
@@ -31,6 +31,7 @@ import javafx.beans.property.MapProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleMapProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.MapChangeListener;
 import javafx.collections.ObservableMap;
 import org.junit.Before;
 import org.junit.Test;
@@ -264,5 +265,28 @@ public class MapExpressionTest {
         assertTrue(op2.containsValue(data2_1));
     }
 
+    @Test
+    public void testBatchEndsOnTheMapItBeganOn() {
+        final ObservableMap<Number, Integer> first = op2.get();
+        final ObservableMap<Number, Integer> second = FXCollections.observableHashMap();
+        final int[] changes = new int[2];
+        first.addListener((MapChangeListener<Number, Integer>) c -> changes[0]++);
+        second.addListener((MapChangeListener<Number, Integer>) c -> changes[1]++);
+
+        op2.beginBatch();
+        first.put(keyx, datax);
+        op2.set(second);
+        assertEquals(0, changes[0]);
+        op2.endBatch();
+        assertEquals(1, changes[0]);
+
+        // the new value was never part of the batch
+        second.put(keyx, datax);
+        assertEquals(1, changes[1]);
+    }
 
+    @Test(expected = IllegalStateException.class)
+    public void testEndBatchWithoutBeginBatch() {
+        op2.endBatch();
+    }
 }
@@ -30,6 +30,7 @@ import javafx.beans.property.SetProperty;
 import javafx.beans.property.SimpleSetProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableSet;
+import javafx.collections.SetChangeListener;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -268,4 +269,29 @@ public class SetExpressionTest {
             fail();
         }
     }
+
+    @Test
+    public void testBatchEndsOnTheSetItBeganOn() {
+        final ObservableSet<Integer> first = op2.get();
+        final ObservableSet<Integer> second = FXCollections.observableSet(data1_0);
+        final int[] changes = new int[2];
+        first.addListener((SetChangeListener<Integer>) c -> changes[0]++);
+        second.addListener((SetChangeListener<Integer>) c -> changes[1]++);
+
+        op2.beginBatch();
+        first.add(datax);
+        op2.set(second);
+        assertEquals(0, changes[0]);
+        op2.endBatch();
+        assertEquals(1, changes[0]);
+
+        // the new value was never part of the batch
+        second.add(datax);
+        assertEquals(1, changes[1]);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndBatchWithoutBeginBatch() {
+        op2.endBatch();
+    }
 }
@@ -26,13 +26,21 @@
 package test.javafx.collections;
 
 import com.sun.javafx.collections.ObservableListWrapper;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableListWrapperShim;
 import javafx.collections.transformation.FilteredList;
@@ -288,4 +296,176 @@ public class FilteredListTest {
         assertEquals(list, filteredList);
         compareIndices();
     }
+
+    @Test
+    public void testRandomModifications() {
+        Random random = new Random(5);
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 1000; ++i) {
+            source.add(random.nextInt(100));
+        }
+        FilteredList<Integer> filtered = source.filtered(i -> i % 3 != 0);
+        List<Integer> mirror = new ArrayList<>(filtered);
+        filtered.addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                for (int i = 0; i < c.getRemovedSize(); ++i) {
+                    assertEquals(c.getRemoved().get(i), mirror.remove(c.getFrom()));
+                }
+                mirror.addAll(c.getFrom(), c.getAddedSubList());
+            }
+        });
+
+        for (int i = 0; i < 2000; ++i) {
+            int op = random.nextInt(4);
+            if (op == 0 || source.isEmpty()) {
+                int from = random.nextInt(source.size() + 1);
+                source.addAll(from, Arrays.asList(random.nextInt(100), random.nextInt(100)));
+            } else if (op == 1) {
+                source.remove(random.nextInt(source.size()));
+            } else if (op == 2) {
+                int from = random.nextInt(source.size());
+                source.remove(from, Math.min(source.size(), from + random.nextInt(100)));
+            } else {
+                source.set(random.nextInt(source.size()), random.nextInt(100));
+            }
+            if (i % 100 == 0) {
+                List<Integer> expected = source.stream().filter(e -> e % 3 != 0).collect(Collectors.toList());
+                assertEquals(expected, filtered);
+                assertEquals(expected, mirror);
+                compareIndices(filtered);
+            }
+        }
+    }
+
+    @Test
+    public void testSetPredicateAsync() {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 100000; ++i) {
+            source.add(i);
+        }
+        FilteredList<Integer> filtered = source.filtered(null);
+        MockListObserver<Integer> observer = new MockListObserver<>();
+        filtered.addListener(observer);
+
+        ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        CompletableFuture<Void> future = filtered.setPredicateAsync(i -> i % 7 == 0, queue::add);
+        while (!future.isDone()) {
+            Runnable r = queue.poll();
+            if (r != null) {
+                r.run();
+            } else {
+                Thread.yield();
+            }
+        }
+        future.join();
+
+        assertEquals(100000 / 7 + 1, filtered.size());
+        for (int i = 0; i < filtered.size(); ++i) {
+            assertEquals(Integer.valueOf(i * 7), filtered.get(i));
+        }
+        assertEquals(1, observer.calls.size());
+        compareIndices(filtered);
+    }
+
+    @Test
+    public void testSetPredicateAsyncWithConcurrentChange() {
+        ObservableList<String> source = FXCollections.observableArrayList("a", "b", "c");
+        FilteredList<String> filtered = source.filtered(null);
+
+        ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        CompletableFuture<Void> future = filtered.setPredicateAsync(e -> !e.equals("b"), queue::add);
+        // the source list is changed before the result is applied
+        source.add("b");
+        while (!future.isDone()) {
+            Runnable r = queue.poll();
+            if (r != null) {
+                r.run();
+            } else {
+                Thread.yield();
+            }
+        }
+
+        assertEquals(Arrays.asList("a", "c"), filtered);
+        compareIndices(filtered);
+    }
+
+    // Reads the list from several threads at once, in runs of consecutive
+    // indices and at random indices, and returns the number of wrong reads
+    private static int readConcurrently(int size, IntPredicate check) throws InterruptedException {
+        final AtomicInteger mismatches = new AtomicInteger();
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final long seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int n = 0; n < 20000; n++) {
+                    int start = random.nextInt(size);
+                    int run = random.nextBoolean() ? 1 : 1 + random.nextInt(50);
+                    for (int i = start; i < Math.min(size, start + run); i++) {
+                        if (!check.test(i)) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return mismatches.get();
+    }
+
+    @Test
+    public void testConcurrentReads() throws InterruptedException {
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 100000; ++i) {
+            source.add(i);
+        }
+        FilteredList<Integer> filtered = source.filtered(i -> i % 2 == 0);
+
+        assertEquals(0, readConcurrently(filtered.size(), i ->
+                filtered.get(i) == 2 * i &&
+                filtered.getSourceIndex(i) == 2 * i &&
+                filtered.getViewIndex(2 * i) == i));
+    }
+
+    @Test
+    public void testSetPredicateAsyncOnFilteredSourceWhileReading() {
+        ObservableList<Integer> base = FXCollections.observableArrayList();
+        for (int i = 0; i < 100000; ++i) {
+            base.add(i);
+        }
+        FilteredList<Integer> source = base.filtered(i -> i % 2 == 0);
+        FilteredList<Integer> filtered = source.filtered(null);
+
+        ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        // the source is read on the pool while it is read here too
+        CompletableFuture<Void> future = filtered.setPredicateAsync(i -> i % 3 == 0, queue::add);
+        Random random = new Random(0);
+        int mismatches = 0;
+        while (!future.isDone()) {
+            Runnable r = queue.poll();
+            if (r != null) {
+                r.run();
+            } else {
+                int start = random.nextInt(source.size() - 50);
+                for (int i = start; i < start + 50; i++) {
+                    if (source.get(i) != 2 * i) {
+                        mismatches++;
+                    }
+                }
+            }
+        }
+        future.join();
+
+        assertEquals(0, mismatches);
+        assertEquals(100000 / 6 + 1, filtered.size());
+        for (int i = 0; i < filtered.size(); ++i) {
+            assertEquals(Integer.valueOf(i * 6), filtered.get(i));
+        }
+        compareIndices(filtered);
+    }
 }
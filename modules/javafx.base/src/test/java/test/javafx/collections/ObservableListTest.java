@@ -28,10 +28,12 @@ package test.javafx.collections;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
@@ -283,6 +285,73 @@ public class ObservableListTest  {
         assertEquals(list.hashCode(), other.hashCode());
     }
 
+    @Test
+    public void testBatch() {
+        final List<String> copy = new ArrayList<>(list);
+        final int[] calls = new int[1];
+        list.addListener((ListChangeListener<String>) c -> {
+            ++calls[0];
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    continue;
+                }
+                for (int i = 0; i < c.getRemovedSize(); ++i) {
+                    copy.remove(c.getFrom());
+                }
+                copy.addAll(c.getFrom(), c.getAddedSubList());
+            }
+        });
+
+        list.beginBatch();
+        list.add("four");
+        list.remove(0);
+        list.set(0, "TWO");
+        list.add(0, "zero");
+        list.remove("three");
+        list.add(2, "three");
+        assertEquals(0, calls[0]);
+        list.endBatch();
+
+        assertEquals(1, calls[0]);
+        assertEquals(Arrays.asList("zero", "TWO", "three", "four"), list);
+        assertEquals(list, copy);
+    }
+
+    @Test
+    public void testNestedBatch() {
+        final int[] calls = new int[1];
+        list.addListener((ListChangeListener<String>) c -> ++calls[0]);
+
+        list.beginBatch();
+        list.beginBatch();
+        list.add("four");
+        list.endBatch();
+        assertEquals(0, calls[0]);
+        list.remove(0);
+        list.endBatch();
+
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void testSortInBatch() {
+        final int[] calls = new int[1];
+        list.addListener((ListChangeListener<String>) c -> ++calls[0]);
+
+        list.beginBatch();
+        list.add("a");
+        FXCollections.sort(list);
+        list.endBatch();
+
+        assertEquals(1, calls[0]);
+        assertEquals(Arrays.asList("a", "one", "three", "two"), list);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndBatchWithoutBegin() {
+        list.endBatch();
+    }
+
 
     private static class StringListChangeListener implements ListChangeListener<String> {
 
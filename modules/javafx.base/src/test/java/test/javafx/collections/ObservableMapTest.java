@@ -473,4 +473,38 @@ public class ObservableMapTest {
 
         };
     }
+    @Test
+    public void testBatch() {
+        observableMap.beginBatch();
+        observableMap.put("one", "10");
+        observableMap.put("one", "1");
+        observableMap.remove("two");
+        observableMap.put("new", "x");
+        observableMap.remove("new");
+        observableMap.put("foo", "baz");
+        observableMap.put("bar", "foo");
+        observer.check0();
+        observableMap.endBatch();
+
+        observer.assertMultipleCalls(call("two", "2", null), call("foo", "bar", "baz"), call("bar", null, "foo"));
+    }
+
+    @Test
+    public void testNestedBatch() {
+        observableMap.beginBatch();
+        observableMap.beginBatch();
+        observableMap.remove("one");
+        observableMap.endBatch();
+        observer.check0();
+        observableMap.put("one", "11");
+        observableMap.endBatch();
+
+        observer.assertMultipleCalls(call("one", "1", "11"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndBatchWithoutBegin() {
+        observableMap.endBatch();
+    }
+
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.javafx.collections;
+
+import java.util.Arrays;
+import java.util.Collections;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableDoubleList;
+import javafx.collections.ObservableIntegerList;
+import javafx.collections.ObservableLongList;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ObservablePrimitiveListTest {
+
+    private ObservableDoubleList list;
+    private MockListObserver<Double> mlo;
+
+    @Before
+    public void setUp() {
+        list = FXCollections.observableDoubleList(1, 2, 3, 4);
+        mlo = new MockListObserver<>();
+        list.addListener(mlo);
+    }
+
+    @Test
+    public void testGetAndSet() {
+        assertEquals(4, list.size());
+        assertEquals(3.0, list.getDouble(2), 0);
+        assertEquals(Double.valueOf(3), list.get(2));
+
+        assertEquals(3.0, list.set(2, 30.0), 0);
+        assertEquals(30.0, list.getDouble(2), 0);
+        mlo.check1AddRemove(list, Collections.singletonList(3.0), 2, 3);
+    }
+
+    @Test
+    public void testAdd() {
+        list.add(5.0);
+        mlo.check1AddRemove(list, null, 4, 5);
+        mlo.clear();
+        list.add(0, 0.0);
+        mlo.check1AddRemove(list, null, 0, 1);
+        assertArrayEquals(new double[] {0, 1, 2, 3, 4, 5}, list.toDoubleArray(), 0);
+    }
+
+    @Test
+    public void testAddAllRange() {
+        list.addAll(2, new double[] {7, 8, 9, 10}, 1, 2);
+        mlo.check1AddRemove(list, null, 2, 4);
+        assertArrayEquals(new double[] {1, 2, 8, 9, 3, 4}, list.toDoubleArray(), 0);
+
+        mlo.clear();
+        list.addAll(new double[] {11}, 0, 0);
+        mlo.check0();
+    }
+
+    @Test
+    public void testAddAllCollection() {
+        list.addAll(Arrays.asList(5.0, 6.0));
+        mlo.check1AddRemove(list, null, 4, 6);
+        assertArrayEquals(new double[] {1, 2, 3, 4, 5, 6}, list.toDoubleArray(), 0);
+    }
+
+    @Test
+    public void testSetRange() {
+        list.set(1, new double[] {20, 30}, 0, 2);
+        mlo.check1AddRemove(list, Arrays.asList(2.0, 3.0), 1, 3);
+        assertArrayEquals(new double[] {1, 20, 30, 4}, list.toDoubleArray(), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetRangeOutOfBounds() {
+        list.set(3, new double[] {20, 30}, 0, 2);
+    }
+
+    @Test
+    public void testSetAll() {
+        list.setAll(new double[] {5, 6, 7}, 0, 3);
+        mlo.check1AddRemove(list, Arrays.asList(1.0, 2.0, 3.0, 4.0), 0, 3);
+        assertArrayEquals(new double[] {5, 6, 7}, list.toDoubleArray(), 0);
+    }
+
+    @Test
+    public void testRemoveRange() {
+        list.remove(1, 3);
+        mlo.check1AddRemove(list, Arrays.asList(2.0, 3.0), 1, 1);
+        assertArrayEquals(new double[] {1, 4}, list.toDoubleArray(), 0);
+
+        mlo.clear();
+        list.clear();
+        mlo.check1AddRemove(list, Arrays.asList(1.0, 4.0), 0, 0);
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testCopyTo() {
+        final double[] dest = new double[4];
+        list.copyTo(1, dest, 2, 2);
+        assertArrayEquals(new double[] {0, 0, 2, 3}, dest, 0);
+    }
+
+    @Test
+    public void testIndexOf() {
+        list.add(Double.NaN);
+        assertEquals(4, list.indexOf(Double.NaN));
+        assertEquals(1, list.indexOf(2.0));
+        assertEquals(-1, list.indexOf(2));
+        assertTrue(list.contains(4.0));
+        assertFalse(list.contains("4.0"));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullNotAllowed() {
+        list.add((Double) null);
+    }
+
+    @Test
+    public void testBoxedOperations() {
+        list.add(Double.valueOf(5));
+        list.remove(Double.valueOf(1));
+        list.set(0, Double.valueOf(20));
+        assertEquals(Arrays.asList(20.0, 3.0, 4.0, 5.0), list);
+    }
+
+    @Test
+    public void testBatch() {
+        final int[] calls = new int[1];
+        list.addListener((ListChangeListener<Double>) c -> ++calls[0]);
+
+        list.beginBatch();
+        list.add(5.0);
+        list.set(0, 10.0);
+        list.remove(1, 2);
+        list.endBatch();
+
+        assertEquals(Arrays.asList(10.0, 3.0, 4.0, 5.0), list);
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void testGrowth() {
+        final ObservableDoubleList l = FXCollections.observableDoubleList();
+        for (int i = 0; i < 1000; ++i) {
+            l.add(i);
+        }
+        assertEquals(1000, l.size());
+        assertEquals(999.0, l.getDouble(999), 0);
+    }
+
+    @Test
+    public void testIntegerList() {
+        final ObservableIntegerList ints = FXCollections.observableIntegerList(1, 2, 3);
+        final MockListObserver<Integer> observer = new MockListObserver<>();
+        ints.addListener(observer);
+
+        ints.add(4);
+        observer.check1AddRemove(ints, null, 3, 4);
+        assertEquals(2, ints.set(1, 20));
+        assertEquals(20, ints.getInt(1));
+        ints.remove(0);
+        assertArrayEquals(new int[] {20, 3, 4}, ints.toIntArray());
+        assertEquals(1, ints.indexOf(3));
+    }
+
+    @Test
+    public void testLongList() {
+        final ObservableLongList longs = FXCollections.observableLongList(1, 2, 3);
+        final MockListObserver<Long> observer = new MockListObserver<>();
+        longs.addListener(observer);
+
+        longs.addAll(new long[] {4, 5}, 0, 2);
+        observer.check1AddRemove(longs, null, 3, 5);
+        assertEquals(2L, longs.set(1, 20L));
+        assertEquals(20L, longs.getLong(1));
+        assertArrayEquals(new long[] {1, 20, 3, 4, 5}, longs.toLongArray());
+        assertEquals(2, longs.indexOf(3L));
+    }
+}
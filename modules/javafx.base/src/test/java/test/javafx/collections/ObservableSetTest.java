@@ -228,4 +228,37 @@ public class ObservableSetTest {
         assertEquals(observableSet.hashCode(), other.hashCode());
     }
 
+    @Test
+    public void testBatch() {
+        observableSet.beginBatch();
+        observableSet.remove("one");
+        observableSet.add("one");
+        observableSet.remove("two");
+        observableSet.add("new");
+        observableSet.remove("new");
+        observableSet.add("bar");
+        observer.check0();
+        observableSet.endBatch();
+
+        observer.assertMultipleCalls(call("two", null), call(null, "bar"));
+    }
+
+    @Test
+    public void testNestedBatch() {
+        observableSet.beginBatch();
+        observableSet.beginBatch();
+        observableSet.remove("one");
+        observableSet.endBatch();
+        observer.check0();
+        observableSet.add("bar");
+        observableSet.endBatch();
+
+        observer.assertMultipleCalls(call("one", null), call(null, "bar"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEndBatchWithoutBegin() {
+        observableSet.endBatch();
+    }
+
 }
@@ -34,6 +34,8 @@ import java.util.Collections;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javafx.beans.Observable;
 import javafx.beans.property.SimpleObjectProperty;
@@ -595,4 +597,91 @@ public class SortedListTest {
         mockListObserver.check1Permutation(sortedList, new int[] {0, 3, 2, 1});
         compareIndices();
     }
+
+    @Test
+    public void testRandomModifications() {
+        Random random = new Random(11);
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < 500; ++i) {
+            source.add(random.nextInt(100));
+        }
+        SortedList<Integer> sorted = source.sorted(Comparator.naturalOrder());
+        List<Integer> mirror = new ArrayList<>(sorted);
+        sorted.addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    List<Integer> copy = new ArrayList<>(mirror.subList(c.getFrom(), c.getTo()));
+                    for (int i = c.getFrom(); i < c.getTo(); ++i) {
+                        mirror.set(c.getPermutation(i), copy.get(i - c.getFrom()));
+                    }
+                } else {
+                    for (int i = 0; i < c.getRemovedSize(); ++i) {
+                        assertEquals(c.getRemoved().get(i), mirror.remove(c.getFrom()));
+                    }
+                    mirror.addAll(c.getFrom(), c.getAddedSubList());
+                }
+            }
+        });
+
+        for (int i = 0; i < 2000; ++i) {
+            int op = random.nextInt(3);
+            if (op == 0 || source.isEmpty()) {
+                source.add(random.nextInt(source.size() + 1), random.nextInt(100));
+            } else if (op == 1) {
+                source.remove(random.nextInt(source.size()));
+            } else {
+                source.set(random.nextInt(source.size()), random.nextInt(100));
+            }
+            if (i % 100 == 0) {
+                List<Integer> expected = new ArrayList<>(source);
+                Collections.sort(expected);
+                assertEquals(expected, sorted);
+                assertEquals(expected, mirror);
+                compareIndices(sorted);
+            }
+        }
+
+        sorted.setComparator(null);
+        assertEquals(source, sorted);
+        assertEquals(source, mirror);
+        compareIndices(sorted);
+    }
+
+    @Test
+    public void testConcurrentReads() throws InterruptedException {
+        final int size = 100000;
+        ObservableList<Integer> source = FXCollections.observableArrayList();
+        for (int i = 0; i < size; ++i) {
+            source.add(size - 1 - i);
+        }
+        SortedList<Integer> sorted = source.sorted(Comparator.naturalOrder());
+
+        // reads in runs of consecutive indices and at random indices
+        final AtomicInteger mismatches = new AtomicInteger();
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final long seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int n = 0; n < 20000; n++) {
+                    int start = random.nextInt(size);
+                    int run = random.nextBoolean() ? 1 : 1 + random.nextInt(50);
+                    for (int i = start; i < Math.min(size, start + run); i++) {
+                        if (sorted.get(i) != i ||
+                                sorted.getSourceIndex(i) != size - 1 - i ||
+                                sorted.getViewIndex(size - 1 - i) != i) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, mismatches.get());
+    }
 }
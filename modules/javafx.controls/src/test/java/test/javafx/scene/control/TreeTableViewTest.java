@@ -3919,7 +3919,7 @@ public class TreeTableViewTest {
                         Platform.runLater(() -> {
                             Toolkit.getToolkit().firePulse();
 
-                            assertEquals(useFixedCellSize ? 7 : 59, rt_35395_counter);
+                            assertEquals(useFixedCellSize ? 7 : 49, rt_35395_counter);
                             sl.dispose();
                         });
                     });
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.pisces;
+
+import com.sun.pisces.JavaPiscesRenderer;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.pisces.RendererBase;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the flat color loops of the native PiscesRenderer with the Java
+ * ones of JavaPiscesRenderer: a large fractional rectangle, the alpha rows
+ * of an antialiased shape, and a glyph sized alpha mask, all composited
+ * into an INT_ARGB_PRE surface.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlatColorBlitBenchmark {
+
+    private static final int WIDTH = 1024;
+    private static final int HEIGHT = 768;
+
+    @Param({"native", "java"})
+    public String renderer;
+
+    @Param({"255", "128"})
+    public int alpha;
+
+    @Param({"SRC_OVER", "SRC"})
+    public String composite;
+
+    private PiscesRenderer pr;
+    private byte[] alphaMap;
+    private int[] alphaDeltas;
+    private int[] rowDeltas;
+    private byte[] mask;
+
+    @Setup
+    public void setup() {
+        System.loadLibrary("prism_sw");
+
+        int[] data = new int[WIDTH * HEIGHT];
+        JavaSurface surface = new JavaSurface(data, RendererBase.TYPE_INT_ARGB_PRE, WIDTH, HEIGHT);
+        pr = "java".equals(renderer) ? new JavaPiscesRenderer(surface) : new PiscesRenderer(surface);
+        pr.setCompositeRule("SRC".equals(composite)
+                ? RendererBase.COMPOSITE_SRC : RendererBase.COMPOSITE_SRC_OVER);
+        pr.setColor(200, 100, 50, alpha);
+
+        // the coverage of a rasterizer with 4x4 subpixels
+        alphaMap = new byte[17];
+        for (int i = 0; i < alphaMap.length; i++) {
+            alphaMap[i] = (byte) Math.min(255, i * 255 / 16);
+        }
+        // a row with antialiased edges and a solid span between them
+        rowDeltas = new int[WIDTH + 1];
+        rowDeltas[10] = 3;
+        rowDeltas[11] = 9;
+        rowDeltas[12] = 4;
+        rowDeltas[WIDTH - 12] = -4;
+        rowDeltas[WIDTH - 11] = -9;
+        rowDeltas[WIDTH - 10] = -3;
+        alphaDeltas = new int[WIDTH + 1];
+
+        Random random = new Random(0);
+        mask = new byte[16 * 20];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = (byte) (random.nextInt(3) == 0 ? 0xFF : random.nextInt(256));
+        }
+    }
+
+    @Benchmark
+    public PiscesRenderer fillRect() {
+        pr.fillRect(0x8000, 0x8000, (WIDTH - 1) << 16, (HEIGHT - 1) << 16);
+        return pr;
+    }
+
+    @Benchmark
+    public PiscesRenderer emitAndClearAlphaRows() {
+        for (int y = 0; y < HEIGHT; y++) {
+            System.arraycopy(rowDeltas, 0, alphaDeltas, 0, rowDeltas.length);
+            pr.emitAndClearAlphaRow(alphaMap, alphaDeltas, y, 0, WIDTH - 1, 0, 0);
+        }
+        return pr;
+    }
+
+    @Benchmark
+    public PiscesRenderer fillAlphaMasks() {
+        for (int y = 0; y < HEIGHT - 20; y += 20) {
+            for (int x = 0; x < WIDTH - 16; x += 16) {
+                pr.fillAlphaMask(mask, x, y, 16, 20, 0, 16);
+            }
+        }
+        return pr;
+    }
+}
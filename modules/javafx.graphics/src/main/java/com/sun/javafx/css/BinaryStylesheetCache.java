@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import com.sun.javafx.runtime.VersionInfo;
+import javafx.css.Stylesheet;
+import sun.util.logging.PlatformLogger;
+import sun.util.logging.PlatformLogger.Level;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+
+/**
+ * An on-disk cache of text stylesheets converted to the binary format.
+ * <p>
+ * The first time a .css file is parsed, its binary form is written to the
+ * cache directory. The next time the same file is loaded, possibly by
+ * another run of the application, it is read from the cache instead of
+ * being parsed. Entries are keyed by the URL of the stylesheet, its
+ * modification time and size, and the JavaFX runtime version, so an edited
+ * stylesheet or a new JavaFX runtime never sees a stale entry.
+ * <p>
+ * Only stylesheets loaded from file: URLs are cached since there is no cheap
+ * way to tell whether other resources have changed. Stylesheets that @import
+ * other stylesheets are not cached either since the binary form includes the
+ * imported rules, which may change independently.
+ * <p>
+ * A stylesheet loaded from the cache is not parsed, so the warnings logged
+ * while parsing it the first time are not logged again. StyleManager does
+ * not use the cache while parse errors are being collected.
+ * <p>
+ * Each url has at most one entry. Storing a new entry for a url deletes the
+ * entry for its previous version, so edited stylesheets or a new JavaFX
+ * runtime do not leave orphaned entries behind.
+ * <p>
+ * The cache is disabled by default. It is enabled by setting the system
+ * property {@code javafx.css.cache} to true, and its location can be set with
+ * {@code javafx.css.cache.dir}. By default, it is in {@code .openjfx/cache/css}
+ * under the user's home directory.
+ */
+final class BinaryStylesheetCache {
+
+    private static PlatformLogger LOGGER;
+    private static PlatformLogger getLogger() {
+        if (LOGGER == null) {
+            LOGGER = com.sun.javafx.util.Logging.getCSSLogger();
+        }
+        return LOGGER;
+    }
+
+    // null if the cache is disabled
+    private static File cacheDir = AccessController.doPrivileged(
+            (PrivilegedAction<File>) BinaryStylesheetCache::getDefaultCacheDir);
+
+    private BinaryStylesheetCache() {
+    }
+
+    // package for testing
+    static File getDefaultCacheDir() {
+        if (!Boolean.getBoolean("javafx.css.cache")) {
+            return null;
+        }
+        final String dir = System.getProperty("javafx.css.cache.dir");
+        if (dir != null && !dir.isEmpty()) {
+            return new File(dir);
+        }
+        final String userHome = System.getProperty("user.home");
+        return (userHome != null) ? new File(userHome, ".openjfx" + File.separator + "cache" + File.separator + "css") : null;
+    }
+
+    // package for testing
+    static void setCacheDir(File dir) {
+        cacheDir = dir;
+    }
+
+    static boolean isEnabled() {
+        return cacheDir != null;
+    }
+
+    /**
+     * Load the binary form of the stylesheet at the given url from the cache.
+     * @return the cached stylesheet, or null if there is no valid entry for the url
+     */
+    static Stylesheet load(final URL url) {
+
+        final File source = getSource(url);
+        if (source == null) return null;
+
+        return AccessController.doPrivileged((PrivilegedAction<Stylesheet>) () -> {
+
+            final File entry = getEntry(source, url);
+            if (entry == null || !entry.isFile()) return null;
+
+            try (FileChannel channel = FileChannel.open(entry.toPath(), StandardOpenOption.READ)) {
+
+                final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return StylesheetHelper.loadBinary(
+                        new DataInputStream(new ByteBufferInputStream(buffer)), url.toExternalForm());
+
+            } catch (IOException | RuntimeException e) {
+                // a truncated or otherwise corrupt entry; parse the css instead.
+                if (getLogger().isLoggable(Level.FINE)) {
+                    getLogger().fine("Could not read cached stylesheet " + entry + " for " + url + ": " + e);
+                }
+                entry.delete();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Store the binary form of a stylesheet that was parsed from the given url.
+     */
+    static void store(final URL url, final Stylesheet stylesheet) {
+
+        if (stylesheet == null || StylesheetHelper.hasImports(stylesheet)) return;
+
+        final File source = getSource(url);
+        if (source == null) return;
+
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+
+            final File entry = getEntry(source, url);
+            if (entry == null) return null;
+
+            Path temp = null;
+            try {
+                Files.createDirectories(cacheDir.toPath());
+
+                // Write to a temporary file first so that a concurrent reader,
+                // possibly in another process, never sees a partial entry.
+                temp = Files.createTempFile(cacheDir.toPath(), "css", ".tmp");
+                try (OutputStream os = Files.newOutputStream(temp)) {
+                    StylesheetHelper.saveBinary(stylesheet, os);
+                }
+                Files.move(temp, entry.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                temp = null;
+
+                // Drop the entries for previous versions of the stylesheet
+                final String prefix = entry.getName().substring(0, entry.getName().indexOf('-') + 1);
+                try (DirectoryStream<Path> stale = Files.newDirectoryStream(cacheDir.toPath(), prefix + "*.bss")) {
+                    for (Path path : stale) {
+                        if (!path.equals(entry.toPath())) {
+                            Files.deleteIfExists(path);
+                        }
+                    }
+                }
+
+            } catch (IOException | RuntimeException e) {
+                if (getLogger().isLoggable(Level.FINE)) {
+                    getLogger().fine("Could not cache stylesheet " + url + ": " + e);
+                }
+            } finally {
+                if (temp != null) {
+                    try {
+                        Files.deleteIfExists(temp);
+                    } catch (IOException ignored) {
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    // The local file for the url, or null if the url is not cacheable
+    private static File getSource(final URL url) {
+
+        if (cacheDir == null || url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // The cache entry for the current version of the source file, or null
+    // if the source file does not exist. The name of the entry starts with
+    // a digest of the url, so the entries for previous versions can be found.
+    private static File getEntry(final File source, final URL url) {
+
+        final long lastModified = source.lastModified();
+        if (lastModified == 0L) return null;
+
+        final String version = lastModified + "\n"
+                + source.length() + '\n'
+                + VersionInfo.getRuntimeVersion();
+
+        try {
+            return new File(cacheDir, digest(url.toExternalForm()) + '-' + digest(version) + ".bss");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static String digest(final String key) throws NoSuchAlgorithmException {
+        final MessageDigest md = MessageDigest.getInstance("SHA-1");
+        final byte[] digest = md.digest(key.getBytes(StandardCharsets.UTF_8));
+        final StringBuilder hex = new StringBuilder(2 * digest.length);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /*
+     * An InputStream over a (memory-mapped) ByteBuffer. Supports mark and
+     * reset, which Stylesheet.loadBinary needs.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override public int read() {
+            return buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1;
+        }
+
+        @Override public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            final int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override public long skip(long n) {
+            final int k = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + k);
+            return k;
+        }
+
+        @Override public int available() {
+            return buffer.remaining();
+        }
+
+        @Override public boolean markSupported() {
+            return true;
+        }
+
+        @Override public synchronized void mark(int readlimit) {
+            buffer.mark();
+        }
+
+        @Override public synchronized void reset() {
+            buffer.reset();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import javafx.css.StyleOrigin;
+import javafx.geometry.Insets;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.RadialGradient;
+import javafx.scene.text.Font;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A pool of CalculatedValue objects and of the immutable values they hold.
+ * When CSS resolves the same style for many nodes that do not share a
+ * StyleCache, such as the cells of a large table, each node would otherwise
+ * end up with its own Background, Border, Insets, etc. Interning the values
+ * lets identical styles share a single instance, which saves memory and
+ * means that re-applying an identical style sets a property to the value it
+ * already has, so the property is not invalidated.
+ * <p>
+ * Only values of immutable types that implement equals and hashCode by value
+ * are interned. The pool holds its entries weakly so that values are
+ * discarded once no StyleCache or property refers to them.
+ */
+public final class CalculatedValuePool {
+
+    // Weakly keyed; the value refers to the canonical instance weakly as well,
+    // otherwise the canonical key would never be collected.
+    private static final Map<Object, WeakReference<Object>> pool = new WeakHashMap<>();
+
+    private CalculatedValuePool() {
+    }
+
+    /**
+     * Get a CalculatedValue for the given value, origin and relative flag.
+     * If an equal CalculatedValue is in the pool, it is returned. Otherwise,
+     * a new CalculatedValue holding the pooled instance of the value is
+     * added to the pool and returned.
+     * @param value the calculated value
+     * @param origin the origin of the style from which the value was calculated
+     * @param relative whether the value was calculated from a font-relative size
+     * @return a CalculatedValue equal to {@code new CalculatedValue(value, origin, relative)}
+     */
+    public static CalculatedValue get(Object value, StyleOrigin origin, boolean relative) {
+        if (value != null && !isInternable(value) && !hasValueEquality(value)) {
+            // an equal CalculatedValue is unlikely to be found in the pool
+            return new CalculatedValue(value, origin, relative);
+        }
+        synchronized (pool) {
+            final Object pooledValue = isInternable(value) ? internInPool(value) : value;
+            return internInPool(new CalculatedValue(pooledValue, origin, relative));
+        }
+    }
+
+    /**
+     * @return the number of objects in the pool
+     */
+    public static int size() {
+        synchronized (pool) {
+            return pool.size();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T internInPool(T value) {
+        final WeakReference<Object> ref = pool.get(value);
+        final Object pooled = ref != null ? ref.get() : null;
+        if (pooled != null) {
+            return (T) pooled;
+        }
+        pool.put(value, new WeakReference<>(value));
+        return value;
+    }
+
+    private static boolean isInternable(Object value) {
+        if (value == null) return false;
+        final Class<?> type = value.getClass();
+        return type == Background.class
+                || type == Border.class
+                || type == Insets.class
+                || type == CornerRadii.class
+                || type == Font.class
+                || type == Color.class
+                || type == LinearGradient.class
+                || type == RadialGradient.class;
+    }
+
+    // Types other than the interned ones for which a CalculatedValue may be shared
+    private static boolean hasValueEquality(Object value) {
+        return value instanceof Number
+                || value instanceof String
+                || value instanceof Boolean
+                || value instanceof Enum;
+    }
+}
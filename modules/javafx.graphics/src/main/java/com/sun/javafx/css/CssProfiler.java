@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import com.sun.javafx.jmx.CssStatisticsMXBean;
+import com.sun.javafx.logging.PulseLogger;
+import javafx.css.Rule;
+import javafx.css.Selector;
+import javafx.css.Styleable;
+import javafx.css.Stylesheet;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+
+/**
+ * Gathers statistics about the CSS passes: time spent, nodes styled, hits and
+ * misses in the StyleCache and StyleMap caches, and the selectors and node
+ * types on which the most time is spent.
+ * <p>
+ * Gathering statistics is off by default. It is turned on by setting
+ * {@code javafx.css.profile=true} or at runtime through
+ * {@link CssStatisticsMXBean#setEnabled(boolean)}. Enabling the pulse logger
+ * does not turn it on, since gathering statistics adds to the time of the
+ * CSS pass. When both are enabled, a summary of each CSS pass is added to
+ * the pulse log. The javafx.jmx management extension registers the
+ * statistics with the platform MBeanServer.
+ * <p>
+ * The recording methods are meant to be called as
+ * <pre>
+ *     final long start = CssProfiler.start();
+ *     ...
+ *     if (CssProfiler.enabled) CssProfiler.getInstance().nodeStyled(node, start);
+ * </pre>
+ * so that the cost, when disabled, is the read of a volatile field. A start
+ * of zero means that statistics were off when the operation began, so the
+ * operation is not recorded even if they have been turned on since.
+ */
+public final class CssProfiler implements CssStatisticsMXBean {
+
+    /** Whether statistics are being gathered. */
+    public static volatile boolean enabled;
+
+    private static final int TOP_N;
+
+    static {
+        final boolean[] profile = new boolean[1];
+        final int[] topN = new int[1];
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            profile[0] = Boolean.getBoolean("javafx.css.profile");
+            topN[0] = Integer.getInteger("javafx.css.profile.top", 20);
+            return null;
+        });
+        enabled = profile[0];
+        TOP_N = Math.max(1, topN[0]);
+    }
+
+    private static final CssProfiler INSTANCE = new CssProfiler();
+
+    /**
+     * @return the CssProfiler singleton
+     */
+    public static CssProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the current time in nanoseconds if gathering statistics, or zero
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    private static final class Cost {
+        long time;
+        long count;
+        long matched;
+    }
+
+    private long passCount;
+    private long totalPassTime;
+    private long lastPassTime;
+    private long lastPassNodesStyled;
+    private long nodesStyled;
+    private long styleCacheHits;
+    private long styleCacheMisses;
+    private long styleMapHits;
+    private long styleMapMisses;
+
+    // counters for the CSS pass in progress, reported to the pulse logger
+    private int passDepth;
+    private long passNodesStyled;
+    private long passStyleCacheHits;
+    private long passStyleCacheMisses;
+    private long passStyleMapHits;
+    private long passStyleMapMisses;
+
+    // Selectors are weakly held so that statistics do not keep a stylesheet alive
+    private final Map<Selector, Cost> selectorCosts = new WeakHashMap<>();
+    private final Map<String, Cost> nodeTypeCosts = new HashMap<>();
+
+    private CssProfiler() {
+    }
+
+    /**
+     * Called at the start of a CSS pass.
+     * @return the start time to be passed to {@link #cssPassEnd(long)}
+     */
+    public synchronized long cssPassStart() {
+        if (passDepth++ == 0) {
+            passNodesStyled = 0;
+            passStyleCacheHits = passStyleCacheMisses = 0;
+            passStyleMapHits = passStyleMapMisses = 0;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Called at the end of a CSS pass.
+     * @param start the value returned from {@link #cssPassStart()}
+     */
+    public synchronized void cssPassEnd(long start) {
+        if (passDepth == 0 || --passDepth > 0) {
+            return;
+        }
+        final long elapsed = System.nanoTime() - start;
+        passCount += 1;
+        totalPassTime += elapsed;
+        lastPassTime = elapsed;
+        lastPassNodesStyled = passNodesStyled;
+
+        if (PULSE_LOGGING_ENABLED && passNodesStyled > 0) {
+            PulseLogger.addMessage("CSS: " + passNodesStyled + " nodes styled in "
+                    + (elapsed / 1000) + "us, StyleCache "
+                    + passStyleCacheHits + " hits/" + passStyleCacheMisses + " misses, StyleMap "
+                    + passStyleMapHits + " hits/" + passStyleMapMisses + " misses");
+        }
+    }
+
+    /**
+     * Called after styles have been applied to a node.
+     * @param styleable the node
+     * @param start the value returned from {@link #start()} before styles were applied
+     */
+    public synchronized void nodeStyled(Styleable styleable, long start) {
+        if (start == 0L) {
+            return;
+        }
+        final long elapsed = System.nanoTime() - start;
+        nodesStyled += 1;
+        passNodesStyled += 1;
+        final String type = styleable.getTypeSelector();
+        Cost cost = nodeTypeCosts.get(type);
+        if (cost == null) {
+            cost = new Cost();
+            nodeTypeCosts.put(type, cost);
+        }
+        cost.time += elapsed;
+        cost.count += 1;
+    }
+
+    /**
+     * Called after a node's StyleCacheEntry has been looked up.
+     * @param hit true if the entry was found in the StyleCache
+     */
+    public synchronized void styleCacheLookup(boolean hit) {
+        if (hit) {
+            styleCacheHits += 1;
+            passStyleCacheHits += 1;
+        } else {
+            styleCacheMisses += 1;
+            passStyleCacheMisses += 1;
+        }
+    }
+
+    /**
+     * Called after a node's StyleMap has been looked up.
+     * @param hit true if the StyleMap already existed
+     */
+    public synchronized void styleMapLookup(boolean hit) {
+        if (hit) {
+            styleMapHits += 1;
+            passStyleMapHits += 1;
+        } else {
+            styleMapMisses += 1;
+            passStyleMapMisses += 1;
+        }
+    }
+
+    /**
+     * Called after a selector has been matched against a node.
+     * @param selector the selector
+     * @param matched whether the selector applies to the node
+     * @param start the value returned from {@link #start()} before matching
+     */
+    public synchronized void selectorMatched(Selector selector, boolean matched, long start) {
+        if (start == 0L) {
+            return;
+        }
+        final long elapsed = System.nanoTime() - start;
+        Cost cost = selectorCosts.get(selector);
+        if (cost == null) {
+            cost = new Cost();
+            selectorCosts.put(selector, cost);
+        }
+        cost.time += elapsed;
+        cost.count += 1;
+        if (matched) cost.matched += 1;
+    }
+
+    @Override public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override public void setEnabled(boolean enabled) {
+        CssProfiler.enabled = enabled;
+    }
+
+    @Override public synchronized void reset() {
+        passCount = totalPassTime = lastPassTime = lastPassNodesStyled = 0;
+        nodesStyled = 0;
+        styleCacheHits = styleCacheMisses = 0;
+        styleMapHits = styleMapMisses = 0;
+        selectorCosts.clear();
+        nodeTypeCosts.clear();
+    }
+
+    @Override public synchronized long getCssPassCount() {
+        return passCount;
+    }
+
+    @Override public synchronized long getTotalCssPassTime() {
+        return totalPassTime;
+    }
+
+    @Override public synchronized long getLastCssPassTime() {
+        return lastPassTime;
+    }
+
+    @Override public synchronized long getLastCssPassNodesStyled() {
+        return lastPassNodesStyled;
+    }
+
+    @Override public synchronized long getNodesStyled() {
+        return nodesStyled;
+    }
+
+    @Override public synchronized long getStyleCacheHits() {
+        return styleCacheHits;
+    }
+
+    @Override public synchronized long getStyleCacheMisses() {
+        return styleCacheMisses;
+    }
+
+    @Override public synchronized long getStyleMapHits() {
+        return styleMapHits;
+    }
+
+    @Override public synchronized long getStyleMapMisses() {
+        return styleMapMisses;
+    }
+
+    @Override public long getStyleCacheEntries() {
+        return StyleManager.getInstance().getStyleCacheEntryCount();
+    }
+
+    @Override public long getStyleCacheWeight() {
+        return StyleManager.getInstance().getStyleCacheWeight();
+    }
+
+    @Override public long getImageCacheSize() {
+        return StyleManager.getInstance().getImageCacheSize();
+    }
+
+    @Override public long getImageCacheBytes() {
+        return StyleManager.getInstance().getImageCacheBytes();
+    }
+
+    @Override public synchronized String[] getTopSelectors() {
+        final List<Map.Entry<Selector, Cost>> entries = top(selectorCosts);
+        final String[] result = new String[entries.size()];
+        for (int n = 0; n < result.length; n++) {
+            final Selector selector = entries.get(n).getKey();
+            final Cost cost = entries.get(n).getValue();
+            final Rule rule = selector.getRule();
+            final Stylesheet stylesheet = rule != null ? rule.getStylesheet() : null;
+            final String url = stylesheet != null ? stylesheet.getUrl() : null;
+            result[n] = (cost.time / 1000) + "us " + cost.matched + "/" + cost.count + " matched "
+                    + selector + (url != null ? " (" + url + ")" : "");
+        }
+        return result;
+    }
+
+    @Override public synchronized String[] getTopNodeTypes() {
+        final List<Map.Entry<String, Cost>> entries = top(nodeTypeCosts);
+        final String[] result = new String[entries.size()];
+        for (int n = 0; n < result.length; n++) {
+            final Cost cost = entries.get(n).getValue();
+            result[n] = (cost.time / 1000) + "us " + cost.count + " styled " + entries.get(n).getKey();
+        }
+        return result;
+    }
+
+    private static <K> List<Map.Entry<K, Cost>> top(Map<K, Cost> costs) {
+        final List<Map.Entry<K, Cost>> entries = new ArrayList<>(costs.entrySet());
+        entries.sort((e1, e2) -> Long.compare(e2.getValue().time, e1.getValue().time));
+        return entries.size() > TOP_N ? entries.subList(0, TOP_N) : entries;
+    }
+}
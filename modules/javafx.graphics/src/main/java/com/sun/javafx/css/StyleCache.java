@@ -24,8 +24,10 @@
  */
 package com.sun.javafx.css;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -76,17 +78,39 @@ import java.util.Map;
  * created by StyleManager.StylesheetContainer and is passed in.
  * Note that all StyleHelper instances within a given Scene all
  * share the same valueCache!
+ *
+ * The entries are kept in least-recently-used order and the number of
+ * entries is bounded by javafx.css.styleCache.maxEntries so that nodes which
+ * cycle through many pseudo-class states do not grow the cache without bound.
  */
 public final class StyleCache {
 
+    /*
+     * The maximum number of StyleCacheEntry objects kept by one StyleCache.
+     * There is an entry for each combination of pseudo-class states and font
+     * size seen by nodes that share the StyleCache. When the limit is
+     * reached, the least recently used entry is discarded. A value less than
+     * or equal to zero means no limit.
+     */
+    static final int MAX_ENTRIES = AccessController.doPrivileged(
+            (PrivilegedAction<Integer>) () -> Integer.getInteger("javafx.css.styleCache.maxEntries", 64));
+
     public StyleCache() {
-        // no-op
+        this(null);
+    }
+
+    StyleCache(StyleManager.CacheContainer container) {
+        this.container = container;
     }
 
     public void clear() {
         if (entries == null) return;
         Thread.dumpStack();
+        for (StyleCacheEntry entry : entries.values()) {
+            entry.owner = null;
+        }
         entries.clear();
+        adjustWeight(-weight);
     }
 
     public StyleCacheEntry getStyleCacheEntry(StyleCacheEntry.Key key) {
@@ -100,9 +124,59 @@ public final class StyleCache {
 
     public void addStyleCacheEntry(StyleCacheEntry.Key key, StyleCacheEntry entry) {
         if (entries == null) {
-            entries = new HashMap<>(5);
+            entries = new LinkedHashMap<StyleCacheEntry.Key,StyleCacheEntry>(5, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<StyleCacheEntry.Key,StyleCacheEntry> eldest) {
+                    if (0 < MAX_ENTRIES && MAX_ENTRIES < size()) {
+                        final StyleCacheEntry evicted = eldest.getValue();
+                        evicted.owner = null;
+                        adjustWeight(-evicted.getWeight());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+        entry.owner = this;
+        final StyleCacheEntry previous = entries.put(key, entry);
+        if (previous != null && previous != entry) {
+            previous.owner = null;
+            adjustWeight(-previous.getWeight());
         }
-        entries.put(key, entry);
+        adjustWeight(entry.getWeight());
+    }
+
+    /**
+     * @return the number of StyleCacheEntry objects in this cache
+     */
+    public int size() {
+        return entries != null ? entries.size() : 0;
+    }
+
+    /**
+     * The weight of a StyleCache is the sum of the weights of its entries,
+     * which is a measure of the memory the cache holds on to.
+     * @return the weight of this cache
+     * @see StyleCacheEntry#getWeight()
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    // Called when an entry is added to or removed from this cache, or when
+    // a value is added to one of its entries.
+    void adjustWeight(long delta) {
+        weight += delta;
+        if (container != null) {
+            container.adjustStyleCacheWeight(delta);
+        }
+    }
+
+    // Called when the StyleManager discards this cache. Nodes that are
+    // in the middle of a transition to a new state may still add to this
+    // cache, but it no longer counts against the CacheContainer.
+    void evicted() {
+        container = null;
     }
 
     public static final class Key {
@@ -180,5 +254,7 @@ public final class StyleCache {
     }
 
     private Map<StyleCacheEntry.Key,StyleCacheEntry> entries;
+    private long weight;
+    private StyleManager.CacheContainer container;
 
 }
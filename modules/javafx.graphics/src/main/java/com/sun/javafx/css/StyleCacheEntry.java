@@ -55,7 +55,18 @@ public final class StyleCacheEntry {
             this.calculatedValues = new HashMap<>(5);
         }
 
-        calculatedValues.put(property, calculatedValue);
+        if (calculatedValues.put(property, calculatedValue) == null && owner != null) {
+            owner.adjustWeight(1);
+        }
+    }
+
+    /**
+     * The weight of an entry is one for the entry itself plus one for each
+     * calculated value it holds.
+     * @return the weight of this entry
+     */
+    public int getWeight() {
+        return 1 + (calculatedValues != null ? calculatedValues.size() : 0);
     }
 
     public final static class Key {
@@ -161,5 +172,7 @@ public final class StyleCacheEntry {
 
 //    private final Reference<StyleCacheEntry> sharedCacheRef;
     private Map<String,CalculatedValue> calculatedValues;
+    // The StyleCache this entry belongs to, if any
+    StyleCache owner;
 //    private CalculatedValue  font; // for use in converting font relative sizes
 }
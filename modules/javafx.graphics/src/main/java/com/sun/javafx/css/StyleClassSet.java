@@ -45,7 +45,8 @@ public final class StyleClassSet  extends BitSet<StyleClass> {
         super();
     }
 
-    StyleClassSet(List<String> styleClassNames) {
+    /** Create a set of StyleClass from a list of style class names */
+    public StyleClassSet(List<String> styleClassNames) {
 
         int nMax = styleClassNames != null ? styleClassNames.size() : 0;
         for(int n=0; n<nMax; n++) {
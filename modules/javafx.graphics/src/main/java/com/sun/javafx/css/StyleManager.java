@@ -79,11 +79,16 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -219,10 +224,11 @@ final public class StyleManager {
 
         StyleCache sharedCache = styleCache.get(key);
         if (sharedCache == null) {
-            sharedCache = new StyleCache();
+            sharedCache = new StyleCache(container);
             styleCache.put(new StyleCache.Key(key), sharedCache);
         }
 
+        container.trimStyleCache(sharedCache);
         return sharedCache;
     }
 
@@ -291,6 +297,11 @@ final public class StyleManager {
         final byte[] checksum;
         boolean checksumInvalid = false;
 
+        // true if this container was installed by preloadStylesheets and no
+        // parent has used it yet. Such a container is kept even though it
+        // has no parent users.
+        boolean preloaded = false;
+
         StylesheetContainer(String fname, Stylesheet stylesheet) {
             this(fname, stylesheet, stylesheet != null ? calculateCheckSum(stylesheet.getUrl()) : new byte[0]);
         }
@@ -478,7 +489,7 @@ final public class StyleManager {
                     }
                 }
 
-                if (container.parentUsers.list.isEmpty()) {
+                if (container.parentUsers.list.isEmpty() && !container.preloaded) {
                     iter.remove();
                 }
             }
@@ -550,7 +561,7 @@ final public class StyleManager {
                 Entry<String,StylesheetContainer> entry = containerIterator.next();
                 StylesheetContainer container = entry.getValue();
                 container.parentUsers.remove(parent);
-                if (container.parentUsers.list.isEmpty()) {
+                if (container.parentUsers.list.isEmpty() && !container.preloaded) {
 
                     containerIterator.remove();
 
@@ -750,8 +761,31 @@ final public class StyleManager {
     //
     ////////////////////////////////////////////////////////////////////////////
 
+    /*
+     * The maximum number of bytes of decoded image data held by the image
+     * cache. When the limit is exceeded, the least recently used images are
+     * discarded. A value less than or equal to zero means no limit.
+     */
+    private static final long MAX_IMAGE_CACHE_BYTES = AccessController.doPrivileged(
+            (PrivilegedAction<Long>) () -> Long.getLong("javafx.css.imageCache.maxBytes", 64L * 1024L * 1024L));
+
     private final static class ImageCache {
-        private Map<String, SoftReference<Image>> imageCache = new HashMap<>();
+
+        private static final class CachedImage extends SoftReference<Image> {
+            // an estimate of the memory used by the image
+            private final long bytes;
+
+            private CachedImage(Image image) {
+                super(image);
+                this.bytes = image != null ? 4L * (long)image.getWidth() * (long)image.getHeight() : 0L;
+            }
+        }
+
+        // in least-recently-used order
+        private Map<String, CachedImage> imageCache = new LinkedHashMap<>(16, 0.75f, true);
+
+        // the sum of CachedImage.bytes for the entries of imageCache
+        private long bytes;
 
         Image getCachedImage(String url) {
 
@@ -771,7 +805,7 @@ final public class StyleManager {
                             }
                             image = null;
                         }
-                        imageCache.put(url, new SoftReference(image));
+                        put(url, new CachedImage(image));
 
                     } catch (IllegalArgumentException iae) {
                         // url was empty!
@@ -791,6 +825,48 @@ final public class StyleManager {
             }
         }
 
+        private void put(String url, CachedImage cachedImage) {
+
+            final CachedImage previous = imageCache.put(url, cachedImage);
+            if (previous != null) bytes -= previous.bytes;
+            bytes += cachedImage.bytes;
+
+            if (MAX_IMAGE_CACHE_BYTES <= 0) return;
+
+            // Discard cleared references first, then the least recently used
+            // images. The image just added is kept even if it is over the limit.
+            if (bytes > MAX_IMAGE_CACHE_BYTES) {
+                final Iterator<CachedImage> iter = imageCache.values().iterator();
+                while (iter.hasNext()) {
+                    final CachedImage ci = iter.next();
+                    if (ci.get() == null) {
+                        iter.remove();
+                        bytes -= ci.bytes;
+                    }
+                }
+            }
+
+            final Iterator<CachedImage> iter = imageCache.values().iterator();
+            while (bytes > MAX_IMAGE_CACHE_BYTES && iter.hasNext()) {
+                final CachedImage ci = iter.next();
+                if (ci == cachedImage) continue;
+                iter.remove();
+                bytes -= ci.bytes;
+            }
+        }
+
+        long getBytes() {
+            synchronized (styleLock) {
+                return bytes;
+            }
+        }
+
+        int size() {
+            synchronized (styleLock) {
+                return imageCache.size();
+            }
+        }
+
         void cleanUpImageCache(String imgFname) {
 
             synchronized (styleLock) {
@@ -803,32 +879,26 @@ final public class StyleManager {
                 final String path = (len > 0) ? fname.substring(0,len) : fname;
                 final int plen = path.length();
 
-                final String[] entriesToRemove = new String[imageCache.size()];
-                int count = 0;
-
-                final Set<Entry<String, SoftReference<Image>>> entrySet = imageCache.entrySet();
-                for (Entry<String, SoftReference<Image>> entry : entrySet) {
+                final Iterator<Entry<String, CachedImage>> iter = imageCache.entrySet().iterator();
+                while (iter.hasNext()) {
 
+                    final Entry<String, CachedImage> entry = iter.next();
                     final String key = entry.getKey();
-                    if (entry.getValue().get() == null) {
-                        entriesToRemove[count++] = key;
-                        continue;
+                    boolean match = entry.getValue().get() == null;
+                    if (!match) {
+                        len = key.lastIndexOf('/');
+                        final String kpath = (len > 0) ? key.substring(0, len) : key;
+                        final int klen = kpath.length();
+
+                        // If the longer path begins with the shorter path,
+                        // then assume the image came from this path.
+                        match = (klen > plen) ? kpath.startsWith(path) : path.startsWith(kpath);
                     }
-                    len = key.lastIndexOf('/');
-                    final String kpath = (len > 0) ? key.substring(0, len) : key;
-                    final int klen = kpath.length();
-
-                    // If the longer path begins with the shorter path,
-                    // then assume the image came from this path.
-                    boolean match = (klen > plen) ? kpath.startsWith(path) : path.startsWith(kpath);
                     if (match) {
-                        entriesToRemove[count++] = key;
+                        iter.remove();
+                        bytes -= entry.getValue().bytes;
                     }
                 }
-
-                for (int n = 0; n < count; n++) {
-                    imageCache.remove(entriesToRemove[n]);
-                }
             }
         }
     }
@@ -839,6 +909,49 @@ final public class StyleManager {
         return imageCache.getCachedImage(url);
     }
 
+    /**
+     * @return an estimate of the number of bytes of image data held by the image cache
+     */
+    public long getImageCacheBytes() {
+        return imageCache.getBytes();
+    }
+
+    /**
+     * @return the number of images in the image cache
+     */
+    public int getImageCacheSize() {
+        return imageCache.size();
+    }
+
+    /**
+     * The total weight of the StyleCaches of all scenes, which is the number
+     * of StyleCacheEntry objects plus the number of calculated values they hold.
+     * @return the total weight of the StyleCaches
+     * @see StyleCache#getWeight()
+     */
+    public long getStyleCacheWeight() {
+        synchronized (styleLock) {
+            long weight = 0;
+            for (CacheContainer container : cacheContainerMap.values()) {
+                weight += container.getStyleCacheWeight();
+            }
+            return weight;
+        }
+    }
+
+    /**
+     * @return the number of StyleCacheEntry objects in the StyleCaches of all scenes
+     */
+    public int getStyleCacheEntryCount() {
+        synchronized (styleLock) {
+            int count = 0;
+            for (CacheContainer container : cacheContainerMap.values()) {
+                count += container.getStyleCacheEntryCount();
+            }
+            return count;
+        }
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     //
     // Stylesheet loading
@@ -1064,120 +1177,285 @@ final public class StyleManager {
     private static Stylesheet loadStylesheetUnPrivileged(final String fname) {
 
         synchronized (styleLock) {
-            Boolean parse = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> {
-
-                final String bss = System.getProperty("binary.css");
-                // binary.css is true by default.
-                // parse only if the file is not a .bss
-                // and binary.css is set to false
-                return (!fname.endsWith(".bss") && bss != null) ?
-                    !Boolean.valueOf(bss) : Boolean.FALSE;
-            });
+            return loadStylesheetUnlocked(fname);
+        }
+    }
 
-            try {
-                final String ext = (parse) ? (".css") : (".bss");
-                java.net.URL url = null;
-                Stylesheet stylesheet = null;
-                // check if url has extension, if not then just url as is and always parse as css text
-                if (!(fname.endsWith(".css") || fname.endsWith(".bss"))) {
-                    url = getURL(fname);
-                    parse = true;
-                } else {
-                    final String name = fname.substring(0, fname.length() - 4);
+    /*
+     * Load the stylesheet and record how long it took. The caller must hold
+     * styleLock if anyone is listening for errors since the errors list is
+     * not thread-safe.
+     */
+    private static Stylesheet loadStylesheetUnlocked(final String fname) {
 
-                    url = getURL(name+ext);
-                    if (url == null && (parse = !parse)) {
-                        // If we failed to get the URL for the .bss file,
-                        // fall back to the .css file.
-                        // Note that 'parse' is toggled in the test.
-                        url = getURL(name+".css");
-                    }
+        final long start = System.nanoTime();
+        try {
+            return readStylesheet(fname);
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            stylesheetLoadTimes.put(fname, elapsed);
+            if (getLogger().isLoggable(Level.FINE)) {
+                getLogger().fine(String.format("Loaded stylesheet %s in %d us", fname, elapsed / 1000));
+            }
+        }
+    }
 
-                    if ((url != null) && !parse) {
+    private static Stylesheet readStylesheet(final String fname) {
 
-                        try {
-                            // RT-36332: if loadBinary throws an IOException, make sure to try .css
-                            stylesheet = Stylesheet.loadBinary(url);
-                        } catch (IOException ioe) {
-                            stylesheet = null;
-                        }
+        Boolean parse = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> {
 
-                        if (stylesheet == null && (parse = !parse)) {
-                            // If we failed to load the .bss file,
-                            // fall back to the .css file.
-                            // Note that 'parse' is toggled in the test.
-                            url = getURL(fname);
-                        }
-                    }
+            final String bss = System.getProperty("binary.css");
+            // binary.css is true by default.
+            // parse only if the file is not a .bss
+            // and binary.css is set to false
+            return (!fname.endsWith(".bss") && bss != null) ?
+                !Boolean.valueOf(bss) : Boolean.FALSE;
+        });
+
+        try {
+            final String ext = (parse) ? (".css") : (".bss");
+            java.net.URL url = null;
+            Stylesheet stylesheet = null;
+            // check if url has extension, if not then just url as is and always parse as css text
+            if (!(fname.endsWith(".css") || fname.endsWith(".bss"))) {
+                url = getURL(fname);
+                parse = true;
+            } else {
+                final String name = fname.substring(0, fname.length() - 4);
+
+                url = getURL(name+ext);
+                if (url == null && (parse = !parse)) {
+                    // If we failed to get the URL for the .bss file,
+                    // fall back to the .css file.
+                    // Note that 'parse' is toggled in the test.
+                    url = getURL(name+".css");
                 }
 
-                // either we failed to load the .bss file, or parse
-                // was set to true.
-                if ((url != null) && parse) {
-                    stylesheet = new CssParser().parse(url);
+                if ((url != null) && !parse) {
+
+                    try {
+                        // RT-36332: if loadBinary throws an IOException, make sure to try .css
+                        stylesheet = Stylesheet.loadBinary(url);
+                    } catch (IOException ioe) {
+                        stylesheet = null;
+                    }
+
+                    if (stylesheet == null && (parse = !parse)) {
+                        // If we failed to load the .bss file,
+                        // fall back to the .css file.
+                        // Note that 'parse' is toggled in the test.
+                        url = getURL(fname);
+                    }
                 }
+            }
 
+            // either we failed to load the .bss file, or parse
+            // was set to true.
+            if ((url != null) && parse) {
+                // Serve the stylesheet from the binary cache unless someone
+                // is listening for parse errors, which only parsing reports.
+                // Parse warnings are only logged when the css is parsed.
+                final boolean useCache = errors == null && BinaryStylesheetCache.isEnabled();
+                if (useCache) {
+                    stylesheet = BinaryStylesheetCache.load(url);
+                }
                 if (stylesheet == null) {
-                    if (errors != null) {
-                        CssParser.ParseError error =
-                            new CssParser.ParseError(
-                                "Resource \""+fname+"\" not found."
-                            );
-                        errors.add(error);
+                    stylesheet = new CssParser().parse(url);
+                    if (useCache) {
+                        BinaryStylesheetCache.store(url, stylesheet);
                     }
-                    if (getLogger().isLoggable(Level.WARNING)) {
-                        getLogger().warning(
-                            String.format("Resource \"%s\" not found.", fname)
+                }
+            }
+
+            if (stylesheet == null) {
+                if (errors != null) {
+                    CssParser.ParseError error =
+                        new CssParser.ParseError(
+                            "Resource \""+fname+"\" not found."
                         );
-                    }
+                    errors.add(error);
                 }
+                if (getLogger().isLoggable(Level.WARNING)) {
+                    getLogger().warning(
+                        String.format("Resource \"%s\" not found.", fname)
+                    );
+                }
+            }
 
-                // load any fonts from @font-face
-                if (stylesheet != null) {
-                    faceLoop: for(FontFace fontFace: stylesheet.getFontFaces()) {
-                        if (fontFace instanceof FontFaceImpl) {
-                            for(FontFaceImpl.FontFaceSrc src: ((FontFaceImpl)fontFace).getSources()) {
-                                if (src.getType() == FontFaceImpl.FontFaceSrcType.URL) {
-                                    Font loadedFont = Font.loadFont(src.getSrc(),10);
-                                    if (loadedFont == null) {
-                                        getLogger().info("Could not load @font-face font [" + src.getSrc() + "]");
-                                    }
-                                    continue faceLoop;
+            // load any fonts from @font-face
+            if (stylesheet != null) {
+                faceLoop: for(FontFace fontFace: stylesheet.getFontFaces()) {
+                    if (fontFace instanceof FontFaceImpl) {
+                        for(FontFaceImpl.FontFaceSrc src: ((FontFaceImpl)fontFace).getSources()) {
+                            if (src.getType() == FontFaceImpl.FontFaceSrcType.URL) {
+                                Font loadedFont = Font.loadFont(src.getSrc(),10);
+                                if (loadedFont == null) {
+                                    getLogger().info("Could not load @font-face font [" + src.getSrc() + "]");
                                 }
+                                continue faceLoop;
                             }
                         }
                     }
                 }
+            }
 
-                return stylesheet;
+            return stylesheet;
 
-            } catch (FileNotFoundException fnfe) {
+        } catch (FileNotFoundException fnfe) {
+            if (errors != null) {
+                CssParser.ParseError error =
+                    new CssParser.ParseError(
+                        "Stylesheet \""+fname+"\" not found."
+                    );
+                errors.add(error);
+            }
+            if (getLogger().isLoggable(Level.INFO)) {
+                getLogger().info("Could not find stylesheet: " + fname);//, fnfe);
+            }
+        } catch (IOException ioe) {
                 if (errors != null) {
                     CssParser.ParseError error =
                         new CssParser.ParseError(
-                            "Stylesheet \""+fname+"\" not found."
+                            "Could not load stylesheet: " + fname
                         );
                     errors.add(error);
                 }
-                if (getLogger().isLoggable(Level.INFO)) {
-                    getLogger().info("Could not find stylesheet: " + fname);//, fnfe);
+            if (getLogger().isLoggable(Level.INFO)) {
+                getLogger().info("Could not load stylesheet: " + fname);//, ioe);
+            }
+        }
+        return null;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    //
+    // Stylesheet preloading
+    //
+    ////////////////////////////////////////////////////////////////////////////
+
+    // fname => time in nanoseconds it took to load the stylesheet the last time
+    private static final Map<String,Long> stylesheetLoadTimes = new ConcurrentHashMap<>();
+
+    // Stylesheets that are being loaded by preloadStylesheets. Guarded by styleLock.
+    private final Map<String,CompletableFuture<Void>> pendingPreloads = new HashMap<>();
+
+    private static ExecutorService preloadExecutor;
+
+    private static synchronized ExecutorService getPreloadExecutor() {
+        if (preloadExecutor == null) {
+            final int nThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            preloadExecutor = Executors.newFixedThreadPool(nThreads, r -> {
+                Thread t = new Thread(r, "CSS Preloader");
+                t.setPriority(Thread.MIN_PRIORITY);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return preloadExecutor;
+    }
+
+    /**
+     * Load, parse and partition the given author stylesheets on background
+     * threads, in parallel, so that the first Scene or Parent that uses them
+     * does not have to parse them on the FX thread. A stylesheet that has
+     * already been loaded, or is being preloaded, is not loaded again.
+     * <p>
+     * Preloaded stylesheets are kept until they are used by a Parent, after
+     * which they are managed like any other author stylesheet. If a Parent
+     * uses a stylesheet before its preload has finished, the stylesheet is
+     * loaded on the calling thread as usual and the preloaded result is dropped.
+     *
+     * @param urls The list of stylesheet URLs as Strings.
+     * @return a future that completes when all of the stylesheets are loaded
+     */
+    public CompletableFuture<Void> preloadStylesheets(List<String> urls) {
+
+        if (urls == null || urls.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        synchronized (styleLock) {
+            for (int n = 0, nMax = urls.size(); n < nMax; n++) {
+                final String fname = urls.get(n);
+                if (fname == null || fname.isEmpty()) continue;
+                if (stylesheetContainerMap.containsKey(fname)) continue;
+
+                CompletableFuture<Void> future = pendingPreloads.get(fname);
+                if (future == null) {
+                    future = CompletableFuture.runAsync(() -> preloadStylesheet(fname), getPreloadExecutor());
+                    pendingPreloads.put(fname, future);
                 }
-            } catch (IOException ioe) {
-                    if (errors != null) {
-                        CssParser.ParseError error =
-                            new CssParser.ParseError(
-                                "Could not load stylesheet: " + fname
-                            );
-                        errors.add(error);
-                    }
-                if (getLogger().isLoggable(Level.INFO)) {
-                    getLogger().info("Could not load stylesheet: " + fname);//, ioe);
+                futures.add(future);
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]));
+    }
+
+    private void preloadStylesheet(final String fname) {
+
+        StylesheetContainer container = null;
+        boolean loadedUnderLock = false;
+        try {
+            Stylesheet stylesheet = null;
+            synchronized (styleLock) {
+                // A Parent may have loaded the stylesheet in the meantime.
+                if (stylesheetContainerMap.containsKey(fname)) {
+                    return;
+                }
+                // The errors list is not thread-safe. If someone is listening
+                // for errors, the stylesheet is loaded while holding styleLock.
+                if (getErrors() != null) {
+                    stylesheet = loadStylesheetUnlocked(fname);
+                    loadedUnderLock = true;
+                }
+            }
+            if (!loadedUnderLock) {
+                stylesheet = loadStylesheetUnlocked(fname);
+            }
+
+            // Calculating the checksum and partitioning the selectors are
+            // done here, too, so that they don't have to be done under styleLock.
+            container = new StylesheetContainer(fname, stylesheet);
+            container.preloaded = true;
+
+        } catch (SecurityException se) {
+            // Leave it to processStylesheets to load the stylesheet
+            if (getLogger().isLoggable(Level.FINE)) {
+                getLogger().fine("Could not preload stylesheet: " + fname);
+            }
+        } finally {
+            synchronized (styleLock) {
+                pendingPreloads.remove(fname);
+                // If someone started listening for errors while the stylesheet
+                // was parsed without the lock, the result is dropped so that
+                // the stylesheet is parsed again, and its errors reported,
+                // when it is used. Otherwise, stylesheet may be null, in which
+                // case the container is still added to prevent further
+                // attempts to load it.
+                if (container != null
+                        && (loadedUnderLock || getErrors() == null)
+                        && !stylesheetContainerMap.containsKey(fname)) {
+                    stylesheetContainerMap.put(fname, container);
                 }
             }
-            return null;
         }
     }
 
+    /**
+     * Returns the time, in nanoseconds, it took to load and parse each
+     * stylesheet the last time it was loaded, keyed by stylesheet URL.
+     * If a stylesheet imports other stylesheets, the time includes
+     * loading the imported stylesheets.
+     *
+     * @return an unmodifiable view of the stylesheet load times
+     */
+    public static Map<String,Long> getStylesheetLoadTimes() {
+        return Collections.unmodifiableMap(stylesheetLoadTimes);
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     //
     // User Agent stylesheet handling
@@ -1547,6 +1825,7 @@ final public class StyleManager {
                     // Later, if the cache is cleared, the parent or scene is told to
                     // reapply css.
                     container.parentUsers.add(parent);
+                    container.preloaded = false;
 
                 } else {
                     final Stylesheet stylesheet = loadStylesheet(fname);
@@ -1697,7 +1976,6 @@ final public class StyleManager {
 
             final String cname = node.getTypeSelector();
             final String id = node.getId();
-            final List<String> styleClasses = node.getStyleClass();
 
             if (key == null) {
                 key = new Key();
@@ -1705,13 +1983,7 @@ final public class StyleManager {
 
             key.className = cname;
             key.id = id;
-            for(int n=0, nMax=styleClasses.size(); n<nMax; n++) {
-
-                final String styleClass = styleClasses.get(n);
-                if (styleClass == null || styleClass.isEmpty()) continue;
-
-                key.styleClasses.add(StyleClassSet.getStyleClass(styleClass));
-            }
+            key.styleClasses.addAll(NodeHelper.getStyleClassSet(node));
 
             Map<Key, Cache> cacheMap = cacheContainer.getCacheMap(parentStylesheets,regionUserAgentStylesheet);
             Cache cache = cacheMap.get(key);
@@ -1870,10 +2142,12 @@ final public class StyleManager {
      * @return
      */
     public static ObservableList<CssParser.ParseError> errorsProperty() {
-        if (errors == null) {
-            errors = FXCollections.observableArrayList();
+        synchronized (styleLock) {
+            if (errors == null) {
+                errors = FXCollections.observableArrayList();
+            }
+            return errors;
         }
-        return errors;
     }
 
     /**
@@ -1896,15 +2170,62 @@ final public class StyleManager {
 
     private static List<String> cacheMapKey;
 
+    /*
+     * The maximum total weight of the StyleCaches of one CacheContainer.
+     * When the limit is exceeded, the least recently used StyleCaches are
+     * discarded. A value less than or equal to zero means no limit.
+     * See StyleCache#getWeight.
+     */
+    private static final long MAX_STYLE_CACHE_WEIGHT = AccessController.doPrivileged(
+            (PrivilegedAction<Long>) () -> Long.getLong("javafx.css.styleCache.maxWeight", 100_000L));
+
     // Each Scene has its own cache
     // package for testing
     static class CacheContainer {
 
         private Map<StyleCache.Key,StyleCache> getStyleCache() {
-            if (styleCache == null) styleCache = new HashMap<StyleCache.Key, StyleCache>();
+            if (styleCache == null) styleCache = new LinkedHashMap<StyleCache.Key, StyleCache>(16, 0.75f, true);
             return styleCache;
         }
 
+        // called from StyleCache when its weight changes
+        void adjustStyleCacheWeight(long delta) {
+            styleCacheWeight += delta;
+        }
+
+        long getStyleCacheWeight() {
+            return styleCacheWeight;
+        }
+
+        int getStyleCacheEntryCount() {
+            int count = 0;
+            if (styleCache != null) {
+                for (StyleCache sc : styleCache.values()) {
+                    count += sc.size();
+                }
+            }
+            return count;
+        }
+
+        /*
+         * Discard least recently used StyleCaches until the weight of the
+         * remaining ones is under MAX_STYLE_CACHE_WEIGHT. The StyleCache
+         * that is about to be used is kept, even if it alone is over the limit.
+         */
+        private void trimStyleCache(StyleCache inUse) {
+
+            if (MAX_STYLE_CACHE_WEIGHT <= 0 || styleCacheWeight <= MAX_STYLE_CACHE_WEIGHT) return;
+
+            final Iterator<StyleCache> iter = styleCache.values().iterator();
+            while (styleCacheWeight > MAX_STYLE_CACHE_WEIGHT && iter.hasNext()) {
+                final StyleCache sc = iter.next();
+                if (sc == inUse) continue;
+                iter.remove();
+                sc.evicted();
+                styleCacheWeight -= sc.getWeight();
+            }
+        }
+
         private Map<Key,Cache> getCacheMap(List<StylesheetContainer> parentStylesheets, String regionUserAgentStylesheet) {
 
             if (cacheMap == null) {
@@ -1981,7 +2302,13 @@ final public class StyleManager {
         private void clearCache() {
 
             if (cacheMap != null) cacheMap.clear();
-            if (styleCache != null) styleCache.clear();
+            if (styleCache != null) {
+                for (StyleCache sc : styleCache.values()) {
+                    sc.evicted();
+                }
+                styleCache.clear();
+                styleCacheWeight = 0;
+            }
             if (styleMapList != null) styleMapList.clear();
 
             baseStyleMapId = styleMapId;
@@ -2046,6 +2373,8 @@ final public class StyleManager {
 
         private Map<StyleCache.Key,StyleCache> styleCache;
 
+        private long styleCacheWeight;
+
         private Map<List<String>, Map<Key,Cache>> cacheMap;
 
         private List<StyleMap> styleMapList;
@@ -2175,7 +2504,11 @@ final public class StyleManager {
                 // is unchanged.
                 //
 
-                if (sel.applies(node, triggerStates, 0)) {
+                final long start = CssProfiler.start();
+                final boolean applies = sel.applies(node, triggerStates, 0);
+                if (CssProfiler.enabled) CssProfiler.getInstance().selectorMatched(sel, applies, start);
+
+                if (applies) {
                     final int index = s / Long.SIZE;
                     final long mask = key[index] | 1l << s;
                     key[index] = mask;
@@ -2192,6 +2525,7 @@ final public class StyleManager {
             final Key keyObj = new Key(key, inlineStyle);
 
             if (cache.containsKey(keyObj)) {
+                if (CssProfiler.enabled) CssProfiler.getInstance().styleMapLookup(true);
                 Integer styleMapId = cache.get(keyObj);
                 final StyleMap styleMap = styleMapId != null
                         ? cacheContainer.getStyleMap(styleMapId.intValue())
@@ -2223,6 +2557,8 @@ final public class StyleManager {
                 }
             }
 
+            if (CssProfiler.enabled) CssProfiler.getInstance().styleMapLookup(false);
+
             int id = cacheContainer.nextSmapId();
             cache.put(keyObj, Integer.valueOf(id));
 
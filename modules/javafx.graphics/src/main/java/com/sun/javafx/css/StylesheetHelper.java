@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.css;
+
+import com.sun.javafx.util.Utils;
+import javafx.css.Stylesheet;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Used to access internal Stylesheet methods.
+ */
+public final class StylesheetHelper {
+    private static StylesheetAccessor stylesheetAccessor;
+
+    static {
+        Utils.forceInit(Stylesheet.class);
+    }
+
+    private StylesheetHelper() {
+    }
+
+    /**
+     * Read a binary stylesheet from the stream. Relative urls in the
+     * stylesheet are resolved against the given url rather than against the
+     * location of the binary data. The stream must support mark and reset.
+     */
+    public static Stylesheet loadBinary(DataInputStream is, String url) throws IOException {
+        return stylesheetAccessor.loadBinary(is, url);
+    }
+
+    public static void saveBinary(Stylesheet stylesheet, OutputStream os) throws IOException {
+        stylesheetAccessor.saveBinary(stylesheet, os);
+    }
+
+    public static boolean hasImports(Stylesheet stylesheet) {
+        return stylesheetAccessor.hasImports(stylesheet);
+    }
+
+    public static void setStylesheetAccessor(final StylesheetAccessor newAccessor) {
+        if (stylesheetAccessor != null) {
+            throw new IllegalStateException();
+        }
+
+        stylesheetAccessor = newAccessor;
+    }
+
+    public static StylesheetAccessor getStylesheetAccessor() {
+        if (stylesheetAccessor == null) throw new IllegalStateException();
+        return stylesheetAccessor;
+    }
+
+    public interface StylesheetAccessor {
+        Stylesheet loadBinary(DataInputStream is, String url) throws IOException;
+
+        void saveBinary(Stylesheet stylesheet, OutputStream os) throws IOException;
+
+        boolean hasImports(Stylesheet stylesheet);
+    }
+
+}
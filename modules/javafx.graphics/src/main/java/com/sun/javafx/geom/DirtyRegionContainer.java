@@ -32,6 +32,11 @@ import java.util.Arrays;
  * pointer to the first empty dirty region in the array and index of last
  * modified dirty region. It also introduces convenient methods to modify
  * the array of dirty regions.
+ *
+ * A region that does not overlap any other is normally kept on its own.
+ * If the container has a merge cost, which estimates the cost of rendering
+ * one more region in pixels, a region is also merged with a neighbour when
+ * their union would add fewer pixels than that.
  */
 public final class DirtyRegionContainer {
 
@@ -40,8 +45,14 @@ public final class DirtyRegionContainer {
 
     private RectBounds[] dirtyRegions;
     private int emptyIndex;
+    private final int mergeCost;
 
     public DirtyRegionContainer(int count) {
+        this(count, 0);
+    }
+
+    public DirtyRegionContainer(int count, int mergeCost) {
+        this.mergeCost = mergeCost;
         initDirtyRegions(count);
     }
 
@@ -115,12 +126,16 @@ public final class DirtyRegionContainer {
     }
 
     public DirtyRegionContainer copy() {
-        DirtyRegionContainer drc = new DirtyRegionContainer(maxSpace());
+        DirtyRegionContainer drc = new DirtyRegionContainer(maxSpace(), mergeCost);
         regioncopy(dirtyRegions, 0, drc.dirtyRegions, 0, emptyIndex);
         drc.emptyIndex = emptyIndex;
         return drc;
     }
 
+    public int getMergeCost() {
+        return mergeCost;
+    }
+
     public int maxSpace() {
         return dirtyRegions.length;
     }
@@ -151,9 +166,11 @@ public final class DirtyRegionContainer {
             int regionCount = emptyIndex;
 
             for(int i = 0; i < regionCount; i++) {
-                //can't have overlapping regions
+                //can't have overlapping regions, and regions close enough
+                //are cheaper to render together
                 dr = dirtyRegions[tempIndex];
-                if (region.intersects(dr)) {
+                if (region.intersects(dr) ||
+                        (mergeCost > 0 && addedArea(region, dr) < mergeCost)) {
                     region.unionWith(dr);
                     tmp = dirtyRegions[tempIndex];
                     dirtyRegions[tempIndex] = dirtyRegions[emptyIndex - 1];
@@ -191,6 +208,21 @@ public final class DirtyRegionContainer {
         emptyIndex = 0;
     }
 
+    /**
+     * The number of pixels that are in the union of the two regions but in
+     * neither of them, that is the pixels rendered in vain if the two were
+     * merged.
+     */
+    private static float addedArea(RectBounds r0, RectBounds r1) {
+        float minX = Math.min(r0.getMinX(), r1.getMinX());
+        float minY = Math.min(r0.getMinY(), r1.getMinY());
+        float maxX = Math.max(r0.getMaxX(), r1.getMaxX());
+        float maxY = Math.max(r0.getMaxY(), r1.getMaxY());
+        return (maxX - minX) * (maxY - minY)
+                - r0.getWidth() * r0.getHeight()
+                - r1.getWidth() * r1.getHeight();
+    }
+
     private RectBounds compress(final RectBounds region) {
         compress_heap();
         addDirtyRegion(region);
@@ -274,8 +306,8 @@ public final class DirtyRegionContainer {
             if (idx0 != idx1) {
                 dirtyRegions[idx0].deriveWithUnion(dirtyRegions[idx1]);
                 map[idx1] = idx0;
-                invalidMask |= 1 << idx0;
-                invalidMask |= 1 << idx1;
+                invalidMask |= 1L << idx0;
+                invalidMask |= 1L << idx1;
             }
         }
 
@@ -324,10 +356,10 @@ public final class DirtyRegionContainer {
         int[] temp = heap[0];
 
         // Check if the minimum element wasn't computed with some already merged region
-        // If so, we can recompute it and push it down (as the new merged region can be
-        // only greater than the original region)
-        while (((1 << temp[1] | 1 << temp[2]) & invalidMask) > 0) {
-            temp[0] = unifiedRegionArea(resolveMap(map, temp[1]), resolveMap(map, temp[2]));
+        // If so, we can recompute it and push it down (merging mostly makes a pair
+        // cost more; if it costs less, it stays on top and is taken right away)
+        while (((1L << temp[1] | 1L << temp[2]) & invalidMask) != 0) {
+            temp[0] = addedRegionArea(resolveMap(map, temp[1]), resolveMap(map, temp[2]));
             siftDown(0);
             if (heap[0] == temp) {
                 break;
@@ -355,16 +387,10 @@ public final class DirtyRegionContainer {
         return idx;
     }
 
-    private int unifiedRegionArea(int i0, int i1) {
-        RectBounds r0 = dirtyRegions[i0];
-        RectBounds r1 = dirtyRegions[i1];
-        float minX, minY, maxX, maxY;
-        minX = r0.getMinX() < r1.getMinX() ? r0.getMinX() : r1.getMinX();
-        minY = r0.getMinY() < r1.getMinY() ? r0.getMinY() : r1.getMinY();
-        maxX = r0.getMaxX() > r1.getMaxX() ? r0.getMaxX() : r1.getMaxX();
-        maxY = r0.getMaxY() > r1.getMaxY() ? r0.getMaxY() : r1.getMaxY();
-
-        return (int) ((maxX - minX) * (maxY - minY));
+    // Regions are merged in the order of the fewest pixels they add, so
+    // that distant regions are kept apart as long as possible
+    private int addedRegionArea(int i0, int i1) {
+        return (int) addedArea(dirtyRegions[i0], dirtyRegions[i1]);
     }
     /***************************************************************************
      * Heap-based compressing algorithm
@@ -380,7 +406,7 @@ public final class DirtyRegionContainer {
         int k = 0;
         for (int i = 0; i < dirtyRegions.length - 1; ++i) {
             for (int j = i + 1; j < dirtyRegions.length; ++j) {
-                heap[k][0] = unifiedRegionArea(i, j);
+                heap[k][0] = addedRegionArea(i, j);
                 heap[k][1] = i;
                 heap[k++][2] = j;
             }
@@ -403,7 +429,7 @@ public final class DirtyRegionContainer {
 //            int i0 = random(dirtyRegions.length);
 //            int i1 = random(dirtyRegions.length);
 //            if (i1 == i0) i1 = (i0 + random(dirtyRegions.length / 2) + 1) % dirtyRegions.length;
-//            heap[i][0] = unifiedRegionArea(i0, i1);
+//            heap[i][0] = addedRegionArea(i0, i1);
 //            heap[i][1] = i0;
 //            heap[i][2] = i1;
 //        }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.jmx;
+
+/**
+ * Management interface for CSS statistics. The statistics are only gathered
+ * while enabled. A management extension (see {@link MXExtension}) can
+ * register an implementation of this interface with an MBeanServer.
+ */
+public interface CssStatisticsMXBean {
+
+    /**
+     * Whether CSS statistics are being gathered.
+     * @return true if CSS statistics are being gathered
+     */
+    boolean isEnabled();
+
+    /**
+     * Start or stop gathering CSS statistics.
+     * @param enabled true to start gathering CSS statistics
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Discard the statistics gathered so far.
+     */
+    void reset();
+
+    /**
+     * @return the number of CSS passes since the last reset
+     */
+    long getCssPassCount();
+
+    /**
+     * @return the time, in nanoseconds, taken by all CSS passes since the last reset
+     */
+    long getTotalCssPassTime();
+
+    /**
+     * @return the time, in nanoseconds, taken by the last CSS pass
+     */
+    long getLastCssPassTime();
+
+    /**
+     * @return the number of nodes styled during the last CSS pass
+     */
+    long getLastCssPassNodesStyled();
+
+    /**
+     * @return the number of nodes styled since the last reset
+     */
+    long getNodesStyled();
+
+    /**
+     * @return the number of times styles for a node were found in the StyleCache
+     */
+    long getStyleCacheHits();
+
+    /**
+     * @return the number of times styles for a node had to be calculated
+     */
+    long getStyleCacheMisses();
+
+    /**
+     * @return the number of times a node's matching selectors mapped to an existing StyleMap
+     */
+    long getStyleMapHits();
+
+    /**
+     * @return the number of times a new StyleMap was created
+     */
+    long getStyleMapMisses();
+
+    /**
+     * @return the number of StyleCacheEntry objects in the StyleCaches of all scenes
+     */
+    long getStyleCacheEntries();
+
+    /**
+     * The total weight of the StyleCaches of all scenes, which is the number
+     * of StyleCacheEntry objects plus the number of calculated values they hold.
+     * @return the total weight of the StyleCaches
+     */
+    long getStyleCacheWeight();
+
+    /**
+     * @return the number of images in the CSS image cache
+     */
+    long getImageCacheSize();
+
+    /**
+     * @return an estimate of the bytes of image data held by the CSS image cache
+     */
+    long getImageCacheBytes();
+
+    /**
+     * The selectors on which the most time was spent matching nodes, most
+     * expensive first. Each entry gives the time, the number of nodes the
+     * selector was tested against, how many of these it matched, the selector
+     * and the stylesheet it came from.
+     * @return a description of the most expensive selectors
+     */
+    String[] getTopSelectors();
+
+    /**
+     * The node types on which the most time was spent applying styles, most
+     * expensive first.
+     * @return a description of the most expensive node types
+     */
+    String[] getTopNodeTypes();
+}
@@ -26,6 +26,7 @@
 package com.sun.javafx.scene;
 
 import com.sun.glass.ui.Accessible;
+import com.sun.javafx.css.StyleClassSet;
 import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.PickRay;
 import com.sun.javafx.geom.transform.BaseTransform;
@@ -320,6 +321,14 @@ public abstract class NodeHelper {
         return nodeAccessor.findStyles(node, styleMap);
     }
 
+    /**
+     * The node's style classes as a StyleClassSet. The returned set is shared
+     * and must not be modified.
+     */
+    public static StyleClassSet getStyleClassSet(Node node) {
+        return nodeAccessor.getStyleClassSet(node);
+    }
+
     public static void setNodeAccessor(final NodeAccessor newAccessor) {
         if (nodeAccessor != null) {
             throw new IllegalStateException();
@@ -379,6 +388,7 @@ public abstract class NodeHelper {
         List<Style> getMatchingStyles(CssMetaData cssMetaData, Styleable styleable);
         Map<StyleableProperty<?>,List<Style>> findStyles(Node node,
                 Map<StyleableProperty<?>,List<Style>> styleMap);
+        StyleClassSet getStyleClassSet(Node node);
     }
 
 }
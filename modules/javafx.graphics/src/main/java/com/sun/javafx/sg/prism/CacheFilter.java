@@ -27,6 +27,8 @@ package com.sun.javafx.sg.prism;
 
 import com.sun.javafx.logging.PulseLogger;
 import javafx.scene.CacheHint;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.List;
 import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.DirtyRegionContainer;
@@ -38,7 +40,10 @@ import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
 import com.sun.prism.Graphics;
 import com.sun.prism.RTTexture;
+import com.sun.prism.ResourceFactory;
 import com.sun.prism.Texture;
+import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.impl.TextureResourcePool;
 import com.sun.scenario.effect.Effect;
 import com.sun.scenario.effect.FilterContext;
 import com.sun.scenario.effect.Filterable;
@@ -73,6 +78,13 @@ import javafx.scene.paint.Color;
  * For example, the ScrollView UI Control can define its content area as being cached,
  * such that when the user scrolls, we can shift the old content area and adjust the
  * dirty region so that it only includes the "newly exposed" area.
+ *
+ * With -Dprism.autocache=true, NGNode also creates CacheFilters on its own for
+ * groups and nodes with effects that keep being rendered with unchanged
+ * content while they are moved or faded. These automatic caches share a
+ * memory budget, evicting the least recently rendered ones, and are dropped
+ * as soon as the content changes, the texture pool reclaims their image or
+ * the image would have to be rendered again for a new scale or rotation.
  */
 public class CacheFilter {
     /**
@@ -92,6 +104,32 @@ public class CacheFilter {
     // Fun with floating point
     private static final double EPSILON = 0.0000001;
 
+    /**
+     * The number of renders of a node that moved or faded with unchanged
+     * content, after which it is cached automatically.
+     */
+    static final int AUTO_CACHE_RENDERS = 3;
+
+    /**
+     * Tracks an automatic cache for the memory budget. The reference is weak
+     * so that the caches of nodes removed from the scene are collected with
+     * them, their share of the budget is released on the next allocation.
+     */
+    private static final class AutoCacheRef extends WeakReference<CacheFilter> {
+        final long size;
+        long lastUsed;
+
+        AutoCacheRef(CacheFilter cf, long size) {
+            super(cf);
+            this.size = size;
+        }
+    }
+    private static final List<AutoCacheRef> autoCaches = new ArrayList<>();
+    private static long autoCachesSize;
+    private static long autoCacheClock;
+    // Set while a node renders into its cache, no cache may be evicted then
+    private static boolean renderingToCache;
+
     private RTTexture tempTexture;
     private double lastXDelta;
     private double lastYDelta;
@@ -124,6 +162,11 @@ public class CacheFilter {
     // regenerate the cache next time.
     private boolean wasUnsupported = false;
 
+    // Set for caches created by NGNode rather than asked for by the application
+    private AutoCacheRef autoCacheRef;
+    // Whether an automatic cache had to render its image again
+    private boolean autoCacheRerendered;
+
     /**
      * Compute the dirty region that must be re-rendered after scrolling
      */
@@ -150,6 +193,106 @@ public class CacheFilter {
         setHint(cacheHint);
     }
 
+    /**
+     * Creates an automatic cache for the given node, rendered with the given
+     * Graphics, or returns null if its image doesn't fit in the budget or the
+     * texture pool is already short of memory.
+     */
+    static CacheFilter createAutoCache(NGNode node, Graphics g) {
+        if (renderingToCache) {
+            return null;
+        }
+        final BaseTransform xform = g.getTransformNoClone();
+        final Affine2D cacheXform = new Affine2D(xform.getMxx(), xform.getMyx(),
+                                                 xform.getMxy(), xform.getMyy(),
+                                                 0.0, 0.0);
+        final Rectangle bounds = new Rectangle();
+        bounds.setBounds(node.getClippedBounds(new RectBounds(), cacheXform));
+        final ResourceFactory factory = g.getResourceFactory();
+        final int maxSize = factory.getMaximumTextureSize();
+        if (bounds.isEmpty() ||
+                (maxSize > 0 && (bounds.width > maxSize || bounds.height > maxSize))) {
+            return null;
+        }
+        final TextureResourcePool<?> pool = factory.getTextureResourcePool();
+        final long size = pool == null
+                ? 4L * bounds.width * bounds.height
+                : pool.estimateRTTextureSize(bounds.width, bounds.height, false);
+        if (size > PrismSettings.autoCacheBudget) {
+            return null;
+        }
+
+        // Release the share of caches collected with their nodes, then evict
+        // the least recently rendered caches until the new one fits
+        for (int i = autoCaches.size() - 1; i >= 0; i--) {
+            if (autoCaches.get(i).get() == null) {
+                releaseAutoCache(autoCaches.get(i));
+            }
+        }
+        while (autoCachesSize + size > PrismSettings.autoCacheBudget) {
+            AutoCacheRef lru = autoCaches.get(0);
+            for (int i = 1; i < autoCaches.size(); i++) {
+                if (autoCaches.get(i).lastUsed < lru.lastUsed) {
+                    lru = autoCaches.get(i);
+                }
+            }
+            final CacheFilter cf = lru.get();
+            if (cf != null && cf.node != null) {
+                cf.node.evictAutoCache();
+            } else {
+                releaseAutoCache(lru);
+            }
+        }
+        if (pool != null && pool.used() + size > pool.target()) {
+            return null;
+        }
+
+        if (PulseLogger.PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("CacheFilter created automatically");
+        }
+        final CacheFilter cf = new CacheFilter(node, CacheHint.DEFAULT);
+        cf.autoCacheRef = new AutoCacheRef(cf, size);
+        cf.autoCacheRef.lastUsed = ++autoCacheClock;
+        autoCaches.add(cf.autoCacheRef);
+        autoCachesSize += size;
+        return cf;
+    }
+
+    private static void releaseAutoCache(AutoCacheRef ref) {
+        if (autoCaches.remove(ref)) {
+            autoCachesSize -= ref.size;
+        }
+    }
+
+    /**
+     * Returns whether this cache was created automatically by NGNode.
+     */
+    boolean isAutomatic() {
+        return autoCacheRef != null;
+    }
+
+    /**
+     * Returns whether this automatic cache is no longer worth keeping: the
+     * texture pool reclaimed its image, as it needs the memory more, or the
+     * image had to be rendered again for a new scale or rotation.
+     */
+    boolean isAutoCacheStale(Graphics g) {
+        if (autoCacheRerendered) {
+            return true;
+        }
+        if (cachedImageData == null) {
+            return false;
+        }
+        final Filterable implImage = cachedImageData.getUntransformedImage();
+        if (implImage == null) {
+            return true;
+        }
+        implImage.lock();
+        final boolean valid = cachedImageData.validate(PrFilterContext.getInstance(g.getAssociatedScreen()));
+        implImage.unlock();
+        return !valid;
+    }
+
     public void setHint(CacheHint cacheHint) {
         this.cacheHint = cacheHint;
         this.scaleHint = (cacheHint == CacheHint.SPEED ||
@@ -364,6 +507,9 @@ public class CacheFilter {
     public void dispose() {
         invalidate();
         node = null;
+        if (autoCacheRef != null) {
+            releaseAutoCache(autoCacheRef);
+        }
     }
 
     /*
@@ -530,6 +676,10 @@ public class CacheFilter {
         double[] xformInfo = unmatrix(xform);
         boolean isUnsupported = unsupported(xformInfo);
 
+        if (autoCacheRef != null) {
+            autoCacheRef.lastUsed = ++autoCacheClock;
+        }
+
         lastXDelta = lastXDelta * xformInfo[0];
         lastYDelta = lastYDelta * xformInfo[1];
 
@@ -555,6 +705,7 @@ public class CacheFilter {
                     implImage.unlock();
                 }
                 invalidate();
+                autoCacheRerendered = true;
             }
             if (scaleHint) {
                 // do not cache the image at a small scale factor when
@@ -679,12 +830,18 @@ public class CacheFilter {
                 g.setClipRect(dirtyBounds);
             }
             g.transform(TEMP_CACHEFILTER_TRANSFORM);
-            if (node.getClipNode() != null) {
-                node.renderClip(g);
-            } else if (node.getEffectFilter() != null) {
-                node.renderEffect(g);
-            } else {
-                node.renderContent(g);
+            final boolean wasRenderingToCache = renderingToCache;
+            renderingToCache = true;
+            try {
+                if (node.getClipNode() != null) {
+                    node.renderClip(g);
+                } else if (node.getEffectFilter() != null) {
+                    node.renderEffect(g);
+                } else {
+                    node.renderContent(g);
+                }
+            } finally {
+                renderingToCache = wasRenderingToCache;
             }
         }
     }
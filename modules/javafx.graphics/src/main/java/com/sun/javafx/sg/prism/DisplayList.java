@@ -0,0 +1,893 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.sg.prism;
+
+import java.util.ArrayList;
+import java.util.List;
+import com.sun.glass.ui.Screen;
+import com.sun.javafx.font.FontStrike;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.logging.PulseLogger;
+import com.sun.javafx.scene.text.GlyphList;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.CompositeMode;
+import com.sun.prism.Graphics;
+import com.sun.prism.PrinterGraphics;
+import com.sun.prism.RTTexture;
+import com.sun.prism.ReadbackGraphics;
+import com.sun.prism.RenderTarget;
+import com.sun.prism.ResourceFactory;
+import com.sun.prism.Texture;
+import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.paint.Color;
+import com.sun.prism.paint.Paint;
+import com.sun.prism.shape.ShapeRep;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+
+/**
+ * A retained list of the Graphics commands issued while rendering the
+ * content of a node and its subtree. Once the subtree has been rendered
+ * unchanged a couple of times, its content is rendered through a
+ * {@link Recorder} which passes every call on to the real Graphics and
+ * records the drawing ones. While the subtree stays clean, rendering it
+ * again replays the list instead of walking the subtree.
+ * <p>
+ * A list is only recorded and replayed when the whole content is rendered:
+ * with no dirty region culling bits and no render root in effect. It is
+ * replayed only if the Graphics is in the same state as when it was
+ * recorded, except for an integer translation of the transform. Recording
+ * is given up on the first call that cannot be replayed faithfully, such
+ * as drawing a texture, changing the clip or anything 3D. Those textures
+ * (cached images, effect and opacity buffers, ...) have lifetimes of their
+ * own that the list cannot track.
+ * <p>
+ * Any change to the node or its subtree invalidates the list, through
+ * {@link NGNode#invalidateCache()}, the same way it invalidates a
+ * {@link CacheFilter}.
+ * <p>
+ * Groups in the subtree render directly while their ancestor records, and
+ * once the ancestor holds a valid list their own lists are released, so
+ * that the same commands are not retained at every level of a hierarchy
+ * of clean groups.
+ */
+public final class DisplayList {
+    /**
+     * The number of times a clean subtree is rendered directly before its
+     * rendering is recorded. Subtrees that change every frame are thus
+     * never recorded.
+     */
+    private static final int RECORD_THRESHOLD = 2;
+
+    private static final byte SET_TRANSFORM = 0;
+    private static final byte SET_PAINT = 1;
+    private static final byte SET_STROKE = 2;
+    private static final byte SET_COMPOSITE_MODE = 3;
+    private static final byte SET_EXTRA_ALPHA = 4;
+    private static final byte SET_ANTIALIASED_SHAPE = 5;
+    private static final byte SET_NODE_BOUNDS = 6;
+    private static final byte FILL = 7;
+    private static final byte DRAW = 8;
+    private static final byte FILL_QUAD = 9;
+    private static final byte FILL_RECT = 10;
+    private static final byte FILL_ROUND_RECT = 11;
+    private static final byte FILL_ELLIPSE = 12;
+    private static final byte DRAW_LINE = 13;
+    private static final byte DRAW_RECT = 14;
+    private static final byte DRAW_ROUND_RECT = 15;
+    private static final byte DRAW_ELLIPSE = 16;
+    private static final byte DRAW_STRING = 17;
+
+    private final NGNode node;
+
+    /**
+     * The recorded commands, or null. Lists are invalidated on the FX thread
+     * during synchronization, so the commands of an invalid list are only
+     * released by its next render, on the render thread.
+     */
+    private GrowableDataBuffer commands;
+
+    /**
+     * The shapes filled or drawn by the commands. Each one gets its own
+     * ShapeRep on replay, so the pipelines can cache its mask.
+     */
+    private final List<ShapeCommand> shapes = new ArrayList<>();
+    private ResourceFactory shapeRepFactory;
+
+    private boolean valid;
+    private boolean unrecordable;
+    private int cleanRenders;
+
+    // The state of the Graphics the commands were recorded with
+    private double mxx, mxy, myx, myy, mxt, myt;
+    private float extraAlpha;
+    private CompositeMode compositeMode;
+    private boolean antialiasedShape;
+    private float pixelScaleX, pixelScaleY;
+
+    /**
+     * Creates a display list for the content of the given node.
+     * The node must invalidate the list through {@link #invalidate()}
+     * whenever it or anything in its subtree changes.
+     */
+    public DisplayList(NGNode node) {
+        this.node = node;
+    }
+
+    /**
+     * Returns whether commands are currently recorded and may be replayed.
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Marks the recorded commands as out of date. They are released on the
+     * next render, and the content is recorded again once it has been
+     * rendered unchanged often enough.
+     */
+    public void invalidate() {
+        valid = false;
+        unrecordable = false;
+        cleanRenders = 0;
+    }
+
+    /**
+     * Renders the content of the node by replaying or recording the
+     * commands. The Graphics transform already includes the node transform.
+     *
+     * @param g the Graphics to render to
+     * @return false if the content has not been rendered, in which case the
+     *         caller should render it directly
+     */
+    public boolean render(Graphics g) {
+        if (!valid && commands != null) {
+            release();
+        }
+        if (g instanceof Recorder) {
+            // An ancestor is recording this content into its own list
+            ((Recorder) g).nested.add(this);
+            return false;
+        }
+        if (!canRender(g)) {
+            return false;
+        }
+        if (valid) {
+            final BaseTransform tx = g.getTransformNoClone();
+            if (matches(g, tx)) {
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Display lists replayed");
+                }
+                replay(g, tx.getMxt() - mxt, tx.getMyt() - myt);
+                return true;
+            }
+            // The content is rendered in a different way now, keep rendering
+            // it directly until that way looks stable enough to record again
+            invalidate();
+            release();
+            return false;
+        }
+        if (unrecordable || ++cleanRenders < RECORD_THRESHOLD) {
+            return false;
+        }
+        record(g);
+        return true;
+    }
+
+    private static boolean canRender(Graphics g) {
+        final BaseTransform tx = g.getTransformNoClone();
+        return !(g instanceof PrinterGraphics) &&
+               !PrismSettings.showOverdraw &&
+               !g.hasPreCullingBits() &&
+               g.getRenderRoot() == null &&
+               !g.isDepthBuffer() &&
+               !g.isState3D() &&
+               tx.is2D();
+    }
+
+    private boolean matches(Graphics g, BaseTransform tx) {
+        final double dx = tx.getMxt() - mxt;
+        final double dy = tx.getMyt() - myt;
+        return tx.getMxx() == mxx && tx.getMxy() == mxy &&
+               tx.getMyx() == myx && tx.getMyy() == myy &&
+               dx == Math.rint(dx) && dy == Math.rint(dy) &&
+               g.getExtraAlpha() == extraAlpha &&
+               g.getCompositeMode() == compositeMode &&
+               g.isAntialiasedShape() == antialiasedShape &&
+               g.getPixelScaleFactorX() == pixelScaleX &&
+               g.getPixelScaleFactorY() == pixelScaleY;
+    }
+
+    private void record(Graphics g) {
+        final BaseTransform tx = g.getTransformNoClone();
+        mxx = tx.getMxx();
+        mxy = tx.getMxy();
+        myx = tx.getMyx();
+        myy = tx.getMyy();
+        mxt = tx.getMxt();
+        myt = tx.getMyt();
+        extraAlpha = g.getExtraAlpha();
+        compositeMode = g.getCompositeMode();
+        antialiasedShape = g.isAntialiasedShape();
+        pixelScaleX = g.getPixelScaleFactorX();
+        pixelScaleY = g.getPixelScaleFactorY();
+
+        final GrowableDataBuffer buf = GrowableDataBuffer.getBuffer(1024);
+        final Recorder recorder = g instanceof ReadbackGraphics
+                ? new ReadbackRecorder((ReadbackGraphics) g, buf, shapes)
+                : new Recorder(g, buf, shapes);
+        node.renderContent(recorder);
+        commands = recorder.buf;
+        if (recorder.recording) {
+            // Save the read positions at the start for every replay
+            commands.save();
+            valid = true;
+            // The lists of the groups below are replaced by this one
+            for (DisplayList nested : recorder.nested) {
+                nested.invalidate();
+                nested.release();
+            }
+        } else {
+            unrecordable = true;
+            release();
+        }
+    }
+
+    private void replay(Graphics g, double dx, double dy) {
+        final GrowableDataBuffer buf = commands;
+        final ResourceFactory factory = g.getResourceFactory();
+        if (factory != shapeRepFactory) {
+            disposeShapeReps();
+            shapeRepFactory = factory;
+        }
+        buf.restore();
+        while (buf.hasValues()) {
+            switch (buf.getByte()) {
+                case SET_TRANSFORM:
+                    g.setTransform(buf.getDouble(), buf.getDouble(),
+                                   buf.getDouble(), buf.getDouble(),
+                                   buf.getDouble() + dx, buf.getDouble() + dy);
+                    break;
+                case SET_PAINT:
+                    g.setPaint((Paint) buf.getObject());
+                    break;
+                case SET_STROKE:
+                    g.setStroke((BasicStroke) buf.getObject());
+                    break;
+                case SET_COMPOSITE_MODE:
+                    g.setCompositeMode((CompositeMode) buf.getObject());
+                    break;
+                case SET_EXTRA_ALPHA:
+                    g.setExtraAlpha(buf.getFloat());
+                    break;
+                case SET_ANTIALIASED_SHAPE:
+                    g.setAntialiasedShape(buf.getBoolean());
+                    break;
+                case SET_NODE_BOUNDS:
+                    g.setNodeBounds((RectBounds) buf.getObject());
+                    break;
+                case FILL:
+                case DRAW: {
+                    final ShapeCommand cmd = shapes.get(buf.getInt());
+                    if (cmd.rep == null && factory != null) {
+                        cmd.rep = factory.createPathRep();
+                    }
+                    if (cmd.rep == null) {
+                        if (cmd.fill) {
+                            g.fill(cmd.shape);
+                        } else {
+                            g.draw(cmd.shape);
+                        }
+                    } else if (cmd.fill) {
+                        cmd.rep.fill(g, cmd.shape, cmd.bounds);
+                    } else {
+                        cmd.rep.draw(g, cmd.shape, cmd.bounds);
+                    }
+                    break;
+                }
+                case FILL_QUAD:
+                    g.fillQuad(buf.getFloat(), buf.getFloat(), buf.getFloat(), buf.getFloat());
+                    break;
+                case FILL_RECT:
+                    g.fillRect(buf.getFloat(), buf.getFloat(), buf.getFloat(), buf.getFloat());
+                    break;
+                case FILL_ROUND_RECT:
+                    g.fillRoundRect(buf.getFloat(), buf.getFloat(), buf.getFloat(),
+                                    buf.getFloat(), buf.getFloat(), buf.getFloat());
+                    break;
+                case FILL_ELLIPSE:
+                    g.fillEllipse(buf.getFloat(), buf.getFloat(), buf.getFloat(), buf.getFloat());
+                    break;
+                case DRAW_LINE:
+                    g.drawLine(buf.getFloat(), buf.getFloat(), buf.getFloat(), buf.getFloat());
+                    break;
+                case DRAW_RECT:
+                    g.drawRect(buf.getFloat(), buf.getFloat(), buf.getFloat(), buf.getFloat());
+                    break;
+                case DRAW_ROUND_RECT:
+                    g.drawRoundRect(buf.getFloat(), buf.getFloat(), buf.getFloat(),
+                                    buf.getFloat(), buf.getFloat(), buf.getFloat());
+                    break;
+                case DRAW_ELLIPSE:
+                    g.drawEllipse(buf.getFloat(), buf.getFloat(), buf.getFloat(), buf.getFloat());
+                    break;
+                case DRAW_STRING:
+                    g.drawString((GlyphList) buf.getObject(), (FontStrike) buf.getObject(),
+                                 buf.getFloat(), buf.getFloat(),
+                                 (Color) buf.getObject(), buf.getInt(), buf.getInt());
+                    break;
+                default:
+                    throw new InternalError("Unrecognized display list command");
+            }
+        }
+    }
+
+    private void release() {
+        if (commands != null) {
+            GrowableDataBuffer.returnBuffer(commands);
+            commands = null;
+        }
+        disposeShapeReps();
+        shapes.clear();
+    }
+
+    private void disposeShapeReps() {
+        for (int i = 0; i < shapes.size(); i++) {
+            final ShapeCommand cmd = shapes.get(i);
+            if (cmd.rep != null) {
+                cmd.rep.dispose();
+                cmd.rep = null;
+            }
+        }
+    }
+
+    private static final class ShapeCommand {
+        final Shape shape;
+        final RectBounds bounds;
+        final boolean fill;
+        ShapeRep rep;
+
+        ShapeCommand(Shape shape, RectBounds bounds, boolean fill) {
+            this.shape = shape;
+            this.bounds = bounds;
+            this.fill = fill;
+        }
+    }
+
+    /**
+     * A Graphics that passes every call on to another Graphics while
+     * recording the drawing calls into a buffer. Recording stops for good on
+     * the first call which cannot be replayed, everything is still passed on.
+     */
+    static class Recorder implements Graphics {
+        private final Graphics g;
+        private final GrowableDataBuffer buf;
+        private final List<ShapeCommand> shapes;
+        private final List<DisplayList> nested = new ArrayList<>();
+        private boolean recording = true;
+        private boolean transformChanged;
+
+        Recorder(Graphics g, GrowableDataBuffer buf, List<ShapeCommand> shapes) {
+            this.g = g;
+            this.buf = buf;
+            this.shapes = shapes;
+        }
+
+        void stopRecording() {
+            recording = false;
+        }
+
+        /**
+         * Records a pending transform change ahead of a drawing command and
+         * returns whether the command should be recorded.
+         */
+        private boolean recordDraw(byte op) {
+            if (!recording) {
+                return false;
+            }
+            if (transformChanged) {
+                final BaseTransform tx = g.getTransformNoClone();
+                if (!tx.is2D()) {
+                    stopRecording();
+                    return false;
+                }
+                buf.putByte(SET_TRANSFORM);
+                buf.putDouble(tx.getMxx());
+                buf.putDouble(tx.getMyx());
+                buf.putDouble(tx.getMxy());
+                buf.putDouble(tx.getMyy());
+                buf.putDouble(tx.getMxt());
+                buf.putDouble(tx.getMyt());
+                transformChanged = false;
+            }
+            buf.putByte(op);
+            return true;
+        }
+
+        private void recordShape(byte op, Shape shape, BasicStroke stroke) {
+            if (recordDraw(op)) {
+                final Shape copy = shape.copy();
+                final float[] bbox = {
+                    Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY,
+                    Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY,
+                };
+                if (stroke == null) {
+                    Shape.accumulate(bbox, copy, BaseTransform.IDENTITY_TRANSFORM);
+                } else {
+                    stroke.accumulateShapeBounds(bbox, copy, BaseTransform.IDENTITY_TRANSFORM);
+                }
+                final RectBounds bounds = bbox[0] <= bbox[2] && bbox[1] <= bbox[3]
+                        ? new RectBounds(bbox[0], bbox[1], bbox[2], bbox[3])
+                        : new RectBounds();
+                buf.putInt(shapes.size());
+                shapes.add(new ShapeCommand(copy, bounds, stroke == null));
+            }
+        }
+
+        private void recordFloats(byte op, float a, float b, float c, float d) {
+            if (recordDraw(op)) {
+                buf.putFloat(a);
+                buf.putFloat(b);
+                buf.putFloat(c);
+                buf.putFloat(d);
+            }
+        }
+
+        private void recordFloats(byte op, float a, float b, float c, float d, float e, float f) {
+            if (recordDraw(op)) {
+                buf.putFloat(a);
+                buf.putFloat(b);
+                buf.putFloat(c);
+                buf.putFloat(d);
+                buf.putFloat(e);
+                buf.putFloat(f);
+            }
+        }
+
+        @Override public BaseTransform getTransformNoClone() {
+            return g.getTransformNoClone();
+        }
+
+        @Override public void setTransform(BaseTransform xform) {
+            g.setTransform(xform);
+            transformChanged = true;
+        }
+
+        @Override public void setTransform(double m00, double m10,
+                                           double m01, double m11,
+                                           double m02, double m12) {
+            g.setTransform(m00, m10, m01, m11, m02, m12);
+            transformChanged = true;
+        }
+
+        @Override public void setTransform3D(double mxx, double mxy, double mxz, double mxt,
+                                             double myx, double myy, double myz, double myt,
+                                             double mzx, double mzy, double mzz, double mzt) {
+            g.setTransform3D(mxx, mxy, mxz, mxt, myx, myy, myz, myt, mzx, mzy, mzz, mzt);
+            transformChanged = true;
+        }
+
+        @Override public void transform(BaseTransform xform) {
+            g.transform(xform);
+            transformChanged = true;
+        }
+
+        @Override public void translate(float tx, float ty) {
+            g.translate(tx, ty);
+            transformChanged = true;
+        }
+
+        @Override public void translate(float tx, float ty, float tz) {
+            g.translate(tx, ty, tz);
+            transformChanged = true;
+        }
+
+        @Override public void scale(float sx, float sy) {
+            g.scale(sx, sy);
+            transformChanged = true;
+        }
+
+        @Override public void scale(float sx, float sy, float sz) {
+            g.scale(sx, sy, sz);
+            transformChanged = true;
+        }
+
+        @Override public void setCamera(NGCamera camera) {
+            stopRecording();
+            g.setCamera(camera);
+        }
+
+        @Override public NGCamera getCameraNoClone() {
+            return g.getCameraNoClone();
+        }
+
+        @Override public void setDepthTest(boolean depthTest) {
+            // Only used with a depth buffer, which is never recorded
+            g.setDepthTest(depthTest);
+        }
+
+        @Override public boolean isDepthTest() {
+            return g.isDepthTest();
+        }
+
+        @Override public void setDepthBuffer(boolean depthBuffer) {
+            stopRecording();
+            g.setDepthBuffer(depthBuffer);
+        }
+
+        @Override public boolean isDepthBuffer() {
+            return g.isDepthBuffer();
+        }
+
+        @Override public boolean isAlphaTestShader() {
+            return g.isAlphaTestShader();
+        }
+
+        @Override public void setAntialiasedShape(boolean aa) {
+            g.setAntialiasedShape(aa);
+            if (recording) {
+                buf.putByte(SET_ANTIALIASED_SHAPE);
+                buf.putBoolean(aa);
+            }
+        }
+
+        @Override public boolean isAntialiasedShape() {
+            return g.isAntialiasedShape();
+        }
+
+        @Override public RectBounds getFinalClipNoClone() {
+            return g.getFinalClipNoClone();
+        }
+
+        @Override public Rectangle getClipRect() {
+            return g.getClipRect();
+        }
+
+        @Override public Rectangle getClipRectNoClone() {
+            return g.getClipRectNoClone();
+        }
+
+        @Override public void setHasPreCullingBits(boolean hasBits) {
+            g.setHasPreCullingBits(hasBits);
+        }
+
+        @Override public boolean hasPreCullingBits() {
+            return g.hasPreCullingBits();
+        }
+
+        @Override public void setClipRect(Rectangle clipRect) {
+            stopRecording();
+            g.setClipRect(clipRect);
+        }
+
+        @Override public void setClipRectIndex(int index) {
+            g.setClipRectIndex(index);
+        }
+
+        @Override public int getClipRectIndex() {
+            return g.getClipRectIndex();
+        }
+
+        @Override public float getExtraAlpha() {
+            return g.getExtraAlpha();
+        }
+
+        @Override public void setExtraAlpha(float extraAlpha) {
+            g.setExtraAlpha(extraAlpha);
+            if (recording) {
+                buf.putByte(SET_EXTRA_ALPHA);
+                buf.putFloat(extraAlpha);
+            }
+        }
+
+        @Override public void setLights(NGLightBase[] lights) {
+            stopRecording();
+            g.setLights(lights);
+        }
+
+        @Override public NGLightBase[] getLights() {
+            return g.getLights();
+        }
+
+        @Override public Paint getPaint() {
+            return g.getPaint();
+        }
+
+        @Override public void setPaint(Paint paint) {
+            g.setPaint(paint);
+            if (recording) {
+                buf.putByte(SET_PAINT);
+                buf.putObject(paint);
+            }
+        }
+
+        @Override public BasicStroke getStroke() {
+            return g.getStroke();
+        }
+
+        @Override public void setStroke(BasicStroke stroke) {
+            g.setStroke(stroke);
+            if (recording) {
+                buf.putByte(SET_STROKE);
+                buf.putObject(stroke == null ? null : stroke.copy());
+            }
+        }
+
+        @Override public void setCompositeMode(CompositeMode mode) {
+            g.setCompositeMode(mode);
+            if (recording) {
+                buf.putByte(SET_COMPOSITE_MODE);
+                buf.putObject(mode);
+            }
+        }
+
+        @Override public CompositeMode getCompositeMode() {
+            return g.getCompositeMode();
+        }
+
+        @Override public void clear() {
+            stopRecording();
+            g.clear();
+        }
+
+        @Override public void clear(Color color) {
+            stopRecording();
+            g.clear(color);
+        }
+
+        @Override public void clearQuad(float x1, float y1, float x2, float y2) {
+            stopRecording();
+            g.clearQuad(x1, y1, x2, y2);
+        }
+
+        @Override public void fill(Shape shape) {
+            g.fill(shape);
+            recordShape(FILL, shape, null);
+        }
+
+        @Override public void fillQuad(float x1, float y1, float x2, float y2) {
+            g.fillQuad(x1, y1, x2, y2);
+            recordFloats(FILL_QUAD, x1, y1, x2, y2);
+        }
+
+        @Override public void fillRect(float x, float y, float width, float height) {
+            g.fillRect(x, y, width, height);
+            recordFloats(FILL_RECT, x, y, width, height);
+        }
+
+        @Override public void fillRoundRect(float x, float y, float width, float height, float arcw, float arch) {
+            g.fillRoundRect(x, y, width, height, arcw, arch);
+            recordFloats(FILL_ROUND_RECT, x, y, width, height, arcw, arch);
+        }
+
+        @Override public void fillEllipse(float x, float y, float width, float height) {
+            g.fillEllipse(x, y, width, height);
+            recordFloats(FILL_ELLIPSE, x, y, width, height);
+        }
+
+        @Override public void draw(Shape shape) {
+            g.draw(shape);
+            recordShape(DRAW, shape, g.getStroke());
+        }
+
+        @Override public void drawLine(float x1, float y1, float x2, float y2) {
+            g.drawLine(x1, y1, x2, y2);
+            recordFloats(DRAW_LINE, x1, y1, x2, y2);
+        }
+
+        @Override public void drawRect(float x, float y, float width, float height) {
+            g.drawRect(x, y, width, height);
+            recordFloats(DRAW_RECT, x, y, width, height);
+        }
+
+        @Override public void drawRoundRect(float x, float y, float width, float height, float arcw, float arch) {
+            g.drawRoundRect(x, y, width, height, arcw, arch);
+            recordFloats(DRAW_ROUND_RECT, x, y, width, height, arcw, arch);
+        }
+
+        @Override public void drawEllipse(float x, float y, float width, float height) {
+            g.drawEllipse(x, y, width, height);
+            recordFloats(DRAW_ELLIPSE, x, y, width, height);
+        }
+
+        @Override public void setNodeBounds(RectBounds bounds) {
+            g.setNodeBounds(bounds);
+            if (recording) {
+                buf.putByte(SET_NODE_BOUNDS);
+                buf.putObject(bounds == null ? null : new RectBounds(bounds));
+            }
+        }
+
+        @Override public void drawString(GlyphList gl, FontStrike strike, float x, float y,
+                                         Color selectColor, int selectStart, int selectEnd) {
+            g.drawString(gl, strike, x, y, selectColor, selectStart, selectEnd);
+            if (recordDraw(DRAW_STRING)) {
+                buf.putObject(gl);
+                buf.putObject(strike);
+                buf.putFloat(x);
+                buf.putFloat(y);
+                buf.putObject(selectColor);
+                buf.putInt(selectStart);
+                buf.putInt(selectEnd);
+            }
+        }
+
+        @Override public void blit(RTTexture srcTex, RTTexture dstTex,
+                                   int srcX0, int srcY0, int srcX1, int srcY1,
+                                   int dstX0, int dstY0, int dstX1, int dstY1) {
+            stopRecording();
+            g.blit(srcTex, dstTex, srcX0, srcY0, srcX1, srcY1, dstX0, dstY0, dstX1, dstY1);
+        }
+
+        @Override public void drawTexture(Texture tex, float x, float y, float w, float h) {
+            stopRecording();
+            g.drawTexture(tex, x, y, w, h);
+        }
+
+        @Override public void drawTexture(Texture tex,
+                                          float dx1, float dy1, float dx2, float dy2,
+                                          float sx1, float sy1, float sx2, float sy2) {
+            stopRecording();
+            g.drawTexture(tex, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2);
+        }
+
+        @Override public void drawTexture3SliceH(Texture tex,
+                                                 float dx1, float dy1, float dx2, float dy2,
+                                                 float sx1, float sy1, float sx2, float sy2,
+                                                 float dh1, float dh2, float sh1, float sh2) {
+            stopRecording();
+            g.drawTexture3SliceH(tex, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, dh1, dh2, sh1, sh2);
+        }
+
+        @Override public void drawTexture3SliceV(Texture tex,
+                                                 float dx1, float dy1, float dx2, float dy2,
+                                                 float sx1, float sy1, float sx2, float sy2,
+                                                 float dv1, float dv2, float sv1, float sv2) {
+            stopRecording();
+            g.drawTexture3SliceV(tex, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, dv1, dv2, sv1, sv2);
+        }
+
+        @Override public void drawTexture9Slice(Texture tex,
+                                                float dx1, float dy1, float dx2, float dy2,
+                                                float sx1, float sy1, float sx2, float sy2,
+                                                float dh1, float dv1, float dh2, float dv2,
+                                                float sh1, float sv1, float sh2, float sv2) {
+            stopRecording();
+            g.drawTexture9Slice(tex, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2,
+                                dh1, dv1, dh2, dv2, sh1, sv1, sh2, sv2);
+        }
+
+        @Override public void drawTextureVO(Texture tex,
+                                            float topopacity, float botopacity,
+                                            float dx1, float dy1, float dx2, float dy2,
+                                            float sx1, float sy1, float sx2, float sy2) {
+            stopRecording();
+            g.drawTextureVO(tex, topopacity, botopacity, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2);
+        }
+
+        @Override public void drawTextureRaw(Texture tex,
+                                             float dx1, float dy1, float dx2, float dy2,
+                                             float tx1, float ty1, float tx2, float ty2) {
+            stopRecording();
+            g.drawTextureRaw(tex, dx1, dy1, dx2, dy2, tx1, ty1, tx2, ty2);
+        }
+
+        @Override public void drawMappedTextureRaw(Texture tex,
+                                                   float dx1, float dy1, float dx2, float dy2,
+                                                   float tx11, float ty11, float tx21, float ty21,
+                                                   float tx12, float ty12, float tx22, float ty22) {
+            stopRecording();
+            g.drawMappedTextureRaw(tex, dx1, dy1, dx2, dy2,
+                                   tx11, ty11, tx21, ty21, tx12, ty12, tx22, ty22);
+        }
+
+        @Override public void sync() {
+            g.sync();
+        }
+
+        @Override public Screen getAssociatedScreen() {
+            return g.getAssociatedScreen();
+        }
+
+        @Override public ResourceFactory getResourceFactory() {
+            return g.getResourceFactory();
+        }
+
+        @Override public RenderTarget getRenderTarget() {
+            return g.getRenderTarget();
+        }
+
+        @Override public void setRenderRoot(NodePath root) {
+            if (root != null) {
+                stopRecording();
+            }
+            g.setRenderRoot(root);
+        }
+
+        @Override public NodePath getRenderRoot() {
+            return g.getRenderRoot();
+        }
+
+        @Override public void setState3D(boolean flag) {
+            if (flag) {
+                stopRecording();
+            }
+            g.setState3D(flag);
+        }
+
+        @Override public boolean isState3D() {
+            return g.isState3D();
+        }
+
+        @Override public void setup3DRendering() {
+            stopRecording();
+            g.setup3DRendering();
+        }
+
+        @Override public void setPixelScaleFactors(float pixelScaleX, float pixelScaleY) {
+            stopRecording();
+            g.setPixelScaleFactors(pixelScaleX, pixelScaleY);
+        }
+
+        @Override public float getPixelScaleFactorX() {
+            return g.getPixelScaleFactorX();
+        }
+
+        @Override public float getPixelScaleFactorY() {
+            return g.getPixelScaleFactorY();
+        }
+    }
+
+    /**
+     * The Recorder for a Graphics that supports reading back, so that nodes
+     * with a blend mode take the same path as when rendered directly. Reading
+     * back stops the recording, the result depends on what was rendered below.
+     */
+    static final class ReadbackRecorder extends Recorder implements ReadbackGraphics {
+        private final ReadbackGraphics rg;
+
+        ReadbackRecorder(ReadbackGraphics g, GrowableDataBuffer buf, List<ShapeCommand> shapes) {
+            super(g, buf, shapes);
+            this.rg = g;
+        }
+
+        @Override public boolean canReadBack() {
+            stopRecording();
+            return rg.canReadBack();
+        }
+
+        @Override public RTTexture readBack(Rectangle view) {
+            stopRecording();
+            return rg.readBack(view);
+        }
+
+        @Override public void releaseReadBackBuffer(RTTexture view) {
+            rg.releaseReadBackBuffer(view);
+        }
+    }
+}
@@ -35,6 +35,7 @@ import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
 import com.sun.javafx.scene.NodeHelper;
 import com.sun.prism.Graphics;
+import com.sun.prism.impl.PrismSettings;
 import com.sun.scenario.effect.Blend;
 import com.sun.scenario.effect.Blend.Mode;
 import com.sun.scenario.effect.FilterContext;
@@ -70,9 +71,15 @@ public class NGGroup extends NGNode {
 
     /**
      * This mask has all bits that mark that a region intersects this group.
-     * Which means it looks like this: 00010101010101010101010101010101 (first bit for sign)
+     * Which means it looks like this: 0001010101...0101 (first bit for sign)
      */
-    private static final int REGION_INTERSECTS_MASK = 0x15555555;
+    private static final long REGION_INTERSECTS_MASK = 0x1555555555555555L;
+
+    public NGGroup() {
+        if (PrismSettings.displayListsEnabled) {
+            displayList = new DisplayList(this);
+        }
+    }
 
     /***************************************************************************
      *                                                                         *
@@ -358,7 +365,7 @@ public class NGGroup extends NGNode {
         // If the NGGroup is completely outside the culling area, then we don't have to traverse down
         // to the children yo.
         if (cullingIndex != -1) {
-            final int bits = cullingBits >> (cullingIndex*2);
+            final long bits = cullingBits >> (cullingIndex*2);
             if ((bits & DIRTY_REGION_CONTAINS_OR_INTERSECTS_NODE_BOUNDS) == 0) {
                 return RenderRootResult.NO_RENDER_ROOT;
             }
@@ -445,7 +452,7 @@ public class NGGroup extends NGNode {
     @Override
     protected void markCullRegions(
             DirtyRegionContainer drc,
-            int cullingRegionsBitsOfParent,
+            long cullingRegionsBitsOfParent,
             BaseTransform tx,
             GeneralTransform3D pvTx) {
 
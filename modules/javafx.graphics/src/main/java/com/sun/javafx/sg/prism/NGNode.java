@@ -43,6 +43,7 @@ import com.sun.javafx.geom.transform.NoninvertibleTransformException;
 import com.sun.prism.CompositeMode;
 import com.sun.prism.Graphics;
 import com.sun.prism.GraphicsPipeline;
+import com.sun.prism.PrinterGraphics;
 import com.sun.prism.RTTexture;
 import com.sun.prism.ReadbackGraphics;
 import com.sun.prism.impl.PrismSettings;
@@ -213,6 +214,25 @@ public abstract class NGNode {
      */
     private CacheFilter cacheFilter;
 
+    /**
+     * The retained rendering of the content of this node, if any. This is
+     * only created by groups, and only if display lists are enabled.
+     */
+    DisplayList displayList;
+
+    /**
+     * The number of times this node was rendered because it moved or faded
+     * since its content last changed. Only counted with automatic caching,
+     * see {@link #updateAutoCache}.
+     */
+    private int unchangedRenders;
+
+    /**
+     * The number of automatic caches of this node that were dropped. Each
+     * one doubles the renders needed before it is cached automatically again.
+     */
+    private int autoCacheDrops;
+
     /**
      * A filter used whenever an effect is placed on the node. Of course
      * effects can form a kind of tree, such that this one effect might be
@@ -243,7 +263,7 @@ public abstract class NGNode {
     /**
      * Marks position of this node in dirty regions.
      */
-    protected int cullingBits = 0x0;
+    protected long cullingBits = 0x0;
     private DirtyHint hint;
 
     /**
@@ -267,7 +287,7 @@ public abstract class NGNode {
      * was rendered by dirty region 3, then it would have the 3rd bit from the
      * right set ( that is, 1 << 2)
      */
-    private int painted = 0;
+    private long painted = 0;
 
     protected NGNode() { }
 
@@ -514,6 +534,11 @@ public abstract class NGNode {
             throw new IllegalArgumentException("Internal Error: cacheHint must not be null");
         }
 
+        // Whatever the application asks for replaces an automatic cache
+        if (cacheFilter != null && cacheFilter.isAutomatic()) {
+            disposeAutoCache();
+        }
+
         if (cached) {
             if (cacheFilter == null) {
                 cacheFilter = new CacheFilter(this, cacheHint);
@@ -943,7 +968,15 @@ public abstract class NGNode {
      */
     protected final void invalidateCache() {
         if (cacheFilter != null) {
-            cacheFilter.invalidate();
+            if (cacheFilter.isAutomatic()) {
+                dropAutoCache();
+            } else {
+                cacheFilter.invalidate();
+            }
+        }
+        unchangedRenders = 0;
+        if (displayList != null) {
+            displayList.invalidate();
         }
     }
 
@@ -953,10 +986,65 @@ public abstract class NGNode {
      */
     protected final void invalidateCacheByTranslation(DirtyHint hint) {
         if (cacheFilter != null) {
-            cacheFilter.invalidateByTranslation(hint.translateXDelta, hint.translateYDelta);
+            if (cacheFilter.isAutomatic()) {
+                dropAutoCache();
+            } else {
+                cacheFilter.invalidateByTranslation(hint.translateXDelta, hint.translateYDelta);
+            }
+        }
+        unchangedRenders = 0;
+        if (displayList != null) {
+            displayList.invalidate();
         }
     }
 
+    /**
+     * Counts a render of this node because it moved or faded, and caches it
+     * automatically once that happened often enough with unchanged content.
+     * An automatic cache is dropped if the texture pool reclaimed its image or
+     * the image had to be rendered again.
+     */
+    void updateAutoCache(Graphics g) {
+        if (cacheFilter != null) {
+            if (cacheFilter.isAutomatic() && cacheFilter.isAutoCacheStale(g)) {
+                dropAutoCache();
+            }
+            return;
+        }
+        if (++unchangedRenders >= CacheFilter.AUTO_CACHE_RENDERS << Math.min(autoCacheDrops, 4) &&
+                (this instanceof NGGroup || getEffectFilter() != null) &&
+                !isShape3D() && isContentBounds2D() &&
+                g.getTransformNoClone().is2D() && !g.isDepthBuffer() &&
+                !(g instanceof PrinterGraphics)) {
+            cacheFilter = CacheFilter.createAutoCache(this, g);
+        }
+    }
+
+    /**
+     * Drops the automatic cache of this node because it went stale, which
+     * makes the node wait longer before it is cached automatically again.
+     */
+    void dropAutoCache() {
+        disposeAutoCache();
+        autoCacheDrops++;
+        unchangedRenders = 0;
+    }
+
+    /**
+     * Disposes the automatic cache of this node to make room in the budget
+     * for another one. The cache was still good, so this doesn't count as a
+     * drop.
+     */
+    void evictAutoCache() {
+        disposeAutoCache();
+        unchangedRenders = 0;
+    }
+
+    private void disposeAutoCache() {
+        cacheFilter.dispose();
+        cacheFilter = null;
+    }
+
     /***************************************************************************
      *                                                                         *
      * Dirty Regions                                                           *
@@ -1349,7 +1437,7 @@ public abstract class NGNode {
      * 01 - node intersecting dirty region
      * 11 - node completely within dirty region
      *
-     * 32 bits = 15 regions max. * 2 bit each. The first two bits are not used
+     * 64 bits = 31 regions max. * 2 bit each. The last two bits are not used
      * because we have a special use case for -1, so they should only be set if
      * in that case.
      *
@@ -1360,7 +1448,7 @@ public abstract class NGNode {
      */
     void markCullRegions(
             DirtyRegionContainer drc,
-            int cullingRegionsBitsOfParent,
+            long cullingRegionsBitsOfParent,
             BaseTransform tx,
             GeneralTransform3D pvTx) {
 
@@ -1383,7 +1471,7 @@ public abstract class NGNode {
 
         cullingBits = 0;
         RectBounds region;
-        int mask = 0x1; // Check only for intersections
+        long mask = 0x1; // Check only for intersections
         for(int i = 0; i < drc.size(); i++) {
             region = drc.getDirtyRegion(i);
             if (region == null || region.isEmpty()) {
@@ -1397,7 +1485,7 @@ public abstract class NGNode {
             // is wholly contained within the dirty region.
             if ((cullingRegionsBitsOfParent == -1 || (cullingRegionsBitsOfParent & mask) != 0) &&
                     region.intersects(TEMP_RECT_BOUNDS)) {
-                int b = DIRTY_REGION_INTERSECTS_NODE_BOUNDS;
+                long b = DIRTY_REGION_INTERSECTS_NODE_BOUNDS;
                 if (region.contains(TEMP_RECT_BOUNDS)) {
                     b = DIRTY_REGION_CONTAINS_NODE_BOUNDS;
                 }
@@ -1413,7 +1501,7 @@ public abstract class NGNode {
         }
 
 //        System.out.printf("%s bits: %s bounds: %s\n",
-//            this, Integer.toBinaryString(cullingBits), TEMP_RECT_BOUNDS);
+//            this, Long.toBinaryString(cullingBits), TEMP_RECT_BOUNDS);
     }
 
     /**
@@ -1465,9 +1553,9 @@ public abstract class NGNode {
         }
 
         if (node.cullingBits != 0) {
-            int mask = 0x11;
-            for (int i=0; i<15; i++) {
-                int bits = node.cullingBits & mask;
+            long mask = 0x11;
+            for (int i=0; i<31; i++) {
+                long bits = node.cullingBits & mask;
                 if (bits != 0) {
                     stuff.add(bits == 1 ? "i" + i : bits == 0 ? "c" + i : "ci" + i);
                 }
@@ -1523,7 +1611,7 @@ public abstract class NGNode {
      */
     public void drawDirtyOpts(final BaseTransform tx, final GeneralTransform3D pvTx,
                               Rectangle clipBounds, int[] colorBuffer, int dirtyRegionIndex) {
-        if ((painted & (1 << (dirtyRegionIndex * 2))) != 0) {
+        if ((painted & (1L << (dirtyRegionIndex * 2))) != 0) {
             // Transforming the content bounds (which includes the clip) to screen coordinates
             tx.copy().deriveWithConcatenation(getTransform()).transform(contentBounds, TEMP_BOUNDS);
             if (pvTx != null) pvTx.transform(TEMP_BOUNDS, TEMP_BOUNDS);
@@ -1563,7 +1651,7 @@ public abstract class NGNode {
                     // as my counters).
                     if (color == 0) {
                         color = 0x8007F00;
-                    } else if ((painted & (3 << (dirtyRegionIndex * 2))) == 3) {
+                    } else if ((painted & (3L << (dirtyRegionIndex * 2))) == 3) {
                         switch (color) {
                             case 0x80007F00:
                                 color = 0x80008000;
@@ -1727,7 +1815,7 @@ public abstract class NGNode {
         // Nodes outside of the dirty region can be excluded immediately.
         // This can be used only if the culling information is provided.
         if (cullingIndex != -1) {
-            final int bits = cullingBits >> (cullingIndex * 2);
+            final long bits = cullingBits >> (cullingIndex * 2);
             if ((bits & DIRTY_REGION_CONTAINS_OR_INTERSECTS_NODE_BOUNDS) == 0x00) {
                 return RenderRootResult.NO_RENDER_ROOT;
             }
@@ -1953,11 +2041,18 @@ public abstract class NGNode {
         if (PULSE_LOGGING_ENABLED) {
             PulseLogger.incrementCounter("Nodes visited during render");
         }
+        // A node dirty by itself, rather than through a child, has been moved
+        // or faded, or its own visuals changed which reset unchangedRenders
+        final boolean wasDirty = dirty != DirtyFlag.CLEAN;
         // Clear the visuals changed flag
         clearDirty();
         // If it isn't visible, then punt
         if (!visible || opacity == 0f) return;
 
+        if (wasDirty && PrismSettings.autoCacheEnabled) {
+            updateAutoCache(g);
+        }
+
         // We know that we are going to render this node, so we call the
         // doRender method, which subclasses implement to do the actual
         // rendering work.
@@ -1997,7 +2092,7 @@ public abstract class NGNode {
         if (PrismSettings.dirtyOptsEnabled) {
             if (g.hasPreCullingBits()) {
                 //preculling bits available
-                final int bits = cullingBits >> (g.getClipRectIndex() * 2);
+                final long bits = cullingBits >> (g.getClipRectIndex() * 2);
                 if ((bits & DIRTY_REGION_CONTAINS_OR_INTERSECTS_NODE_BOUNDS) == 0) {
                     // If no culling bits are set for this region, this group
                     // does not intersect (nor is covered by) the region
@@ -2069,7 +2164,9 @@ public abstract class NGNode {
             renderEffect(g);
             p = true;
         } else {
-            renderContent(g);
+            if (displayList == null || !displayList.render(g)) {
+                renderContent(g);
+            }
             if (PrismSettings.showOverdraw) {
                 p = this instanceof NGRegion || !(this instanceof NGGroup);
             }
@@ -2097,9 +2194,9 @@ public abstract class NGNode {
         // with our shaders or do something much more invasive to get better data here.
         if (PrismSettings.showOverdraw) {
             if (p) {
-                painted |= 3 << (g.getClipRectIndex() * 2);
+                painted |= 3L << (g.getClipRectIndex() * 2);
             } else {
-                painted |= 1 << (g.getClipRectIndex() * 2);
+                painted |= 1L << (g.getClipRectIndex() * 2);
             }
         }
     }
@@ -2373,7 +2470,7 @@ public abstract class NGNode {
         // The third check is for the printing case, which doesn't use cached
         // bitmaps for the screen and for which there is no cacheFilter.
         if (isContentBounds2D() && g.getTransformNoClone().is2D() &&
-                !(g instanceof com.sun.prism.PrinterGraphics)) {
+                !(g instanceof PrinterGraphics)) {
             getCacheFilter().render(g);
         } else {
             renderContent(g);
@@ -612,7 +612,10 @@ public class NGRegion extends NGGroup {
             Rectangle rect = null;
             // RT-25013: We need to make sure that we do not use a cached image in the case of a
             // scaled region, or things won't look right (they'll looked scaled instead of vector-resized).
-            if (cacheMode != 0 && g.getTransformNoClone().isTranslateOrIdentity()) {
+            // The image cache is repacked as needed, so its images can't be
+            // recorded into a display list.
+            if (cacheMode != 0 && g.getTransformNoClone().isTranslateOrIdentity() &&
+                    !(g instanceof DisplayList.Recorder)) {
                 final RegionImageCache imageCache = getImageCache(g);
                 if (imageCache.isImageCachable(textureWidth, textureHeight)) {
                     final Integer key = getCacheKey(textureWidth, textureHeight);
@@ -802,10 +805,13 @@ public class NGRegion extends NGGroup {
         // scaled region, or things won't look right (they'll looked scaled instead of vector-resized).
         // RT-25049: Need to only use the cache for pixel aligned regions or the result
         // will not look the same as though drawn by vector
+        // The image cache is repacked as needed, so its images can't be recorded
+        // into a display list.
         final boolean cache =
                 background.getFills().size() > 1 && // Not worth the overhead otherwise
                 cacheMode != 0 &&
-                g.getTransformNoClone().isTranslateOrIdentity();
+                g.getTransformNoClone().isTranslateOrIdentity() &&
+                !(g instanceof DisplayList.Recorder);
         final int border = 1;
         RTTexture cached = null;
         Rectangle rect = null;
@@ -74,6 +74,8 @@ import com.sun.glass.ui.CommonDialogs.FileChooserResult;
 import com.sun.glass.utils.NativeLibLoader;
 import com.sun.javafx.PlatformUtil;
 import com.sun.javafx.beans.event.AbstractNotifyListener;
+import com.sun.javafx.binding.PulseDeferredDispatcher;
+import com.sun.javafx.binding.WeakListenerSweeper;
 import com.sun.javafx.embed.HostInterface;
 import com.sun.javafx.geom.Path2D;
 import com.sun.javafx.geom.transform.BaseTransform;
@@ -298,6 +300,7 @@ public abstract class Toolkit {
     }
 
     protected Toolkit() {
+        PulseDeferredDispatcher.setPulseRequester(this::requestNextPulse);
     }
 
     public abstract boolean init();
@@ -413,6 +416,10 @@ public abstract class Toolkit {
     }
 
     public void firePulse() {
+        // deliver deferred binding notifications first, so their listeners
+        // can update the scene graph before it is processed in this pulse
+        PulseDeferredDispatcher.flush();
+
         // Stages need to be notified of pulses before scenes so the Stage can resized
         // and those changes propogated to scene before it gets its pulse to update
 
@@ -442,6 +449,10 @@ public abstract class Toolkit {
         if (lastTkPulseListener != null) {
             runPulse(lastTkPulseListener, lastTkPulseAcc);
         }
+
+        // drop weak listeners whose listener was collected, even from
+        // observables that do not fire anymore
+        WeakListenerSweeper.sweep();
     }
     public void addStageTkPulseListener(TKPulseListener listener) {
         if (listener == null) {
@@ -137,7 +137,8 @@ abstract class ViewPainter implements Runnable {
             clip = new RectBounds();
             dirtyRect = new Rectangle();
             dirtyRegionTemp = new RectBounds();
-            dirtyRegionPool = new DirtyRegionPool(PrismSettings.dirtyRegionCount);
+            dirtyRegionPool = new DirtyRegionPool(PrismSettings.dirtyRegionCount,
+                                                  PrismSettings.dirtyRegionMergeCost);
             dirtyRegionContainer = dirtyRegionPool.checkOut();
         }
     }
@@ -278,10 +279,14 @@ abstract class ViewPainter implements Runnable {
             // regions that are being used to render this pulse.
             if (PULSE_LOGGING_ENABLED) {
                 PulseLogger.addMessage(dirtyRegionSize + " different dirty regions to render");
+                float dirtyArea = 0;
                 for (int i=0; i<dirtyRegionSize; i++) {
-                    PulseLogger.addMessage("Dirty Region " + i + ": " + dirtyRegionContainer.getDirtyRegion(i));
+                    final RectBounds dirtyRegion = dirtyRegionContainer.getDirtyRegion(i);
+                    dirtyArea += dirtyRegion.getWidth() * dirtyRegion.getHeight();
+                    PulseLogger.addMessage("Dirty Region " + i + ": " + dirtyRegion);
                     PulseLogger.addMessage("Render Root Path " + i + ": " + getRootPath(i));
                 }
+                logRepaintedArea(dirtyArea);
             }
 
             // If -Dprism.printrendergraph=true then we want to print out the render graph to the
@@ -323,6 +328,9 @@ abstract class ViewPainter implements Runnable {
             }
         } else {
             // There are no dirty regions, so just paint everything
+            if (PULSE_LOGGING_ENABLED) {
+                logRepaintedArea((float) width * height);
+            }
             g.setHasPreCullingBits(false);
             g.setClipRect(null);
             this.doPaint(g, null);
@@ -408,6 +416,20 @@ abstract class ViewPainter implements Runnable {
         texture.unlock();
     }
 
+    /**
+     * Reports to the pulse logger which part of the view is repainted in
+     * this pulse, to tell how well the dirty regions fit the changes.
+     *
+     * @param dirtyArea the repainted area, in the coordinates of the scene
+     */
+    private void logRepaintedArea(float dirtyArea) {
+        final float viewArea = (float) width * height;
+        if (viewArea > 0) {
+            PulseLogger.addMessage(String.format("Repainted area: %.1f%% of the view",
+                    Math.min(100f, 100f * dirtyArea / viewArea)));
+        }
+    }
+
     private static NodePath getRootPath(int i) {
         if (ROOT_PATHS[i] == null) {
             ROOT_PATHS[i] = new NodePath();
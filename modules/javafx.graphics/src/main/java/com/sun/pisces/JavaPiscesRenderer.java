@@ -0,0 +1,584 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.pisces;
+
+import java.util.Arrays;
+
+/**
+ * A PiscesRenderer that fills with a flat color in Java rather than in the
+ * native library. Rectangles, alpha rows produced by a rasterizer, alpha
+ * masks and clears with a flat color are composited by the loops below
+ * directly into the int array of the JavaSurface, in INT_ARGB_PRE, with the
+ * same arithmetic as the native blitters so the results are identical.
+ * Gradients, textures, images and LCD masks are still rendered by the
+ * native renderer, which is kept in the same state.
+ *
+ * The loops read the destination array and the color state into locals
+ * and do no allocation, so that they are compiled into tight code and can
+ * be profiled like any other Java code.
+ */
+public final class JavaPiscesRenderer extends PiscesRenderer {
+
+    private static final int MAX_ALPHA = 255;
+
+    private final int[] data;
+    private final int width;
+    private final int height;
+
+    // the color as set, and whether it is the current paint
+    private int ured, ugreen, ublue, ualpha;
+    private boolean flatColor = true;
+    private int compositeRule = RendererBase.COMPOSITE_SRC_OVER;
+
+    private int clipMinX, clipMinY, clipMaxX, clipMaxY;
+
+    public JavaPiscesRenderer(JavaSurface surface) {
+        super(surface);
+        this.data = surface.getDataIntBuffer().array();
+        this.width = surface.getWidth();
+        this.height = surface.getHeight();
+        this.clipMaxX = width - 1;
+        this.clipMaxY = height - 1;
+    }
+
+    @Override
+    public void setColor(int red, int green, int blue, int alpha) {
+        super.setColor(red, green, blue, alpha);
+        ured = red;
+        ugreen = green;
+        ublue = blue;
+        ualpha = alpha;
+        flatColor = true;
+    }
+
+    @Override
+    public void setCompositeRule(int compositeRule) {
+        super.setCompositeRule(compositeRule);
+        this.compositeRule = compositeRule;
+    }
+
+    @Override
+    public void setLinearGradient(int x0, int y0, int x1, int y1,
+                                  int[] fractions, int[] rgba,
+                                  int cycleMethod,
+                                  Transform6 gradientTransform)
+    {
+        flatColor = false;
+        super.setLinearGradient(x0, y0, x1, y1, fractions, rgba, cycleMethod, gradientTransform);
+    }
+
+    @Override
+    public void setLinearGradient(int x0, int y0, int x1, int y1,
+                                  GradientColorMap gradientColorMap,
+                                  Transform6 gradientTransform)
+    {
+        flatColor = false;
+        super.setLinearGradient(x0, y0, x1, y1, gradientColorMap, gradientTransform);
+    }
+
+    @Override
+    public void setRadialGradient(int cx, int cy, int fx, int fy,
+                                  int radius,
+                                  int[] fractions, int[] rgba,
+                                  int cycleMethod,
+                                  Transform6 gradientTransform)
+    {
+        flatColor = false;
+        super.setRadialGradient(cx, cy, fx, fy, radius, fractions, rgba, cycleMethod, gradientTransform);
+    }
+
+    @Override
+    public void setRadialGradient(int cx, int cy, int fx, int fy,
+                                  int radius,
+                                  GradientColorMap gradientColorMap,
+                                  Transform6 gradientTransform)
+    {
+        flatColor = false;
+        super.setRadialGradient(cx, cy, fx, fy, radius, gradientColorMap, gradientTransform);
+    }
+
+    @Override
+    public void setTexture(int imageType, int data[], int width, int height, int stride,
+        Transform6 textureTransform, boolean repeat, boolean hasAlpha)
+    {
+        flatColor = false;
+        super.setTexture(imageType, data, width, height, stride, textureTransform, repeat, hasAlpha);
+    }
+
+    @Override
+    public void drawImage(int imageType, int imageMode, int data[],  int width, int height, int offset, int stride,
+        Transform6 textureTransform, boolean repeat,
+        int bboxX, int bboxY, int bboxW, int bboxH,
+        int lEdge, int rEdge, int tEdge, int bEdge,
+        int txMin, int tyMin, int txMax, int tyMax,
+        boolean hasAlpha)
+    {
+        // the image becomes the paint of the native renderer
+        flatColor = false;
+        super.drawImage(imageType, imageMode, data, width, height, offset, stride,
+            textureTransform, repeat,
+            bboxX, bboxY, bboxW, bboxH,
+            lEdge, rEdge, tEdge, bEdge,
+            txMin, tyMin, txMax, tyMax,
+            hasAlpha);
+    }
+
+    @Override
+    public void setClip(int minX, int minY, int width, int height) {
+        super.setClip(minX, minY, width, height);
+        clipMinX = Math.max(minX, 0);
+        clipMinY = Math.max(minY, 0);
+        clipMaxX = Math.min(minX + width, this.width) - 1;
+        clipMaxY = Math.min(minY + height, this.height) - 1;
+    }
+
+    @Override
+    public void resetClip() {
+        super.resetClip();
+        clipMinX = 0;
+        clipMinY = 0;
+        clipMaxX = width - 1;
+        clipMaxY = height - 1;
+    }
+
+    // The color used by the loops, which COMPOSITE_CLEAR makes transparent
+    private int cred() {
+        return compositeRule == RendererBase.COMPOSITE_CLEAR ? 0 : ured;
+    }
+
+    private int cgreen() {
+        return compositeRule == RendererBase.COMPOSITE_CLEAR ? 0 : ugreen;
+    }
+
+    private int cblue() {
+        return compositeRule == RendererBase.COMPOSITE_CLEAR ? 0 : ublue;
+    }
+
+    private int calpha() {
+        return compositeRule == RendererBase.COMPOSITE_CLEAR ? 0 : ualpha;
+    }
+
+    @Override
+    public void clearRect(int x, int y, int w, int h) {
+        int maxX = x + w - 1;
+        int maxY = y + h - 1;
+        x = Math.max(Math.max(x, 0), clipMinX);
+        y = Math.max(Math.max(y, 0), clipMinY);
+        maxX = Math.min(Math.min(maxX, width - 1), clipMaxX);
+        maxY = Math.min(Math.min(maxY, height - 1), clipMaxY);
+        if (x > maxX || y > maxY) {
+            return;
+        }
+
+        // clears to the current color, as the native renderer does
+        final int cval = (calpha() << 24) | (cred() << 16) | (cgreen() << 8) | cblue();
+        final int[] d = data;
+        final int stride = width;
+        final int from = y * stride + x;
+        final int w2 = maxX - x + 1;
+        Arrays.fill(d, from, from + w2, cval);
+        for (int row = from + stride, end = maxY * stride + x; row <= end; row += stride) {
+            System.arraycopy(d, from, d, row, w2);
+        }
+    }
+
+    @Override
+    public void fillRect(int x, int y, int w, int h) {
+        if (!flatColor) {
+            super.fillRect(x, y, w, h);
+            return;
+        }
+        final int x1 = Math.max(x, 0);
+        final int y1 = Math.max(y, 0);
+        final int x2 = Math.min(x + w, width << 16);
+        final int y2 = Math.min(y + h, height << 16);
+        final int w2 = x2 - x1;
+        final int h2 = y2 - y1;
+        if (w2 > 0 && h2 > 0) {
+            fillRectImpl(x1, y1, w2, h2);
+        }
+    }
+
+    // x, y, w and h are in 16.16 fixed point and within the surface
+    private void fillRectImpl(int x, int y, int w, int h) {
+        int lfrac = (0x10000 - (x & 0xFFFF)) & 0xFFFF;
+        int rfrac = (x + w) & 0xFFFF;
+        int tfrac = (0x10000 - (y & 0xFFFF)) & 0xFFFF;
+        int bfrac = (y + h) & 0xFFFF;
+
+        int xFrom = x >> 16;
+        int xTo = (rfrac != 0) ? (x + w) >> 16 : ((x + w) >> 16) - 1;
+        int yFrom = y >> 16;
+        int yTo = (bfrac != 0) ? (y + h) >> 16 : ((y + h) >> 16) - 1;
+
+        if (xFrom < clipMinX) {
+            xFrom = clipMinX;
+            lfrac = 0;
+        }
+        if (yFrom < clipMinY) {
+            yFrom = clipMinY;
+            tfrac = 0;
+        }
+        if (xTo > clipMaxX) {
+            xTo = clipMaxX;
+            rfrac = 0;
+        }
+        if (yTo > clipMaxY) {
+            yTo = clipMaxY;
+            bfrac = 0;
+        }
+        if (xFrom > xTo || yFrom > yTo) {
+            return;
+        }
+
+        if (yFrom == yTo && (tfrac | bfrac) != 0) {
+            // a single fractional row
+            tfrac = (bfrac - 0x10000 + tfrac) & 0xFFFF;
+            bfrac = 0;
+        }
+        if (xFrom == xTo && (lfrac | rfrac) != 0) {
+            // a single fractional column
+            lfrac = (rfrac - 0x10000 + lfrac) & 0xFFFF;
+            rfrac = 0;
+        }
+
+        int rows = yTo - yFrom + 1;
+        int currY = yFrom;
+        if (bfrac != 0) {
+            rows--;
+        }
+        if (tfrac != 0) {
+            emitLine(xFrom, xTo, currY, 1, tfrac, lfrac, rfrac);
+            rows--;
+            currY++;
+        }
+        if (rows > 0) {
+            emitLine(xFrom, xTo, currY, rows, 0x10000, lfrac, rfrac);
+            currY += rows;
+        }
+        if (bfrac != 0) {
+            emitLine(xFrom, xTo, currY, 1, bfrac, lfrac, rfrac);
+        }
+    }
+
+    private void emitLine(int minX, int maxX, int y, int rows, int frac, int lfrac, int rfrac) {
+        if (compositeRule == RendererBase.COMPOSITE_SRC_OVER) {
+            emitLineSourceOver(data, width, minX, maxX, y, rows, frac, lfrac, rfrac,
+                    ualpha, ured, ugreen, ublue);
+        } else {
+            emitLineSource(data, width, minX, maxX, y, rows, frac, lfrac, rfrac,
+                    calpha(), cred(), cgreen(), cblue());
+        }
+    }
+
+    private static void emitLineSourceOver(int[] d, int stride, int minX, int maxX, int y,
+                                           int rows, int frac, int lfrac, int rfrac,
+                                           int calpha, int cred, int cgreen, int cblue)
+    {
+        final int alpha = (calpha * frac) >> 16;
+        int w = maxX - minX + 1;
+        w -= (lfrac != 0) ? 1 : 0;
+        w -= (rfrac != 0) ? 1 : 0;
+
+        int offset = y * stride + minX;
+        if (alpha == MAX_ALPHA) {
+            final int solid = 0xFF000000 | (cred << 16) | (cgreen << 8) | cblue;
+            for (int j = 0; j < rows; j++, offset += stride) {
+                int i = offset;
+                if (lfrac != 0) {
+                    d[i] = blendSrcOver(d[i], lfrac >> 8, cred, cgreen, cblue);
+                    i++;
+                }
+                final int end = i + w;
+                Arrays.fill(d, i, end, solid);
+                if (rfrac != 0) {
+                    d[end] = blendSrcOver(d[end], rfrac >> 8, cred, cgreen, cblue);
+                }
+            }
+        } else {
+            final int lalpha = (lfrac * alpha) >> 16;
+            final int ralpha = (rfrac * alpha) >> 16;
+            for (int j = 0; j < rows; j++, offset += stride) {
+                int i = offset;
+                if (lfrac != 0) {
+                    d[i] = blendSrcOver(d[i], lalpha, cred, cgreen, cblue);
+                    i++;
+                }
+                final int end = i + w;
+                for (; i < end; i++) {
+                    d[i] = blendSrcOver(d[i], alpha, cred, cgreen, cblue);
+                }
+                if (rfrac != 0) {
+                    d[end] = blendSrcOver(d[end], ralpha, cred, cgreen, cblue);
+                }
+            }
+        }
+    }
+
+    private static void emitLineSource(int[] d, int stride, int minX, int maxX, int y,
+                                       int rows, int frac, int lfrac, int rfrac,
+                                       int calpha, int cred, int cgreen, int cblue)
+    {
+        int w = maxX - minX + 1;
+        w -= (lfrac != 0) ? 1 : 0;
+        w -= (rfrac != 0) ? 1 : 0;
+
+        int offset = y * stride + minX;
+        if (frac == 0x10000) {
+            final int preRed = ((calpha + 1) * cred) >> 8;
+            final int preGreen = ((calpha + 1) * cgreen) >> 8;
+            final int preBlue = ((calpha + 1) * cblue) >> 8;
+            final int pixel = (calpha << 24) | (preRed << 16) | (preGreen << 8) | preBlue;
+            for (int j = 0; j < rows; j++, offset += stride) {
+                int i = offset;
+                if (lfrac != 0) {
+                    d[i] = blendSrc(d[i], calpha, 255 - (lfrac >> 8), cred, cgreen, cblue);
+                    i++;
+                }
+                final int end = i + w;
+                Arrays.fill(d, i, end, pixel);
+                if (rfrac != 0) {
+                    d[end] = blendSrc(d[end], calpha, 255 - (rfrac >> 8), cred, cgreen, cblue);
+                }
+            }
+        } else {
+            final int compFrac = 255 - (frac >> 8);
+            final int lf = (int) ((lfrac * (long) frac) >> 16);
+            final int rf = (int) ((rfrac * (long) frac) >> 16);
+            for (int j = 0; j < rows; j++, offset += stride) {
+                int i = offset;
+                if (lf != 0) {
+                    d[i] = blendSrc(d[i], calpha, 255 - (lf >> 8), cred, cgreen, cblue);
+                    i++;
+                }
+                final int end = i + w;
+                for (; i < end; i++) {
+                    d[i] = blendSrc(d[i], calpha, compFrac, cred, cgreen, cblue);
+                }
+                if (rf != 0) {
+                    d[end] = blendSrc(d[end], calpha, 255 - (rf >> 8), cred, cgreen, cblue);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void emitAndClearAlphaRow(byte[] alphaMap, int[] alphaDeltas, int pix_y, int pix_x_from, int pix_x_to,
+        int pix_x_off, int rowNum)
+    {
+        if (!flatColor) {
+            super.emitAndClearAlphaRow(alphaMap, alphaDeltas, pix_y, pix_x_from, pix_x_to, pix_x_off, rowNum);
+            return;
+        }
+        if (pix_x_off < 0 || (pix_x_off + (pix_x_to - pix_x_from)) > alphaDeltas.length) {
+            throw new IllegalArgumentException("rendering range exceeds length of data");
+        }
+        final int minX = Math.max(pix_x_from, clipMinX);
+        final int maxX = Math.min(pix_x_to, clipMaxX);
+        if (maxX < minX || pix_y < clipMinY || pix_y > clipMaxY) {
+            return;
+        }
+        // the deltas are read from pix_x_off even if the clip moved minX,
+        // as the native renderer does
+        final int offset = pix_y * width + minX;
+        final int w = maxX - minX + 1;
+        if (compositeRule == RendererBase.COMPOSITE_SRC_OVER) {
+            blitSourceOver(data, offset, alphaMap, alphaDeltas, pix_x_off, w,
+                    ualpha, ured, ugreen, ublue);
+        } else {
+            blitSource(data, offset, alphaMap, alphaDeltas, pix_x_off, w,
+                    calpha(), cred(), cgreen(), cblue());
+        }
+    }
+
+    // The deltas are mostly zero along a span, so the coverage is computed
+    // once for each run of pixels with the same accumulated alpha.
+    private static int runEnd(int[] alphaDeltas, int i, int end) {
+        while (i < end && alphaDeltas[i] == 0) {
+            i++;
+        }
+        return i;
+    }
+
+    private static void blitSourceOver(int[] d, int offset, byte[] alphaMap, int[] alphaDeltas,
+                                       int from, int w, int calpha, int cred, int cgreen, int cblue)
+    {
+        final int solid = 0xFF000000 | (cred << 16) | (cgreen << 8) | cblue;
+        final int end = from + w;
+        int alphaSum = 0;
+        for (int i = from; i < end; ) {
+            alphaSum += alphaDeltas[i];
+            alphaDeltas[i] = 0;
+            final int run = runEnd(alphaDeltas, i + 1, end) - i;
+            if (alphaSum != 0) {
+                final int aval = (((alphaMap[alphaSum] & 0xFF) + 1) * calpha) >> 8;
+                if (aval == MAX_ALPHA) {
+                    Arrays.fill(d, offset, offset + run, solid);
+                } else if (aval > 0) {
+                    for (int k = offset, kend = offset + run; k < kend; k++) {
+                        d[k] = blendSrcOver(d[k], aval, cred, cgreen, cblue);
+                    }
+                }
+            }
+            i += run;
+            offset += run;
+        }
+    }
+
+    private static void blitSource(int[] d, int offset, byte[] alphaMap, int[] alphaDeltas,
+                                   int from, int w, int calpha, int cred, int cgreen, int cblue)
+    {
+        // full coverage writes the color as is, as the native renderer does
+        final int full = (calpha << 24) | (cred << 16) | (cgreen << 8) | cblue;
+        final int end = from + w;
+        int alphaSum = 0;
+        for (int i = from; i < end; ) {
+            alphaSum += alphaDeltas[i];
+            alphaDeltas[i] = 0;
+            final int run = runEnd(alphaDeltas, i + 1, end) - i;
+            final int coverage = alphaMap[alphaSum] & 0xFF;
+            if (coverage == MAX_ALPHA) {
+                Arrays.fill(d, offset, offset + run, full);
+            } else if (coverage > 0) {
+                final int aval = ((coverage + 1) * calpha) >> 8;
+                final int raaval = 255 - coverage;
+                for (int k = offset, kend = offset + run; k < kend; k++) {
+                    d[k] = blendSrc(d[k], aval, raaval, cred, cgreen, cblue);
+                }
+            }
+            i += run;
+            offset += run;
+        }
+    }
+
+    @Override
+    public void fillAlphaMask(byte[] mask, int x, int y, int width, int height, int offset, int stride) {
+        if (!flatColor) {
+            super.fillAlphaMask(mask, x, y, width, height, offset, stride);
+            return;
+        }
+        if (mask == null) {
+            throw new NullPointerException("Mask is NULL");
+        }
+        inputImageCheck(width, height, offset, stride, mask.length);
+
+        final int minX = Math.max(x, clipMinX);
+        final int minY = Math.max(y, clipMinY);
+        final int maxX = Math.min(x + width - 1, clipMaxX);
+        final int maxY = Math.min(y + height - 1, clipMaxY);
+        if (maxX < minX || maxY < minY) {
+            return;
+        }
+
+        final int w = maxX - minX + 1;
+        final boolean srcOver = compositeRule == RendererBase.COMPOSITE_SRC_OVER;
+        final int calpha = srcOver ? ualpha : calpha();
+        final int cred = srcOver ? ured : cred();
+        final int cgreen = srcOver ? ugreen : cgreen();
+        final int cblue = srcOver ? ublue : cblue();
+        // the mask rows are width apart, as in the native renderer
+        int maskOffset = offset + (minY - y) * width + minX - x;
+        int dstOffset = minY * this.width + minX;
+        for (int row = minY; row <= maxY; row++) {
+            if (srcOver) {
+                blitMaskSourceOver(data, dstOffset, mask, maskOffset, w, calpha, cred, cgreen, cblue);
+            } else {
+                blitMaskSource(data, dstOffset, mask, maskOffset, w, calpha, cred, cgreen, cblue);
+            }
+            maskOffset += width;
+            dstOffset += this.width;
+        }
+    }
+
+    private static void blitMaskSourceOver(int[] d, int offset, byte[] mask, int from, int w,
+                                           int calpha, int cred, int cgreen, int cblue)
+    {
+        final int solid = 0xFF000000 | (cred << 16) | (cgreen << 8) | cblue;
+        for (int i = from, end = from + w; i < end; i++, offset++) {
+            final int coverage = mask[i] & 0xFF;
+            if (coverage != 0) {
+                final int aval = ((coverage + 1) * calpha) >> 8;
+                if (aval == MAX_ALPHA) {
+                    d[offset] = solid;
+                } else if (aval > 0) {
+                    d[offset] = blendSrcOver(d[offset], aval, cred, cgreen, cblue);
+                }
+            }
+        }
+    }
+
+    private static void blitMaskSource(int[] d, int offset, byte[] mask, int from, int w,
+                                       int calpha, int cred, int cgreen, int cblue)
+    {
+        final int full = (calpha << 24) | (cred << 16) | (cgreen << 8) | cblue;
+        for (int i = from, end = from + w; i < end; i++, offset++) {
+            final int coverage = mask[i] & 0xFF;
+            if (coverage == MAX_ALPHA) {
+                d[offset] = full;
+            } else if (coverage > 0) {
+                final int aval = ((coverage + 1) * calpha) >> 8;
+                d[offset] = blendSrc(d[offset], aval, 255 - coverage, cred, cgreen, cblue);
+            }
+        }
+    }
+
+    private static int div255(int x) {
+        return (x * 257 + 257) >> 16;
+    }
+
+    // dst is premultiplied, the source color is not
+    private static int blendSrcOver(int dst, int aval, int sred, int sgreen, int sblue) {
+        final int dalpha = (dst >> 24) & 0xFF;
+        final int dred = (dst >> 16) & 0xFF;
+        final int dgreen = (dst >> 8) & 0xFF;
+        final int dblue = dst & 0xFF;
+        final int oneMinusAval = 255 - aval;
+
+        final int oalpha = div255(255 * aval + oneMinusAval * dalpha);
+        final int ored = div255(sred * aval + oneMinusAval * dred);
+        final int ogreen = div255(sgreen * aval + oneMinusAval * dgreen);
+        final int oblue = div255(sblue * aval + oneMinusAval * dblue);
+        return (oalpha << 24) | (ored << 16) | (ogreen << 8) | oblue;
+    }
+
+    // dst is premultiplied, the source color is not
+    private static int blendSrc(int dst, int aval, int raaval, int sred, int sgreen, int sblue) {
+        final int dalpha = (dst >> 24) & 0xFF;
+        final int dred = (dst >> 16) & 0xFF;
+        final int dgreen = (dst >> 8) & 0xFF;
+        final int dblue = dst & 0xFF;
+
+        final int denom = 255 * aval + dalpha * raaval;
+        if (denom == 0) {
+            return 0;
+        }
+        final int oalpha = div255(denom);
+        final int ored = div255(aval * sred + raaval * dred);
+        final int ogreen = div255(aval * sgreen + raaval * dgreen);
+        final int oblue = div255(aval * sblue + raaval * dblue);
+        return (oalpha << 24) | (ored << 16) | (ogreen << 8) | oblue;
+    }
+}
@@ -69,7 +69,7 @@ package com.sun.pisces;
  *      }<br/>
  *  </code>
  */
-public final class PiscesRenderer {
+public class PiscesRenderer {
 
     public static final int ARC_OPEN = 0;
     public static final int ARC_CHORD = 1;
@@ -411,7 +411,7 @@ public final class PiscesRenderer {
         int txMin, int tyMin, int txMax, int tyMax,
         boolean hasAlpha);
 
-    private void inputImageCheck(int width, int height, int offset, int stride, int data_length) {
+    void inputImageCheck(int width, int height, int offset, int stride, int data_length) {
         if (width < 0) {
             throw new IllegalArgumentException("WIDTH must be positive");
         }
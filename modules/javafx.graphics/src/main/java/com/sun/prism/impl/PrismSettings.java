@@ -48,6 +48,7 @@ public final class PrismSettings {
     public static final boolean dirtyOptsEnabled;
     public static final boolean occlusionCullingEnabled;
     public static final boolean scrollCacheOpt;
+    public static final boolean displayListsEnabled;
     public static final boolean threadCheck;
     public static final boolean cacheSimpleShapes;
     public static final boolean cacheComplexShapes;
@@ -63,6 +64,7 @@ public final class PrismSettings {
     public static final boolean printRenderGraph;
     public static final int minRTTSize;
     public static final int dirtyRegionCount;
+    public static final int dirtyRegionMergeCost;
     public static final boolean disableBadDriverWarning;
     public static final boolean forceGPU;
     public static final int maxTextureSize;
@@ -74,6 +76,8 @@ public final class PrismSettings {
     public static final boolean allowHiDPIScaling;
     public static final long maxVram;
     public static final long targetVram;
+    public static final boolean autoCacheEnabled;
+    public static final long autoCacheBudget;
     public static final boolean poolStats;
     public static final boolean poolDebug;
     public static final boolean disableEffects;
@@ -87,6 +91,9 @@ public final class PrismSettings {
     public static final boolean forceUploadingPainter;
     public static final boolean forceAlphaTestShader;
     public static final boolean forceNonAntialiasedShape;
+    public static final int swTileThreads;
+    public static final int swTileSize;
+    public static final boolean swJavaRenderer;
 
     public static enum RasterizerType {
         JavaPisces("Java-based Pisces Rasterizer"),
@@ -136,13 +143,24 @@ public final class PrismSettings {
                                                true);
 
         // The maximum number of dirty regions to use. The absolute max that we can
-        // support at present is 15.
-        dirtyRegionCount = Utils.clamp(0, getInt(systemProperties, "prism.dirtyregioncount", 6, null), 15);
+        // support at present is 31, as each region takes 2 bits of the long
+        // culling bits of a node.
+        dirtyRegionCount = Utils.clamp(0, getInt(systemProperties, "prism.dirtyregioncount", 6, null), 31);
+
+        // The estimated cost of rendering one more dirty region, in pixels.
+        // A dirty region is merged with a neighbour when the union adds fewer
+        // pixels than this, since every region is a separate render pass over
+        // the scene graph. 0 merges only overlapping regions.
+        dirtyRegionMergeCost = Math.max(0, getInt(systemProperties, "prism.dirtyregionmergecost", 4096, null));
 
         // Scrolling cache optimization
         // Disabled as a workaround for RT-39755.
         scrollCacheOpt = getBoolean(systemProperties, "prism.scrollcacheopt", false);
 
+        // Record the rendering of static groups and regions into display
+        // lists and replay them instead of walking the subtree again
+        displayListsEnabled = getBoolean(systemProperties, "prism.displaylists", false);
+
         /* Dirty region optimizations */
         threadCheck = getBoolean(systemProperties, "prism.threadcheck", false);
 
@@ -306,6 +324,15 @@ public final class PrismSettings {
         targetVram = getLong(systemProperties, "prism.targetvram", maxVram / 8, maxVram,
                              "Try -Dprism.targetvram=<long>[kKmMgG]|<double(0,100)>%");
         poolStats = getBoolean(systemProperties, "prism.poolstats", false);
+
+        /*
+         * Automatic caching of nodes that keep being rendered with unchanged
+         * content while moved or faded. The cached images share a budget, by
+         * default a quarter of the target vram.
+         */
+        autoCacheEnabled = getBoolean(systemProperties, "prism.autocache", false);
+        autoCacheBudget = getLong(systemProperties, "prism.autocache.budget", targetVram / 4, targetVram,
+                                  "Try -Dprism.autocache.budget=<long>[kKmMgG]|<double(0,100)>%");
         poolDebug = getBoolean(systemProperties, "prism.pooldebug", false);
 
         if (verbose) {
@@ -390,6 +417,21 @@ public final class PrismSettings {
         // Force non anti-aliasing (not smooth) shape rendering
         forceNonAntialiasedShape = getBoolean(systemProperties, "prism.forceNonAntialiasedShape", false);
 
+        /*
+         * Tiled rendering for the SW pipeline: large shapes and fills are
+         * rasterized in horizontal tiles of swTileSize rows by swTileThreads
+         * threads, including the render thread. A thread count <= 1
+         * disables it; -Dprism.sw.threads=true uses one thread per CPU.
+         */
+        swTileThreads = getInt(systemProperties, "prism.sw.threads", 1,
+                Runtime.getRuntime().availableProcessors(), "Try -Dprism.sw.threads=<number>");
+        swTileSize = Math.max(16, getInt(systemProperties, "prism.sw.tileSize", 64,
+                "Try -Dprism.sw.tileSize=<number>"));
+
+        // Fill flat colors in the SW pipeline with the Java loops of
+        // JavaPiscesRenderer instead of the native ones
+        swJavaRenderer = getBoolean(systemProperties, "prism.sw.javaRenderer", false);
+
     }
 
     private static int parseInt(String s, int dflt, int trueDflt,
@@ -344,6 +344,23 @@ final class SWContext {
         this.shapeRenderer.renderShape(pr, shape, stroke, tr, clip, antialiasedShape);
     }
 
+    boolean supportsTiledRendering() {
+        return (shapeRenderer instanceof MarlinShapeRenderer)
+                || (shapeRenderer instanceof DMarlinShapeRenderer);
+    }
+
+    /*
+     * Returns a new renderer of the same kind as this context's, to be used
+     * by SWTileRenderer on another thread. The Marlin renderers get their
+     * renderer context per call, so they may be used concurrently.
+     */
+    ShapeRenderer createTileShapeRenderer() {
+        if (shapeRenderer instanceof MarlinShapeRenderer) {
+            return new MarlinShapeRenderer();
+        }
+        return new DMarlinShapeRenderer();
+    }
+
     private SWRTTexture initRBBuffer(int width, int height) {
         final SWRTTexture tex = (SWRTTexture)factory.createRTTexture(width, height, Texture.WrapMode.CLAMP_NOT_NEEDED);
         readBackBufferRef = new SoftReference<SWRTTexture>(tex);
@@ -72,10 +72,12 @@ final class SWGraphics implements ReadbackGraphics {
     private final SWContext context;
     private final SWRTTexture target;
     private final SWPaint swPaint;
+    private final SWTileRenderer tileRenderer;
 
     private final BaseTransform tx = new Affine2D();
 
     private CompositeMode compositeMode = CompositeMode.SRC_OVER;
+    private int compositeRule = RendererBase.COMPOSITE_SRC_OVER;
 
     private Rectangle clip;
     private final Rectangle finalClip = new Rectangle();
@@ -111,6 +113,7 @@ final class SWGraphics implements ReadbackGraphics {
         this.context = context;
         this.pr = pr;
         this.swPaint = new SWPaint(context, pr);
+        this.tileRenderer = target.getTileRenderer();
 
         this.setClipRect(null);
     }
@@ -337,6 +340,7 @@ final class SWGraphics implements ReadbackGraphics {
             default:
                 throw new InternalError("Unrecognized composite mode: "+mode);
         }
+        this.compositeRule = piscesComp;
         this.pr.setCompositeRule(piscesComp);
     }
 
@@ -448,9 +452,21 @@ final class SWGraphics implements ReadbackGraphics {
                             tex.hasAlpha());
                 }
             } else {
+                final int px = (int)(Math.min(p1.x, p2.x) * SWUtils.TO_PISCES);
+                final int py = (int)(Math.min(p1.y, p2.y) * SWUtils.TO_PISCES);
+                final int pw = (int)(Math.abs(p2.x - p1.x) * SWUtils.TO_PISCES);
+                final int ph = (int)(Math.abs(p2.y - p1.y) * SWUtils.TO_PISCES);
+                if (tileRenderer != null) {
+                    final Paint p = this.paint;
+                    final RectBounds nb = this.nodeBounds;
+                    if (tileRenderer.fillRect(sw -> sw.setPaintFromShape(p, tx, null, nb, x, y, width, height),
+                            compositeRule, swPaint.getCompositeAlpha(), px, py, pw, ph, finalClip))
+                    {
+                        return;
+                    }
+                }
                 swPaint.setPaintFromShape(this.paint, this.tx, null, this.nodeBounds, x, y, width, height);
-                this.pr.fillRect((int)(Math.min(p1.x, p2.x) * SWUtils.TO_PISCES), (int)(Math.min(p1.y, p2.y) * SWUtils.TO_PISCES),
-                        (int)(Math.abs(p2.x - p1.x) * SWUtils.TO_PISCES), (int)(Math.abs(p2.y - p1.y) * SWUtils.TO_PISCES));
+                this.pr.fillRect(px, py, pw, ph);
             }
         } else {
             this.fillRoundRect(x, y, width, height, 0, 0);
@@ -486,6 +502,15 @@ final class SWGraphics implements ReadbackGraphics {
             }
             return;
         }
+        if (tileRenderer != null && this.paint.getType() != Paint.Type.IMAGE_PATTERN) {
+            final Paint p = this.paint;
+            final RectBounds nb = this.nodeBounds;
+            if (tileRenderer.renderShape(sw -> sw.setPaintFromShape(p, tx, shape, nb, 0, 0, 0, 0),
+                    compositeRule, swPaint.getCompositeAlpha(), shape, st, tr, finalClip, isAntialiasedShape()))
+            {
+                return;
+            }
+        }
         swPaint.setPaintFromShape(this.paint, this.tx, shape, this.nodeBounds, 0,0,0,0);
         this.paintShapePaintAlreadySet(shape, st, tr);
     }
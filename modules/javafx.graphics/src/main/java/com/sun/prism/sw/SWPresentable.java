@@ -41,6 +41,7 @@ final class SWPresentable extends SWRTTexture implements Presentable {
     public SWPresentable(PresentableState pState, SWResourceFactory factory) {
         super(factory, pState.getRenderWidth(), pState.getRenderHeight());
         this.pState = pState;
+        setTileRenderer(SWTileRenderer.create(factory.getContext(), this));
     }
 
     @Override
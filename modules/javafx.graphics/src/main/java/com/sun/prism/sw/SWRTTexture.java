@@ -41,6 +41,7 @@ import java.nio.IntBuffer;
 class SWRTTexture extends SWArgbPreTexture implements RTTexture {
 
     private PiscesRenderer pr;
+    private SWTileRenderer tileRenderer;
     private JavaSurface surface;
     private final Rectangle dimensions = new Rectangle();
     private boolean isOpaque;
@@ -114,11 +115,28 @@ class SWRTTexture extends SWArgbPreTexture implements RTTexture {
 
     public Graphics createGraphics() {
         if (pr == null) {
-            pr = new PiscesRenderer(this.surface);
+            pr = SWUtils.createRenderer(this.surface);
         }
         return new SWGraphics(this, getResourceFactory().getContext(), pr);
     }
 
+    void setTileRenderer(SWTileRenderer tileRenderer) {
+        this.tileRenderer = tileRenderer;
+    }
+
+    SWTileRenderer getTileRenderer() {
+        return tileRenderer;
+    }
+
+    @Override
+    public void dispose() {
+        if (tileRenderer != null) {
+            tileRenderer.dispose();
+            tileRenderer = null;
+        }
+        super.dispose();
+    }
+
     public boolean isOpaque() {
         return isOpaque;
     }
@@ -120,8 +120,18 @@ final class SWResourceFactory
         return tex instanceof SWTexture;
     }
 
+    /*
+     * The painters and sub-scenes create the textures they paint the scene
+     * into with this method, while effects, caches and canvases use the
+     * one without msaa. Only the former are large and long-lived enough to
+     * be worth rendering in tiles.
+     */
     @Override public RTTexture createRTTexture(int width, int height, WrapMode wrapMode, boolean msaa) {
-        return createRTTexture(width, height, wrapMode);
+        final SWRTTexture tex = (SWRTTexture) createRTTexture(width, height, wrapMode);
+        if (tex != null) {
+            tex.setTileRenderer(SWTileRenderer.create(context, tex));
+        }
+        return tex;
     }
 
     @Override public RTTexture createRTTexture(int width, int height,
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.Shape;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.pisces.RendererBase;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.impl.PrismSettings;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Consumer;
+
+/*
+ * Rasterizes large shapes and fills into a render target in parallel.
+ * The target is split into horizontal tiles of PrismSettings.swTileSize
+ * rows, each with its own surface and PiscesRenderer over the pixels of
+ * the target, and each tile the operation touches is rasterized by one
+ * task with its clip limited to the tile. The render thread runs one of
+ * the tasks and waits for the others, so operations are still applied
+ * to the target in order.
+ *
+ * Tiles are created the first time an operation touches them and are
+ * released by dispose(). Only the textures a scene is painted into get a
+ * tile renderer, see SWResourceFactory.createRTTexture.
+ *
+ * Only the Marlin rasterizers can be used from several threads at once,
+ * and image patterns share a texture in the SWContext, so the callers
+ * render these on the render thread as before.
+ */
+final class SWTileRenderer {
+
+    static final boolean ENABLED = PrismSettings.swTileThreads > 1;
+
+    // Smaller operations are not worth handing to other threads
+    private static final int MIN_PIXELS = 64 * 1024;
+
+    private static ForkJoinPool sharedPool;
+
+    private static synchronized ForkJoinPool getPool() {
+        if (sharedPool == null) {
+            sharedPool = AccessController.doPrivileged((PrivilegedAction<ForkJoinPool>) () ->
+                    new ForkJoinPool(PrismSettings.swTileThreads - 1, p -> {
+                        final ForkJoinWorkerThread t =
+                                ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                        t.setName("Prism SW Tile Renderer " + t.getPoolIndex());
+                        t.setDaemon(true);
+                        return t;
+                    }, null, false));
+        }
+        return sharedPool;
+    }
+
+    /*
+     * Returns a tile renderer for the target, or null if tiled rendering
+     * is disabled, not supported by the rasterizer, or the target is too
+     * small to be split.
+     */
+    static SWTileRenderer create(SWContext context, SWRTTexture target) {
+        if (!ENABLED || !context.supportsTiledRendering()
+                || target.getPhysicalHeight() < 2 * PrismSettings.swTileSize) {
+            return null;
+        }
+        return new SWTileRenderer(context, target, PrismSettings.swTileSize, getPool());
+    }
+
+    private static final class Tile {
+        private final PiscesRenderer pr;
+        private final SWPaint swPaint;
+        private final SWContext.ShapeRenderer shapeRenderer;
+        private final Rectangle clip = new Rectangle();
+
+        Tile(SWContext context, JavaSurface surface) {
+            this.pr = SWUtils.createRenderer(surface);
+            this.swPaint = new SWPaint(context, pr);
+            this.shapeRenderer = context.createTileShapeRenderer();
+        }
+
+        void setup(int compositeRule, float compositeAlpha, Consumer<SWPaint> paintSetter) {
+            pr.setClip(clip.x, clip.y, clip.width, clip.height);
+            pr.setCompositeRule(compositeRule);
+            swPaint.setCompositeAlpha(compositeAlpha);
+            paintSetter.accept(swPaint);
+        }
+    }
+
+    private final SWContext context;
+    private final int[] data;
+    private final int width;
+    private final int height;
+    private final int tileSize;
+    private final ForkJoinPool pool;
+    private final Tile[] tiles;
+    private final ForkJoinTask<?>[] tasks;
+    private final Rectangle area = new Rectangle();
+    private final RectBounds shapeBounds = new RectBounds();
+    private final RectBounds bounds = new RectBounds();
+
+    SWTileRenderer(SWContext context, SWRTTexture target, int tileSize, ForkJoinPool pool) {
+        this.context = context;
+        this.data = target.getDataNoClone();
+        this.width = target.getPhysicalWidth();
+        this.height = target.getPhysicalHeight();
+        this.tileSize = tileSize;
+        this.pool = pool;
+        this.tiles = new Tile[(height + tileSize - 1) / tileSize];
+        this.tasks = new ForkJoinTask<?>[tiles.length];
+    }
+
+    private Tile getTile(int i) {
+        if (tiles[i] == null) {
+            // the native surface keeps the pixels it acquired, so the tiles
+            // must not share the target's surface
+            tiles[i] = new Tile(context, new JavaSurface(data, RendererBase.TYPE_INT_ARGB_PRE, width, height));
+        }
+        return tiles[i];
+    }
+
+    /*
+     * Drops the tiles, so that their renderers and surfaces can be freed
+     * along with the target.
+     */
+    void dispose() {
+        Arrays.fill(tiles, null);
+    }
+
+    /*
+     * Renders the shape as SWContext.renderShape would, if it covers enough
+     * of the clip. Returns false if the shape should be rendered directly.
+     */
+    boolean renderShape(Consumer<SWPaint> paintSetter, int compositeRule, float compositeAlpha,
+                        Shape shape, BasicStroke stroke, BaseTransform tr, Rectangle clip,
+                        boolean antialiasedShape)
+    {
+        shapeBounds.setBounds(shape.getBounds());
+        if (stroke != null) {
+            float pad = stroke.getLineWidth();
+            if (stroke.getLineJoin() == BasicStroke.JOIN_MITER) {
+                pad *= Math.max(1f, stroke.getMiterLimit());
+            }
+            shapeBounds.grow(pad, pad);
+        }
+        final BaseBounds deviceBounds = tr.transform(shapeBounds, bounds);
+        // allow for antialiasing and rounding
+        deviceBounds.intersectWith(clip.x - 1, clip.y - 1, 0,
+                clip.x + clip.width + 1, clip.y + clip.height + 1, 0);
+        area.setBounds(deviceBounds);
+        area.grow(1, 1);
+        area.intersectWith(clip);
+        if (!isWorthTiling(area)) {
+            return false;
+        }
+
+        if (stroke != null && stroke.getType() != BasicStroke.TYPE_CENTERED) {
+            // stroke once rather than in every tile
+            shape = stroke.createStrokedShape(shape);
+            stroke = null;
+        }
+        final Shape s = shape;
+        final BasicStroke st = stroke;
+        render(clip, paintSetter, compositeRule, compositeAlpha,
+                tile -> tile.shapeRenderer.renderShape(tile.pr, s, st, tr, tile.clip, antialiasedShape));
+        return true;
+    }
+
+    /*
+     * Fills the rectangle, in pisces coordinates, as PiscesRenderer.fillRect
+     * would, if it covers enough of the clip. Returns false if the rectangle
+     * should be filled directly.
+     */
+    boolean fillRect(Consumer<SWPaint> paintSetter, int compositeRule, float compositeAlpha,
+                     int x, int y, int w, int h, Rectangle clip)
+    {
+        final int minX = x >> 16;
+        final int minY = y >> 16;
+        area.setBounds(minX, minY, ((x + w + 0xffff) >> 16) - minX, ((y + h + 0xffff) >> 16) - minY);
+        area.intersectWith(clip);
+        if (!isWorthTiling(area)) {
+            return false;
+        }
+        render(clip, paintSetter, compositeRule, compositeAlpha,
+                tile -> tile.pr.fillRect(x, y, w, h));
+        return true;
+    }
+
+    private boolean isWorthTiling(Rectangle r) {
+        return !r.isEmpty()
+                && (long) r.width * r.height >= MIN_PIXELS
+                && (r.y + r.height - 1) / tileSize > r.y / tileSize;
+    }
+
+    private void render(Rectangle clip, Consumer<SWPaint> paintSetter,
+                        int compositeRule, float compositeAlpha, Consumer<Tile> op)
+    {
+        final int first = area.y / tileSize;
+        final int last = (area.y + area.height - 1) / tileSize;
+        for (int i = first; i <= last; i++) {
+            final Tile tile = getTile(i);
+            tile.clip.setBounds(0, i * tileSize, width, tileSize);
+            tile.clip.intersectWith(clip);
+        }
+
+        for (int i = first + 1; i <= last; i++) {
+            final Tile tile = tiles[i];
+            tasks[i] = pool.submit(() -> {
+                tile.setup(compositeRule, compositeAlpha, paintSetter);
+                op.accept(tile);
+            });
+        }
+        try {
+            final Tile tile = tiles[first];
+            tile.setup(compositeRule, compositeAlpha, paintSetter);
+            op.accept(tile);
+        } finally {
+            // wait for every tile, even if one failed, before the target
+            // is used again
+            RuntimeException failure = null;
+            for (int i = first + 1; i <= last; i++) {
+                try {
+                    tasks[i].join();
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                } finally {
+                    tasks[i] = null;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
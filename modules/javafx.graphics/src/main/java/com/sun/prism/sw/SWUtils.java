@@ -26,12 +26,22 @@
 package com.sun.prism.sw;
 
 import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.pisces.JavaPiscesRenderer;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
 import com.sun.pisces.Transform6;
+import com.sun.prism.impl.PrismSettings;
 
 final class SWUtils {
 
     static final int TO_PISCES = 65536;
 
+    static PiscesRenderer createRenderer(JavaSurface surface) {
+        return PrismSettings.swJavaRenderer
+                ? new JavaPiscesRenderer(surface)
+                : new PiscesRenderer(surface);
+    }
+
     static int fastFloor(final float f) {
         final int n = (int)f;
         return ((f < 0) && (f != n)) ? n-1 : n;
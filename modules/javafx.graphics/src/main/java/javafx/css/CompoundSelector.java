@@ -81,6 +81,14 @@ final public class CompoundSelector extends Selector {
     //     return relationships;
     // }
 
+    // descendantsOnly[n] is true if every relationship to the left of
+    // selectors[n] is DESCENDANT. When matching selectors[0..n-1] against
+    // the ancestors, the nearest ancestor that matches selectors[n-1] is then
+    // the only one worth trying: a farther ancestor has fewer ancestors of
+    // its own, so it cannot match the rest of the selector if the nearest
+    // one did not.
+    private final boolean[] descendantsOnly;
+
     /**
      * Creates a <code>CompoundSelector</code> from a list of selectors and a
      * list of <code>Combinator</code> relationships.  There must be exactly one
@@ -95,6 +103,13 @@ final public class CompoundSelector extends Selector {
             (relationships != null)
                 ? Collections.unmodifiableList(relationships)
                 : Collections.EMPTY_LIST;
+
+        final int nMax = this.selectors.size();
+        this.descendantsOnly = new boolean[nMax];
+        for (int n = 0; n < nMax; n++) {
+            descendantsOnly[n] = (n == 0)
+                    || (descendantsOnly[n-1] && this.relationships.get(n-1) == Combinator.DESCENDANT);
+        }
     }
 
     private CompoundSelector() {
@@ -190,8 +205,20 @@ final public class CompoundSelector extends Selector {
             return applies(parent, index - 1, triggerStates, ++depth);
         } else {
              Styleable parent = styleable.getStyleableParent();
+            final SimpleSelector ancestorSelector = selectors.get(index - 1);
+            final boolean nearestOnly = descendantsOnly[index - 1];
             while (parent != null) {
-                boolean answer = applies(parent, index - 1, triggerStates, ++depth);
+                ++depth;
+                if (nearestOnly) {
+                    // Skip ancestors that cannot match before recursing, then
+                    // stop at the first one that does (see descendantsOnly).
+                    if (ancestorSelector.applies(parent)) {
+                        return applies(parent, index - 1, triggerStates, depth);
+                    }
+                    parent = parent.getStyleableParent();
+                    continue;
+                }
+                boolean answer = applies(parent, index - 1, triggerStates, depth);
                 // If a call to stateMatches succeeded, then we know that
                 // all preceding selectors will have also matched.
                 if (answer) return true;
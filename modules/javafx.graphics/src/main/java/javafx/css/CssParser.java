@@ -3910,8 +3910,9 @@ final public class CssParser {
 
     }
 
-    // keep track of what is in process of being parsed to avoid import loops
-    private static Stack<String> imports;
+    // keep track of what is in process of being parsed to avoid import loops.
+    // Stylesheets may be parsed on several threads at once, so this is per thread.
+    private static final ThreadLocal<Stack<String>> imports = new ThreadLocal<>();
 
     private void parse(Stylesheet stylesheet, CssLexer lexer) {
 
@@ -3953,8 +3954,12 @@ final public class CssParser {
 
             } else if ("import".equals(keyword)) {
 
-                if (CssParser.imports == null) {
-                    CssParser.imports = new Stack<>();
+                stylesheet.setHasImports();
+
+                Stack<String> imports = CssParser.imports.get();
+                if (imports == null) {
+                    imports = new Stack<>();
+                    CssParser.imports.set(imports);
                 }
 
                 if (!imports.contains(sourceOfStylesheet)) {
@@ -3969,8 +3974,8 @@ final public class CssParser {
 
                     imports.pop();
 
-                    if (CssParser.imports.isEmpty()) {
-                        CssParser.imports = null;
+                    if (imports.isEmpty()) {
+                        CssParser.imports.remove();
                     }
 
                 } else {
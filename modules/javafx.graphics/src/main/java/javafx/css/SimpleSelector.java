@@ -39,6 +39,7 @@ import java.util.Set;
 
 import com.sun.javafx.css.PseudoClassState;
 import com.sun.javafx.css.StyleClassSet;
+import com.sun.javafx.scene.NodeHelper;
 
 import static javafx.geometry.NodeOrientation.INHERIT;
 import static javafx.geometry.NodeOrientation.LEFT_TO_RIGHT;
@@ -236,16 +237,11 @@ final public class SimpleSelector extends Selector {
 
         if (matchOnStyleClass) {
 
-            final StyleClassSet otherStyleClassSet = new StyleClassSet();
-            final List<String> styleClasses = styleable.getStyleClass();
-            for(int n=0, nMax = styleClasses.size(); n<nMax; n++) {
-
-                final String styleClassName = styleClasses.get(n);
-                if (styleClassName == null || styleClassName.isEmpty()) continue;
-
-                final StyleClass styleClass = StyleClassSet.getStyleClass(styleClassName);
-                otherStyleClassSet.add(styleClass);
-            }
+            // A Node keeps its style classes as a StyleClassSet, so there is
+            // no need to look up every style class again for each selector.
+            final StyleClassSet otherStyleClassSet = (styleable instanceof Node)
+                    ? NodeHelper.getStyleClassSet((Node)styleable)
+                    : new StyleClassSet(styleable.getStyleClass());
 
             boolean styleClassMatch = matchStyleClasses(otherStyleClassSet);
             if (!styleClassMatch) return false;
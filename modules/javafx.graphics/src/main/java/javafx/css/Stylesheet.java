@@ -32,6 +32,7 @@ import javafx.collections.ObservableList;
 
 import com.sun.javafx.collections.TrackableObservableList;
 import com.sun.javafx.css.FontFaceImpl;
+import com.sun.javafx.css.StylesheetHelper;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
@@ -41,6 +42,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
@@ -65,6 +67,25 @@ public class Stylesheet {
      */
     final static int BINARY_CSS_VERSION = 6;
 
+    static {
+        StylesheetHelper.setStylesheetAccessor(new StylesheetHelper.StylesheetAccessor() {
+            @Override
+            public Stylesheet loadBinary(DataInputStream is, String url) throws IOException {
+                return Stylesheet.loadBinary(is, url);
+            }
+
+            @Override
+            public void saveBinary(Stylesheet stylesheet, OutputStream os) throws IOException {
+                stylesheet.saveBinary(os);
+            }
+
+            @Override
+            public boolean hasImports(Stylesheet stylesheet) {
+                return stylesheet.hasImports;
+            }
+        });
+    }
+
     private final String url;
     /** The URL from which the stylesheet was loaded.
      * @return The URL from which the stylesheet was loaded, or null if
@@ -252,43 +273,52 @@ public class Stylesheet {
         try (DataInputStream dataInputStream =
                      new DataInputStream(new BufferedInputStream(url.openStream(), 40 * 1024))) {
 
-            // read file version
-            final int bssVersion = dataInputStream.readShort();
-            if (bssVersion > Stylesheet.BINARY_CSS_VERSION) {
-                throw new IOException(url.toString() + " wrong binary CSS version: "
-                        + bssVersion + ". Expected version less than or equal to" +
-                        Stylesheet.BINARY_CSS_VERSION);
-            }
-            // read strings
-            final String[] strings = StringStore.readBinary(dataInputStream);
-            // read binary data
-            stylesheet = new Stylesheet(url.toExternalForm());
+            stylesheet = loadBinary(dataInputStream, url.toExternalForm());
+
+        } catch (FileNotFoundException fnfe) {
+            // This comes from url.openStream() and is expected.
+            // It just means that the .bss file doesn't exist.
+        }
+
+        // return stylesheet
+        return stylesheet;
+    }
 
-            try {
+    // Read a binary stylesheet whose rules resolve relative urls against the given url.
+    // The stream must support mark and reset.
+    static Stylesheet loadBinary(DataInputStream dataInputStream, String url) throws IOException {
 
-                dataInputStream.mark(Integer.MAX_VALUE);
-                stylesheet.readBinary(bssVersion, dataInputStream, strings);
+        // read file version
+        final int bssVersion = dataInputStream.readShort();
+        if (bssVersion > Stylesheet.BINARY_CSS_VERSION) {
+            throw new IOException(url + " wrong binary CSS version: "
+                    + bssVersion + ". Expected version less than or equal to" +
+                    Stylesheet.BINARY_CSS_VERSION);
+        }
+        // read strings
+        final String[] strings = StringStore.readBinary(dataInputStream);
+        // read binary data
+        Stylesheet stylesheet = new Stylesheet(url);
 
-            } catch (Exception e) {
+        try {
 
-                stylesheet = new Stylesheet(url.toExternalForm());
+            dataInputStream.mark(Integer.MAX_VALUE);
+            stylesheet.readBinary(bssVersion, dataInputStream, strings);
 
-                dataInputStream.reset();
+        } catch (Exception e) {
 
-                if (bssVersion == 2) {
-                    // RT-31022
-                    stylesheet.readBinary(3, dataInputStream, strings);
-                } else {
-                    stylesheet.readBinary(Stylesheet.BINARY_CSS_VERSION, dataInputStream, strings);
-                }
-            }
+            stylesheet = new Stylesheet(url);
 
-        } catch (FileNotFoundException fnfe) {
-            // This comes from url.openStream() and is expected.
-            // It just means that the .bss file doesn't exist.
+            dataInputStream.reset();
+
+            if (bssVersion == 2) {
+                // RT-31022
+                stylesheet.readBinary(3, dataInputStream, strings);
+            } else {
+                stylesheet.readBinary(Stylesheet.BINARY_CSS_VERSION, dataInputStream, strings);
+            }
         }
 
-        // return stylesheet
         return stylesheet;
     }
 
@@ -321,16 +351,23 @@ public class Stylesheet {
         URI sourceURI = source.toURI();
         Stylesheet stylesheet = new CssParser().parse(sourceURI.toURL());
 
+        try (FileOutputStream fos = new FileOutputStream(destination)) {
+            stylesheet.saveBinary(fos);
+        }
+    }
+
+    // Write this stylesheet in binary format, as read by loadBinary
+    final void saveBinary(OutputStream out) throws IOException {
+
         // first write all the css binary data into the buffer and collect strings on way
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         DataOutputStream dos = new DataOutputStream(baos);
         StringStore stringStore = new StringStore();
-        stylesheet.writeBinary(dos, stringStore);
+        writeBinary(dos, stringStore);
         dos.flush();
         dos.close();
 
-        FileOutputStream fos = new FileOutputStream(destination);
-        DataOutputStream os = new DataOutputStream(fos);
+        DataOutputStream os = new DataOutputStream(out);
 
         // write file version
         os.writeShort(BINARY_CSS_VERSION);
@@ -341,9 +378,13 @@ public class Stylesheet {
         // write binary css
         os.write(baos.toByteArray());
         os.flush();
-        os.close();
     }
 
+    // true if the css for this stylesheet has an @import. The binary form
+    // of such a stylesheet includes the imported rules.
+    private boolean hasImports = false;
+    final void setHasImports() { hasImports = true; }
+
     // Add the rules from the other stylesheet to this one
     void importStylesheet(Stylesheet importedStylesheet) {
         if (importedStylesheet == null) return;
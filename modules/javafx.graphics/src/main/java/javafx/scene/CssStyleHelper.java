@@ -56,8 +56,10 @@ import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontWeight;
 
 import com.sun.javafx.css.CalculatedValue;
+import com.sun.javafx.css.CalculatedValuePool;
 import com.sun.javafx.css.ParsedValueImpl;
 import com.sun.javafx.css.PseudoClassState;
+import com.sun.javafx.css.CssProfiler;
 import com.sun.javafx.css.StyleCache;
 import com.sun.javafx.css.StyleCacheEntry;
 import com.sun.javafx.css.StyleManager;
@@ -670,6 +672,7 @@ final class CssStyleHelper {
 
         // if the cacheEntry already exists, take the fastpath
         final boolean fastpath = cacheEntry != null;
+        if (CssProfiler.enabled) CssProfiler.getInstance().styleCacheLookup(fastpath);
 
         if (cacheEntry == null) {
             cacheEntry = new StyleCacheEntry();
@@ -1010,7 +1013,7 @@ final class CssStyleHelper {
                 try {
                     final StyleConverter keyType = cssMetaData.getConverter();
                     Object ret = keyType.convert(subs);
-                    return new CalculatedValue(ret, origin, isRelative);
+                    return CalculatedValuePool.get(ret, origin, isRelative);
                 } catch (ClassCastException cce) {
                     final String msg = formatExceptionMessage(styleable, cssMetaData, null, cce);
                     List<CssParser.ParseError> errors = null;
@@ -1496,7 +1499,7 @@ final class CssStyleHelper {
                     val = cssMetaData.getConverter().convert(resolved, fontForFontRelativeSizes);
 
                 final StyleOrigin origin = whence.get();
-                return new CalculatedValue(val, origin, isRelative);
+                return CalculatedValuePool.get(val, origin, isRelative);
 
             } catch (ClassCastException cce) {
                 final String msg = formatUnresolvedLookupMessage(styleable, cssMetaData, style.getStyle(),resolved, cce);
@@ -1976,7 +1979,7 @@ final class CssStyleHelper {
 
             Font font = cvFont != null ? (Font)cvFont.getValue() : Font.getDefault();
             Font derivedFont = deriveFont(font, family, weight, posture, size);
-            return new CalculatedValue(derivedFont,origin,false);
+            return CalculatedValuePool.get(derivedFont,origin,false);
 
         }
 
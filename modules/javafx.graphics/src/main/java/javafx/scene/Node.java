@@ -120,7 +120,9 @@ import com.sun.javafx.beans.event.AbstractNotifyListener;
 import com.sun.javafx.binding.ExpressionHelper;
 import com.sun.javafx.collections.TrackableObservableList;
 import com.sun.javafx.collections.UnmodifiableListSet;
+import com.sun.javafx.css.CssProfiler;
 import com.sun.javafx.css.PseudoClassState;
+import com.sun.javafx.css.StyleClassSet;
 import javafx.css.Selector;
 import javafx.css.Style;
 import javafx.css.converter.BooleanConverter;
@@ -609,6 +611,11 @@ public abstract class Node implements EventTarget, Styleable {
                     Map<StyleableProperty<?>, List<Style>> styleMap) {
                 return node.findStyles(styleMap);
             }
+
+            @Override
+            public StyleClassSet getStyleClassSet(Node node) {
+                return node.getStyleClassSet();
+            }
         });
     }
 
@@ -1255,6 +1262,7 @@ public abstract class Node implements EventTarget, Styleable {
     private ObservableList<String> styleClass = new TrackableObservableList<String>() {
         @Override
         protected void onChanged(Change<String> c) {
+            styleClassSet = null;
             reapplyCSS();
         }
 
@@ -1282,6 +1290,18 @@ public abstract class Node implements EventTarget, Styleable {
         return styleClass;
     }
 
+    // The styleClass list as a StyleClassSet, which is what selectors match
+    // against. Created when first needed and discarded when styleClass changes,
+    // so that matching does not intern the style classes for every selector.
+    private StyleClassSet styleClassSet;
+
+    StyleClassSet getStyleClassSet() {
+        if (styleClassSet == null) {
+            styleClassSet = new StyleClassSet(styleClass);
+        }
+        return styleClassSet;
+    }
+
     /**
      * A string representation of the CSS style associated with this
      * specific {@code Node}. This is analogous to the "style" attribute of an
@@ -8375,8 +8395,16 @@ public abstract class Node implements EventTarget, Styleable {
     }
 
     void markDirtyLayoutBranch() {
+        Node child = this;
         Parent p = getParent();
-        while (p != null && p.layoutFlag == LayoutFlags.CLEAN) {
+        // A parent that needs layout lays out all of its children. A parent
+        // that is a dirty branch lays out only the children through which
+        // it was marked, so this branch needs to be added to it.
+        while (p != null && p.layoutFlag != LayoutFlags.NEEDS_LAYOUT) {
+            p.addDirtyLayoutBranch(child);
+            if (p.layoutFlag == LayoutFlags.DIRTY_BRANCH) {
+                break;
+            }
             p.setLayoutFlag(LayoutFlags.DIRTY_BRANCH);
             if (p.isSceneRoot()) {
                 Toolkit.getToolkit().requestNextPulse();
@@ -8384,6 +8412,7 @@ public abstract class Node implements EventTarget, Styleable {
                     getSubScene().setDirtyLayout(p);
                 }
             }
+            child = p;
             p = p.getParent();
         }
 
@@ -9627,7 +9656,9 @@ public abstract class Node implements EventTarget, Styleable {
 
         // Transition to the new state and apply styles
         if (styleHelper != null && getScene() != null) {
+            final long start = CssProfiler.start();
             styleHelper.transitionToState(this);
+            if (CssProfiler.enabled) CssProfiler.getInstance().nodeStyled(this, start);
         }
     }
 
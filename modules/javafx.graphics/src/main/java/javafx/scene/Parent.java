@@ -48,6 +48,7 @@ import com.sun.javafx.geom.Point2D;
 import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.NoninvertibleTransformException;
+import com.sun.javafx.geom.Vec3d;
 import com.sun.javafx.jmx.MXNodeAlgorithm;
 import com.sun.javafx.jmx.MXNodeAlgorithmContext;
 import com.sun.javafx.scene.CssFlags;
@@ -56,6 +57,7 @@ import com.sun.javafx.scene.input.PickResultChooser;
 import com.sun.javafx.sg.prism.NGGroup;
 import com.sun.javafx.sg.prism.NGNode;
 import com.sun.javafx.tk.Toolkit;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.javafx.scene.LayoutFlags;
 import com.sun.javafx.scene.NodeHelper;
 import com.sun.javafx.scene.ParentHelper;
@@ -63,6 +65,8 @@ import com.sun.javafx.stage.WindowHelper;
 import java.util.Collections;
 import javafx.stage.Window;
 
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+
 /**
  * The base class for all nodes that have children in the scene graph.
  * <p>
@@ -283,6 +287,7 @@ public abstract class Parent extends Node {
         }
 
         viewOrderChildren.clear();
+        pickIndex = null;
         if (viewOrderSet) {
             viewOrderChildren.addAll(children);
 
@@ -325,6 +330,7 @@ public abstract class Parent extends Node {
         protected void onChanged(Change<Node> c) {
             // proceed with updating the scene graph
             unmodifiableManagedChildren = null;
+            pickIndex = null;
             boolean relayout = false;
             boolean viewOrderChildrenDirty = false;
 
@@ -806,6 +812,11 @@ public abstract class Parent extends Node {
 
     boolean pickChildrenNode(PickRay pickRay, PickResultChooser result) {
         List<Node> orderedChildren = getOrderedChildren();
+        final Vec3d dir = pickRay.getDirectionNoClone();
+        if (PickIndex.ENABLED && orderedChildren.size() >= PickIndex.THRESHOLD
+                && dir.x == 0.0 && dir.y == 0.0) {
+            return pickIndexedChildrenNode(orderedChildren, pickRay, result);
+        }
         for (int i = orderedChildren.size() - 1; i >= 0; i--) {
             orderedChildren.get(i).pickNode(pickRay, result);
             if (result.isClosed()) {
@@ -815,6 +826,26 @@ public abstract class Parent extends Node {
         return true;
     }
 
+    // Built on demand for Parents with many children, see PickIndex
+    private PickIndex pickIndex;
+
+    private boolean pickIndexedChildrenNode(List<Node> orderedChildren, PickRay pickRay, PickResultChooser result) {
+        if (pickIndex == null || !pickIndex.isFor(orderedChildren)) {
+            pickIndex = PickIndex.build(orderedChildren);
+        }
+        // picking a child may validate its bounds, which can discard pickIndex
+        final PickIndex index = pickIndex;
+        final Vec3d origin = pickRay.getOriginNoClone();
+        final int count = index.findCandidates(origin.x, origin.y);
+        for (int i = 0; i < count; i++) {
+            index.getCandidate(i).pickNode(pickRay, result);
+            if (result.isClosed()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /*
      * Note: This method MUST only be called via its accessor method.
      */
@@ -896,6 +927,10 @@ public abstract class Parent extends Node {
 
                 }
             }
+            // The dirty children were found by looking at all of them, so
+            // all of them are looked at again when this branch is laid out.
+            dirtyLayoutBranches = null;
+            dirtyLayoutBranchesOverflow = true;
             setLayoutFlag(hasBranch ? LayoutFlags.DIRTY_BRANCH : LayoutFlags.CLEAN);
         }
     }
@@ -929,6 +964,51 @@ public abstract class Parent extends Node {
     private double minWidthCache = -1;
     private double minHeightCache = -1;
 
+    // Sizes computed for constraints other than -1. These are allocated on
+    // first use since most Parents are only ever measured without constraint.
+    private SizeCache prefWidthSizeCache;
+    private SizeCache prefHeightSizeCache;
+    private SizeCache minWidthSizeCache;
+    private SizeCache minHeightSizeCache;
+
+    /*
+     * A small cache of sizes keyed by the constraint they were computed for.
+     * Content-biased layouts, such as a VBox of wrapped Labels or a FlowPane,
+     * measure the same children for a handful of different widths or heights
+     * during a single layout pass. When full, the oldest entry is replaced.
+     */
+    private static final class SizeCache {
+        private static final int SIZE = 4;
+        private final double[] constraints = new double[SIZE];
+        private final double[] sizes = new double[SIZE];
+        private int count = 0;
+        private int next = 0;
+
+        // Returns NaN if there is no size for the constraint
+        double get(double constraint) {
+            for (int i = 0; i < count; i++) {
+                if (constraints[i] == constraint) {
+                    if (PULSE_LOGGING_ENABLED) PulseLogger.incrementCounter("Parent size cache hit");
+                    return sizes[i];
+                }
+            }
+            if (PULSE_LOGGING_ENABLED) PulseLogger.incrementCounter("Parent size cache miss");
+            return Double.NaN;
+        }
+
+        void put(double constraint, double size) {
+            constraints[next] = constraint;
+            sizes[next] = size;
+            next = (next + 1) % SIZE;
+            if (count < SIZE) count++;
+        }
+
+        void clear() {
+            count = 0;
+            next = 0;
+        }
+    }
+
     void setLayoutFlag(LayoutFlags flag) {
         if (needsLayout != null) {
             needsLayout.set(flag == LayoutFlags.NEEDS_LAYOUT);
@@ -936,6 +1016,38 @@ public abstract class Parent extends Node {
         layoutFlag = flag;
     }
 
+    /*
+     * When this Parent is a DIRTY_BRANCH, the children through which it was
+     * marked dirty. Laying out a dirty branch visits only these children
+     * rather than every child, so that a layout request deep in a large scene
+     * does not make the layout pass walk all the clean siblings along the way.
+     * If there are more than MAX_DIRTY_LAYOUT_BRANCHES of them, or if they are
+     * not known, dirtyLayoutBranchesOverflow is set and all children are visited.
+     */
+    private static final int MAX_DIRTY_LAYOUT_BRANCHES = 16;
+    private List<Node> dirtyLayoutBranches;
+    private boolean dirtyLayoutBranchesOverflow;
+
+    // Called from Node#markDirtyLayoutBranch when child is, or contains, a
+    // layout root that needs layout.
+    void addDirtyLayoutBranch(Node child) {
+        if (dirtyLayoutBranchesOverflow) return;
+        if (dirtyLayoutBranches == null) {
+            dirtyLayoutBranches = new ArrayList<>(2);
+        } else if (dirtyLayoutBranches.size() == MAX_DIRTY_LAYOUT_BRANCHES) {
+            dirtyLayoutBranches = null;
+            dirtyLayoutBranchesOverflow = true;
+            return;
+        }
+        dirtyLayoutBranches.add(child);
+    }
+
+    /*
+     * The number of Parents visited by layout() since the counter was last
+     * reset. Scene resets and reads this for each layout pass.
+     */
+    static int layoutVisitCount = 0;
+
     private void markDirtyLayout(boolean local, boolean forceParentLayout) {
         setLayoutFlag(LayoutFlags.NEEDS_LAYOUT);
         if (local || layoutRoot) {
@@ -1016,6 +1128,10 @@ public abstract class Parent extends Node {
         prefHeightCache = -1;
         minWidthCache = -1;
         minHeightCache = -1;
+        if (prefWidthSizeCache != null) prefWidthSizeCache.clear();
+        if (prefHeightSizeCache != null) prefHeightSizeCache.clear();
+        if (minWidthSizeCache != null) minWidthSizeCache.clear();
+        if (minHeightSizeCache != null) minHeightSizeCache.clear();
     }
 
     @Override public double prefWidth(double height) {
@@ -1026,9 +1142,21 @@ public abstract class Parent extends Node {
                 sizeCacheClear = false;
             }
             return prefWidthCache;
-        } else {
+        } else if (Double.isNaN(height)) {
             double result = computePrefWidth(height);
             return Double.isNaN(result) || result < 0 ? 0 : result;
+        } else {
+            if (prefWidthSizeCache != null) {
+                final double cached = prefWidthSizeCache.get(height);
+                if (!Double.isNaN(cached)) return cached;
+            } else {
+                prefWidthSizeCache = new SizeCache();
+            }
+            double result = computePrefWidth(height);
+            result = Double.isNaN(result) || result < 0 ? 0 : result;
+            prefWidthSizeCache.put(height, result);
+            sizeCacheClear = false;
+            return result;
         }
     }
 
@@ -1040,9 +1168,21 @@ public abstract class Parent extends Node {
                 sizeCacheClear = false;
             }
             return prefHeightCache;
-        } else {
+        } else if (Double.isNaN(width)) {
             double result = computePrefHeight(width);
             return Double.isNaN(result) || result < 0 ? 0 : result;
+        } else {
+            if (prefHeightSizeCache != null) {
+                final double cached = prefHeightSizeCache.get(width);
+                if (!Double.isNaN(cached)) return cached;
+            } else {
+                prefHeightSizeCache = new SizeCache();
+            }
+            double result = computePrefHeight(width);
+            result = Double.isNaN(result) || result < 0 ? 0 : result;
+            prefHeightSizeCache.put(width, result);
+            sizeCacheClear = false;
+            return result;
         }
     }
 
@@ -1054,9 +1194,21 @@ public abstract class Parent extends Node {
                 sizeCacheClear = false;
             }
             return minWidthCache;
-        } else {
+        } else if (Double.isNaN(height)) {
             double result = computeMinWidth(height);
             return Double.isNaN(result) || result < 0 ? 0 : result;
+        } else {
+            if (minWidthSizeCache != null) {
+                final double cached = minWidthSizeCache.get(height);
+                if (!Double.isNaN(cached)) return cached;
+            } else {
+                minWidthSizeCache = new SizeCache();
+            }
+            double result = computeMinWidth(height);
+            result = Double.isNaN(result) || result < 0 ? 0 : result;
+            minWidthSizeCache.put(height, result);
+            sizeCacheClear = false;
+            return result;
         }
     }
 
@@ -1068,9 +1220,21 @@ public abstract class Parent extends Node {
                 sizeCacheClear = false;
             }
             return minHeightCache;
-        } else {
+        } else if (Double.isNaN(width)) {
             double result = computeMinHeight(width);
             return Double.isNaN(result) || result < 0 ? 0 : result;
+        } else {
+            if (minHeightSizeCache != null) {
+                final double cached = minHeightSizeCache.get(width);
+                if (!Double.isNaN(cached)) return cached;
+            } else {
+                minHeightSizeCache = new SizeCache();
+            }
+            double result = computeMinHeight(width);
+            result = Double.isNaN(result) || result < 0 ? 0 : result;
+            minHeightSizeCache.put(width, result);
+            sizeCacheClear = false;
+            return result;
         }
     }
 
@@ -1192,6 +1356,11 @@ public abstract class Parent extends Node {
         // Hence we need to cache and reset it before performing layout.
         LayoutFlags flag = layoutFlag;
         setLayoutFlag(LayoutFlags.CLEAN);
+        // Likewise, children can be marked dirty again while they are laid out.
+        final List<Node> branches = dirtyLayoutBranchesOverflow ? null : dirtyLayoutBranches;
+        dirtyLayoutBranches = null;
+        dirtyLayoutBranchesOverflow = false;
+        layoutVisitCount += 1;
         switch(flag) {
             case CLEAN:
                 break;
@@ -1209,21 +1378,34 @@ public abstract class Parent extends Node {
                 }
                 performingLayout = true;
                 layoutChildren();
-                // Intended fall-through
-            case DIRTY_BRANCH:
-                for (int i = 0, max = children.size(); i < max; i++) {
-                    final Node child = children.get(i);
-                    currentLayoutChild = child;
-                    if (child instanceof Parent) {
-                        ((Parent)child).layout();
-                    } else if (child instanceof SubScene) {
-                        ((SubScene)child).layoutPass();
-                    }
-                }
-                currentLayoutChild = null;
+                // layoutChildren may have changed the size of any child,
+                // so all of the children are laid out.
+                layoutChildBranches(null);
                 performingLayout = false;
                 break;
+            case DIRTY_BRANCH:
+                layoutChildBranches(branches);
+                break;
+        }
+    }
+
+    /*
+     * Lay out the children in the given list, or all children if the list is null.
+     */
+    private void layoutChildBranches(List<Node> branches) {
+        final int max = branches != null ? branches.size() : children.size();
+        for (int i = 0; i < max; i++) {
+            final Node child = branches != null ? branches.get(i) : children.get(i);
+            // a recorded branch may have been removed since it was recorded
+            if (branches != null && child.getParent() != this) continue;
+            currentLayoutChild = child;
+            if (child instanceof Parent) {
+                ((Parent)child).layout();
+            } else if (child instanceof SubScene) {
+                ((SubScene)child).layoutPass();
+            }
         }
+        currentLayoutChild = null;
     }
 
     /**
@@ -1855,6 +2037,10 @@ public abstract class Parent extends Node {
      * Called by Node whenever its bounds have changed.
      */
     void childBoundsChanged(Node node) {
+        if (pickIndex != null && !pickIndex.childBoundsChanged(node)) {
+            pickIndex = null;
+        }
+
         // See comment above at "currentlyProcessedChild" field
         if (node == currentlyProcessedChild) {
             return;
@@ -1878,6 +2064,11 @@ public abstract class Parent extends Node {
      * Called by node whenever the visibility of the node changes.
      */
     void childVisibilityChanged(Node node) {
+        // the bounds of an invisible child may have changed without notice
+        if (pickIndex != null && !pickIndex.childBoundsChanged(node)) {
+            pickIndex = null;
+        }
+
         if (node.isVisible()) {
             childIncluded(node);
         } else {
@@ -1946,4 +2137,11 @@ public abstract class Parent extends Node {
     List<Node> test_getViewOrderChildren() {
         return viewOrderChildren;
     }
+
+    /**
+     * Note: The only user of this method is in unit test: PickIndexTest.
+     */
+    Object test_getPickIndex() {
+        return pickIndex;
+    }
 }
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene;
+
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.transform.BaseTransform;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * A uniform grid over the bounds of the children of a Parent, used to find
+ * the children that may be hit by a pick ray parallel to the z axis without
+ * testing every child. The x and y of such a ray are the same all along it.
+ * Pick rays from a ParallelCamera are parallel to the z axis unless the
+ * parent has 3D transforms, while pick rays from a PerspectiveCamera
+ * generally are not, so the index is only used for the former.
+ *
+ * A child is put in each cell its bounds in parent overlap, or in a list of
+ * large children that are always tested if it overlaps too many cells.
+ * The candidates are returned in the reverse order of the children the
+ * index was built from, which is the order in which they are picked.
+ *
+ * When the bounds of a child change, the child is tested along with the
+ * candidates from the grid until there are enough distinct stale children
+ * that it is better to rebuild the index. A child whose bounds keep changing,
+ * such as an animated one, counts once. Any other change to the children
+ * discards the index.
+ */
+final class PickIndex {
+
+    /*
+     * The number of children a Parent must have before an index is built.
+     * Setting javafx.pick.index=false disables the index.
+     */
+    static final int THRESHOLD = 256;
+    static final boolean ENABLED = AccessController.doPrivileged(
+            (PrivilegedAction<Boolean>) () -> !"false".equalsIgnoreCase(System.getProperty("javafx.pick.index")));
+
+    // A child that overlaps more cells than this is tested for every pick
+    private static final int MAX_CELLS_PER_CHILD = 16;
+    private static final int MAX_CELLS_PER_SIDE = 1024;
+
+    // Bounds in parent are single precision, while the pick test is not
+    private static final float EPSILON = 1f;
+
+    private final List<Node> source;
+    private final Node[] nodes;
+
+    private final float minX, minY;
+    private final float cellWidth, cellHeight;
+    private final int cols, rows;
+    private final int[][] cells;
+    private final int[] cellSizes;
+    private int[] large = new int[8];
+    private int largeCount;
+
+    private final Set<Node> stale = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Map<Node, Integer> positions;
+
+    private int[] candidates = new int[16];
+    private int candidateCount;
+
+    private PickIndex(List<Node> source, Node[] nodes, RectBounds extent, int cols, int rows) {
+        this.source = source;
+        this.nodes = nodes;
+        this.minX = extent.getMinX();
+        this.minY = extent.getMinY();
+        this.cols = cols;
+        this.rows = rows;
+        this.cellWidth = Math.max(extent.getWidth() / cols, Float.MIN_NORMAL);
+        this.cellHeight = Math.max(extent.getHeight() / rows, Float.MIN_NORMAL);
+        this.cells = new int[cols * rows][];
+        this.cellSizes = new int[cols * rows];
+    }
+
+    /*
+     * Build an index over the given children of parent. The children must be
+     * the list that is picked, in the order they are picked.
+     */
+    static PickIndex build(List<Node> children) {
+        final int n = children.size();
+        final Node[] nodes = children.toArray(new Node[n]);
+        final float[] bounds = new float[4 * n];
+
+        final RectBounds extent = new RectBounds();
+        BaseBounds tmp = new RectBounds();
+        for (int i = 0; i < n; i++) {
+            tmp = nodes[i].getTransformedBounds(tmp, BaseTransform.IDENTITY_TRANSFORM);
+            final int b = 4 * i;
+            if (tmp.isEmpty()) {
+                bounds[b] = Float.NaN;
+                continue;
+            }
+            bounds[b] = tmp.getMinX() - EPSILON;
+            bounds[b + 1] = tmp.getMinY() - EPSILON;
+            bounds[b + 2] = tmp.getMaxX() + EPSILON;
+            bounds[b + 3] = tmp.getMaxY() + EPSILON;
+            if (isFinite(bounds, b)) {
+                extent.add(bounds[b], bounds[b + 1]);
+                extent.add(bounds[b + 2], bounds[b + 3]);
+            }
+        }
+
+        // Aim for a couple of children per cell, with cells about as square
+        // as the extent of the children allows.
+        final double width = Math.max(extent.getWidth(), 1);
+        final double height = Math.max(extent.getHeight(), 1);
+        final double targetCells = Math.max(1, n / 2);
+        final int cols = clamp((int) Math.round(Math.sqrt(targetCells * width / height)));
+        final int rows = clamp((int) Math.round(targetCells / cols));
+
+        final PickIndex index = new PickIndex(children, nodes, extent, cols, rows);
+        for (int i = 0; i < n; i++) {
+            index.insert(i, bounds, 4 * i);
+        }
+        return index;
+    }
+
+    private static int clamp(int cells) {
+        return Math.max(1, Math.min(cells, MAX_CELLS_PER_SIDE));
+    }
+
+    private static boolean isFinite(float[] bounds, int b) {
+        for (int i = b; i < b + 4; i++) {
+            if (Float.isNaN(bounds[i]) || Float.isInfinite(bounds[i])) return false;
+        }
+        return true;
+    }
+
+    private void insert(int position, float[] bounds, int b) {
+        // children with empty bounds cannot be picked
+        if (Float.isNaN(bounds[b])) return;
+
+        if (!isFinite(bounds, b)) {
+            addLarge(position);
+            return;
+        }
+
+        final int col0 = col(bounds[b]);
+        final int row0 = row(bounds[b + 1]);
+        final int col1 = col(bounds[b + 2]);
+        final int row1 = row(bounds[b + 3]);
+        if ((col1 - col0 + 1) * (row1 - row0 + 1) > MAX_CELLS_PER_CHILD) {
+            addLarge(position);
+            return;
+        }
+
+        for (int r = row0; r <= row1; r++) {
+            for (int c = col0; c <= col1; c++) {
+                final int cell = r * cols + c;
+                int[] entries = cells[cell];
+                if (entries == null) {
+                    entries = cells[cell] = new int[4];
+                } else if (cellSizes[cell] == entries.length) {
+                    entries = cells[cell] = Arrays.copyOf(entries, 2 * entries.length);
+                }
+                entries[cellSizes[cell]++] = position;
+            }
+        }
+    }
+
+    private void addLarge(int position) {
+        if (largeCount == large.length) {
+            large = Arrays.copyOf(large, 2 * large.length);
+        }
+        large[largeCount++] = position;
+    }
+
+    private int col(double x) {
+        return Math.max(0, Math.min(cols - 1, (int) Math.floor((x - minX) / cellWidth)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((y - minY) / cellHeight)));
+    }
+
+    /*
+     * Whether this index was built from the given list of children.
+     */
+    boolean isFor(List<Node> children) {
+        return source == children && nodes.length == children.size();
+    }
+
+    /*
+     * Called when the bounds of a child have changed. Returns false if the
+     * index should be discarded and rebuilt.
+     */
+    boolean childBoundsChanged(Node child) {
+        if (stale.contains(child)) {
+            return true;
+        }
+        if (stale.size() >= Math.max(32, nodes.length / 32)) {
+            return false;
+        }
+        stale.add(child);
+        return true;
+    }
+
+    /*
+     * Find the children that may contain the point (x, y) in the coordinates
+     * of the parent. The candidates are then available, in the order in which
+     * they should be picked, from getCandidate.
+     */
+    int findCandidates(double x, double y) {
+        candidateCount = 0;
+
+        if (x >= minX && y >= minY
+                && x <= minX + cols * cellWidth && y <= minY + rows * cellHeight) {
+            final int cell = row(y) * cols + col(x);
+            final int[] entries = cells[cell];
+            for (int i = 0, max = cellSizes[cell]; i < max; i++) {
+                addCandidate(entries[i]);
+            }
+        }
+        for (int i = 0; i < largeCount; i++) {
+            addCandidate(large[i]);
+        }
+        if (!stale.isEmpty()) {
+            if (positions == null) {
+                positions = new IdentityHashMap<>(2 * nodes.length);
+                for (int i = 0; i < nodes.length; i++) {
+                    positions.put(nodes[i], i);
+                }
+            }
+            for (Node child : stale) {
+                final Integer position = positions.get(child);
+                if (position != null) addCandidate(position);
+            }
+        }
+
+        // sort and drop duplicates; getCandidate returns them in reverse
+        Arrays.sort(candidates, 0, candidateCount);
+        int count = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            if (count == 0 || candidates[count - 1] != candidates[i]) {
+                candidates[count++] = candidates[i];
+            }
+        }
+        return candidateCount = count;
+    }
+
+    private void addCandidate(int position) {
+        if (candidateCount == candidates.length) {
+            candidates = Arrays.copyOf(candidates, 2 * candidates.length);
+        }
+        candidates[candidateCount++] = position;
+    }
+
+    /*
+     * The i-th candidate found by the last call to findCandidates, topmost first.
+     */
+    Node getCandidate(int i) {
+        return nodes[candidates[candidateCount - 1 - i]];
+    }
+}
@@ -31,6 +31,7 @@ import com.sun.javafx.util.Logging;
 import com.sun.javafx.util.Utils;
 import com.sun.javafx.application.PlatformImpl;
 import com.sun.javafx.collections.TrackableObservableList;
+import com.sun.javafx.css.CssProfiler;
 import com.sun.javafx.css.StyleManager;
 import com.sun.javafx.cursor.CursorFrame;
 import com.sun.javafx.event.EventQueue;
@@ -580,14 +581,36 @@ public class Scene implements EventTarget {
             // The cssFlag is set to clean in either Node.processCSS or
             // NodeHelper.processCSS
             sceneRoot.clearDirty(com.sun.javafx.scene.DirtyBits.NODE_CSS);
-            sceneRoot.processCSS();
+            if (CssProfiler.enabled) {
+                final CssProfiler profiler = CssProfiler.getInstance();
+                final long start = profiler.cssPassStart();
+                try {
+                    sceneRoot.processCSS();
+                } finally {
+                    profiler.cssPassEnd(start);
+                }
+            } else {
+                sceneRoot.processCSS();
+            }
         }
     }
 
+    /*
+     * The number of Parents visited by the last layout pass. This is a
+     * debugging aid: a layout pass visits only the branches that need layout,
+     * so the count should stay small when a small part of a large scene changes.
+     */
+    int lastLayoutPassVisitCount = 0;
+
     void doLayoutPass() {
         final Parent r = getRoot();
         if (r != null) {
+            final int visitCount = Parent.layoutVisitCount;
             r.layout();
+            lastLayoutPassVisitCount = Parent.layoutVisitCount - visitCount;
+            if (PULSE_LOGGING_ENABLED && lastLayoutPassVisitCount > 0) {
+                PulseLogger.addMessage("Layout: " + lastLayoutPassVisitCount + " parents visited");
+            }
         }
     }
 
@@ -1870,11 +1893,58 @@ public class Scene implements EventTarget {
     private Map<Integer, EventTarget> touchTargets =
             new HashMap<Integer, EventTarget>();
 
+    /*
+     * MOUSE_MOVED events from the peer are not processed as they arrive.
+     * The latest one is kept until a runnable posted to the event queue
+     * processes it, so that moves already queued behind one another are
+     * picked, and change the hover state, only once. Any other input event
+     * processes the pending move first, so the order of events is kept.
+     * The moves are not processed in the pulse itself, as their handlers
+     * could not start a nested event loop there.
+     * Setting javafx.scene.coalesceMouseMoves=false disables this.
+     */
+    private static final boolean COALESCE_MOUSE_MOVES =
+        AccessController.doPrivileged(
+                (PrivilegedAction<Boolean>) () -> !"false".equalsIgnoreCase(
+                        System.getProperty("javafx.scene.coalesceMouseMoves")));
+
+    private MouseEvent pendingMouseMove;
+    private boolean pendingMouseMoveScheduled;
+
+    private final Runnable pendingMouseMoveProcess = () -> {
+        pendingMouseMoveScheduled = false;
+        processPendingMouseMove();
+    };
+
+    private void postMouseMove(MouseEvent e) {
+        if (pendingMouseMove != null && PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Coalesced mouse moves");
+        }
+        pendingMouseMove = e;
+        if (!pendingMouseMoveScheduled) {
+            pendingMouseMoveScheduled = true;
+            Platform.runLater(pendingMouseMoveProcess);
+        }
+    }
+
+    private void processPendingMouseMove() {
+        final MouseEvent e = pendingMouseMove;
+        if (e != null) {
+            pendingMouseMove = null;
+            // the window may have been closed since the move arrived
+            if (peer != null) {
+                mouseHandler.process(e, false);
+            }
+        }
+    }
+
     void processMouseEvent(MouseEvent e) {
+        processPendingMouseMove();
         mouseHandler.process(e, false);
     }
 
     private void processMenuEvent(double x2, double y2, double xAbs, double yAbs, boolean isKeyboardTrigger) {
+        processPendingMouseMove();
         EventTarget eventTarget = null;
         Scene.inMousePick = true;
         if (isKeyboardTrigger) {
@@ -1917,6 +1987,7 @@ public class Scene implements EventTarget {
     }
 
     private void processGestureEvent(GestureEvent e, TouchGesture gesture) {
+        processPendingMouseMove();
         EventTarget pickedTarget = null;
 
         if (e.getEventType() == ZoomEvent.ZOOM_STARTED ||
@@ -1960,6 +2031,7 @@ public class Scene implements EventTarget {
     }
 
     private void processTouchEvent(TouchEvent e, TouchPoint[] touchPoints) {
+        processPendingMouseMove();
         inMousePick = true;
         touchEventSetId++;
 
@@ -2137,6 +2209,7 @@ public class Scene implements EventTarget {
     }
 
     public void processKeyEvent(KeyEvent e) {
+        processPendingMouseMove();
         if (dndGesture != null) {
             if (!dndGesture.processKey(e)) {
                 dndGesture = null;
@@ -2216,6 +2289,7 @@ public class Scene implements EventTarget {
     }
 
     private void processInputMethodEvent(InputMethodEvent e) {
+        processPendingMouseMove();
         Node node = getFocusOwner();
         if (node != null) {
             node.fireEvent(e);
@@ -2612,7 +2686,11 @@ public class Scene implements EventTarget {
                     shiftDown, controlDown, altDown, metaDown,
                     primaryDown, middleDown, secondaryDown, backDown, forwardDown,
                     synthesized, popupTrigger, false, null);
-            processMouseEvent(mouseEvent);
+            if (COALESCE_MOUSE_MOVES && type == MouseEvent.MOUSE_MOVED) {
+                postMouseMove(mouseEvent);
+            } else {
+                processMouseEvent(mouseEvent);
+            }
         }
 
 
@@ -2923,6 +3001,7 @@ public class Scene implements EventTarget {
         public TransferMode dragEnter(double x, double y, double screenX, double screenY,
                                       TransferMode transferMode, TKClipboard dragboard)
         {
+            processPendingMouseMove();
             if (dndGesture == null) {
                 dndGesture = new DnDGesture();
             }
@@ -2938,6 +3017,7 @@ public class Scene implements EventTarget {
         public TransferMode dragOver(double x, double y, double screenX, double screenY,
                                      TransferMode transferMode)
         {
+            processPendingMouseMove();
             if (Scene.this.dndGesture == null) {
                 System.err.println("GOT A dragOver when dndGesture is null!");
                 return null;
@@ -2954,6 +3034,7 @@ public class Scene implements EventTarget {
 
         @Override
         public void dragExit(double x, double y, double screenX, double screenY) {
+            processPendingMouseMove();
             if (dndGesture == null) {
                 System.err.println("GOT A dragExit when dndGesture is null!");
             } else {
@@ -2976,6 +3057,7 @@ public class Scene implements EventTarget {
         public TransferMode drop(double x, double y, double screenX, double screenY,
                                   TransferMode transferMode)
         {
+            processPendingMouseMove();
             if (dndGesture == null) {
                 System.err.println("GOT A drop when dndGesture is null!");
                 return null;
@@ -3012,6 +3094,7 @@ public class Scene implements EventTarget {
        public void dragGestureRecognized(double x, double y, double screenX, double screenY,
                                          int button, TKClipboard dragboard)
        {
+           processPendingMouseMove();
            Dragboard db = DragboardHelper.createDragboard(dragboard);
            dndGesture = new DnDGesture();
            dndGesture.dragboard = db;
@@ -3426,6 +3509,7 @@ public class Scene implements EventTarget {
         public void dragDropEnd(double x, double y, double screenX, double screenY,
                                 TransferMode transferMode)
         {
+            processPendingMouseMove();
             if (dndGesture != null) {
                 if (dndGesture.dragboard == null) {
                     throw new RuntimeException("dndGesture.dragboard is null in dragDropEnd");
@@ -3648,7 +3732,8 @@ public class Scene implements EventTarget {
         };
 
         private void pulse() {
-            if (hover && lastEvent != null) {
+            // a pending move picks again anyway
+            if (hover && lastEvent != null && pendingMouseMove == null) {
                 //Shouldn't run user code directly. User can call stage.showAndWait() and block the pulse.
                 Platform.runLater(pickProcess);
             }
@@ -109,6 +109,10 @@ public class StyleManagerShim {
         sm.stylesheetContainerMap.clear();
     }
 
+    public void stylesheetContainerMap_removePreloaded() {
+        sm.stylesheetContainerMap.values().removeIf(sc -> sc.preloaded);
+    }
+
     public boolean get_hasDefaultUserAgentStylesheet() {
         return sm.hasDefaultUserAgentStylesheet;
     }
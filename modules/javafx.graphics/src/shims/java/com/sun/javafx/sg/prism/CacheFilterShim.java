@@ -28,6 +28,7 @@ package com.sun.javafx.sg.prism;
 import com.sun.javafx.geom.BaseBounds;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.prism.Graphics;
 import javafx.scene.CacheHint;
 
 public class CacheFilterShim {
@@ -50,4 +51,10 @@ public class CacheFilterShim {
         return new CacheFilter(node, cacheHint);
     }
 
+    public static boolean isAutomatic(CacheFilter cf) {
+        return cf.isAutomatic();
+    }
+
+    public static final int AUTO_CACHE_RENDERS = CacheFilter.AUTO_CACHE_RENDERS;
+
 }
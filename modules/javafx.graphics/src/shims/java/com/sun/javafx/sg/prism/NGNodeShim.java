@@ -29,6 +29,7 @@ import com.sun.javafx.geom.DirtyRegionPool;
 import com.sun.javafx.geom.RectBounds;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.GeneralTransform3D;
+import com.sun.prism.Graphics;
 
 public abstract class NGNodeShim extends NGNode {
 
@@ -48,7 +49,19 @@ public abstract class NGNodeShim extends NGNode {
         return node.computeOpaqueRegion(opaqueRegion);
     }
 
-    public static int cullingBits(NGNode node) {
+    public static void setDisplayList(NGNode node, boolean enabled) {
+        node.displayList = enabled ? new DisplayList(node) : null;
+    }
+
+    public static DisplayList getDisplayList(NGNode node) {
+        return node.displayList;
+    }
+
+    public static void updateAutoCache(NGNode node, Graphics g) {
+        node.updateAutoCache(g);
+    }
+
+    public static long cullingBits(NGNode node) {
         return node.cullingBits;
     }
 
@@ -67,7 +80,7 @@ public abstract class NGNodeShim extends NGNode {
     public static void markCullRegions(
             NGNode node,
             DirtyRegionContainer drc,
-            int cullingRegionsBitsOfParent,
+            long cullingRegionsBitsOfParent,
             BaseTransform tx,
             GeneralTransform3D pvTx) {
         node.markCullRegions(drc, cullingRegionsBitsOfParent, tx, pvTx);
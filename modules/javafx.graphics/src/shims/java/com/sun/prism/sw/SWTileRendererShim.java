@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import com.sun.prism.RTTexture;
+import com.sun.prism.Texture.WrapMode;
+import java.util.concurrent.ForkJoinPool;
+
+public class SWTileRendererShim {
+
+    public static RTTexture createRTTexture(int width, int height) {
+        return new SWResourceFactory(null).createRTTexture(width, height, WrapMode.CLAMP_NOT_NEEDED);
+    }
+
+    public static boolean supportsTiledRendering(RTTexture tex) {
+        return ((SWRTTexture) tex).getResourceFactory().getContext().supportsTiledRendering();
+    }
+
+    public static void setTileRenderer(RTTexture tex, int tileSize, ForkJoinPool pool) {
+        final SWRTTexture swTex = (SWRTTexture) tex;
+        swTex.setTileRenderer(new SWTileRenderer(swTex.getResourceFactory().getContext(),
+                swTex, tileSize, pool));
+    }
+
+    public static boolean hasTileRenderer(RTTexture tex) {
+        return ((SWRTTexture) tex).getTileRenderer() != null;
+    }
+
+    public static int[] getPixels(RTTexture tex) {
+        return ((SWRTTexture) tex).getDataNoClone();
+    }
+}
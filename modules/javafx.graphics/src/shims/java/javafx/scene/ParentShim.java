@@ -51,4 +51,8 @@ public class ParentShim extends Parent {
     public static List<Node> test_getViewOrderChildren(Parent p) {
         return p.test_getViewOrderChildren();
     }
+
+    public static Object test_getPickIndex(Parent p) {
+        return p.test_getPickIndex();
+    }
 }
@@ -43,4 +43,8 @@ public class SceneShim {
         s.scenePulseListener.pulse();
     }
 
+    public static int get_lastLayoutPassVisitCount(Scene s) {
+        return s.lastLayoutPassVisitCount;
+    }
+
 }
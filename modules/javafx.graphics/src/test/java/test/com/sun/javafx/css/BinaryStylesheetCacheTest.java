@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.BinaryStylesheetCacheShim;
+import com.sun.javafx.css.StyleManager;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import javafx.css.CssParser;
+import javafx.css.Rule;
+import javafx.css.Stylesheet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class BinaryStylesheetCacheTest {
+
+    private static final String CSS = ".rect { -fx-fill: red; }\n.text { -fx-font-size: 12px; }\n";
+
+    private Path dir;
+    private File cacheDir;
+    private File source;
+    private URL url;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("bsscache");
+        cacheDir = dir.resolve("cache").toFile();
+        source = dir.resolve("test.css").toFile();
+        write(CSS);
+        source.setLastModified(1000000000000L);
+        url = source.toURI().toURL();
+        BinaryStylesheetCacheShim.setCacheDir(cacheDir);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        BinaryStylesheetCacheShim.setCacheDir(BinaryStylesheetCacheShim.getDefaultCacheDir());
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private void write(String css) throws IOException {
+        Files.write(source.toPath(), css.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Stylesheet parseAndStore() throws IOException {
+        Stylesheet stylesheet = new CssParser().parse(url);
+        BinaryStylesheetCacheShim.store(url, stylesheet);
+        return stylesheet;
+    }
+
+    // rules read from a binary stylesheet decode their declarations lazily
+    private static String describe(Stylesheet stylesheet) {
+        StringBuilder sb = new StringBuilder();
+        for (Rule rule : stylesheet.getRules()) {
+            sb.append(rule.getSelectors()).append(rule.getDeclarations()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private File[] entries() {
+        File[] files = cacheDir.listFiles((d, name) -> name.endsWith(".bss"));
+        return files != null ? files : new File[0];
+    }
+
+    @Test
+    public void testDisabledUnlessRequested() {
+        String enabled = System.getProperty("javafx.css.cache");
+        try {
+            System.clearProperty("javafx.css.cache");
+            assertNull(BinaryStylesheetCacheShim.getDefaultCacheDir());
+
+            System.setProperty("javafx.css.cache", "true");
+            System.setProperty("javafx.css.cache.dir", cacheDir.getPath());
+            assertEquals(cacheDir, BinaryStylesheetCacheShim.getDefaultCacheDir());
+        } finally {
+            if (enabled != null) {
+                System.setProperty("javafx.css.cache", enabled);
+            } else {
+                System.clearProperty("javafx.css.cache");
+            }
+            System.clearProperty("javafx.css.cache.dir");
+        }
+    }
+
+    @Test
+    public void testNothingStoredWhenDisabled() throws IOException {
+        BinaryStylesheetCacheShim.setCacheDir(null);
+        assertFalse(BinaryStylesheetCacheShim.isEnabled());
+        parseAndStore();
+        assertNull(BinaryStylesheetCacheShim.load(url));
+        assertFalse(cacheDir.exists());
+    }
+
+    @Test
+    public void testStoreThenLoad() throws IOException {
+        assertNull(BinaryStylesheetCacheShim.load(url));
+        Stylesheet parsed = parseAndStore();
+        assertEquals(1, entries().length);
+
+        Stylesheet cached = BinaryStylesheetCacheShim.load(url);
+        assertNotNull(cached);
+        assertEquals(parsed, cached);
+        assertEquals(parsed.getRules().size(), cached.getRules().size());
+        assertEquals(describe(parsed), describe(cached));
+    }
+
+    @Test
+    public void testModifiedSourceIsNotLoadedFromCache() throws IOException {
+        parseAndStore();
+        source.setLastModified(1000000001000L);
+        assertNull(BinaryStylesheetCacheShim.load(url));
+    }
+
+    @Test
+    public void testResizedSourceIsNotLoadedFromCache() throws IOException {
+        parseAndStore();
+        // same modification time, different size
+        write(CSS + ".other { -fx-fill: blue; }\n");
+        source.setLastModified(1000000000000L);
+        assertNull(BinaryStylesheetCacheShim.load(url));
+    }
+
+    @Test
+    public void testNewEntryReplacesStaleEntry() throws IOException {
+        parseAndStore();
+        File first = entries()[0];
+
+        write(CSS + ".other { -fx-fill: blue; }\n");
+        Stylesheet parsed = parseAndStore();
+
+        File[] entries = entries();
+        assertEquals(1, entries.length);
+        assertFalse(first.exists());
+        assertEquals(describe(parsed), describe(BinaryStylesheetCacheShim.load(url)));
+    }
+
+    @Test
+    public void testEntriesOfOtherStylesheetsAreKept() throws IOException {
+        parseAndStore();
+        File other = dir.resolve("other.css").toFile();
+        Files.write(other.toPath(), CSS.getBytes(StandardCharsets.UTF_8));
+        URL otherUrl = other.toURI().toURL();
+        BinaryStylesheetCacheShim.store(otherUrl, new CssParser().parse(otherUrl));
+
+        assertEquals(2, entries().length);
+        assertNotNull(BinaryStylesheetCacheShim.load(url));
+        assertNotNull(BinaryStylesheetCacheShim.load(otherUrl));
+    }
+
+    @Test
+    public void testTruncatedEntryIsDeleted() throws IOException {
+        parseAndStore();
+        File entry = entries()[0];
+        byte[] bytes = Files.readAllBytes(entry.toPath());
+        Files.write(entry.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertNull(BinaryStylesheetCacheShim.load(url));
+        assertFalse(entry.exists());
+    }
+
+    @Test
+    public void testCorruptEntryIsDeletedAndStylesheetParsedAgain() throws IOException {
+        parseAndStore();
+        File entry = entries()[0];
+        Files.write(entry.toPath(), new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+
+        // StyleManager only uses the cache while nobody collects parse errors
+        assumeTrue(StyleManager.getErrors() == null);
+        Stylesheet stylesheet = StyleManager.loadStylesheet(url.toExternalForm());
+        assertNotNull(stylesheet);
+        assertEquals(2, stylesheet.getRules().size());
+
+        // the corrupt entry was replaced by a good one
+        assertEquals(1, entries().length);
+        assertNotNull(BinaryStylesheetCacheShim.load(url));
+    }
+}
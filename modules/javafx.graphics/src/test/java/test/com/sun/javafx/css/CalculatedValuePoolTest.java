@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.CalculatedValue;
+import com.sun.javafx.css.CalculatedValuePool;
+import javafx.css.StyleOrigin;
+import javafx.geometry.Insets;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class CalculatedValuePoolTest {
+
+    @Test
+    public void testEqualValuesAreShared() {
+        CalculatedValue cv1 = CalculatedValuePool.get(new Insets(1, 2, 3, 4), StyleOrigin.AUTHOR, false);
+        CalculatedValue cv2 = CalculatedValuePool.get(new Insets(1, 2, 3, 4), StyleOrigin.AUTHOR, false);
+        assertSame(cv1, cv2);
+        assertSame(cv1.getValue(), cv2.getValue());
+    }
+
+    @Test
+    public void testValueIsSharedAcrossOrigins() {
+        CalculatedValue cv1 = CalculatedValuePool.get(Color.web("#123456"), StyleOrigin.AUTHOR, false);
+        CalculatedValue cv2 = CalculatedValuePool.get(Color.web("#123456"), StyleOrigin.USER_AGENT, false);
+        assertNotSame(cv1, cv2);
+        assertEquals(StyleOrigin.USER_AGENT, cv2.getOrigin());
+        assertSame(cv1.getValue(), cv2.getValue());
+    }
+
+    @Test
+    public void testRelativeIsNotConflated() {
+        CalculatedValue cv1 = CalculatedValuePool.get(12.0, StyleOrigin.AUTHOR, false);
+        CalculatedValue cv2 = CalculatedValuePool.get(12.0, StyleOrigin.AUTHOR, true);
+        assertNotSame(cv1, cv2);
+        assertEquals(true, cv2.isRelative());
+    }
+
+    @Test
+    public void testValueWithoutValueEqualityIsNotPooled() {
+        Object value = new Object();
+        CalculatedValue cv1 = CalculatedValuePool.get(value, StyleOrigin.AUTHOR, false);
+        CalculatedValue cv2 = CalculatedValuePool.get(value, StyleOrigin.AUTHOR, false);
+        assertNotSame(cv1, cv2);
+        assertSame(value, cv1.getValue());
+    }
+
+    @Test
+    public void testRegionsInDifferentScenesShareStyledValues() {
+        Region region1 = new Region();
+        region1.setStyle("-fx-background-color: #abcdef; -fx-padding: 3 4;");
+        Scene scene1 = new Scene(new Group(region1));
+        scene1.getRoot().applyCss();
+
+        Region region2 = new Region();
+        region2.setStyle("-fx-background-color: #abcdef; -fx-padding: 3 4;");
+        Scene scene2 = new Scene(new Group(region2));
+        scene2.getRoot().applyCss();
+
+        Background background = region1.getBackground();
+        assertEquals(Color.web("#abcdef"), background.getFills().get(0).getFill());
+        assertSame(background, region2.getBackground());
+        assertEquals(new Insets(3, 4, 3, 4), region1.getPadding());
+        assertSame(region1.getPadding(), region2.getPadding());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.css;
+
+import com.sun.javafx.css.CssProfiler;
+import com.sun.javafx.tk.Toolkit;
+import javafx.css.Selector;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import test.com.sun.javafx.pgstub.StubToolkit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CssProfilerTest {
+
+    private CssProfiler profiler;
+    private boolean wasEnabled;
+    private Stage stage;
+
+    @Before
+    public void setUp() {
+        profiler = CssProfiler.getInstance();
+        wasEnabled = profiler.isEnabled();
+        profiler.setEnabled(true);
+        profiler.reset();
+    }
+
+    @After
+    public void tearDown() {
+        if (stage != null) stage.hide();
+        profiler.reset();
+        profiler.setEnabled(wasEnabled);
+    }
+
+    private Rectangle[] showRects(int count) {
+        Rectangle[] rects = new Rectangle[count];
+        Group root = new Group();
+        for (int n = 0; n < count; n++) {
+            rects[n] = new Rectangle(10, 10);
+            rects[n].getStyleClass().add("rect");
+            root.getChildren().add(rects[n]);
+        }
+        Scene scene = new Scene(root);
+        scene.getStylesheets().add(CssProfilerTest.class.getResource("ua0.css").toExternalForm());
+        stage = new Stage();
+        stage.setScene(scene);
+        stage.show();
+        ((StubToolkit) Toolkit.getToolkit()).firePulse();
+        return rects;
+    }
+
+    @Test
+    public void testCssPassIsRecorded() {
+        Rectangle[] rects = showRects(3);
+        assertEquals(Color.RED, rects[0].getFill());
+
+        assertTrue(profiler.getCssPassCount() >= 1);
+        assertTrue(profiler.getTotalCssPassTime() >= profiler.getLastCssPassTime());
+        // no selector matches the Group, so only the Rectangles have styles applied
+        assertTrue(profiler.getNodesStyled() >= 3);
+    }
+
+    @Test
+    public void testCacheLookupsAreCounted() {
+        showRects(3);
+
+        // the first Rectangle creates the StyleMap and the StyleCacheEntry,
+        // the other two find them in the caches
+        assertTrue(profiler.getStyleMapMisses() >= 1);
+        assertTrue(profiler.getStyleMapHits() >= 2);
+        assertTrue(profiler.getStyleCacheMisses() >= 1);
+        assertTrue(profiler.getStyleCacheHits() >= 2);
+    }
+
+    @Test
+    public void testTopSelectorsAndNodeTypes() {
+        showRects(3);
+
+        String[] selectors = profiler.getTopSelectors();
+        assertTrue(selectors.length > 0);
+        boolean found = false;
+        for (String s : selectors) {
+            if (s.contains("*.rect") && s.contains("ua0.css")) {
+                assertTrue(s, s.contains("3/3 matched"));
+                found = true;
+            }
+        }
+        assertTrue(found);
+
+        boolean foundRectangle = false;
+        for (String s : profiler.getTopNodeTypes()) {
+            if (s.endsWith(" Rectangle")) foundRectangle = true;
+        }
+        assertTrue(foundRectangle);
+    }
+
+    @Test
+    public void testNothingRecordedWhenDisabled() {
+        profiler.setEnabled(false);
+        showRects(3);
+
+        assertEquals(0, profiler.getCssPassCount());
+        assertEquals(0, profiler.getNodesStyled());
+        assertEquals(0, profiler.getStyleMapHits() + profiler.getStyleMapMisses());
+        assertEquals(0, profiler.getTopSelectors().length);
+    }
+
+    @Test
+    public void testReset() {
+        showRects(1);
+        assertTrue(profiler.getNodesStyled() > 0);
+
+        profiler.reset();
+        assertEquals(0, profiler.getNodesStyled());
+        assertEquals(0, profiler.getCssPassCount());
+        assertEquals(0, profiler.getTopNodeTypes().length);
+        assertFalse(profiler.getTopSelectors().length > 0);
+    }
+
+    @Test
+    public void testEnablingDuringOperationRecordsNothing() {
+        Rectangle rect = new Rectangle(10, 10);
+        Selector selector = Selector.createSelector("*.rect");
+
+        profiler.setEnabled(false);
+        long start = CssProfiler.start();
+        assertEquals(0L, start);
+        profiler.setEnabled(true);
+        profiler.nodeStyled(rect, start);
+        profiler.selectorMatched(selector, true, start);
+
+        assertEquals(0, profiler.getNodesStyled());
+        assertEquals(0, profiler.getTopNodeTypes().length);
+        assertEquals(0, profiler.getTopSelectors().length);
+    }
+}
@@ -25,7 +25,10 @@
 
 package test.com.sun.javafx.css;
 
+import com.sun.javafx.css.CalculatedValue;
 import com.sun.javafx.css.CascadingStyle;
+import com.sun.javafx.css.StyleCache;
+import com.sun.javafx.css.StyleCacheEntry;
 import com.sun.javafx.css.StyleManager;
 import com.sun.javafx.css.StyleManagerShim;
 import com.sun.javafx.css.StyleMap;
@@ -41,14 +44,18 @@ import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.Assert.*;
@@ -72,6 +79,12 @@ public class StyleManagerTest {
         sm.set_hasDefaultUserAgentStylesheet(false);
     }
 
+    @After
+    public void tearDown() {
+        // preloaded stylesheets no parent has used are otherwise kept forever
+        StyleManagerShim.getInstance().stylesheetContainerMap_removePreloaded();
+    }
+
     @Test
     public void testMethod_getInstance() {
         Scene scene = new Scene(new Group());
@@ -1099,4 +1112,97 @@ public class StyleManagerTest {
         assertFalse("Exception during CSS processing on BG thread", err.get());
     }
 
+    @Test
+    public void testPreloadStylesheets() {
+
+        final List<String> urls = Arrays.asList(
+                "/test/com/sun/javafx/css/ua0.css",
+                "/test/com/sun/javafx/css/ua1.css");
+
+        StyleManager.getInstance().preloadStylesheets(urls).join();
+
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        assertTrue(sm.stylesheetContainerMap_containsKey("/test/com/sun/javafx/css/ua0.css"));
+        assertTrue(sm.stylesheetContainerMap_containsKey("/test/com/sun/javafx/css/ua1.css"));
+
+        final Map<String,Long> loadTimes = StyleManager.getStylesheetLoadTimes();
+        assertTrue(loadTimes.containsKey("/test/com/sun/javafx/css/ua0.css"));
+        assertTrue(loadTimes.containsKey("/test/com/sun/javafx/css/ua1.css"));
+    }
+
+    @Test
+    public void testPreloadedStylesheetIsUsedByParent() {
+
+        StyleManager.getInstance().preloadStylesheets(
+                Collections.singletonList("/test/com/sun/javafx/css/ua1.css")).join();
+
+        StyleManagerShim sm = StyleManagerShim.getInstance();
+        StyleManagerShim.StylesheetContainer container = sm.stylesheetContainerMap_get("/test/com/sun/javafx/css/ua1.css");
+        assertEquals(0, container.parentUsers_list_size());
+
+        // forgetting an unrelated parent should not discard the preloaded stylesheet
+        Scene other = new Scene(new Group());
+        other.getRoot().applyCss();
+        sm.forget(other.getRoot());
+        assertTrue(sm.stylesheetContainerMap_containsKey("/test/com/sun/javafx/css/ua1.css"));
+
+        Rectangle rect = new Rectangle();
+        rect.getStyleClass().add("rect");
+        Scene scene = new Scene(new Group(rect));
+        scene.getRoot().getStylesheets().add("/test/com/sun/javafx/css/ua1.css");
+        scene.getRoot().applyCss();
+
+        // the preloaded container is used rather than loading the stylesheet again
+        assertTrue(container.parentUsers_contains(scene.getRoot()));
+        assertEquals(Color.YELLOW, rect.getStroke());
+
+        // once used, the stylesheet is forgotten with its last parent
+        sm.forget(scene.getRoot());
+        assertFalse(sm.stylesheetContainerMap_containsKey("/test/com/sun/javafx/css/ua1.css"));
+    }
+
+    @Test
+    public void testStyleCacheEvictsLeastRecentlyUsedEntry() {
+
+        final StyleCache styleCache = new StyleCache();
+        final List<StyleCacheEntry.Key> keys = new ArrayList<>();
+        final int nMax = 200;
+        for (int n = 0; n < nMax; n++) {
+            StyleCacheEntry.Key key = new StyleCacheEntry.Key(new Set[0], Font.font(n + 1));
+            StyleCacheEntry entry = new StyleCacheEntry();
+            styleCache.addStyleCacheEntry(key, entry);
+            entry.put("-fx-fill", new CalculatedValue(Color.RED, null, false));
+            keys.add(key);
+            // keep the first entry in use
+            assertNotNull(styleCache.getStyleCacheEntry(keys.get(0)));
+        }
+
+        assertTrue(styleCache.size() < nMax);
+        assertNotNull(styleCache.getStyleCacheEntry(keys.get(0)));
+        assertNull(styleCache.getStyleCacheEntry(keys.get(1)));
+        assertNotNull(styleCache.getStyleCacheEntry(keys.get(nMax - 1)));
+
+        // each entry counts one for itself and one for its calculated value
+        assertEquals(2L * styleCache.size(), styleCache.getWeight());
+    }
+
+    @Test
+    public void testStyleCacheSizesAreReported() {
+
+        Rectangle rect = new Rectangle();
+        rect.getStyleClass().add("rect");
+        Scene scene = new Scene(new Group(rect));
+        scene.getRoot().getStylesheets().add("/test/com/sun/javafx/css/ua0.css");
+        scene.getRoot().applyCss();
+        assertEquals(Color.RED, rect.getFill());
+
+        StyleManager sm = StyleManager.getInstance();
+        assertTrue(sm.getStyleCacheEntryCount() > 0);
+        assertTrue(sm.getStyleCacheWeight() > sm.getStyleCacheEntryCount());
+
+        sm.forget(scene.getRoot());
+        assertEquals(0, sm.getStyleCacheEntryCount());
+        assertEquals(0, sm.getStyleCacheWeight());
+    }
+
 }
@@ -191,6 +191,52 @@ public class DirtyRegionContainerTest {
         Assert.assertEquals(new RectBounds(0, 0, 50, 50), drc.getDirtyRegion(2));
     }
 
+    @Test
+    public void test_addDirtyRegion_merge_cost_merges_close() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(4, 100);
+        drc.addDirtyRegion(new RectBounds(0, 0, 10, 10));
+
+        // the union adds 20 pixels
+        drc.addDirtyRegion(new RectBounds(12, 0, 20, 10));
+
+        Assert.assertEquals(1, drc.size());
+        Assert.assertEquals(new RectBounds(0, 0, 20, 10), drc.getDirtyRegion(0));
+    }
+
+    @Test
+    public void test_addDirtyRegion_merge_cost_keeps_distant() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(4, 100);
+        drc.addDirtyRegion(new RectBounds(0, 0, 10, 10));
+
+        // the union adds 800 pixels
+        drc.addDirtyRegion(new RectBounds(90, 0, 100, 10));
+
+        Assert.assertEquals(2, drc.size());
+        Assert.assertEquals(new RectBounds(0, 0, 10, 10), drc.getDirtyRegion(0));
+        Assert.assertEquals(new RectBounds(90, 0, 100, 10), drc.getDirtyRegion(1));
+    }
+
+    @Test
+    public void test_copy_keeps_merge_cost() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(4, 100);
+        Assert.assertEquals(100, drc.copy().getMergeCost());
+    }
+
+    @Test
+    public void test_addDirtyRegion_no_space_merges_closest() {
+        DirtyRegionContainer drc = new DirtyRegionContainer(3);
+        drc.addDirtyRegion(new RectBounds(0, 0, 10, 10));
+        drc.addDirtyRegion(new RectBounds(20, 0, 30, 10));
+        drc.addDirtyRegion(new RectBounds(500, 0, 510, 10));
+
+        drc.addDirtyRegion(new RectBounds(1000, 0, 1010, 10));
+
+        Assert.assertEquals(3, drc.size());
+        Assert.assertEquals(new RectBounds(0, 0, 30, 10), drc.getDirtyRegion(0));
+        Assert.assertEquals(new RectBounds(500, 0, 510, 10), drc.getDirtyRegion(1));
+        Assert.assertEquals(new RectBounds(1000, 0, 1010, 10), drc.getDirtyRegion(2));
+    }
+
     private DirtyRegionContainer getDRC_initialized() {
         DirtyRegionContainer drc = new DirtyRegionContainer(4);
         return drc.deriveWithNewRegions(nonIntersecting_3_Regions);
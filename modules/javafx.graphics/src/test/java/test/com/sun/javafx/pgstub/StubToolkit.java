@@ -167,9 +167,35 @@ public class StubToolkit extends Toolkit {
         return true;
     }
 
+    // runnables passed to defer, or null to run them immediately
+    private List<Runnable> deferredRunnables;
+
     @Override
     public void defer(Runnable runnable) {
-        runnable.run();
+        if (deferredRunnables != null) {
+            deferredRunnables.add(runnable);
+        } else {
+            runnable.run();
+        }
+    }
+
+    /**
+     * Makes {@link #defer(Runnable)} queue the runnables until
+     * {@link #runDeferredRunnables()} is called, as a real toolkit would,
+     * instead of running them immediately.
+     */
+    public void setDeferRunnables(boolean defer) {
+        deferredRunnables = defer ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Runs the runnables queued by {@link #defer(Runnable)}, including the
+     * ones queued while doing so.
+     */
+    public void runDeferredRunnables() {
+        while (deferredRunnables != null && !deferredRunnables.isEmpty()) {
+            deferredRunnables.remove(0).run();
+        }
     }
 
     @Override
@@ -31,9 +31,16 @@ import com.sun.javafx.geom.transform.GeneralTransform3D;
 import com.sun.javafx.geom.transform.Translate2D;
 import com.sun.javafx.sg.prism.CacheFilter;
 import com.sun.javafx.sg.prism.CacheFilterShim;
+import com.sun.javafx.sg.prism.NGGroup;
+import com.sun.javafx.sg.prism.NGNode;
 import com.sun.javafx.sg.prism.NGNodeShim;
 import com.sun.javafx.sg.prism.NGRectangle;
+import com.sun.prism.Graphics;
+import com.sun.prism.impl.PrismSettings;
+import java.util.ArrayList;
+import java.util.List;
 import javafx.scene.CacheHint;
+import org.junit.After;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -158,4 +165,104 @@ public class CacheFilterTest {
         CacheFilterShim.computeDirtyBounds(cf, result, BaseTransform.IDENTITY_TRANSFORM, new GeneralTransform3D());
         assertEquals(new RectBounds(0, 0, 111, 131), result);
     }
+
+    /******************************************************************
+     *                                                                *
+     *  Tests for the automatic caching of nodes that are rendered    *
+     *  with unchanged content while they are moved or faded.         *
+     *                                                                *
+     *****************************************************************/
+
+    private final Graphics g = new TestGraphics();
+    private final List<NGNode> autoCacheNodes = new ArrayList<>();
+
+    private NGGroup createAutoCacheGroup(int size) {
+        NGGroup group = NGTestBase.createGroup(NGTestBase.createRectangle(0, 0, size, size));
+        group.clearDirtyTree();
+        autoCacheNodes.add(group);
+        return group;
+    }
+
+    private void renderMoved(NGNode node, int times) {
+        for (int i = 0; i < times; i++) {
+            NGNodeShim.updateAutoCache(node, g);
+        }
+    }
+
+    @After public void disposeAutoCaches() {
+        for (NGNode node : autoCacheNodes) {
+            node.setCachedAsBitmap(false, CacheHint.DEFAULT);
+        }
+    }
+
+    @Test public void groupIsCachedAfterUnchangedRenders() {
+        NGGroup group = createAutoCacheGroup(100);
+        renderMoved(group, CacheFilterShim.AUTO_CACHE_RENDERS - 1);
+        assertNull(group.getCacheFilter());
+        renderMoved(group, 1);
+        assertNotNull(group.getCacheFilter());
+        assertTrue(CacheFilterShim.isAutomatic(group.getCacheFilter()));
+    }
+
+    @Test public void leafWithoutEffectIsNotCached() {
+        NGRectangle r = NGTestBase.createRectangle(0, 0, 100, 100);
+        autoCacheNodes.add(r);
+        renderMoved(r, CacheFilterShim.AUTO_CACHE_RENDERS * 2);
+        assertNull(r.getCacheFilter());
+    }
+
+    @Test public void contentChangeDropsCacheAndBacksOff() {
+        NGGroup group = createAutoCacheGroup(100);
+        renderMoved(group, CacheFilterShim.AUTO_CACHE_RENDERS);
+        assertNotNull(group.getCacheFilter());
+
+        ((NGRectangle) group.getChildren().get(0)).updateRectangle(0, 0, 50, 50, 0, 0);
+        assertNull(group.getCacheFilter());
+        renderMoved(group, CacheFilterShim.AUTO_CACHE_RENDERS * 2 - 1);
+        assertNull(group.getCacheFilter());
+        renderMoved(group, 1);
+        assertNotNull(group.getCacheFilter());
+    }
+
+    @Test public void applicationCacheReplacesAutomaticCache() {
+        NGGroup group = createAutoCacheGroup(100);
+        renderMoved(group, CacheFilterShim.AUTO_CACHE_RENDERS);
+        group.setCachedAsBitmap(true, CacheHint.SPEED);
+        assertFalse(CacheFilterShim.isAutomatic(group.getCacheFilter()));
+        assertTrue(CacheFilterShim.isScaleHint(group.getCacheFilter()));
+    }
+
+    @Test public void leastRecentlyCreatedCacheIsEvictedOverBudget() {
+        // Each cache takes about 60% of the budget, at 4 bytes per pixel
+        int size = (int) Math.sqrt(PrismSettings.autoCacheBudget * 0.6 / 4);
+        NGGroup first = createAutoCacheGroup(size);
+        NGGroup second = createAutoCacheGroup(size);
+        renderMoved(first, CacheFilterShim.AUTO_CACHE_RENDERS);
+        assertNotNull(first.getCacheFilter());
+        renderMoved(second, CacheFilterShim.AUTO_CACHE_RENDERS);
+        assertNotNull(second.getCacheFilter());
+        assertNull(first.getCacheFilter());
+    }
+
+    @Test public void evictedCacheIsRecreatedWithoutBackOff() {
+        int size = (int) Math.sqrt(PrismSettings.autoCacheBudget * 0.6 / 4);
+        NGGroup first = createAutoCacheGroup(size);
+        NGGroup second = createAutoCacheGroup(size);
+        renderMoved(first, CacheFilterShim.AUTO_CACHE_RENDERS);
+        renderMoved(second, CacheFilterShim.AUTO_CACHE_RENDERS);
+        assertNull(first.getCacheFilter());
+
+        renderMoved(first, CacheFilterShim.AUTO_CACHE_RENDERS - 1);
+        assertNull(first.getCacheFilter());
+        renderMoved(first, 1);
+        assertNotNull(first.getCacheFilter());
+        assertNull(second.getCacheFilter());
+    }
+
+    @Test public void nodeLargerThanBudgetIsNotCached() {
+        int size = (int) Math.sqrt(PrismSettings.autoCacheBudget / 4) + 1;
+        NGGroup group = createAutoCacheGroup(size);
+        renderMoved(group, CacheFilterShim.AUTO_CACHE_RENDERS);
+        assertNull(group.getCacheFilter());
+    }
 }
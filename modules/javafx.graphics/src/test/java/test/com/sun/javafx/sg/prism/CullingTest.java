@@ -232,4 +232,29 @@ public class CullingTest extends NGTestBase {
         Assert.assertEquals(2 | (1 << 2), NGNodeShim.cullingBits(gbn));
         Assert.assertEquals(1 << 2, NGNodeShim.cullingBits(bn1));
     }
+
+    @Test
+    public void test_many_regions() {
+        NGNode bn1 = createRectangle(200, 0, 10, 10);
+        NGNode bn2 = createRectangle(290, 0, 10, 10);
+        NGNode gbn = createGroup(bn1, bn2);
+
+        // 30 regions in a row, each 10 pixels wide
+        RectBounds[] regions = new RectBounds[30];
+        for (int i = 0; i < regions.length; i++) {
+            regions[i] = new RectBounds(i * 10, 0, i * 10 + 10, 10);
+        }
+        DirtyRegionContainer drc = new DirtyRegionContainer(regions.length);
+        drc.deriveWithNewRegions(regions);
+        NGNodeShim.markCullRegions(gbn,drc, -1, BaseTransform.IDENTITY_TRANSFORM, new GeneralTransform3D());
+
+        // the group spans regions 19 to 29
+        long groupBits = 0;
+        for (int i = 19; i < 30; i++) {
+            groupBits |= 1L << (2 * i);
+        }
+        Assert.assertEquals(groupBits, NGNodeShim.cullingBits(gbn));
+        Assert.assertEquals((1L << 38) | (2L << 40) | (1L << 42), NGNodeShim.cullingBits(bn1));
+        Assert.assertEquals((1L << 56) | (2L << 58), NGNodeShim.cullingBits(bn2));
+    }
 }
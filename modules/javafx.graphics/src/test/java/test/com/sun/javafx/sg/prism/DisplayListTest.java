@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.sg.prism;
+
+import java.util.ArrayList;
+import java.util.List;
+import com.sun.javafx.sg.prism.DisplayList;
+import com.sun.javafx.sg.prism.NGNodeShim;
+import com.sun.javafx.sg.prism.NGRectangle;
+import com.sun.prism.Graphics;
+import com.sun.prism.Texture;
+import com.sun.prism.paint.Color;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for recording and replaying the rendering of groups
+ */
+public class DisplayListTest extends NGTestBase {
+    private CountingRectangle rect;
+    private TestNGGroup group;
+    private DisplayList displayList;
+    private RecordingTestGraphics g;
+
+    @Before
+    public void setup() {
+        rect = new CountingRectangle();
+        rect.updateRectangle(0, 0, 10, 10, 0, 0);
+        group = createGroup(rect);
+        NGNodeShim.setDisplayList(group, true);
+        displayList = NGNodeShim.getDisplayList(group);
+        g = new RecordingTestGraphics();
+    }
+
+    private void render(int times) {
+        for (int i = 0; i < times; i++) {
+            group.render(g);
+        }
+    }
+
+    @Test
+    public void testRecordedAfterCleanRenders() {
+        render(1);
+        assertFalse(displayList.isValid());
+        render(1);
+        assertTrue(displayList.isValid());
+        assertEquals(2, rect.renders);
+    }
+
+    @Test
+    public void testReplayDoesNotRenderSubtree() {
+        render(5);
+        assertEquals(2, rect.renders);
+        assertEquals(5, g.fills.size());
+        assertEquals(Color.RED, g.getPaint());
+    }
+
+    @Test
+    public void testChildChangeInvalidates() {
+        render(3);
+        rect.updateRectangle(0, 0, 20, 20, 0, 0);
+        assertFalse(displayList.isValid());
+        render(1);
+        assertEquals(3, rect.renders);
+        render(2);
+        assertEquals(4, rect.renders);
+        assertTrue(displayList.isValid());
+    }
+
+    @Test
+    public void testChildTranslationInvalidates() {
+        render(3);
+        translate(rect, 5, 0);
+        assertFalse(displayList.isValid());
+    }
+
+    @Test
+    public void testReplayedAtIntegerTranslation() {
+        render(2);
+        g.translate(3, 4);
+        render(1);
+        assertEquals(2, rect.renders);
+        assertEquals(3, g.fills.size());
+        assertEquals(3f, g.fills.get(2)[0], 0f);
+        assertEquals(4f, g.fills.get(2)[1], 0f);
+    }
+
+    @Test
+    public void testNotReplayedAtFractionalTranslation() {
+        render(2);
+        g.translate(0.5f, 0);
+        render(1);
+        assertEquals(3, rect.renders);
+        assertFalse(displayList.isValid());
+    }
+
+    @Test
+    public void testNotReplayedWithDifferentExtraAlpha() {
+        render(2);
+        g.setExtraAlpha(0.5f);
+        render(1);
+        assertEquals(3, rect.renders);
+    }
+
+    @Test
+    public void testTexturesAreNotRecorded() {
+        rect.drawTexture = true;
+        render(4);
+        assertFalse(displayList.isValid());
+        assertEquals(4, rect.renders);
+    }
+
+    @Test
+    public void testClipChangesAreNotRecorded() {
+        rect.setClip = true;
+        render(4);
+        assertFalse(displayList.isValid());
+        assertEquals(4, rect.renders);
+    }
+
+    @Test
+    public void testAncestorListReplacesNestedList() {
+        final CountingRectangle sibling = new CountingRectangle();
+        sibling.updateRectangle(20, 0, 10, 10, 0, 0);
+        final TestNGGroup outer = createGroup(group, sibling);
+        NGNodeShim.setDisplayList(outer, true);
+        final DisplayList outerList = NGNodeShim.getDisplayList(outer);
+
+        // the sibling changes, so only the inner group gets recorded
+        for (int i = 0; i < 2; i++) {
+            outer.render(g);
+            sibling.updateRectangle(20, 0, 10 + i, 10, 0, 0);
+        }
+        assertTrue(displayList.isValid());
+        assertFalse(outerList.isValid());
+
+        // once the outer group is recorded, the inner list is released
+        outer.render(g);
+        outer.render(g);
+        assertTrue(outerList.isValid());
+        assertFalse(displayList.isValid());
+
+        final int renders = rect.renders;
+        outer.render(g);
+        outer.render(g);
+        assertEquals(renders, rect.renders);
+        assertFalse(displayList.isValid());
+    }
+
+    @Test
+    public void testNestedListKeptIfAncestorIsNotRecorded() {
+        final CountingRectangle sibling = new CountingRectangle();
+        sibling.drawTexture = true;
+        final TestNGGroup outer = createGroup(group, sibling);
+        NGNodeShim.setDisplayList(outer, true);
+        final DisplayList outerList = NGNodeShim.getDisplayList(outer);
+
+        render(2);
+        assertTrue(displayList.isValid());
+        for (int i = 0; i < 4; i++) {
+            outer.render(g);
+        }
+        assertFalse(outerList.isValid());
+        assertTrue(displayList.isValid());
+    }
+
+    private static final class CountingRectangle extends NGRectangle {
+        int renders;
+        boolean drawTexture;
+        boolean setClip;
+
+        @Override
+        protected void renderContent(Graphics g) {
+            renders++;
+            g.setPaint(Color.RED);
+            g.fillRect(0, 0, 10, 10);
+            if (drawTexture) {
+                g.drawTexture(null, 0, 0, 10, 10);
+            }
+            if (setClip) {
+                g.setClipRect(null);
+            }
+        }
+    }
+
+    private static final class RecordingTestGraphics extends TestGraphics {
+        final List<float[]> fills = new ArrayList<>();
+
+        @Override
+        public void fillRect(float x, float y, float width, float height) {
+            fills.add(new float[] {
+                (float) getTransformNoClone().getMxt() + x,
+                (float) getTransformNoClone().getMyt() + y,
+            });
+        }
+
+        @Override
+        public void drawTexture(Texture tex, float x, float y, float w, float h) {
+        }
+    }
+}
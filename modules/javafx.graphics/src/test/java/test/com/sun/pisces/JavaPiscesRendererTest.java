@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.pisces;
+
+import com.sun.glass.utils.NativeLibLoader;
+import com.sun.pisces.GradientColorMap;
+import com.sun.pisces.JavaPiscesRenderer;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.pisces.RendererBase;
+import com.sun.pisces.Transform6;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+/**
+ * Checks that JavaPiscesRenderer produces the same pixels as the native
+ * PiscesRenderer, by applying the same random sequence of colors, composite
+ * rules, clips and operations to both.
+ */
+public class JavaPiscesRendererTest {
+
+    private static final int WIDTH = 97;
+    private static final int HEIGHT = 61;
+    private static final int OPERATIONS = 2000;
+
+    // coverage map for 4x4 subpixels, as produced by a rasterizer
+    private static final byte[] ALPHA_MAP = new byte[17];
+    static {
+        for (int i = 0; i < ALPHA_MAP.length; i++) {
+            ALPHA_MAP[i] = (byte) ((i * 255 + 8) / 16);
+        }
+    }
+
+    private static final int[] RULES = {
+        RendererBase.COMPOSITE_SRC_OVER,
+        RendererBase.COMPOSITE_SRC,
+        RendererBase.COMPOSITE_CLEAR,
+    };
+
+    private static boolean nativeAvailable;
+
+    @BeforeClass
+    public static void setUpClass() {
+        try {
+            NativeLibLoader.loadLibrary("prism_sw");
+            nativeAvailable = true;
+        } catch (Throwable t) {
+            nativeAvailable = false;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        assumeTrue("prism_sw is not available", nativeAvailable);
+    }
+
+    private int[] nativeData;
+    private int[] javaData;
+    private PiscesRenderer nativeRenderer;
+    private PiscesRenderer javaRenderer;
+    private int rule;
+
+    private void createRenderers(Random random) {
+        nativeData = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < nativeData.length; i++) {
+            nativeData[i] = randomPremultiplied(random);
+        }
+        javaData = nativeData.clone();
+        nativeRenderer = new PiscesRenderer(
+                new JavaSurface(nativeData, RendererBase.TYPE_INT_ARGB_PRE, WIDTH, HEIGHT));
+        javaRenderer = new JavaPiscesRenderer(
+                new JavaSurface(javaData, RendererBase.TYPE_INT_ARGB_PRE, WIDTH, HEIGHT));
+        rule = RendererBase.COMPOSITE_SRC_OVER;
+    }
+
+    private static int randomPremultiplied(Random random) {
+        switch (random.nextInt(4)) {
+            case 0: return 0;
+            case 1: return 0xFF000000 | random.nextInt(0x1000000);
+            default:
+                final int a = random.nextInt(256);
+                final int r = random.nextInt(a + 1);
+                final int g = random.nextInt(a + 1);
+                final int b = random.nextInt(a + 1);
+                return (a << 24) | (r << 16) | (g << 8) | b;
+        }
+    }
+
+    private static int randomComponent(Random random) {
+        // favor the values that take shortcuts in the blitters
+        switch (random.nextInt(5)) {
+            case 0: return 0;
+            case 1: return 255;
+            default: return random.nextInt(256);
+        }
+    }
+
+    // a 16.16 coordinate, sometimes off the surface and sometimes whole
+    private static int randomFixed(Random random, int size) {
+        final int v = (random.nextInt(size + 20) - 10) << 16;
+        return random.nextBoolean() ? v : v + random.nextInt(0x10000);
+    }
+
+    private void apply(Random random) {
+        switch (random.nextInt(10)) {
+            case 0: {
+                final int r = randomComponent(random);
+                final int g = randomComponent(random);
+                final int b = randomComponent(random);
+                final int a = randomComponent(random);
+                nativeRenderer.setColor(r, g, b, a);
+                javaRenderer.setColor(r, g, b, a);
+                break;
+            }
+            case 1:
+                rule = RULES[random.nextInt(RULES.length)];
+                nativeRenderer.setCompositeRule(rule);
+                javaRenderer.setCompositeRule(rule);
+                break;
+            case 2:
+                if (random.nextBoolean()) {
+                    nativeRenderer.resetClip();
+                    javaRenderer.resetClip();
+                } else {
+                    final int x = random.nextInt(WIDTH + 10) - 5;
+                    final int y = random.nextInt(HEIGHT + 10) - 5;
+                    final int w = random.nextInt(WIDTH);
+                    final int h = random.nextInt(HEIGHT);
+                    nativeRenderer.setClip(x, y, w, h);
+                    javaRenderer.setClip(x, y, w, h);
+                }
+                break;
+            case 3: {
+                // the native renderer is used for gradients by both
+                final int[] fractions = { 0, 0x10000 };
+                final int[] rgba = { randomPremultiplied(random), randomPremultiplied(random) };
+                final Transform6 identity = new Transform6();
+                final int x0 = randomFixed(random, WIDTH);
+                final int y0 = randomFixed(random, HEIGHT);
+                nativeRenderer.setLinearGradient(x0, y0, x0 + (40 << 16), y0 + (20 << 16),
+                        fractions, rgba, GradientColorMap.CYCLE_NONE, identity);
+                javaRenderer.setLinearGradient(x0, y0, x0 + (40 << 16), y0 + (20 << 16),
+                        fractions, rgba, GradientColorMap.CYCLE_NONE, identity);
+                break;
+            }
+            case 4: {
+                final int x = random.nextInt(WIDTH + 10) - 5;
+                final int y = random.nextInt(HEIGHT + 10) - 5;
+                final int w = random.nextInt(WIDTH);
+                final int h = random.nextInt(HEIGHT);
+                nativeRenderer.clearRect(x, y, w, h);
+                javaRenderer.clearRect(x, y, w, h);
+                break;
+            }
+            case 5:
+            case 6: {
+                final int x = randomFixed(random, WIDTH);
+                final int y = randomFixed(random, HEIGHT);
+                final int w = random.nextInt(WIDTH << 16);
+                final int h = random.nextInt(HEIGHT << 16);
+                nativeRenderer.fillRect(x, y, w, h);
+                javaRenderer.fillRect(x, y, w, h);
+                break;
+            }
+            case 7:
+            case 8:
+                emitAlphaRows(random);
+                break;
+            default:
+                // the native mask blitter does not support COMPOSITE_CLEAR
+                if (rule != RendererBase.COMPOSITE_CLEAR) {
+                    fillAlphaMask(random);
+                }
+                break;
+        }
+    }
+
+    private void emitAlphaRows(Random random) {
+        final int from = random.nextInt(WIDTH + 10) - 5;
+        final int to = from + random.nextInt(WIDTH / 2);
+        final int off = random.nextInt(4);
+        final int y0 = random.nextInt(HEIGHT + 4) - 2;
+        final int rows = 1 + random.nextInt(4);
+        for (int row = 0; row < rows; row++) {
+            // deltas whose running sum stays within the alpha map
+            final int[] nativeDeltas = new int[off + to - from + 2];
+            int sum = 0;
+            for (int i = off; i <= off + to - from; i++) {
+                if (random.nextInt(3) == 0) {
+                    final int next = random.nextInt(ALPHA_MAP.length);
+                    nativeDeltas[i] = next - sum;
+                    sum = next;
+                }
+            }
+            nativeDeltas[off + to - from + 1] = -sum;
+            final int[] javaDeltas = nativeDeltas.clone();
+            nativeRenderer.emitAndClearAlphaRow(ALPHA_MAP, nativeDeltas, y0 + row, from, to, off, row);
+            javaRenderer.emitAndClearAlphaRow(ALPHA_MAP, javaDeltas, y0 + row, from, to, off, row);
+            assertArrayEquals("alpha deltas", nativeDeltas, javaDeltas);
+        }
+    }
+
+    private void fillAlphaMask(Random random) {
+        final int w = 1 + random.nextInt(WIDTH / 2);
+        final int h = 1 + random.nextInt(HEIGHT / 2);
+        final int x = random.nextInt(WIDTH + 10) - 5 - w / 2;
+        final int y = random.nextInt(HEIGHT + 10) - 5 - h / 2;
+        final int offset = random.nextInt(8);
+        final byte[] mask = new byte[offset + w * h];
+        for (int i = offset; i < mask.length; i++) {
+            mask[i] = (byte) randomComponent(random);
+        }
+        nativeRenderer.fillAlphaMask(mask, x, y, w, h, offset, w);
+        javaRenderer.fillAlphaMask(mask, x, y, w, h, offset, w);
+    }
+
+    private void checkRandomOperations(long seed) {
+        final Random random = new Random(seed);
+        createRenderers(random);
+        for (int op = 0; op < OPERATIONS; op++) {
+            apply(random);
+            for (int i = 0; i < nativeData.length; i++) {
+                if (nativeData[i] != javaData[i]) {
+                    fail("seed " + seed + ", operation " + op
+                            + ": pixel (" + (i % WIDTH) + ", " + (i / WIDTH) + ") is "
+                            + Integer.toHexString(javaData[i]) + " rather than "
+                            + Integer.toHexString(nativeData[i]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRandomOperations() {
+        for (long seed = 1; seed <= 20; seed++) {
+            checkRandomOperations(seed);
+        }
+    }
+
+    @Test
+    public void testRandomOperationsOnOpaqueColors() {
+        final Random random = new Random(42);
+        createRenderers(random);
+        for (int op = 0; op < OPERATIONS; op++) {
+            final int r = random.nextInt(256);
+            final int g = random.nextInt(256);
+            final int b = random.nextInt(256);
+            nativeRenderer.setColor(r, g, b, 255);
+            javaRenderer.setColor(r, g, b, 255);
+            if (random.nextBoolean()) {
+                emitAlphaRows(random);
+            } else {
+                fillAlphaMask(random);
+            }
+            assertArrayEquals("operation " + op, nativeData, javaData);
+        }
+    }
+}
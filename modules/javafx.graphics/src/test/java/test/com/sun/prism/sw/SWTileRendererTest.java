@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.prism.sw;
+
+import com.sun.glass.utils.NativeLibLoader;
+import com.sun.javafx.geom.Ellipse2D;
+import com.sun.javafx.geom.Path2D;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.RoundRectangle2D;
+import com.sun.javafx.geom.transform.Affine2D;
+import com.sun.prism.BasicStroke;
+import com.sun.prism.CompositeMode;
+import com.sun.prism.Graphics;
+import com.sun.prism.RTTexture;
+import com.sun.prism.paint.Color;
+import com.sun.prism.paint.Gradient;
+import com.sun.prism.paint.LinearGradient;
+import com.sun.prism.paint.RadialGradient;
+import com.sun.prism.paint.Stop;
+import com.sun.prism.sw.SWTileRendererShim;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+public class SWTileRendererTest {
+
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 400;
+    private static final int TILE_SIZE = 32;
+
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void setUpClass() {
+        boolean loaded;
+        try {
+            NativeLibLoader.loadLibrary("prism_sw");
+            loaded = true;
+        } catch (Throwable t) {
+            loaded = false;
+        }
+        assumeTrue("prism_sw is not available", loaded);
+        pool = new ForkJoinPool(3);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private static List<Stop> stops() {
+        return Arrays.asList(new Stop(new Color(1f, 0f, 0f, 1f), 0f),
+                             new Stop(new Color(0f, 0.5f, 1f, 0.6f), 0.5f),
+                             new Stop(new Color(0.2f, 1f, 0.2f, 1f), 1f));
+    }
+
+    private static Path2D star() {
+        final Path2D path = new Path2D();
+        path.moveTo(150, 10);
+        for (int i = 1; i < 10; i++) {
+            final double a = Math.PI * i / 5;
+            final double r = (i % 2 == 0) ? 140 : 50;
+            path.lineTo((float) (150 + r * Math.sin(a)), (float) (180 - r * Math.cos(a)));
+        }
+        path.closePath();
+        path.moveTo(20, 300);
+        path.curveTo(80, 200, 220, 420, 280, 300);
+        path.quadTo(150, 390, 20, 300);
+        path.closePath();
+        return path;
+    }
+
+    private static void assertTiledMatchesUntiled(Consumer<Graphics> render) {
+        assertTiledMatchesUntiled(new Color(0f, 0f, 0f, 0f), render);
+    }
+
+    private static void assertTiledMatchesUntiled(Color background, Consumer<Graphics> render) {
+        final RTTexture untiled = SWTileRendererShim.createRTTexture(WIDTH, HEIGHT);
+        final RTTexture tiled = SWTileRendererShim.createRTTexture(WIDTH, HEIGHT);
+        assumeTrue(SWTileRendererShim.supportsTiledRendering(tiled));
+        SWTileRendererShim.setTileRenderer(tiled, TILE_SIZE, pool);
+        try {
+            for (RTTexture tex : new RTTexture[] { untiled, tiled }) {
+                final Graphics g = tex.createGraphics();
+                g.clear(background);
+                render.accept(g);
+            }
+            final int[] expected = SWTileRendererShim.getPixels(untiled);
+            final int[] actual = SWTileRendererShim.getPixels(tiled);
+            for (int i = 0; i < expected.length; i++) {
+                if (expected[i] != actual[i]) {
+                    fail("pixel (" + (i % WIDTH) + ", " + (i / WIDTH) + ") is "
+                            + Integer.toHexString(actual[i]) + " rather than "
+                            + Integer.toHexString(expected[i]));
+                }
+            }
+        } finally {
+            untiled.dispose();
+            tiled.dispose();
+        }
+    }
+
+    @Test
+    public void testFillRect() {
+        assertTiledMatchesUntiled(g -> {
+            g.setPaint(new Color(0.3f, 0.6f, 0.9f, 1f));
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+            g.setPaint(new Color(1f, 0.5f, 0f, 0.5f));
+            g.fillRect(10.5f, 17.25f, 250.5f, 333.75f);
+        });
+    }
+
+    @Test
+    public void testFillRectWithGradients() {
+        assertTiledMatchesUntiled(g -> {
+            g.setPaint(new LinearGradient(0, 0, 0, HEIGHT, null, false, Gradient.PAD, stops()));
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+            g.setPaint(new RadialGradient(150, 200, 0, 0, 100, null, false, Gradient.REFLECT, stops()));
+            g.fillRect(20, 30, 260, 340);
+        });
+    }
+
+    @Test
+    public void testFillShapes() {
+        assertTiledMatchesUntiled(g -> {
+            g.setPaint(new Color(0f, 0f, 1f, 1f));
+            g.fill(new Ellipse2D(5, 7, 290, 385));
+            g.setPaint(new Color(1f, 0f, 0f, 0.7f));
+            g.fill(new RoundRectangle2D(30.5f, 40.5f, 230, 310, 40, 60));
+            g.setPaint(new LinearGradient(0, 0, 1, 1, null, true, Gradient.REPEAT, stops()));
+            g.fill(star());
+        });
+    }
+
+    @Test
+    public void testStrokeShapes() {
+        assertTiledMatchesUntiled(g -> {
+            g.setPaint(new Color(0.1f, 0.8f, 0.3f, 0.9f));
+            g.setStroke(new BasicStroke(9f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_MITER, 4f));
+            g.draw(star());
+            g.setStroke(new BasicStroke(BasicStroke.TYPE_INNER, 12f, BasicStroke.CAP_BUTT,
+                    BasicStroke.JOIN_ROUND, 10f));
+            g.draw(new RoundRectangle2D(20, 20, 260, 360, 80, 80));
+            g.setStroke(new BasicStroke(5f, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_BEVEL, 10f,
+                    new float[] { 20f, 7f }, 3f));
+            g.draw(new Ellipse2D(10, 10, 280, 380));
+        });
+    }
+
+    @Test
+    public void testTransformAndClip() {
+        assertTiledMatchesUntiled(g -> {
+            g.setClipRect(new Rectangle(13, 45, 250, 301));
+            g.setTransform(new Affine2D(1.2, 0.3, -0.25, 0.9, 20, -10));
+            g.setPaint(new RadialGradient(0.5f, 0.5f, 30, 0.2f, 0.6f, null, true, Gradient.PAD, stops()));
+            g.fill(star());
+            g.setPaint(new Color(0.5f, 0f, 0.5f, 0.8f));
+            g.fillRect(-20, 60, 300, 250);
+        });
+    }
+
+    @Test
+    public void testCompositeModesAndExtraAlpha() {
+        assertTiledMatchesUntiled(new Color(0.2f, 0.2f, 0.2f, 0.5f), g -> {
+            g.setExtraAlpha(0.6f);
+            g.setPaint(new Color(1f, 1f, 0f, 1f));
+            g.fill(new Ellipse2D(0, 0, WIDTH, HEIGHT));
+            g.setExtraAlpha(1f);
+            g.setCompositeMode(CompositeMode.SRC);
+            g.setPaint(new Color(0f, 0.4f, 0.4f, 0.4f));
+            g.fill(star());
+            g.setCompositeMode(CompositeMode.SRC_OVER);
+            g.setPaint(new LinearGradient(0, 0, WIDTH, HEIGHT, null, false, Gradient.PAD, stops()));
+            g.fillRect(10, 10, 280, 380);
+            g.setCompositeMode(CompositeMode.CLEAR);
+            g.fillRect(40.5f, 50.5f, 220, 300);
+        });
+    }
+
+    @Test
+    public void testSmallShapesAreNotTiled() {
+        assertTiledMatchesUntiled(g -> {
+            g.setPaint(new Color(0f, 0f, 0f, 1f));
+            for (int i = 0; i < 20; i++) {
+                g.fill(new Ellipse2D(i * 14, i * 19, 12, 12));
+                g.fillRect(i * 14 + 2, i * 19 + 25, 10, 30);
+            }
+        });
+    }
+
+    @Test
+    public void testDisposeReleasesTileRenderer() {
+        final RTTexture tex = SWTileRendererShim.createRTTexture(WIDTH, HEIGHT);
+        SWTileRendererShim.setTileRenderer(tex, TILE_SIZE, pool);
+        assertTrue(SWTileRendererShim.hasTileRenderer(tex));
+        tex.dispose();
+        assertFalse(SWTileRendererShim.hasTileRenderer(tex));
+    }
+
+    @Test
+    public void testScratchTexturesAreNotTiled() {
+        assertFalse(SWTileRendererShim.hasTileRenderer(SWTileRendererShim.createRTTexture(WIDTH, HEIGHT)));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.css;
+
+import javafx.css.Selector;
+import javafx.scene.Group;
+import javafx.scene.shape.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SelectorAppliesTest {
+
+    private Group root;
+    private Group outer;
+    private Group inner;
+    private Rectangle rect;
+
+    @Before
+    public void setUp() {
+        // root.a > outer.b > inner.c > rect.d
+        rect = new Rectangle();
+        rect.getStyleClass().add("d");
+        inner = new Group(rect);
+        inner.getStyleClass().add("c");
+        outer = new Group(inner);
+        outer.getStyleClass().add("b");
+        root = new Group(outer);
+        root.getStyleClass().addAll("a", "x");
+    }
+
+    @Test
+    public void testSimpleSelectorMatchesAllStyleClasses() {
+        assertTrue(Selector.createSelector(".a.x").applies(root));
+        assertTrue(Selector.createSelector(".x").applies(root));
+        assertFalse(Selector.createSelector(".a.y").applies(root));
+    }
+
+    @Test
+    public void testSimpleSelectorSeesStyleClassChanges() {
+        Selector selector = Selector.createSelector(".y");
+        assertFalse(selector.applies(root));
+
+        root.getStyleClass().add("y");
+        assertTrue(selector.applies(root));
+
+        root.getStyleClass().remove("y");
+        assertFalse(selector.applies(root));
+    }
+
+    @Test
+    public void testDescendantSelector() {
+        assertTrue(Selector.createSelector(".a .d").applies(rect));
+        assertTrue(Selector.createSelector(".a .b .c .d").applies(rect));
+        assertTrue(Selector.createSelector(".a .c .d").applies(rect));
+        assertFalse(Selector.createSelector(".c .b .d").applies(rect));
+        assertFalse(Selector.createSelector(".y .d").applies(rect));
+    }
+
+    @Test
+    public void testDescendantSelectorWithRepeatedStyleClass() {
+        // the nearest .b is not the one that has a .a parent
+        inner.getStyleClass().add("b");
+        assertTrue(Selector.createSelector(".a > .b .d").applies(rect));
+        assertTrue(Selector.createSelector(".b .b .d").applies(rect));
+        assertFalse(Selector.createSelector(".b .b .b .d").applies(rect));
+    }
+
+    @Test
+    public void testChildSelector() {
+        assertTrue(Selector.createSelector(".c > .d").applies(rect));
+        assertTrue(Selector.createSelector(".a > .b .d").applies(rect));
+        assertFalse(Selector.createSelector(".b > .d").applies(rect));
+        assertFalse(Selector.createSelector(".a > .c .d").applies(rect));
+    }
+}
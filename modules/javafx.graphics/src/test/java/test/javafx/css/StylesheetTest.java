@@ -25,6 +25,7 @@
 
 package test.javafx.css;
 
+import com.sun.javafx.css.StylesheetHelper;
 import javafx.css.StyleConverter.StringStore;
 import javafx.css.converter.EnumConverter;
 import javafx.css.converter.StringConverter;
@@ -636,4 +637,32 @@ public class StylesheetTest {
         }
     }
 
+    @Test
+    public void testSaveAndLoadBinaryKeepsStylesheetUrl() throws IOException {
+        final String url = "file:/some/dir/test.css";
+        Stylesheet stylesheet = new CssParser().parse(url,
+                ".rect { -fx-background-image: url(\"images/duke.png\"); }");
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        StylesheetHelper.saveBinary(stylesheet, baos);
+
+        DataInputStream is = new DataInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        Stylesheet result = StylesheetHelper.loadBinary(is, url);
+
+        assertEquals(url, result.getUrl());
+        assertEquals(1, result.getRules().size());
+        Declaration decl = result.getRules().get(0).getDeclarations().get(0);
+        String[] images = (String[])decl.getParsedValue().convert(null);
+        assertEquals("file:/some/dir/images/duke.png", images[0]);
+    }
+
+    @Test
+    public void testHasImports() throws IOException {
+        Stylesheet stylesheet = new CssParser().parse("file:/some/dir/test.css", ".rect { -fx-fill: red; }");
+        assertFalse(StylesheetHelper.hasImports(stylesheet));
+
+        stylesheet = new CssParser().parse("file:/some/dir/test.css", "@import \"other.css\"; .rect { -fx-fill: red; }");
+        assertTrue(StylesheetHelper.hasImports(stylesheet));
+    }
+
 }
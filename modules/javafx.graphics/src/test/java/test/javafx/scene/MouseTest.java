@@ -28,6 +28,8 @@ package test.javafx.scene;
 import com.sun.javafx.scene.SceneHelper;
 import test.com.sun.javafx.test.MouseEventGenerator;
 import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
 import javafx.event.EventHandler;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.shape.Rectangle;
@@ -49,6 +51,7 @@ import javafx.scene.ParentShim;
 import javafx.scene.PerspectiveCamera;
 import javafx.scene.Scene;
 import javafx.scene.SubScene;
+import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseDragEvent;
 import javafx.scene.input.PickResult;
 import javafx.scene.paint.Color;
@@ -589,6 +592,69 @@ public class MouseTest {
         assertFalse(scene.groupTracker.isHover());
     }
 
+    @Test
+    public void testHoverWithMovesFromPeer() {
+        SimpleTestScene scene = new SimpleTestScene();
+
+        scene.peerMouseEvent(MouseEvent.MOUSE_MOVED, 250, 250, false);
+        scene.peerMouseEvent(MouseEvent.MOUSE_MOVED, 150, 150, false);
+
+        assertTrue(scene.bigSquareTracker.wasMoved());
+        assertFalse(scene.smallSquareTracker.isHover());
+        assertTrue(scene.bigSquareTracker.isHover());
+        assertTrue(scene.groupTracker.isHover());
+
+        scene.peerMouseEvent(MouseEvent.MOUSE_MOVED, 250, 250, false);
+        scene.peerMouseEvent(MouseEvent.MOUSE_PRESSED, 250, 250, true);
+
+        assertTrue(scene.smallSquareTracker.isHover());
+        assertTrue(scene.smallSquareTracker.wasPressed());
+        assertFalse(scene.bigSquareTracker.wasPressed());
+    }
+
+    @Test
+    public void testMovesFromPeerAreCoalescedAndFlushedBeforePress() {
+        final StubToolkit toolkit = (StubToolkit) Toolkit.getToolkit();
+        SimpleTestScene scene = new SimpleTestScene();
+        final List<MouseEvent> events = new ArrayList<>();
+        scene.scene.addEventFilter(MouseEvent.ANY, e -> {
+            if (e.getEventType() == MouseEvent.MOUSE_MOVED
+                    || e.getEventType() == MouseEvent.MOUSE_PRESSED) {
+                events.add(e);
+            }
+        });
+
+        toolkit.setDeferRunnables(true);
+        try {
+            scene.peerMouseEvent(MouseEvent.MOUSE_MOVED, 150, 150, false);
+            scene.peerMouseEvent(MouseEvent.MOUSE_MOVED, 220, 220, false);
+            scene.peerMouseEvent(MouseEvent.MOUSE_MOVED, 250, 250, false);
+            assertTrue(events.isEmpty());
+
+            scene.peerMouseEvent(MouseEvent.MOUSE_PRESSED, 250, 250, true);
+            assertEquals(2, events.size());
+            assertSame(MouseEvent.MOUSE_MOVED, events.get(0).getEventType());
+            assertEquals(250, events.get(0).getSceneX(), 0.0001);
+            assertSame(MouseEvent.MOUSE_PRESSED, events.get(1).getEventType());
+            assertTrue(scene.smallSquareTracker.isHover());
+            assertFalse(scene.bigSquareTracker.wasMoved());
+
+            // the move was delivered, the posted runnable has nothing to do
+            toolkit.runDeferredRunnables();
+            assertEquals(2, events.size());
+
+            scene.peerMouseEvent(MouseEvent.MOUSE_MOVED, 150, 150, false);
+            scene.peerMouseEvent(MouseEvent.MOUSE_MOVED, 160, 160, false);
+            toolkit.runDeferredRunnables();
+            assertEquals(3, events.size());
+            assertEquals(160, events.get(2).getSceneX(), 0.0001);
+            assertFalse(scene.smallSquareTracker.isHover());
+            assertTrue(scene.bigSquareTracker.isHover());
+        } finally {
+            toolkit.setDeferRunnables(false);
+        }
+    }
+
     @Test
     public void clickShouldBeGeneratedFromPressRelease() {
         SimpleTestScene scene = new SimpleTestScene();
@@ -1586,6 +1652,13 @@ public class MouseTest {
             SceneHelper.processMouseEvent(scene, e);
         }
 
+        public void peerMouseEvent(EventType<MouseEvent> type, double x, double y,
+                boolean primaryDown) {
+            ((StubScene) SceneHelper.getPeer(scene)).getListener().mouseEvent(
+                    type, x, y, x, y, MouseButton.PRIMARY, false, false,
+                    false, false, false, false, primaryDown, false, false, false, false);
+        }
+
         public Object getCursorFrame() {
             return ((StubScene) SceneHelper.getPeer(scene)).getCursor();
         }
@@ -36,6 +36,7 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.ParentShim;
 import javafx.scene.Scene;
+import javafx.scene.SceneShim;
 import javafx.scene.shape.Rectangle;
 import javafx.stage.Stage;
 import org.junit.After;
@@ -477,6 +478,90 @@ public class ParentTest {
         // there are assertions tested down the stack (see RT-21746)
     }
 
+    private static class CountingGroup extends Group {
+
+        private int layoutChildrenCount;
+
+        @Override protected void layoutChildren() {
+            super.layoutChildren();
+            layoutChildrenCount++;
+        }
+    }
+
+    @Test
+    public void layoutPassVisitsOnlyDirtyBranches() {
+        final Group root = new Group();
+        final CountingGroup[] leaves = new CountingGroup[50];
+        for (int i = 0; i < leaves.length; i++) {
+            final Group branch = new Group();
+            leaves[i] = new CountingGroup();
+            leaves[i].setManaged(false);
+            ParentShim.getChildren(branch).add(leaves[i]);
+            ParentShim.getChildren(root).add(branch);
+        }
+
+        Scene scene = new Scene(root);
+        stage.setScene(scene);
+        stage.show();
+        toolkit.fireTestPulse();
+
+        leaves[10].requestLayout();
+        leaves[40].requestLayout();
+        toolkit.fireTestPulse();
+
+        assertEquals(2, leaves[10].layoutChildrenCount);
+        assertEquals(2, leaves[40].layoutChildrenCount);
+        assertEquals(1, leaves[11].layoutChildrenCount);
+        // the root, the two branches and the two leaves
+        assertEquals(5, SceneShim.get_lastLayoutPassVisitCount(scene));
+    }
+
+    @Test
+    public void layoutPassVisitsAllChildrenWhenManyBranchesAreDirty() {
+        final Group root = new Group();
+        final CountingGroup[] leaves = new CountingGroup[50];
+        for (int i = 0; i < leaves.length; i++) {
+            leaves[i] = new CountingGroup();
+            leaves[i].setManaged(false);
+            ParentShim.getChildren(root).add(leaves[i]);
+        }
+
+        Scene scene = new Scene(root);
+        stage.setScene(scene);
+        stage.show();
+        toolkit.fireTestPulse();
+
+        for (CountingGroup leaf : leaves) {
+            leaf.requestLayout();
+        }
+        toolkit.fireTestPulse();
+
+        for (CountingGroup leaf : leaves) {
+            assertEquals(2, leaf.layoutChildrenCount);
+        }
+    }
+
+    @Test
+    public void removedDirtyBranchIsNotLaidOut() {
+        final Group root = new Group();
+        final Group branch = new Group();
+        final CountingGroup leaf = new CountingGroup();
+        leaf.setManaged(false);
+        ParentShim.getChildren(branch).add(leaf);
+        ParentShim.getChildren(root).add(branch);
+
+        Scene scene = new Scene(root);
+        stage.setScene(scene);
+        stage.show();
+        toolkit.fireTestPulse();
+
+        leaf.requestLayout();
+        ParentShim.getChildren(branch).remove(leaf);
+        toolkit.fireTestPulse();
+
+        assertEquals(1, leaf.layoutChildrenCount);
+    }
+
     private static class LGroup extends Group {
 
         private boolean layoutCalled;
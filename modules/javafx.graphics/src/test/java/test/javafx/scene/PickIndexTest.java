@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.javafx.scene;
+
+import com.sun.javafx.tk.Toolkit;
+import java.util.Random;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.ParentShim;
+import javafx.scene.Scene;
+import javafx.scene.SceneShim;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests picking among enough children for the parent to use a pick index.
+ */
+public class PickIndexTest {
+
+    private static final int COLS = 20;
+    private static final int ROWS = 20;
+    private static final int SIZE = 10;
+
+    private Group group;
+    private Scene scene;
+    private Stage stage;
+
+    @Before
+    public void setUp() {
+        group = new Group();
+        for (int i = 0; i < ROWS; i++) {
+            for (int j = 0; j < COLS; j++) {
+                group.getChildren().add(new Rectangle(j * SIZE, i * SIZE, SIZE - 2, SIZE - 2));
+            }
+        }
+        scene = new Scene(group, COLS * SIZE, ROWS * SIZE);
+        stage = new Stage();
+        stage.setScene(scene);
+        stage.show();
+    }
+
+    @After
+    public void tearDown() {
+        stage.hide();
+    }
+
+    // The topmost visible child of the group containing the point
+    private Node expectedPick(double x, double y) {
+        Node expected = null;
+        for (Node n : group.getChildren()) {
+            if (n.isVisible() && n.contains(n.parentToLocal(x, y))) {
+                expected = n;
+            }
+        }
+        return expected;
+    }
+
+    private void assertPicksMatch() {
+        for (double y = 0.5; y < ROWS * SIZE + 20; y += 3) {
+            for (double x = 0.5; x < COLS * SIZE + 20; x += 3) {
+                assertSame("pick at " + x + ", " + y, expectedPick(x, y), SceneShim.test_pick(scene, x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testPickGrid() {
+        assertSame(group.getChildren().get(0), SceneShim.test_pick(scene, 1, 1));
+        assertSame(group.getChildren().get(COLS + 1), SceneShim.test_pick(scene, SIZE + 1, SIZE + 1));
+        assertNull(SceneShim.test_pick(scene, SIZE - 1, SIZE - 1));
+        assertNull(SceneShim.test_pick(scene, COLS * SIZE + 5, 5));
+        assertPicksMatch();
+    }
+
+    @Test
+    public void testPickTopmostOfOverlappingChildren() {
+        Rectangle top = new Rectangle(5, 5, 20, 20);
+        group.getChildren().add(top);
+        assertSame(top, SceneShim.test_pick(scene, 1 + SIZE, 1 + SIZE));
+        assertSame(group.getChildren().get(0), SceneShim.test_pick(scene, 1, 1));
+        assertPicksMatch();
+    }
+
+    @Test
+    public void testPickAfterChildMoves() {
+        assertPicksMatch();
+        Rectangle r = (Rectangle) group.getChildren().get(5);
+        r.setTranslateX(57);
+        r.setTranslateY(123);
+        assertSame(r, SceneShim.test_pick(scene, 5 * SIZE + 58, 124));
+        assertPicksMatch();
+    }
+
+    @Test
+    public void testChildMovingRepeatedlyKeepsIndex() {
+        assertPicksMatch();
+        final Object index = ParentShim.test_getPickIndex(group);
+        assertNotNull(index);
+        Rectangle r = (Rectangle) group.getChildren().get(7);
+        for (int i = 0; i < 200; i++) {
+            r.setTranslateX(i % 10);
+            r.setTranslateY(ROWS * SIZE);
+            assertSame(r, SceneShim.test_pick(scene, 7 * SIZE + i % 10 + 1, ROWS * SIZE + 1));
+            r.setTranslateY(ROWS * SIZE + 5);
+            assertSame(r, SceneShim.test_pick(scene, 7 * SIZE + i % 10 + 1, ROWS * SIZE + 6));
+        }
+        assertSame(index, ParentShim.test_getPickIndex(group));
+        assertPicksMatch();
+    }
+
+    @Test
+    public void testPickAfterManyChildrenMove() {
+        assertPicksMatch();
+        Random random = new Random(19);
+        for (Node n : group.getChildren()) {
+            n.setLayoutX(random.nextInt(COLS * SIZE) - n.getBoundsInLocal().getMinX());
+            n.setLayoutY(random.nextInt(ROWS * SIZE) - n.getBoundsInLocal().getMinY());
+        }
+        assertPicksMatch();
+    }
+
+    @Test
+    public void testPickAfterHiddenChildMovesAndIsShown() {
+        assertPicksMatch();
+        Rectangle r = (Rectangle) group.getChildren().get(3);
+        r.setVisible(false);
+        assertNull(SceneShim.test_pick(scene, 3 * SIZE + 1, 1));
+        r.setTranslateX(COLS * SIZE);
+        r.setTranslateY(100);
+        r.setVisible(true);
+        assertNull(SceneShim.test_pick(scene, 3 * SIZE + 1, 1));
+        assertSame(r, SceneShim.test_pick(scene, (COLS + 3) * SIZE + 1, 101));
+        assertPicksMatch();
+    }
+
+    @Test
+    public void testPickAfterChildIsResized() {
+        assertPicksMatch();
+        Rectangle r = (Rectangle) group.getChildren().get(0);
+        r.setWidth(COLS * SIZE);
+        r.setHeight(ROWS * SIZE);
+        assertSame(r, SceneShim.test_pick(scene, 9, 9));
+        assertPicksMatch();
+    }
+
+    @Test
+    public void testPickAfterToFrontAndViewOrder() {
+        Rectangle top = new Rectangle(0, 0, 30, 30);
+        group.getChildren().add(0, top);
+        assertSame(group.getChildren().get(1), SceneShim.test_pick(scene, 1, 1));
+        top.toFront();
+        assertSame(top, SceneShim.test_pick(scene, 1, 1));
+        top.toBack();
+        assertSame(group.getChildren().get(1), SceneShim.test_pick(scene, 1, 1));
+        top.setViewOrder(-1);
+        // the children are ordered by view order when the peer is synced
+        Toolkit.getToolkit().firePulse();
+        assertSame(top, SceneShim.test_pick(scene, 1, 1));
+        assertSame(top, SceneShim.test_pick(scene, SIZE + 1, SIZE + 1));
+    }
+
+    @Test
+    public void testPickAfterChildRemoved() {
+        Node removed = group.getChildren().remove(COLS + 1);
+        assertNull(SceneShim.test_pick(scene, SIZE + 1, SIZE + 1));
+        assertSame(group.getChildren().get(COLS + 1), SceneShim.test_pick(scene, 2 * SIZE + 1, SIZE + 1));
+        group.getChildren().add(removed);
+        assertSame(removed, SceneShim.test_pick(scene, SIZE + 1, SIZE + 1));
+        assertPicksMatch();
+    }
+
+    @Test
+    public void testPickLargeBackgroundChild() {
+        Rectangle background = new Rectangle(-1000, -1000, 3000, 3000);
+        group.getChildren().add(0, background);
+        assertSame(background, SceneShim.test_pick(scene, SIZE - 1, SIZE - 1));
+        assertSame(group.getChildren().get(1), SceneShim.test_pick(scene, 1, 1));
+        assertPicksMatch();
+    }
+
+    @Test
+    public void testPickBelowThreshold() {
+        group.getChildren().remove(100, group.getChildren().size());
+        assertPicksMatch();
+    }
+}
@@ -50,6 +50,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import test.com.sun.javafx.pgstub.StubScene;
 import test.com.sun.javafx.pgstub.StubToolkit;
 import com.sun.javafx.tk.TKClipboard;
 import com.sun.javafx.tk.TKDragGestureListener;
@@ -58,6 +59,7 @@ import com.sun.javafx.tk.TKDropTargetListener;
 import com.sun.javafx.tk.Toolkit;
 import test.com.sun.javafx.test.MouseEventGenerator;
 import javafx.event.Event;
+import javafx.event.EventType;
 import javafx.geometry.Point3D;
 import javafx.scene.SubScene;
 import javafx.scene.image.Image;
@@ -70,6 +72,7 @@ import javafx.scene.input.DragEvent;
 import javafx.scene.input.Dragboard;
 import javafx.scene.input.Dragboard;
 import javafx.scene.input.DragboardShim;
+import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.PickResult;
@@ -445,6 +448,35 @@ public class DragAndDropTest {
         assertEquals(1, counter);
     }
 
+    @Test
+    public void pendingMouseMoveShouldBeDeliveredBeforeDragOver() {
+        final Node n = oneNode();
+        final MouseEventGenerator gen = new MouseEventGenerator();
+        final StubToolkit tk = (StubToolkit) Toolkit.getToolkit();
+        final List<EventType<?>> events = new ArrayList<>();
+
+        dragSource = n;
+        n.setOnMousePressed(doDetect);
+        n.setOnDragDetected(stringSource(TransferMode.ANY));
+        n.setOnMouseMoved(event -> events.add(event.getEventType()));
+        n.setOnDragOver(event -> events.add(event.getEventType()));
+
+        SceneHelper.processMouseEvent(n.getScene(),
+                gen.generateMouseEvent(MouseEvent.MOUSE_PRESSED, 50, 50));
+        tk.setDeferRunnables(true);
+        try {
+            ((StubScene) SceneHelper.getPeer(n.getScene())).getListener().mouseEvent(
+                    MouseEvent.MOUSE_MOVED, 51, 51, 51, 51, MouseButton.NONE, false, false,
+                    false, false, false, false, false, false, false, false, false);
+            assertTrue(events.isEmpty());
+            toolkit.dragTo(52, 52, TransferMode.COPY);
+        } finally {
+            tk.setDeferRunnables(false);
+        }
+
+        assertEquals(Arrays.asList(MouseEvent.MOUSE_MOVED, DragEvent.DRAG_OVER), events);
+    }
+
     @Test
     public void parentThatCallsStartDndShouldBecomeGestureSource() {
         final Node n = oneNode();
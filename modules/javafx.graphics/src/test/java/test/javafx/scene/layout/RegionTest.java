@@ -1248,4 +1248,67 @@ public class RegionTest {
         NodeHelper.syncPeer(r);
         assertFalse(peer.isClean());
     }
+
+    private static class CountingRegion extends Region {
+        int computePrefHeightCount;
+        int computePrefWidthCount;
+
+        @Override protected double computePrefHeight(double width) {
+            computePrefHeightCount++;
+            return width < 0 ? 10 : 1000 / width;
+        }
+
+        @Override protected double computePrefWidth(double height) {
+            computePrefWidthCount++;
+            return height < 0 ? 10 : 1000 / height;
+        }
+    }
+
+    @Test public void testPrefSizeIsCachedPerConstraint() {
+        CountingRegion r = new CountingRegion();
+
+        assertEquals(10, r.prefHeight(100), 0);
+        assertEquals(5, r.prefHeight(200), 0);
+        assertEquals(10, r.prefHeight(100), 0);
+        assertEquals(5, r.prefHeight(200), 0);
+        assertEquals(2, r.computePrefHeightCount);
+
+        assertEquals(20, r.prefWidth(50), 0);
+        assertEquals(20, r.prefWidth(50), 0);
+        assertEquals(1, r.computePrefWidthCount);
+    }
+
+    @Test public void testPrefSizeCacheIsClearedByRequestLayout() {
+        CountingRegion r = new CountingRegion();
+
+        r.prefHeight(100);
+        r.requestLayout();
+        r.prefHeight(100);
+        assertEquals(2, r.computePrefHeightCount);
+    }
+
+    @Test public void testPrefSizeCacheKeepsMostRecentConstraints() {
+        CountingRegion r = new CountingRegion();
+
+        for (int w = 1; w <= 10; w++) {
+            r.prefHeight(w);
+        }
+        assertEquals(10, r.computePrefHeightCount);
+
+        // the most recent constraint is still cached, the first one is not
+        r.prefHeight(10);
+        assertEquals(10, r.computePrefHeightCount);
+        assertEquals(1000, r.prefHeight(1), 0);
+        assertEquals(11, r.computePrefHeightCount);
+    }
+
+    @Test public void testPrefSizeOverrideDoesNotUseCache() {
+        CountingRegion r = new CountingRegion();
+
+        r.prefHeight(100);
+        r.setPrefHeight(42);
+        assertEquals(42, r.prefHeight(100), 0);
+        r.setPrefHeight(Region.USE_COMPUTED_SIZE);
+        assertEquals(10, r.prefHeight(100), 0);
+    }
 }